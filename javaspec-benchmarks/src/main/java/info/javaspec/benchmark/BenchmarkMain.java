@@ -0,0 +1,27 @@
+package info.javaspec.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the usual JMH command line options, except that results are written as JSON to
+ * <code>jmh-result.json</code> unless told otherwise (with <code>-rf</code> and <code>-rff</code>).  Keep these files
+ * from each release to compare later runs against.
+ */
+public final class BenchmarkMain {
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    Options options = new OptionsBuilder()
+      .parent(commandLine)
+      .resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON))
+      .result(commandLine.getResult().orElse("jmh-result.json"))
+      .build();
+
+    new Runner(options).run();
+  }
+
+  private BenchmarkMain() { }
+}
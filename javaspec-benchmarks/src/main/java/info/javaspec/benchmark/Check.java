@@ -0,0 +1,11 @@
+package info.javaspec.benchmark;
+
+/** A minimal assertion for the synthetic suites, so they don't measure an assertion library */
+public final class Check {
+  private Check() { }
+
+  public static void that(boolean condition) {
+    if(!condition)
+      throw new AssertionError("Synthetic spec failed");
+  }
+}
@@ -0,0 +1,118 @@
+package info.javaspec.benchmark;
+
+import info.javaspec.dsl.Cleanup;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+
+/** A chain of 16 nested contexts with setup and cleanup at each level, and 2 specs in each */
+public class DeepSuite {
+  int depth;
+  Establish arrange = () -> depth = 1;
+  It spec_0 = () -> Check.that(depth == 1);
+  It spec_1 = () -> Check.that(depth > 0);
+
+  public class level_01 {
+    Establish arrange = () -> depth++;
+    Cleanup cleans = () -> depth--;
+    It spec_0 = () -> Check.that(depth == 2);
+    It spec_1 = () -> Check.that(depth > 0);
+
+    public class level_02 {
+      Establish arrange = () -> depth++;
+      Cleanup cleans = () -> depth--;
+      It spec_0 = () -> Check.that(depth == 3);
+      It spec_1 = () -> Check.that(depth > 0);
+
+      public class level_03 {
+        Establish arrange = () -> depth++;
+        Cleanup cleans = () -> depth--;
+        It spec_0 = () -> Check.that(depth == 4);
+        It spec_1 = () -> Check.that(depth > 0);
+
+        public class level_04 {
+          Establish arrange = () -> depth++;
+          Cleanup cleans = () -> depth--;
+          It spec_0 = () -> Check.that(depth == 5);
+          It spec_1 = () -> Check.that(depth > 0);
+
+          public class level_05 {
+            Establish arrange = () -> depth++;
+            Cleanup cleans = () -> depth--;
+            It spec_0 = () -> Check.that(depth == 6);
+            It spec_1 = () -> Check.that(depth > 0);
+
+            public class level_06 {
+              Establish arrange = () -> depth++;
+              Cleanup cleans = () -> depth--;
+              It spec_0 = () -> Check.that(depth == 7);
+              It spec_1 = () -> Check.that(depth > 0);
+
+              public class level_07 {
+                Establish arrange = () -> depth++;
+                Cleanup cleans = () -> depth--;
+                It spec_0 = () -> Check.that(depth == 8);
+                It spec_1 = () -> Check.that(depth > 0);
+
+                public class level_08 {
+                  Establish arrange = () -> depth++;
+                  Cleanup cleans = () -> depth--;
+                  It spec_0 = () -> Check.that(depth == 9);
+                  It spec_1 = () -> Check.that(depth > 0);
+
+                  public class level_09 {
+                    Establish arrange = () -> depth++;
+                    Cleanup cleans = () -> depth--;
+                    It spec_0 = () -> Check.that(depth == 10);
+                    It spec_1 = () -> Check.that(depth > 0);
+
+                    public class level_10 {
+                      Establish arrange = () -> depth++;
+                      Cleanup cleans = () -> depth--;
+                      It spec_0 = () -> Check.that(depth == 11);
+                      It spec_1 = () -> Check.that(depth > 0);
+
+                      public class level_11 {
+                        Establish arrange = () -> depth++;
+                        Cleanup cleans = () -> depth--;
+                        It spec_0 = () -> Check.that(depth == 12);
+                        It spec_1 = () -> Check.that(depth > 0);
+
+                        public class level_12 {
+                          Establish arrange = () -> depth++;
+                          Cleanup cleans = () -> depth--;
+                          It spec_0 = () -> Check.that(depth == 13);
+                          It spec_1 = () -> Check.that(depth > 0);
+
+                          public class level_13 {
+                            Establish arrange = () -> depth++;
+                            Cleanup cleans = () -> depth--;
+                            It spec_0 = () -> Check.that(depth == 14);
+                            It spec_1 = () -> Check.that(depth > 0);
+
+                            public class level_14 {
+                              Establish arrange = () -> depth++;
+                              Cleanup cleans = () -> depth--;
+                              It spec_0 = () -> Check.that(depth == 15);
+                              It spec_1 = () -> Check.that(depth > 0);
+
+                              public class level_15 {
+                                Establish arrange = () -> depth++;
+                                Cleanup cleans = () -> depth--;
+                                It spec_0 = () -> Check.that(depth == 16);
+                                It spec_1 = () -> Check.that(depth > 0);
+                              }
+                            }
+                          }
+                        }
+                      }
+                    }
+                  }
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+}
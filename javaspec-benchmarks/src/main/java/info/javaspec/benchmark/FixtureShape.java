@@ -0,0 +1,22 @@
+package info.javaspec.benchmark;
+
+/** Which fixture fields a generated context class declares */
+public enum FixtureShape {
+  NONE(false, false, false, false),
+  ESTABLISH(true, false, false, false),
+  ESTABLISH_BECAUSE(true, true, false, false),
+  FULL(true, true, true, false),
+  SHARED(true, true, true, true);
+
+  final boolean hasEstablish;
+  final boolean hasBecause;
+  final boolean hasCleanup;
+  final boolean isShared;
+
+  FixtureShape(boolean hasEstablish, boolean hasBecause, boolean hasCleanup, boolean isShared) {
+    this.hasEstablish = hasEstablish;
+    this.hasBecause = hasBecause;
+    this.hasCleanup = hasCleanup;
+    this.isShared = isShared;
+  }
+}
@@ -0,0 +1,34 @@
+package info.javaspec.benchmark;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.List;
+
+/** A compiled, loaded suite from SuiteGenerator.  Close it to release the class loader. */
+public final class GeneratedSuite implements Closeable {
+  private final SuiteShape shape;
+  private final URLClassLoader loader;
+  private final List<Class<?>> rootClasses;
+  private final long numFailingSpecs;
+
+  GeneratedSuite(SuiteShape shape, URLClassLoader loader, List<Class<?>> rootClasses, long numFailingSpecs) {
+    this.shape = shape;
+    this.loader = loader;
+    this.rootClasses = Collections.unmodifiableList(rootClasses);
+    this.numFailingSpecs = numFailingSpecs;
+  }
+
+  public SuiteShape getShape() { return shape; }
+  public List<Class<?>> getRootClasses() { return rootClasses; }
+  public long numSpecs() { return shape.numSpecs(); }
+
+  /** How many specs were generated to fail, which follows from the failure rate and the seed */
+  public long numFailingSpecs() { return numFailingSpecs; }
+
+  @Override
+  public void close() throws IOException {
+    loader.close();
+  }
+}
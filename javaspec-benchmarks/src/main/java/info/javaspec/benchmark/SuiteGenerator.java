@@ -0,0 +1,162 @@
+package info.javaspec.benchmark;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Writes the source code for a suite of the given shape, compiles it, and loads the root context classes.  Generated
+ * classes are in the <code>info.javaspec.generated</code> package, named <code>Suite0</code>, <code>Suite1</code>, and
+ * so on.  Inner context classes are named after their level and position, like <code>c2_1</code>.
+ */
+public final class SuiteGenerator {
+  public static final String PACKAGE_NAME = "info.javaspec.generated";
+
+  private final SuiteShape shape;
+  private final Random random;
+  private long numFailing;
+
+  public static GeneratedSuite generate(SuiteShape shape, Path workDir) throws IOException {
+    Path sourceDir = workDir.resolve("src");
+    Path classesDir = workDir.resolve("classes");
+    SuiteGenerator generator = new SuiteGenerator(shape);
+    List<Path> sourceFiles = generator.writeSources(sourceDir);
+    compile(sourceFiles, classesDir);
+    return load(shape, classesDir, generator.numFailing);
+  }
+
+  private SuiteGenerator(SuiteShape shape) {
+    this.shape = shape;
+    this.random = new Random(shape.getSeed());
+  }
+
+  private List<Path> writeSources(Path sourceDir) throws IOException {
+    Path packageDir = sourceDir.resolve(PACKAGE_NAME.replace('.', '/'));
+    Files.createDirectories(packageDir);
+
+    List<Path> files = new ArrayList<>(shape.getRoots());
+    for(int i = 0; i < shape.getRoots(); i++) {
+      String className = rootClassName(i);
+      Path file = packageDir.resolve(className + ".java");
+      try(Writer writer = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+        writer.write(String.format("package %s;%n%n", PACKAGE_NAME));
+        writer.write(String.format("import info.javaspec.benchmark.Synthetic;%n"));
+        writer.write(String.format("import info.javaspec.dsl.*;%n%n"));
+        writeContext(writer, className, PACKAGE_NAME + "." + className, 0);
+      }
+
+      files.add(file);
+    }
+
+    return files;
+  }
+
+  private static String rootClassName(int index) {
+    return "Suite" + index;
+  }
+
+  private void writeContext(Writer writer, String className, String contextId, int level) throws IOException {
+    String indent = indent(level);
+    FixtureShape fixture = shape.getFixtureShapes().get(random.nextInt(shape.getFixtureShapes().size()));
+    if(fixture.isShared)
+      writer.write(String.format("%s@SharedFixture%n", indent));
+
+    writer.write(String.format("%s%sclass %s {%n", indent, level == 0 ? "public " : "", className));
+    String memberIndent = indent(level + 1);
+    String cost = String.format("%dL, %s", shape.getFixtureCostNanos(), shape.hasBlockingFixtures());
+    if(fixture.hasEstablish)
+      writer.write(String.format("%sEstablish arrange = Synthetic.establish(%s);%n", memberIndent, cost));
+    if(fixture.hasBecause)
+      writer.write(String.format("%sBecause act = Synthetic.because(%s);%n", memberIndent, cost));
+    if(fixture.hasCleanup)
+      writer.write(String.format("%sCleanup cleans = Synthetic.cleanup();%n", memberIndent));
+
+    for(int i = 0; i < shape.getSpecsPerContext(); i++) {
+      String specName = "spec_" + i;
+      if(random.nextDouble() < shape.getFailureRate()) {
+        numFailing++;
+        writer.write(String.format("%sIt %s = Synthetic.fail(\"%s#%s\");%n", memberIndent, specName, contextId,
+          specName));
+      } else {
+        writer.write(String.format("%sIt %s = Synthetic.pass();%n", memberIndent, specName));
+      }
+    }
+
+    if(level < shape.getDepth()) {
+      for(int i = 0; i < shape.getBreadth(); i++) {
+        String subClassName = String.format("c%d_%d", level + 1, i);
+        writeContext(writer, subClassName, contextId + "." + subClassName, level + 1);
+      }
+    }
+
+    writer.write(String.format("%s}%n", indent));
+  }
+
+  private static String indent(int level) {
+    char[] spaces = new char[2 * level];
+    Arrays.fill(spaces, ' ');
+    return new String(spaces);
+  }
+
+  private static void compile(List<Path> sourceFiles, Path classesDir) throws IOException {
+    Files.createDirectories(classesDir);
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if(compiler == null)
+      throw new IllegalStateException("Generating suites requires a JDK, but no Java compiler is available");
+
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try(StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+      List<String> options = Arrays.asList(
+        "-classpath", System.getProperty("java.class.path"),
+        "-d", classesDir.toString(),
+        "-proc:none",
+        "-nowarn");
+      Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(sourceFiles.stream()
+        .map(Path::toFile)
+        .collect(toList()));
+      if(!compiler.getTask(null, fileManager, diagnostics, options, null, units).call())
+        throw new IllegalStateException("Failed to compile generated suite:\n" + errors(diagnostics));
+    }
+  }
+
+  private static String errors(DiagnosticCollector<JavaFileObject> diagnostics) {
+    return diagnostics.getDiagnostics().stream()
+      .filter(x -> x.getKind() == Diagnostic.Kind.ERROR)
+      .limit(10)
+      .map(Object::toString)
+      .collect(joining("\n"));
+  }
+
+  private static GeneratedSuite load(SuiteShape shape, Path classesDir, long numFailing) throws IOException {
+    URLClassLoader loader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() },
+      SuiteGenerator.class.getClassLoader());
+    List<Class<?>> rootClasses = new ArrayList<>(shape.getRoots());
+    try {
+      for(int i = 0; i < shape.getRoots(); i++)
+        rootClasses.add(loader.loadClass(PACKAGE_NAME + "." + rootClassName(i)));
+    } catch(ClassNotFoundException e) {
+      loader.close();
+      throw new IllegalStateException("Failed to load generated suite", e);
+    }
+
+    return new GeneratedSuite(shape, loader, rootClasses, numFailing);
+  }
+}
@@ -0,0 +1,155 @@
+package info.javaspec.benchmark;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parameters for a generated suite.  Each of <code>roots</code> top-level context classes has a tree of inner context
+ * classes <code>depth</code> levels deep below it, where each context has <code>breadth</code> sub-contexts and
+ * <code>specsPerContext</code> specs.  Suites with the same shape (including the seed) are identical.
+ */
+public final class SuiteShape {
+  private final int roots;
+  private final int breadth;
+  private final int depth;
+  private final int specsPerContext;
+  private final long fixtureCostNanos;
+  private final boolean blockingFixtures;
+  private final double failureRate;
+  private final List<FixtureShape> fixtureShapes;
+  private final long seed;
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  private SuiteShape(Builder builder) {
+    this.roots = builder.roots;
+    this.breadth = builder.breadth;
+    this.depth = builder.depth;
+    this.specsPerContext = builder.specsPerContext;
+    this.fixtureCostNanos = builder.fixtureCostNanos;
+    this.blockingFixtures = builder.blockingFixtures;
+    this.failureRate = builder.failureRate;
+    this.fixtureShapes = builder.fixtureShapes;
+    this.seed = builder.seed;
+  }
+
+  public int getRoots() { return roots; }
+  public int getBreadth() { return breadth; }
+  public int getDepth() { return depth; }
+  public int getSpecsPerContext() { return specsPerContext; }
+
+  /** How long each Establish and Because takes to run */
+  public long getFixtureCostNanos() { return fixtureCostNanos; }
+
+  /** True if fixtures spend their time parked, like they're waiting on I/O, or false to spend it on the CPU */
+  public boolean hasBlockingFixtures() { return blockingFixtures; }
+
+  /** Fraction of specs that fail, from 0 to 1 */
+  public double getFailureRate() { return failureRate; }
+
+  /** Fixture shapes to choose from for each context class, at random */
+  public List<FixtureShape> getFixtureShapes() { return fixtureShapes; }
+
+  public long getSeed() { return seed; }
+
+  public long numContextsPerRoot() {
+    long contexts = 0;
+    long contextsAtLevel = 1;
+    for(int level = 0; level <= depth; level++) {
+      contexts += contextsAtLevel;
+      contextsAtLevel *= breadth;
+    }
+
+    return contexts;
+  }
+
+  public long numSpecs() {
+    return roots * numContextsPerRoot() * specsPerContext;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+      "SuiteShape(roots=%d, breadth=%d, depth=%d, specsPerContext=%d, fixtureCostNanos=%d, blocking=%s, "
+        + "failureRate=%s, fixtureShapes=%s, seed=%d)",
+      roots, breadth, depth, specsPerContext, fixtureCostNanos, blockingFixtures, failureRate, fixtureShapes, seed);
+  }
+
+  public static final class Builder {
+    private int roots = 1;
+    private int breadth = 1;
+    private int depth = 0;
+    private int specsPerContext = 1;
+    private long fixtureCostNanos = 0;
+    private boolean blockingFixtures = false;
+    private double failureRate = 0.0;
+    private List<FixtureShape> fixtureShapes = Collections.singletonList(FixtureShape.ESTABLISH);
+    private long seed = 0;
+
+    private Builder() { }
+
+    public Builder roots(int value) {
+      this.roots = atLeast(1, "roots", value);
+      return this;
+    }
+
+    public Builder breadth(int value) {
+      this.breadth = atLeast(0, "breadth", value);
+      return this;
+    }
+
+    public Builder depth(int value) {
+      this.depth = atLeast(0, "depth", value);
+      return this;
+    }
+
+    public Builder specsPerContext(int value) {
+      this.specsPerContext = atLeast(0, "specsPerContext", value);
+      return this;
+    }
+
+    public Builder fixtureCostNanos(long value, boolean blocking) {
+      if(value < 0)
+        throw new IllegalArgumentException(String.format("fixtureCostNanos must be at least 0: %d", value));
+
+      this.fixtureCostNanos = value;
+      this.blockingFixtures = blocking;
+      return this;
+    }
+
+    public Builder failureRate(double value) {
+      if(value < 0.0 || value > 1.0)
+        throw new IllegalArgumentException(String.format("failureRate must be between 0 and 1: %s", value));
+
+      this.failureRate = value;
+      return this;
+    }
+
+    public Builder fixtureShapes(FixtureShape... values) {
+      if(values.length == 0)
+        throw new IllegalArgumentException("At least 1 fixture shape is required");
+
+      this.fixtureShapes = Collections.unmodifiableList(Arrays.asList(values.clone()));
+      return this;
+    }
+
+    public Builder seed(long value) {
+      this.seed = value;
+      return this;
+    }
+
+    public SuiteShape build() {
+      return new SuiteShape(this);
+    }
+
+    private static int atLeast(int minimum, String name, int value) {
+      if(value < minimum)
+        throw new IllegalArgumentException(String.format("%s must be at least %d: %d", name, minimum, value));
+
+      return value;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package info.javaspec.benchmark;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Cleanup;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spec and fixture bodies for generated suites.  Generated classes assign these to their fields instead of declaring a
+ * lambda for each one, so that suites with a million specs still compile in reasonable time.
+ */
+public final class Synthetic {
+  private static final It PASS = () -> { };
+  private static final Cleanup CLEANUP = () -> { };
+
+  private Synthetic() { }
+
+  public static It pass() {
+    return PASS;
+  }
+
+  public static It fail(String specId) {
+    return () -> { throw new AssertionError("Synthetic failure: " + specId); };
+  }
+
+  public static Establish establish(long costNanos, boolean blocking) {
+    return () -> spend(costNanos, blocking);
+  }
+
+  public static Because because(long costNanos, boolean blocking) {
+    return () -> spend(costNanos, blocking);
+  }
+
+  public static Cleanup cleanup() {
+    return CLEANUP;
+  }
+
+  private static void spend(long costNanos, boolean blocking) {
+    if(costNanos <= 0)
+      return;
+
+    if(blocking) {
+      LockSupport.parkNanos(costNanos);
+      return;
+    }
+
+    long deadline = System.nanoTime() + costNanos;
+    while(System.nanoTime() < deadline) {
+      //Busy wait, like a CPU-bound fixture
+    }
+  }
+}
@@ -0,0 +1,522 @@
+package info.javaspec.benchmark;
+
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+
+/** A root context with many sibling sub-contexts: 64 contexts of 4 specs each */
+public class WideSuite {
+  int value;
+  Establish arrange = () -> value = 1;
+
+  class context_00 {
+    Establish arrange = () -> value += 0;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_01 {
+    Establish arrange = () -> value += 1;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_02 {
+    Establish arrange = () -> value += 2;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_03 {
+    Establish arrange = () -> value += 3;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_04 {
+    Establish arrange = () -> value += 4;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_05 {
+    Establish arrange = () -> value += 5;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_06 {
+    Establish arrange = () -> value += 6;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_07 {
+    Establish arrange = () -> value += 7;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_08 {
+    Establish arrange = () -> value += 8;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_09 {
+    Establish arrange = () -> value += 9;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_10 {
+    Establish arrange = () -> value += 10;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_11 {
+    Establish arrange = () -> value += 11;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_12 {
+    Establish arrange = () -> value += 12;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_13 {
+    Establish arrange = () -> value += 13;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_14 {
+    Establish arrange = () -> value += 14;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_15 {
+    Establish arrange = () -> value += 15;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_16 {
+    Establish arrange = () -> value += 16;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_17 {
+    Establish arrange = () -> value += 17;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_18 {
+    Establish arrange = () -> value += 18;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_19 {
+    Establish arrange = () -> value += 19;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_20 {
+    Establish arrange = () -> value += 20;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_21 {
+    Establish arrange = () -> value += 21;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_22 {
+    Establish arrange = () -> value += 22;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_23 {
+    Establish arrange = () -> value += 23;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_24 {
+    Establish arrange = () -> value += 24;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_25 {
+    Establish arrange = () -> value += 25;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_26 {
+    Establish arrange = () -> value += 26;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_27 {
+    Establish arrange = () -> value += 27;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_28 {
+    Establish arrange = () -> value += 28;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_29 {
+    Establish arrange = () -> value += 29;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_30 {
+    Establish arrange = () -> value += 30;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_31 {
+    Establish arrange = () -> value += 31;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_32 {
+    Establish arrange = () -> value += 32;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_33 {
+    Establish arrange = () -> value += 33;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_34 {
+    Establish arrange = () -> value += 34;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_35 {
+    Establish arrange = () -> value += 35;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_36 {
+    Establish arrange = () -> value += 36;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_37 {
+    Establish arrange = () -> value += 37;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_38 {
+    Establish arrange = () -> value += 38;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_39 {
+    Establish arrange = () -> value += 39;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_40 {
+    Establish arrange = () -> value += 40;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_41 {
+    Establish arrange = () -> value += 41;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_42 {
+    Establish arrange = () -> value += 42;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_43 {
+    Establish arrange = () -> value += 43;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_44 {
+    Establish arrange = () -> value += 44;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_45 {
+    Establish arrange = () -> value += 45;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_46 {
+    Establish arrange = () -> value += 46;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_47 {
+    Establish arrange = () -> value += 47;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_48 {
+    Establish arrange = () -> value += 48;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_49 {
+    Establish arrange = () -> value += 49;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_50 {
+    Establish arrange = () -> value += 50;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_51 {
+    Establish arrange = () -> value += 51;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_52 {
+    Establish arrange = () -> value += 52;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_53 {
+    Establish arrange = () -> value += 53;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_54 {
+    Establish arrange = () -> value += 54;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_55 {
+    Establish arrange = () -> value += 55;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_56 {
+    Establish arrange = () -> value += 56;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_57 {
+    Establish arrange = () -> value += 57;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_58 {
+    Establish arrange = () -> value += 58;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_59 {
+    Establish arrange = () -> value += 59;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_60 {
+    Establish arrange = () -> value += 60;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_61 {
+    Establish arrange = () -> value += 61;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_62 {
+    Establish arrange = () -> value += 62;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+
+  class context_63 {
+    Establish arrange = () -> value += 63;
+    It spec_0 = () -> Check.that(value > 0);
+    It spec_1 = () -> Check.that(value > 0);
+    It spec_2 = () -> Check.that(value > 0);
+    It spec_3 = () -> Check.that(value > 0);
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * Synthetic suites for the benchmarks, and the main class that runs them.  Benchmarks themselves live in the same
+ * packages as the code they measure, so they can reach package-private classes.
+ */
+package info.javaspec.benchmark;
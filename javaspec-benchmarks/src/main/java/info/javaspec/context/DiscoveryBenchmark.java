@@ -0,0 +1,53 @@
+package info.javaspec.context;
+
+import info.javaspec.benchmark.DeepSuite;
+import info.javaspec.benchmark.WideSuite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding contexts and specs in a root context class, as JavaSpecRunner does when it starts.  The warm benchmarks
+ * measure repeated discovery once reflective metadata has been cached; the cold ones measure the first discovery in a
+ * fresh JVM, which is what a test run actually pays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscoveryBenchmark {
+  @Benchmark
+  public Context wideTreeWarm() {
+    return ContextFactory.createRootContext(WideSuite.class);
+  }
+
+  @Benchmark
+  public Context deepTreeWarm() {
+    return ContextFactory.createRootContext(DeepSuite.class);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1)
+  @Fork(10)
+  public Context wideTreeCold() {
+    return ContextFactory.createRootContext(WideSuite.class);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1)
+  @Fork(10)
+  public Context deepTreeCold() {
+    return ContextFactory.createRootContext(DeepSuite.class);
+  }
+}
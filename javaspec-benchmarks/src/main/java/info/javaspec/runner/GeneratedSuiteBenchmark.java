@@ -0,0 +1,96 @@
+package info.javaspec.runner;
+
+import info.javaspec.benchmark.FixtureShape;
+import info.javaspec.benchmark.GeneratedSuite;
+import info.javaspec.benchmark.SuiteGenerator;
+import info.javaspec.benchmark.SuiteShape;
+import info.javaspec.context.ContextFactory;
+import org.junit.runner.notification.RunNotifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Finding and running every spec in a generated suite: by default, 50 root contexts with 2 levels of 3 sub-contexts
+ * below each and 16 specs per context, or 10,400 specs in all.  Use <code>-p roots=5000</code> for about a million.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratedSuiteBenchmark {
+  @Param({"50"})
+  public int roots;
+
+  @Param({"0"})
+  public long fixtureCostNanos;
+
+  @Param({"0.01"})
+  public double failureRate;
+
+  @Param({"sequential", "forkjoin"})
+  public String execution;
+
+  private Path workDir;
+  private GeneratedSuite suite;
+  private SpecScheduler scheduler;
+
+  @Setup
+  public void setup() throws IOException {
+    SuiteShape shape = SuiteShape.builder()
+      .roots(roots)
+      .breadth(3)
+      .depth(2)
+      .specsPerContext(16)
+      .fixtureCostNanos(fixtureCostNanos, false)
+      .failureRate(failureRate)
+      .fixtureShapes(FixtureShape.values())
+      .seed(42)
+      .build();
+    workDir = Files.createTempDirectory("javaspec-suite");
+    suite = SuiteGenerator.generate(shape, workDir);
+
+    Properties properties = new Properties();
+    properties.setProperty(RunnerConfig.EXECUTION, execution);
+    scheduler = RunnerConfig.fromProperties(properties).scheduler();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    suite.close();
+    try(Stream<Path> paths = Files.walk(workDir)) {
+      for(Path path : paths.sorted(Comparator.reverseOrder()).collect(toList()))
+        Files.delete(path);
+    }
+  }
+
+  @Benchmark
+  public RunNotifier runAll() {
+    RunNotifier notifier = new RunNotifier();
+    for(Class<?> rootClass : suite.getRootClasses())
+      new JavaSpecRunner(ContextFactory.createRootContext(rootClass), scheduler).run(notifier);
+
+    return notifier;
+  }
+}
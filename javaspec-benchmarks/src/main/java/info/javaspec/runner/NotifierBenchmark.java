@@ -0,0 +1,64 @@
+package info.javaspec.runner;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reporting the started and finished events for one passing spec: straight to a RunNotifier, as the sequential
+ * scheduler does, and through the NotifierBridge that the parallel schedulers use.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NotifierBenchmark {
+  private Description description;
+  private RunNotifier notifier;
+  private NotifierBridge bridge;
+
+  @Setup
+  public void setup(Blackhole blackhole) {
+    description = Description.createTestDescription("NotifierBenchmark", "reports_events", "NotifierBenchmark#spec");
+    notifier = new RunNotifier();
+    notifier.addListener(new RunListener() {
+      @Override
+      public void testStarted(Description description) { blackhole.consume(description); }
+
+      @Override
+      public void testFinished(Description description) { blackhole.consume(description); }
+    });
+
+    bridge = new NotifierBridge(notifier);
+  }
+
+  @Benchmark
+  public void direct() {
+    notifier.fireTestStarted(description);
+    notifier.fireTestFinished(description);
+  }
+
+  @Benchmark
+  public void bridged() {
+    RunNotifier specNotifier = bridge.newSpecNotifier();
+    specNotifier.fireTestStarted(description);
+    specNotifier.fireTestFinished(description);
+    bridge.publish(specNotifier);
+    bridge.deliverUntil(() -> true);
+  }
+}
@@ -0,0 +1,75 @@
+package info.javaspec.runner;
+
+import info.javaspec.benchmark.DeepSuite;
+import info.javaspec.benchmark.WideSuite;
+import info.javaspec.context.ContextFactory;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/** Finding and running every spec in a synthetic suite with JavaSpecRunner, with each kind of scheduler */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RunnerBenchmark {
+  @Param({"WideSuite", "DeepSuite"})
+  public String suite;
+
+  @Param({"sequential", "forkjoin", "virtual"})
+  public String execution;
+
+  private Class<?> suiteClass;
+  private SpecScheduler scheduler;
+  private RunNotifier notifier;
+
+  @Setup
+  public void setup() {
+    suiteClass = "WideSuite".equals(suite) ? WideSuite.class : DeepSuite.class;
+
+    Properties properties = new Properties();
+    properties.setProperty(RunnerConfig.EXECUTION, execution);
+    scheduler = RunnerConfig.fromProperties(properties).scheduler();
+
+    notifier = new RunNotifier();
+    checkSpecsPass();
+  }
+
+  private void checkSpecsPass() {
+    List<Failure> failures = new ArrayList<>();
+    RunNotifier checkingNotifier = new RunNotifier();
+    checkingNotifier.addListener(new RunListener() {
+      @Override
+      public void testFailure(Failure failure) { failures.add(failure); }
+    });
+
+    new JavaSpecRunner(ContextFactory.createRootContext(suiteClass), scheduler).run(checkingNotifier);
+    if(!failures.isEmpty())
+      throw new IllegalStateException("Synthetic specs should pass: " + failures);
+  }
+
+  @Benchmark
+  public JavaSpecRunner run() {
+    JavaSpecRunner runner = new JavaSpecRunner(ContextFactory.createRootContext(suiteClass), scheduler);
+    runner.run(notifier);
+    return runner;
+  }
+}
@@ -0,0 +1,94 @@
+package info.javaspec.spec;
+
+import info.javaspec.benchmark.DeepSuite;
+import info.javaspec.context.Context;
+import info.javaspec.context.ContextFactory;
+import info.javaspec.dsl.It;
+import org.junit.runner.notification.RunNotifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Making and running one spec, for a spec at the top of DeepSuite and one 15 inner classes down.  Each run of a spec
+ * instantiates its context class and every class enclosing it, so the deep variants show how that scales.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpecBenchmark {
+  private Class<?> shallowClass;
+  private Class<?> deepClass;
+  private Field shallowIt;
+  private Field deepIt;
+  private SpecFactory specFactory;
+  private RunNotifier notifier;
+
+  @Setup
+  public void setup() throws Exception {
+    shallowClass = DeepSuite.class;
+    deepClass = innermostClass(DeepSuite.class);
+    shallowIt = shallowClass.getDeclaredField("spec_0");
+    deepIt = deepClass.getDeclaredField("spec_0");
+
+    Context rootContext = ContextFactory.createRootContext(DeepSuite.class);
+    specFactory = new SpecFactory(rootContext);
+    notifier = new RunNotifier();
+  }
+
+  private static Class<?> innermostClass(Class<?> outer) {
+    return Stream.of(outer.getDeclaredClasses())
+      .filter(x -> Stream.of(x.getDeclaredFields()).anyMatch(field -> field.getType() == It.class))
+      .findFirst()
+      .map(SpecBenchmark::innermostClass)
+      .orElse(outer);
+  }
+
+  @Benchmark
+  public Object instantiateShallowContext() {
+    return SpecExecutionContext.forDeclaringClass(shallowClass);
+  }
+
+  @Benchmark
+  public Object instantiateDeepContext() {
+    return SpecExecutionContext.forDeclaringClass(deepClass);
+  }
+
+  @Benchmark
+  public Spec createShallowSpec() {
+    return specFactory.create(shallowIt);
+  }
+
+  @Benchmark
+  public Spec createDeepSpec() {
+    return specFactory.create(deepIt);
+  }
+
+  @Benchmark
+  public Spec createAndRunShallowSpec() {
+    Spec spec = specFactory.create(shallowIt);
+    spec.run(notifier);
+    return spec;
+  }
+
+  @Benchmark
+  public Spec createAndRunDeepSpec() {
+    Spec spec = specFactory.create(deepIt);
+    spec.run(notifier);
+    return spec;
+  }
+}
@@ -0,0 +1,89 @@
+package info.javaspec.util;
+
+import info.javaspec.benchmark.DeepSuite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The reflective part of running one spec 4 contexts deep in DeepSuite: making an instance of each context class from
+ * the outside in, then reading each lambda field declared in them.  Reflection does that through
+ * Constructor#newInstance and Field#get, as specs did before, and handles through the cached method handles in
+ * ClassMetadata, as they do now.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClassMetadataBenchmark {
+  private static final int DEPTH = 4;
+  private final List<Constructor<?>> constructors = new ArrayList<>();
+  private final List<List<Field>> fields = new ArrayList<>();
+  private final List<MethodHandle> constructorHandles = new ArrayList<>();
+  private final List<List<MethodHandle>> getters = new ArrayList<>();
+
+  @Setup
+  public void setup() throws Exception {
+    Class<?> context = DeepSuite.class;
+    for(int i = 0; i < DEPTH; i++) {
+      ClassMetadata metadata = ClassMetadata.of(context);
+      List<Field> declared = Stream.of(context.getDeclaredFields()).filter(x -> !x.isSynthetic()).collect(toList());
+      declared.forEach(x -> x.setAccessible(true));
+      constructors.add(metadata.getDefaultConstructor());
+      fields.add(declared);
+
+      constructorHandles.add(metadata.getDefaultConstructorHandle());
+      List<MethodHandle> contextGetters = new ArrayList<>();
+      for(Field field : declared)
+        contextGetters.add(metadata.getter(field));
+
+      getters.add(contextGetters);
+      context = metadata.innerClasses().findFirst().orElseThrow(IllegalStateException::new);
+    }
+  }
+
+  @Benchmark
+  public void reflection(Blackhole blackhole) throws Exception {
+    Object enclosing = null;
+    for(int i = 0; i < DEPTH; i++) {
+      Object instance = i == 0 ? constructors.get(i).newInstance() : constructors.get(i).newInstance(enclosing);
+      for(Field field : fields.get(i))
+        blackhole.consume(field.get(instance));
+
+      enclosing = instance;
+    }
+  }
+
+  @Benchmark
+  public void handles(Blackhole blackhole) throws Throwable {
+    Object enclosing = null;
+    for(int i = 0; i < DEPTH; i++) {
+      MethodHandle constructor = constructorHandles.get(i);
+      Object instance = i == 0 ? (Object)constructor.invokeExact() : (Object)constructor.invokeExact(enclosing);
+      for(MethodHandle getter : getters.get(i))
+        blackhole.consume((Object)getter.invokeExact(instance));
+
+      enclosing = instance;
+    }
+  }
+}
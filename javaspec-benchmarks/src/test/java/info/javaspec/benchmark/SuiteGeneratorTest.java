@@ -0,0 +1,122 @@
+package info.javaspec.benchmark;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.context.Context;
+import info.javaspec.context.ContextFactory;
+import info.javaspec.runner.JavaSpecRunner;
+import info.javaspec.runner.SpecScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@RunWith(HierarchicalContextRunner.class)
+public class SuiteGeneratorTest {
+  private Path workDir;
+  private GeneratedSuite suite;
+
+  @Before
+  public void setup() throws Exception {
+    workDir = Files.createTempDirectory("javaspec-suite");
+  }
+
+  @After
+  public void deleteWorkDir() throws Exception {
+    if(suite != null)
+      suite.close();
+
+    try(Stream<Path> paths = Files.walk(workDir)) {
+      for(Path path : paths.sorted(Comparator.reverseOrder()).collect(toList()))
+        Files.delete(path);
+    }
+  }
+
+  public class generate {
+    private final SuiteShape shape = SuiteShape.builder()
+      .roots(3)
+      .breadth(2)
+      .depth(3)
+      .specsPerContext(4)
+      .failureRate(0.25)
+      .fixtureShapes(FixtureShape.values())
+      .seed(7)
+      .build();
+
+    @Test
+    public void makesARootContextClassForEachRoot() throws Exception {
+      suite = SuiteGenerator.generate(shape, workDir);
+      assertThat(suite.getRootClasses().stream().map(Class::getSimpleName).collect(toList()),
+        contains("Suite0", "Suite1", "Suite2"));
+    }
+
+    @Test
+    public void makesATreeOfContextsWithTheGivenBreadthAndDepth() throws Exception {
+      suite = SuiteGenerator.generate(shape, workDir);
+      Context rootContext = ContextFactory.createRootContext(suite.getRootClasses().get(0));
+      assertThat(rootContext.numSpecs(), equalTo(shape.numContextsPerRoot() * 4));
+      assertThat(shape.numContextsPerRoot(), equalTo(15L));
+      assertThat(depthOf(rootContext.getDescription()), equalTo(4));
+    }
+
+    @Test
+    public void failsTheNumberOfSpecsItSays() throws Exception {
+      suite = SuiteGenerator.generate(shape, workDir);
+      assertThat(suite.numFailingSpecs(), greaterThan(0L));
+      assertThat(runAll(SpecScheduler.sequential()), equalTo(suite.numFailingSpecs()));
+      assertThat(runAll(SpecScheduler.forkJoin(4)), equalTo(suite.numFailingSpecs()));
+    }
+
+    @Test
+    public void givenTheSameShape_generatesTheSameSuite() throws Exception {
+      suite = SuiteGenerator.generate(shape, workDir.resolve("first"));
+      long firstNumFailing = suite.numFailingSpecs();
+      String firstSource = readSource(workDir.resolve("first"));
+
+      GeneratedSuite second = SuiteGenerator.generate(shape, workDir.resolve("second"));
+      second.close();
+      assertThat(second.numFailingSpecs(), equalTo(firstNumFailing));
+      assertThat(readSource(workDir.resolve("second")), equalTo(firstSource));
+    }
+  }
+
+  private long runAll(SpecScheduler scheduler) {
+    AtomicLong numFailures = new AtomicLong();
+    RunNotifier notifier = new RunNotifier();
+    notifier.addListener(new RunListener() {
+      @Override
+      public void testFailure(Failure failure) { numFailures.incrementAndGet(); }
+    });
+
+    for(Class<?> rootClass : suite.getRootClasses())
+      new JavaSpecRunner(ContextFactory.createRootContext(rootClass), scheduler).run(notifier);
+
+    return numFailures.get();
+  }
+
+  private static int depthOf(Description description) {
+    return description.getChildren().stream()
+      .filter(Description::isSuite)
+      .mapToInt(x -> 1 + depthOf(x))
+      .max()
+      .orElse(1);
+  }
+
+  private static String readSource(Path workDir) throws Exception {
+    Path file = workDir.resolve("src/info/javaspec/generated/Suite1.java");
+    return new String(Files.readAllBytes(file), "UTF-8");
+  }
+}
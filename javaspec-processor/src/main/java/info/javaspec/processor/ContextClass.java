@@ -0,0 +1,130 @@
+package info.javaspec.processor;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A context class as seen by the compiler, with the same rules the runner uses with reflection: spec and fixture fields
+ * are instance fields whose declared type is exactly It, Establish, Because or Cleanup; and sub-contexts are the inner
+ * (non-static) classes declared within it.
+ */
+final class ContextClass {
+  private static final String DSL_PACKAGE = "info.javaspec.dsl.";
+  private static final String SHARED_FIXTURE = DSL_PACKAGE + "SharedFixture";
+
+  private final TypeElement type;
+  private final boolean isRoot;
+  private final List<VariableElement> specFields;
+  private final List<VariableElement> establishFields;
+  private final List<VariableElement> becauseFields;
+  private final List<VariableElement> cleanupFields;
+  private final List<ContextClass> subContexts;
+
+  public static ContextClass root(TypeElement type) {
+    return new ContextClass(type, true);
+  }
+
+  /** True for classes that JavaSpecRunner can run on their own: top-level and static nested classes */
+  public static boolean canBeRoot(TypeElement type) {
+    return type.getKind() == ElementKind.CLASS && !isInner(type);
+  }
+
+  private static boolean isInner(TypeElement type) {
+    return type.getEnclosingElement().getKind() != ElementKind.PACKAGE
+      && !type.getModifiers().contains(Modifier.STATIC);
+  }
+
+  private ContextClass(TypeElement type, boolean isRoot) {
+    this.type = type;
+    this.isRoot = isRoot;
+
+    List<VariableElement> instanceFields = ElementFilter.fieldsIn(type.getEnclosedElements()).stream()
+      .filter(x -> !x.getModifiers().contains(Modifier.STATIC))
+      .collect(toList());
+    this.specFields = fieldsOfType(instanceFields, "It");
+    this.establishFields = fieldsOfType(instanceFields, "Establish");
+    this.becauseFields = fieldsOfType(instanceFields, "Because");
+    this.cleanupFields = fieldsOfType(instanceFields, "Cleanup");
+
+    this.subContexts = ElementFilter.typesIn(type.getEnclosedElements()).stream()
+      .filter(x -> x.getKind() == ElementKind.CLASS && isInner(x))
+      .map(x -> new ContextClass(x, false))
+      .collect(toList());
+  }
+
+  private static List<VariableElement> fieldsOfType(List<VariableElement> fields, String dslTypeName) {
+    return fields.stream()
+      .filter(x -> isDeclaredType(x.asType(), DSL_PACKAGE + dslTypeName))
+      .collect(toList());
+  }
+
+  private static boolean isDeclaredType(TypeMirror type, String qualifiedName) {
+    if(type.getKind() != TypeKind.DECLARED)
+      return false;
+
+    Element element = ((DeclaredType)type).asElement();
+    return ((TypeElement)element).getQualifiedName().contentEquals(qualifiedName);
+  }
+
+  public TypeElement getType() { return type; }
+
+  /** Matches Class#getCanonicalName, which the runner uses to identify contexts */
+  public String getId() { return type.getQualifiedName().toString(); }
+
+  public String getDisplayName() {
+    String simpleName = type.getSimpleName().toString();
+    return isRoot ? simpleName : simpleName.replace('_', ' ');
+  }
+
+  public boolean hasSharedFixture() {
+    return type.getAnnotationMirrors().stream()
+      .map(x -> (TypeElement)x.getAnnotationType().asElement())
+      .anyMatch(x -> x.getQualifiedName().contentEquals(SHARED_FIXTURE));
+  }
+
+  public List<VariableElement> getSpecFields() { return specFields; }
+  public List<VariableElement> getEstablishFields() { return establishFields; }
+  public List<VariableElement> getBecauseFields() { return becauseFields; }
+  public List<VariableElement> getCleanupFields() { return cleanupFields; }
+  public List<ContextClass> getSubContexts() { return subContexts; }
+
+  /** True if this or any of its sub-contexts declares a spec */
+  public boolean hasSpecs() {
+    return !specFields.isEmpty() || subContexts.stream().anyMatch(ContextClass::hasSpecs);
+  }
+
+  /** True if generated code in the same package can refer to this class and all its sub-contexts by name */
+  public boolean isAccessibleFromPackage() {
+    return isAccessibleFromPackage(type) && subContexts.stream().allMatch(ContextClass::isAccessibleFromPackage);
+  }
+
+  private static boolean isAccessibleFromPackage(Element element) {
+    for(Element x = element; x.getKind() != ElementKind.PACKAGE; x = x.getEnclosingElement()) {
+      if(x.getModifiers().contains(Modifier.PRIVATE))
+        return false;
+    }
+
+    return true;
+  }
+
+  /** True if generated code in the same package can read the field without reflection */
+  public static boolean canReadDirectly(VariableElement field) {
+    return !field.getModifiers().contains(Modifier.PRIVATE);
+  }
+
+  /** This class followed by all of its sub-contexts, depth-first */
+  public Stream<ContextClass> selfAndDescendants() {
+    return Stream.concat(Stream.of(this), subContexts.stream().flatMap(ContextClass::selfAndDescendants));
+  }
+}
@@ -0,0 +1,90 @@
+package info.javaspec.processor;
+
+import javax.lang.model.element.VariableElement;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/** Writes the source code for a SpecIndex that lists one root context and all of its sub-contexts */
+final class IndexSourceWriter {
+  private final Writer writer;
+
+  public IndexSourceWriter(Writer writer) {
+    this.writer = writer;
+  }
+
+  public void write(String packageName, String indexSimpleName, ContextClass root) throws IOException {
+    if(!packageName.isEmpty())
+      line(0, "package %s;", packageName);
+
+    line(0, "");
+    line(0, "import info.javaspec.index.IndexedContext;");
+    line(0, "import info.javaspec.index.IndexedField;");
+    line(0, "import info.javaspec.index.SpecIndex;");
+    line(0, "");
+    line(0, "/** Generated by javaspec-processor from %s.  Do not edit. */", root.getId());
+    line(0, "@SuppressWarnings(\"rawtypes\")");
+    line(0, "public final class %s implements SpecIndex {", indexSimpleName);
+    line(1, "@Override");
+    line(1, "public IndexedContext getRootContext() {");
+    writer.write("    return ");
+    writeContext(root, 2);
+    line(3, ".build();");
+    line(1, "}");
+    line(0, "}");
+  }
+
+  private void writeContext(ContextClass context, int depth) throws IOException {
+    String typeName = context.getId();
+    line(0, "IndexedContext.builder(%s.class, %s, %s)",
+      typeName, stringLiteral(context.getId()), stringLiteral(context.getDisplayName()));
+
+    int indent = depth + 1;
+    if(context.hasSharedFixture())
+      line(indent, ".sharedFixture()");
+
+    writeFixtureField(context, "establish", context.getEstablishFields(), indent);
+    writeFixtureField(context, "because", context.getBecauseFields(), indent);
+    writeFixtureField(context, "cleanup", context.getCleanupFields(), indent);
+    for(VariableElement it : context.getSpecFields())
+      line(indent, ".it(%s)", fieldExpression(typeName, it));
+
+    for(ContextClass subContext : context.getSubContexts()) {
+      indent(indent);
+      writer.write(".subContext(");
+      writeContext(subContext, indent);
+      line(indent, ")");
+    }
+  }
+
+  private void writeFixtureField(ContextClass context, String method, List<VariableElement> fields, int indent)
+    throws IOException {
+    if(!fields.isEmpty())
+      line(indent, ".%s(%s)", method, fieldExpression(context.getId(), fields.get(0)));
+  }
+
+  private static String fieldExpression(String typeName, VariableElement field) {
+    String fieldName = field.getSimpleName().toString();
+    if(ContextClass.canReadDirectly(field)) {
+      return String.format("IndexedField.of(%s.class, %s, x -> ((%s)x).%s)",
+        typeName, stringLiteral(fieldName), typeName, fieldName);
+    } else {
+      return String.format("IndexedField.reflective(%s.class, %s)", typeName, stringLiteral(fieldName));
+    }
+  }
+
+  private static String stringLiteral(String value) {
+    return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+  }
+
+  private void line(int depth, String format, Object... args) throws IOException {
+    indent(depth);
+    writer.write(String.format(format, args));
+    writer.write('\n');
+  }
+
+  private void indent(int depth) throws IOException {
+    for(int i = 0; i < depth; i++)
+      writer.write("  ");
+  }
+}
@@ -0,0 +1,100 @@
+package info.javaspec.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Generates a SpecIndex for each root context class with specs in it, named like the root context class plus
+ * <code>_JavaSpecIndex</code>.  Context classes with more than one Establish, Because, or Cleanup field are reported as
+ * compile errors, instead of failing with AmbiguousFixture when the specs are run.
+ * <p>
+ * No index is generated for classes that can't be referenced from generated code, such as private inner classes; the
+ * runner finds those with reflection instead.
+ */
+@SupportedAnnotationTypes("*")
+public final class SpecIndexProcessor extends AbstractProcessor {
+  private static final String INDEX_CLASS_SUFFIX = "_JavaSpecIndex";
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    ElementFilter.typesIn(roundEnv.getRootElements()).stream()
+      .flatMap(SpecIndexProcessor::selfAndNestedTypes)
+      .filter(ContextClass::canBeRoot)
+      .map(ContextClass::root)
+      .filter(ContextClass::hasSpecs)
+      .forEach(this::indexRootContext);
+
+    return false;
+  }
+
+  private static Stream<TypeElement> selfAndNestedTypes(TypeElement type) {
+    return Stream.concat(
+      Stream.of(type),
+      ElementFilter.typesIn(type.getEnclosedElements()).stream().flatMap(SpecIndexProcessor::selfAndNestedTypes));
+  }
+
+  private void indexRootContext(ContextClass root) {
+    boolean isValid = root.selfAndDescendants()
+      .filter(ContextClass::hasSpecs)
+      .map(this::checkFixtureFields)
+      .reduce(true, Boolean::logicalAnd);
+
+    if(isValid && root.isAccessibleFromPackage())
+      writeIndex(root);
+  }
+
+  private boolean checkFixtureFields(ContextClass context) {
+    //Check them all, so every error is reported at once
+    return checkOnlyOne(context, context.getEstablishFields(), "Establish")
+      & checkOnlyOne(context, context.getBecauseFields(), "Because")
+      & checkOnlyOne(context, context.getCleanupFields(), "Cleanup");
+  }
+
+  private boolean checkOnlyOne(ContextClass context, List<VariableElement> fields, String fieldTypeName) {
+    if(fields.size() < 2)
+      return true;
+
+    Messager messager = processingEnv.getMessager();
+    String message = String.format("Only 1 field of type %s is allowed in context class %s",
+      fieldTypeName, context.getId());
+    fields.stream().skip(1).forEach(x -> messager.printMessage(Kind.ERROR, message, x));
+    return false;
+  }
+
+  private void writeIndex(ContextClass root) {
+    String packageName = processingEnv.getElementUtils().getPackageOf(root.getType()).getQualifiedName().toString();
+    String binaryName = processingEnv.getElementUtils().getBinaryName(root.getType()).toString();
+    String indexSimpleName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+      + INDEX_CLASS_SUFFIX;
+    String indexName = packageName.isEmpty() ? indexSimpleName : packageName + "." + indexSimpleName;
+
+    try {
+      JavaFileObject file = processingEnv.getFiler().createSourceFile(indexName, root.getType());
+      try(Writer writer = file.openWriter()) {
+        new IndexSourceWriter(writer).write(packageName, indexSimpleName, root);
+      }
+    } catch(IOException e) {
+      processingEnv.getMessager().printMessage(Kind.WARNING,
+        String.format("Failed to write %s; specs will be found with reflection instead: %s", indexName, e),
+        root.getType());
+    }
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * An annotation processor that lists the contexts and specs in each root context class at compile time, so the runner
+ * doesn't have to find them with reflection.  Put this module on the compiler's processor path to use it.
+ */
+package info.javaspec.processor;
@@ -0,0 +1,192 @@
+package info.javaspec.processor;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.context.Context;
+import info.javaspec.context.ContextFactory;
+import info.javaspec.index.SpecIndex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@RunWith(HierarchicalContextRunner.class)
+public class SpecIndexProcessorTest {
+  private Path workDir;
+  private DiagnosticCollector<JavaFileObject> diagnostics;
+
+  @Before
+  public void setup() throws Exception {
+    workDir = Files.createTempDirectory("javaspec-processor");
+    diagnostics = new DiagnosticCollector<>();
+  }
+
+  @After
+  public void deleteWorkDir() throws Exception {
+    try(Stream<Path> paths = Files.walk(workDir)) {
+      for(Path path : paths.sorted(Comparator.reverseOrder()).collect(toList()))
+        Files.delete(path);
+    }
+  }
+
+  public class givenARootContextWithSpecs {
+    @Before
+    public void setup() throws Exception {
+      boolean compiled = compile("proto.Greeting",
+        "package proto;",
+        "import info.javaspec.dsl.*;",
+        "public class Greeting {",
+        "  String greeting;",
+        "  Establish arrange = () -> greeting = \"hello\";",
+        "  It says_hello = () -> { if(!\"hello\".equals(greeting)) throw new AssertionError(greeting); };",
+        "  class when_shouting {",
+        "    private Because act = () -> greeting = greeting.toUpperCase();",
+        "    It says_HELLO = () -> { if(!\"HELLO\".equals(greeting)) throw new AssertionError(greeting); };",
+        "  }",
+        "}");
+      assertThat(diagnostics.getDiagnostics().toString(), compiled, equalTo(true));
+    }
+
+    @Test
+    public void generatesAnIndexNamedAfterTheRootContext() throws Exception {
+      assertThat(Files.exists(workDir.resolve("classes/proto/Greeting_JavaSpecIndex.class")), equalTo(true));
+    }
+
+    @Test
+    public void listsSubContextsAndSpecsWithTheSameNamesAsReflection() throws Exception {
+      try(URLClassLoader loader = compiledClassLoader()) {
+        Class<?> rootClass = loader.loadClass("proto.Greeting");
+        assertThat(SpecIndex.forRootContext(rootClass).isPresent(), equalTo(true));
+
+        Context rootContext = ContextFactory.createRootContext(rootClass);
+        Description description = rootContext.getDescription();
+        assertThat(description.getDisplayName(), equalTo("Greeting"));
+        assertThat(childNames(description), contains("says hello(Greeting)", "when shouting"));
+        assertThat(childNames(description.getChildren().get(1)), contains("says HELLO(when shouting)"));
+      }
+    }
+
+    @Test
+    public void runsSpecsWithFieldsReadThroughTheIndex() throws Exception {
+      try(URLClassLoader loader = compiledClassLoader()) {
+        List<Failure> failures = new LinkedList<>();
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new RunListener() {
+          @Override
+          public void testFailure(Failure failure) { failures.add(failure); }
+        });
+
+        Context rootContext = ContextFactory.createRootContext(loader.loadClass("proto.Greeting"));
+        rootContext.run(notifier);
+        assertThat(failures, empty());
+      }
+    }
+  }
+
+  public class givenAContextClassWithMoreThanOneOfAFixtureField {
+    @Test
+    public void reportsACompileErrorOnEachExtraField() throws Exception {
+      boolean compiled = compile("proto.TwoEstablish",
+        "package proto;",
+        "import info.javaspec.dsl.*;",
+        "public class TwoEstablish {",
+        "  Establish one = () -> {};",
+        "  Establish two = () -> {};",
+        "  It runs = () -> {};",
+        "}");
+      assertThat(compiled, equalTo(false));
+      assertThat(errorMessages(),
+        contains("Only 1 field of type Establish is allowed in context class proto.TwoEstablish"));
+    }
+
+    @Test
+    public void givenTheContextClassHasNoSpecsInIt_reportsNothing() throws Exception {
+      boolean compiled = compile("proto.TwoCleanupNoSpecs",
+        "package proto;",
+        "import info.javaspec.dsl.*;",
+        "public class TwoCleanupNoSpecs {",
+        "  Cleanup one = () -> {};",
+        "  Cleanup two = () -> {};",
+        "}");
+      assertThat(compiled, equalTo(true));
+      assertThat(Files.exists(workDir.resolve("classes/proto/TwoCleanupNoSpecs_JavaSpecIndex.class")), equalTo(false));
+    }
+  }
+
+  public class givenAContextClassThatGeneratedCodeCannotReferTo {
+    @Test
+    public void generatesNoIndex() throws Exception {
+      boolean compiled = compile("proto.Hidden",
+        "package proto;",
+        "import info.javaspec.dsl.*;",
+        "public class Hidden {",
+        "  private class hidden_inner {",
+        "    It runs = () -> {};",
+        "  }",
+        "}");
+      assertThat(compiled, equalTo(true));
+      assertThat(Files.exists(workDir.resolve("classes/proto/Hidden_JavaSpecIndex.class")), equalTo(false));
+    }
+  }
+
+  private boolean compile(String className, String... lines) throws IOException {
+    Path sourceFile = workDir.resolve("src").resolve(className.replace('.', '/') + ".java");
+    Path classesDir = workDir.resolve("classes");
+    Files.createDirectories(sourceFile.getParent());
+    Files.createDirectories(classesDir);
+    Files.write(sourceFile, Arrays.asList(lines), StandardCharsets.UTF_8);
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try(StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+      List<String> options = Arrays.asList(
+        "-classpath", System.getProperty("java.class.path"),
+        "-d", classesDir.toString(),
+        "-s", classesDir.toString());
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+        fileManager.getJavaFileObjects(sourceFile.toFile()));
+      task.setProcessors(Arrays.asList(new SpecIndexProcessor()));
+      return task.call();
+    }
+  }
+
+  private URLClassLoader compiledClassLoader() throws IOException {
+    URL classesUrl = workDir.resolve("classes").toUri().toURL();
+    return new URLClassLoader(new URL[] { classesUrl }, getClass().getClassLoader());
+  }
+
+  private List<String> errorMessages() {
+    return diagnostics.getDiagnostics().stream()
+      .filter(x -> x.getKind() == Diagnostic.Kind.ERROR)
+      .map(x -> x.getMessage(null))
+      .collect(toList());
+  }
+
+  private static List<String> childNames(Description description) {
+    return description.getChildren().stream().map(Description::getDisplayName).collect(toList());
+  }
+}
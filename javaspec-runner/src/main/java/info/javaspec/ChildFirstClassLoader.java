@@ -0,0 +1,63 @@
+package info.javaspec;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * Loads classes from its own directories and jars before asking its parent, so that classes which are also on the
+ * JVM's class path are still loaded afresh.  The JDK, JavaSpec, JUnit, and Hamcrest always come from the parent, since
+ * specs and the runner have to agree on those types.
+ */
+final class ChildFirstClassLoader extends URLClassLoader {
+  private static final String[] PARENT_FIRST_PACKAGES = {
+    "java.", "javax.", "jdk.", "sun.", "info.javaspec.", "org.junit.", "junit.", "org.hamcrest."
+  };
+
+  static {
+    ClassLoader.registerAsParallelCapable();
+  }
+
+  public ChildFirstClassLoader(URL[] urls, ClassLoader parent) {
+    super(urls, parent);
+  }
+
+  @Override
+  protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+    if(isParentFirst(name))
+      return super.loadClass(name, resolve);
+
+    synchronized(getClassLoadingLock(name)) {
+      Class<?> loaded = findLoadedClass(name);
+      if(loaded == null) {
+        try {
+          loaded = findClass(name);
+        } catch(ClassNotFoundException e) {
+          return super.loadClass(name, resolve);
+        }
+      }
+
+      if(resolve)
+        resolveClass(loaded);
+
+      return loaded;
+    }
+  }
+
+  @Override
+  public URL getResource(String name) {
+    if(isParentFirst(name.replace('/', '.')))
+      return super.getResource(name);
+
+    URL resource = findResource(name);
+    return resource == null ? super.getResource(name) : resource;
+  }
+
+  private static boolean isParentFirst(String name) {
+    for(String prefix : PARENT_FIRST_PACKAGES) {
+      if(name.startsWith(prefix))
+        return true;
+    }
+
+    return false;
+  }
+}
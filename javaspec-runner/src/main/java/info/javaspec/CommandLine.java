@@ -0,0 +1,191 @@
+package info.javaspec;
+
+import info.javaspec.runner.RunnerConfig;
+import info.javaspec.runner.Shard;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Options and sources given to the command-line runner.  Options may be written as <code>--name value</code> or
+ * <code>--name=value</code>; everything else is a root context class, or a directory or jar of them.
+ */
+final class CommandLine {
+  private static final List<String> OPTIONS_WITH_VALUES = Arrays.asList("--changed", "--class-path", "--order",
+    "--report", "--shard", "--tags", "--threads");
+  private static final String WATCH_CACHE = ".javaspec/index";
+
+  private final List<String> sources = new ArrayList<>();
+  private final List<Path> classPath = new ArrayList<>();
+  private int threads = 1;
+  private Optional<String> order = Optional.empty();
+  private Shard shard = Shard.all();
+  private Optional<Path> report = Optional.empty();
+  private Optional<String> tags = Optional.empty();
+  private Optional<String> changed = Optional.empty();
+  private boolean failFast;
+  private boolean watch;
+
+  public static CommandLine parse(String... args) {
+    CommandLine commandLine = new CommandLine();
+    for(int i = 0; i < args.length; i++) {
+      String arg = args[i];
+      if(!arg.startsWith("--")) {
+        commandLine.sources.add(arg);
+        continue;
+      }
+
+      int equals = arg.indexOf('=');
+      String name = equals < 0 ? arg : arg.substring(0, equals);
+      if("--fail-fast".equals(name) && equals < 0) {
+        commandLine.failFast = true;
+        continue;
+      } else if("--watch".equals(name) && equals < 0) {
+        commandLine.watch = true;
+        continue;
+      } else if(!OPTIONS_WITH_VALUES.contains(name)) {
+        throw InvalidArgument.unrecognized(name);
+      }
+
+      String value;
+      if(equals >= 0)
+        value = arg.substring(equals + 1);
+      else if(i + 1 < args.length)
+        value = args[++i];
+      else
+        throw InvalidArgument.missingValue(name);
+
+      commandLine.setOption(name, value);
+    }
+
+    if(commandLine.sources.isEmpty())
+      throw InvalidArgument.noSources();
+    else if(commandLine.watch && WatchMode.of(commandLine).getDirectories().isEmpty())
+      throw InvalidArgument.nothingToWatch();
+    else if(commandLine.watch && commandLine.changed.isPresent())
+      throw InvalidArgument.conflicting("--changed", "--watch");
+
+    return commandLine;
+  }
+
+  private CommandLine() { }
+
+  private void setOption(String name, String value) {
+    switch(name) {
+      case "--changed":
+        changed = Optional.of(value);
+        break;
+      case "--class-path":
+        for(String entry : value.split(File.pathSeparator)) {
+          if(!entry.isEmpty())
+            classPath.add(Paths.get(entry));
+        }
+        break;
+      case "--threads":
+        threads = positiveInteger(name, value);
+        break;
+      case "--order":
+        order = Optional.of(value);
+        break;
+      case "--shard":
+        shard = Shard.parse(value).orElseThrow(() -> InvalidArgument.forOption(name, value));
+        break;
+      case "--report":
+        report = Optional.of(Paths.get(value));
+        break;
+      case "--tags":
+        tags = Optional.of(value);
+        break;
+      default:
+        throw InvalidArgument.unrecognized(name);
+    }
+  }
+
+  private static int positiveInteger(String name, String value) {
+    try {
+      int number = Integer.parseInt(value);
+      if(number >= 1)
+        return number;
+    } catch(NumberFormatException e) {
+      //Fall through
+    }
+
+    throw InvalidArgument.forOption(name, value);
+  }
+
+  /** Root context class names, and directories and jars of classes, in the order they were given */
+  public List<String> getSources() { return Collections.unmodifiableList(sources); }
+
+  /** Directories and jars to load classes from, without looking in them for context classes */
+  public List<Path> getClassPath() { return Collections.unmodifiableList(classPath); }
+
+  public int getThreads() { return threads; }
+  public Optional<String> getOrder() { return order; }
+  public Shard getShard() { return shard; }
+  public Optional<Path> getReport() { return report; }
+  public Optional<String> getTags() { return tags; }
+  public Optional<String> getChanged() { return changed; }
+  public boolean isFailFast() { return failFast; }
+  public boolean isWatch() { return watch; }
+
+  /** Runner options for these arguments, on top of the given properties */
+  public RunnerConfig toRunnerConfig(Properties defaults) {
+    Properties properties = new Properties(defaults);
+    if(threads > 1) {
+      properties.setProperty(RunnerConfig.EXECUTION, "forkjoin");
+      properties.setProperty(RunnerConfig.PARALLELISM, Integer.toString(threads));
+    }
+
+    if(shard.getCount() > 1)
+      properties.setProperty(RunnerConfig.SHARD, shard.toString());
+
+    if(watch && properties.getProperty(RunnerConfig.CACHE) == null)
+      properties.setProperty(RunnerConfig.CACHE, WATCH_CACHE);
+
+    order.ifPresent(x -> properties.setProperty(RunnerConfig.ORDER, x));
+    tags.ifPresent(x -> properties.setProperty(RunnerConfig.TAGS, x));
+    changed.ifPresent(x -> properties.setProperty(RunnerConfig.CHANGED, x));
+    report.ifPresent(x -> properties.setProperty(isNdjson(x) ? RunnerConfig.NDJSON_REPORT : RunnerConfig.XML_REPORT,
+      x.toString()));
+    return RunnerConfig.fromProperties(properties);
+  }
+
+  private static boolean isNdjson(Path report) {
+    return report.getFileName().toString().endsWith(".ndjson");
+  }
+
+  public static final class InvalidArgument extends RuntimeException {
+    public static InvalidArgument conflicting(String name, String otherName) {
+      return new InvalidArgument(String.format("%s can't be used with %s", name, otherName));
+    }
+
+    public static InvalidArgument forOption(String name, String value) {
+      return new InvalidArgument(String.format("Invalid value for %s: %s", name, value));
+    }
+
+    public static InvalidArgument missingValue(String name) {
+      return new InvalidArgument(String.format("Missing value for %s", name));
+    }
+
+    public static InvalidArgument noSources() {
+      return new InvalidArgument("No context classes, class directories, or jars to run");
+    }
+
+    public static InvalidArgument nothingToWatch() {
+      return new InvalidArgument("--watch needs a class directory, either as a source or on the class path");
+    }
+
+    public static InvalidArgument unrecognized(String name) {
+      return new InvalidArgument(String.format("Unrecognized option: %s", name));
+    }
+
+    private InvalidArgument(String message) { super(message); }
+  }
+}
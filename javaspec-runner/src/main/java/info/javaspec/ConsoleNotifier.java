@@ -0,0 +1,75 @@
+package info.javaspec;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+import java.io.PrintStream;
+
+/**
+ * Counts results and prints failures to the console as they happen.  Handles each notification about specs itself,
+ * instead of passing it through RunNotifier's list of listeners.  Listeners are still told when the run finishes.
+ * <p>
+ * Schedulers deliver notifications on the thread that started the run, so this is not thread-safe.
+ */
+final class ConsoleNotifier extends RunNotifier {
+  private final PrintStream console;
+  private final boolean failFast;
+  private long numStarted;
+  private long numFailed;
+  private long numIgnored;
+  private long numAssumptionsFailed;
+  private boolean isStopRequested;
+
+  public ConsoleNotifier(PrintStream console, boolean failFast) {
+    this.console = console;
+    this.failFast = failFast;
+  }
+
+  public long getNumStarted() { return numStarted; }
+  public long getNumFailed() { return numFailed; }
+
+  /** Specs that started, plus those that were ignored without starting */
+  public long getNumSpecs() { return numStarted + numIgnored; }
+
+  /** Specs that were ignored, whether before starting or by failing an assumption */
+  public long getNumIgnored() { return numIgnored + numAssumptionsFailed; }
+
+  public boolean isStopRequested() { return isStopRequested; }
+
+  @Override
+  public void fireTestStarted(Description description) throws StoppedByUserException {
+    if(isStopRequested)
+      throw new StoppedByUserException();
+
+    numStarted++;
+  }
+
+  @Override
+  public void fireTestFailure(Failure failure) {
+    numFailed++;
+    console.println(String.format("FAILED: %s", failure.getDescription().getDisplayName()));
+    console.println(failure.getTrace());
+    if(failFast)
+      pleaseStop();
+  }
+
+  @Override
+  public void fireTestAssumptionFailed(Failure failure) {
+    numAssumptionsFailed++;
+  }
+
+  @Override
+  public void fireTestIgnored(Description description) {
+    numIgnored++;
+  }
+
+  @Override
+  public void fireTestFinished(Description description) { }
+
+  @Override
+  public void pleaseStop() {
+    isStopRequested = true;
+  }
+}
@@ -1,13 +1,49 @@
 package info.javaspec;
 
+import info.javaspec.CommandLine.InvalidArgument;
+import info.javaspec.RootContexts.NoSuchContext;
+import info.javaspec.context.Context;
+import info.javaspec.daemon.Daemon;
+import info.javaspec.daemon.Daemon.AlreadyRunning;
+import info.javaspec.daemon.DaemonClient;
+import info.javaspec.daemon.DaemonProtocol.InvalidRequest;
+import info.javaspec.daemon.UnixSockets.Unsupported;
+import info.javaspec.runner.JavaSpecRunner;
+import info.javaspec.runner.JavaSpecRunner.NoSpecs;
+import info.javaspec.runner.RunnerConfig;
+import info.javaspec.runner.RunnerConfig.InvalidOption;
+import info.javaspec.watch.ClassFileWatcher;
+import org.junit.runner.Result;
+import org.junit.runner.notification.StoppedByUserException;
+
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
- * Command-line interface for JavaSpec.  <em>For diagnostic purposes only</em>.
+ * Command-line interface for JavaSpec, which runs specs in root context classes without a build tool or a JUnit test
+ * launcher.  Results are printed to the console, and it exits with status 1 if any spec failed.
+ * <p>
+ * Options that aren't on the command line are read from system properties, as described in RunnerConfig.  See
+ * JavaSpecRunner for details on how specs run.
+ * <p>
+ * <code>--daemon &lt;socket&gt;</code> starts a long-lived process that listens on a Unix-domain socket, and
+ * <code>--connect &lt;socket&gt;</code> sends the rest of the arguments to it instead of running them here.  The
+ * daemon loads classes from directories and jars afresh for each run, so it picks up classes that were recompiled since
+ * the last one.
  * <p>
- * See JavaSpecRunner for details on running tests.
+ * <code>--watch</code> keeps running after the first run.  Whenever classes in the directories it's running are
+ * recompiled, it runs the root contexts that depend on them again.
  */
 public final class JavaSpec {
+  private static final long WATCH_QUIET_MILLIS = 300;
   private final PrintStream console;
   private final ExitHandler system;
   private final AppConfigGateway configGateway;
@@ -30,12 +66,37 @@ private JavaSpec(PrintStream console, ExitHandler system) {
   }
 
   private void run(String... args) {
+    Optional<String> daemonSocket = leadingOption("--daemon", args);
+    Optional<String> connectSocket = leadingOption("--connect", args);
+    if(daemonSocket.isPresent() && args.length == leadingOptionLength(args))
+      serve(Paths.get(daemonSocket.get()));
+    else if(connectSocket.isPresent())
+      connect(Paths.get(connectSocket.get()), Arrays.asList(args).subList(leadingOptionLength(args), args.length));
+    else
+      runHere(args);
+  }
+
+  /** Value of an option that has to come first, written as <code>--name value</code> or <code>--name=value</code> */
+  private static Optional<String> leadingOption(String name, String... args) {
+    if(args.length >= 2 && name.equals(args[0]))
+      return Optional.of(args[1]);
+    else if(args.length >= 1 && args[0].startsWith(name + "="))
+      return Optional.of(args[0].substring(name.length() + 1));
+
+    return Optional.empty();
+  }
+
+  private static int leadingOptionLength(String... args) {
+    return args[0].contains("=") ? 1 : 2;
+  }
+
+  private void runHere(String... args) {
     if(isHelpCommand(args))
       printUsage(0);
     else if(isVersionCommand(args))
       printVersion();
     else
-      printUsage(1);
+      runSpecs(args);
   }
 
   private static boolean isHelpCommand(String... args) {
@@ -43,9 +104,21 @@ private static boolean isHelpCommand(String... args) {
   }
 
   private void printUsage(int exitCode) {
-    console.println(String.format("Usage: java %s --version", getClass().getName()));
+    console.println(String.format("Usage: java %s [options] <context class, spec id, class directory, or jar>...",
+      getClass().getName()));
+    console.println("--changed <classes>: Only run root contexts that depend on these classes, which changed");
+    console.println("--class-path <paths>: Also load classes from these directories and jars, without running them");
+    console.println("--connect <socket>: Send the rest of the arguments to the daemon listening on this socket");
+    console.println("--daemon <socket>: Listen on this Unix-domain socket for arguments to run, until stopped");
+    console.println("--fail-fast: Stop after the first spec that fails");
     console.println("--help: Show this help");
+    console.println("--order <order>: declaration (default), longest-first, or failed-first");
+    console.println("--report <file>: Write results as JUnit XML, or as JSON lines for a file ending in .ndjson");
+    console.println("--shard <i>/<n>: Only run the root contexts in the i-th of n shards");
+    console.println("--tags <tags>: Only run specs with these tags, or without those that start with !");
+    console.println("--threads <n>: Run specs on up to n threads (default 1)");
     console.println("--version: Show the version");
+    console.println("--watch: Keep running, and run contexts again when classes they depend on are recompiled");
     system.exit(exitCode);
   }
 
@@ -59,6 +132,133 @@ private void printVersion() {
     system.exit(0);
   }
 
+  private void runSpecs(String... args) {
+    CommandLine commandLine;
+    RunnerConfig config;
+    try {
+      commandLine = CommandLine.parse(args);
+      config = commandLine.toRunnerConfig(System.getProperties());
+    } catch(InvalidArgument | InvalidOption e) {
+      console.println(e.getMessage());
+      printUsage(1);
+      return;
+    }
+
+    if(commandLine.isWatch()) {
+      watch(commandLine, config);
+      return;
+    }
+
+    int exitCode;
+    try {
+      exitCode = runSources(commandLine.getSources(), commandLine.getClassPath(), commandLine, config);
+    } catch(NoSuchContext | NoSpecs e) {
+      console.println(e.getMessage());
+      printUsage(1);
+      return;
+    }
+
+    system.exit(exitCode);
+  }
+
+  /** Runs specs in the given sources, with the rest of the options on the command line, and returns the exit code */
+  private int runSources(List<String> sources, List<Path> classPath, CommandLine commandLine, RunnerConfig config) {
+    try(RootContexts rootContexts = RootContexts.forSources(sources, classPath, config)) {
+      List<JavaSpecRunner> runners = new ArrayList<>();
+      for(Context context : rootContexts.find())
+        runners.add(new JavaSpecRunner(context, config, console));
+
+      return runAll(runners, commandLine.isFailFast());
+    }
+  }
+
+  private int runAll(List<JavaSpecRunner> runners, boolean failFast) {
+    ConsoleNotifier notifier = new ConsoleNotifier(console, failFast);
+    long startNanos = System.nanoTime();
+    for(JavaSpecRunner runner : runners) {
+      try {
+        runner.run(notifier);
+      } catch(StoppedByUserException e) {
+        break;
+      }
+    }
+
+    notifier.fireTestRunFinished(new Result());
+    console.println(String.format("%d specs, %d failed, %d ignored in %.3f s",
+      notifier.getNumSpecs(), notifier.getNumFailed(), notifier.getNumIgnored(),
+      (System.nanoTime() - startNanos) / 1e9));
+    return notifier.getNumFailed() == 0 ? 0 : 1;
+  }
+
+  /* Watch mode */
+
+  private void watch(CommandLine commandLine, RunnerConfig config) {
+    WatchMode watchMode = WatchMode.of(commandLine);
+    try(ClassFileWatcher watcher = ClassFileWatcher.watch(watchMode.getDirectories(), WATCH_QUIET_MILLIS)) {
+      List<String> sources = commandLine.getSources();
+      while(true) {
+        try {
+          runSources(sources, watchMode.getClassPath(), commandLine, config);
+        } catch(NoSuchContext | NoSpecs e) {
+          console.println(e.getMessage());
+        }
+
+        console.println("Watching for changes to classes...");
+        do {
+          Set<String> changed = watcher.awaitChanges();
+          sources = watchMode.affectedSources(changed);
+          if(sources.isEmpty())
+            console.println(String.format("No contexts depend on the %d classes that changed", changed.size()));
+        } while(sources.isEmpty());
+      }
+    } catch(IOException | UncheckedIOException e) {
+      console.println(String.format("Unable to watch for changes: %s", e.getMessage()));
+      system.exit(1);
+    } catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      system.exit(0);
+    }
+  }
+
+  /* Daemon */
+
+  private void serve(Path socket) {
+    try(Daemon daemon = Daemon.listen(socket, JavaSpec::runForClient)) {
+      console.println(String.format("Listening on %s", socket));
+      daemon.serve();
+    } catch(IOException | AlreadyRunning | Unsupported e) {
+      console.println(String.format("Unable to listen on %s: %s", socket, e.getMessage()));
+      system.exit(1);
+      return;
+    }
+
+    system.exit(0);
+  }
+
+  private static int runForClient(PrintStream clientConsole, String... args) {
+    if(Arrays.asList(args).contains("--watch")) {
+      clientConsole.println("--watch runs until it's stopped, so it can't be sent to a daemon");
+      return 1;
+    }
+
+    int[] exitCode = { 0 };
+    JavaSpec cli = new JavaSpec(clientConsole, x -> exitCode[0] = x);
+    cli.runHere(args);
+    return exitCode[0];
+  }
+
+  private void connect(Path socket, List<String> args) {
+    int exitCode;
+    try {
+      exitCode = DaemonClient.run(socket, console, args);
+    } catch(IOException | InvalidRequest | Unsupported e) {
+      console.println(String.format("Unable to run in the daemon on %s: %s", socket, e.getMessage()));
+      exitCode = 1;
+    }
+
+    system.exit(exitCode);
+  }
+
   @FunctionalInterface
   public interface ExitHandler {
     void exit(int code);
@@ -0,0 +1,237 @@
+package info.javaspec;
+
+import info.javaspec.context.Context;
+import info.javaspec.context.ContextFactory;
+import info.javaspec.context.TagFilter;
+import info.javaspec.discovery.ClassDependencies;
+import info.javaspec.discovery.ClasspathScanner;
+import info.javaspec.dsl.It;
+import info.javaspec.index.IndexCache;
+import info.javaspec.runner.ImpactFilter;
+import info.javaspec.runner.RunnerConfig;
+import info.javaspec.runner.Shard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Finds the root contexts named on the command line.  Each source is either the binary name of a class, or a
+ * directory or jar of class files.  Directories and jars are scanned for context classes, which are the only ones that
+ * are loaded; any that can't be loaded or turn out not to have specs are skipped.
+ * <p>
+ * A source may also be the id of one spec, like <code>com.example.WidgetTest.foo#returns_bar</code>.  Only the classes
+ * that enclose that spec are loaded, and it's the only spec in the context that's made for it.
+ * <p>
+ * Classes in directories and jars - whether sources or on the extra class path - are loaded by a class loader of their
+ * own, which looks in them before the JVM's class path and is closed along with this.  A long-lived process can find
+ * contexts again after their classes change, even if those directories are also on its own class path.  Sources that
+ * are only class names are loaded from the JVM's class path, unless their directory is on the extra class path.
+ */
+final class RootContexts implements AutoCloseable {
+  private final List<String> sources;
+  private final ClassLoader loader;
+  private final Optional<URLClassLoader> ownLoader;
+  private final Optional<IndexCache> cache;
+  private final TagFilter tags;
+  private final Shard shard;
+  private final ImpactFilter impact;
+
+  /**
+   * Finds root contexts with the cache, tags, and shard in the given config.  Classes may also be loaded from the
+   * directories and jars on the class path, which aren't searched for contexts.
+   */
+  public static RootContexts forSources(List<String> sources, List<Path> classPath, RunnerConfig config) {
+    List<Path> paths = Stream.concat(sources.stream().map(Paths::get).filter(ClasspathScanner::isScannable),
+        classPath.stream())
+      .collect(toList());
+    URL[] urls = paths.stream().map(RootContexts::toUrl).toArray(URL[]::new);
+
+    Optional<URLClassLoader> ownLoader = urls.length == 0
+      ? Optional.empty()
+      : Optional.of(new ChildFirstClassLoader(urls, JavaSpec.class.getClassLoader()));
+    return new RootContexts(sources, ownLoader, config.indexCache(), config.tagFilter(), config.shard(),
+      impactFilter(paths, config));
+  }
+
+  /**
+   * Root contexts that depend on the changed classes, if there are any.  Dependencies are read from the directories
+   * and jars in this run - and saved for runs that don't have them - or else from those that were saved last time.
+   */
+  private static ImpactFilter impactFilter(List<Path> paths, RunnerConfig config) {
+    Optional<List<String>> changedClassNames = config.changedClassNames();
+    if(!changedClassNames.isPresent())
+      return ImpactFilter.everything();
+    else if(paths.isEmpty())
+      return config.impactFilter();
+
+    ClassDependencies dependencies = ClasspathScanner.of(paths).findDependencies();
+    try {
+      dependencies.save(config.dependenciesFile());
+    } catch(IOException e) {
+      System.err.printf("Unable to save class dependencies to %s: %s%n", config.dependenciesFile(), e);
+    }
+
+    return ImpactFilter.of(changedClassNames.get(), dependencies);
+  }
+
+  private static URL toUrl(Path directoryOrJar) {
+    try {
+      return directoryOrJar.toUri().toURL();
+    } catch(MalformedURLException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+
+  private RootContexts(List<String> sources, Optional<URLClassLoader> ownLoader, Optional<IndexCache> cache,
+                       TagFilter tags, Shard shard, ImpactFilter impact) {
+    this.sources = sources;
+    this.loader = ownLoader.<ClassLoader>map(x -> x).orElse(JavaSpec.class.getClassLoader());
+    this.ownLoader = ownLoader;
+    this.cache = cache;
+    this.tags = tags;
+    this.shard = shard;
+    this.impact = impact;
+  }
+
+  /**
+   * Root contexts in this shard for each source, in the order given, and sorted by name within each directory or jar.
+   * Those in other shards - or that don't depend on any changed classes - are skipped before they are created.
+   */
+  public List<Context> find() {
+    List<Context> contexts = new ArrayList<>();
+    for(String source : sources) {
+      Path path = Paths.get(source);
+      if(ClasspathScanner.isScannable(path)) {
+        ClasspathScanner.of(Collections.singletonList(path)).findRootContextClassNames().stream()
+          .filter(x -> shard.includes(x.replace('$', '.')) && impact.includes(x))
+          .map(this::tryCreate)
+          .forEach(x -> x.ifPresent(contexts::add));
+      } else if(source.indexOf('#') > 0) {
+        Field specField = loadSpecField(source);
+        if(!impact.includes(specField.getDeclaringClass().getName()))
+          continue;
+
+        Context context = ContextFactory.createPathToSpec(specField);
+        if(shard.includes(context.getId()))
+          contexts.add(context);
+      } else {
+        Class<?> rootContextClass = load(source);
+        if(shard.includes(rootContextClass.getCanonicalName()) && impact.includes(rootContextClass.getName()))
+          contexts.add(create(rootContextClass));
+      }
+    }
+
+    saveCache();
+    return contexts;
+  }
+
+  /**
+   * Closes the class loader for directories and jars, once specs in the contexts it found are done running.  The
+   * class loader that JavaSpec itself came from is left alone.
+   */
+  @Override
+  public void close() {
+    if(!ownLoader.isPresent())
+      return;
+
+    try {
+      ownLoader.get().close();
+    } catch(IOException e) {
+      System.err.printf("Unable to close class loader: %s%n", e);
+    }
+  }
+
+  private Context create(Class<?> rootContextClass) {
+    return cache
+      .<Context>map(x -> ContextFactory.createRootContext(rootContextClass, x, tags))
+      .orElseGet(() -> ContextFactory.createRootContext(rootContextClass, tags));
+  }
+
+  private void saveCache() {
+    if(!cache.isPresent())
+      return;
+
+    try {
+      cache.get().save();
+    } catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Class<?> load(String className) {
+    try {
+      return Class.forName(className, false, loader);
+    } catch(ClassNotFoundException | LinkageError e) {
+      throw NoSuchContext.named(className, e);
+    }
+  }
+
+  private Field loadSpecField(String specId) {
+    int separator = specId.lastIndexOf('#');
+    Class<?> declaringClass = loadCanonical(specId.substring(0, separator))
+      .orElseThrow(() -> NoSuchContext.forSpec(specId, null));
+
+    Field field;
+    try {
+      field = declaringClass.getDeclaredField(specId.substring(separator + 1));
+    } catch(NoSuchFieldException | LinkageError e) {
+      throw NoSuchContext.forSpec(specId, e);
+    }
+
+    if(field.getType() != It.class || Modifier.isStatic(field.getModifiers()))
+      throw NoSuchContext.forSpec(specId, null);
+
+    return field;
+  }
+
+  /** Loads a class by its canonical name, where nested classes are separated by dots instead of $ */
+  private Optional<Class<?>> loadCanonical(String canonicalName) {
+    String binaryName = canonicalName;
+    while(true) {
+      try {
+        return Optional.of(Class.forName(binaryName, false, loader));
+      } catch(ClassNotFoundException | LinkageError e) {
+        int lastDot = binaryName.lastIndexOf('.');
+        if(lastDot < 0)
+          return Optional.empty();
+
+        binaryName = binaryName.substring(0, lastDot) + "$" + binaryName.substring(lastDot + 1);
+      }
+    }
+  }
+
+  private Optional<Context> tryCreate(String className) {
+    try {
+      Context context = create(Class.forName(className, false, loader));
+      return context.hasSpecs() ? Optional.of(context) : Optional.empty();
+    } catch(ClassNotFoundException | RuntimeException | LinkageError e) {
+      return Optional.empty();
+    }
+  }
+
+  public static final class NoSuchContext extends RuntimeException {
+    public static NoSuchContext named(String className, Throwable cause) {
+      return new NoSuchContext(String.format("Not a class, directory, or jar: %s", className), cause);
+    }
+
+    public static NoSuchContext forSpec(String specId, Throwable cause) {
+      return new NoSuchContext(String.format("Not a spec: %s", specId), cause);
+    }
+
+    private NoSuchContext(String message, Throwable cause) { super(message, cause); }
+  }
+}
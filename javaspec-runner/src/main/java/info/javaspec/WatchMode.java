@@ -0,0 +1,81 @@
+package info.javaspec;
+
+import info.javaspec.discovery.ClassDependencies;
+import info.javaspec.discovery.ClasspathScanner;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Decides what to run again when classes change.  The sources given on the command line are narrowed down to the
+ * root contexts that depend on a changed class, as read from the class files in the directories and jars on the class
+ * path of the run.
+ */
+final class WatchMode {
+  private final List<String> sources;
+  private final List<Path> classPath;
+
+  public static WatchMode of(CommandLine commandLine) {
+    return new WatchMode(commandLine.getSources(), commandLine.getClassPath());
+  }
+
+  WatchMode(List<String> sources, List<Path> classPath) {
+    this.sources = sources;
+    this.classPath = classPath;
+  }
+
+  /** Directories of class files to watch: those that were named as sources, and those on the extra class path */
+  public List<Path> getDirectories() {
+    return scannablePaths().filter(Files::isDirectory).collect(toList());
+  }
+
+  /**
+   * Every directory and jar named as a source or on the extra class path.  Sources that are affected by a change are
+   * named by class, so this is where to load them from.
+   */
+  public List<Path> getClassPath() {
+    return scannablePaths().collect(toList());
+  }
+
+  private Stream<Path> scannablePaths() {
+    return Stream.concat(sources.stream().map(Paths::get).filter(ClasspathScanner::isScannable), classPath.stream());
+  }
+
+  /**
+   * The sources to run after the given classes changed, in the order they were given: root contexts in directories and
+   * jars, as well as named context classes and specs, that depend on any of them.
+   */
+  public List<String> affectedSources(Collection<String> changedClassNames) {
+    if(changedClassNames.isEmpty())
+      return Collections.emptyList();
+
+    ClassDependencies dependencies = ClasspathScanner.of(getClassPath()).findDependencies();
+    Set<String> dependents = dependencies.dependentsOf(changedClassNames);
+    List<String> affected = new ArrayList<>();
+    for(String source : sources) {
+      Path path = Paths.get(source);
+      if(ClasspathScanner.isScannable(path)) {
+        ClasspathScanner.of(Collections.singletonList(path)).findRootContextClassNames().stream()
+          .filter(dependents::contains)
+          .forEach(affected::add);
+      } else if(source.indexOf('#') > 0) {
+        String contextName = source.substring(0, source.lastIndexOf('#'));
+        if(dependents.stream().anyMatch(x -> x.replace('$', '.').equals(contextName)))
+          affected.add(source);
+      } else if(dependents.contains(source)) {
+        affected.add(source);
+      }
+    }
+
+    return affected;
+  }
+}
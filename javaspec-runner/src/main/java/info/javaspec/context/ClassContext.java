@@ -1,11 +1,13 @@
 package info.javaspec.context;
 
+import info.javaspec.lifecycle.SpecListeners;
 import info.javaspec.spec.Spec;
 import org.junit.runner.Description;
 import org.junit.runner.notification.RunNotifier;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -13,10 +15,16 @@ class ClassContext extends Context {
   private final Description suiteDescription;
   private final List<Spec> specs;
   private final List<Context> subContexts;
+  private final Class<?> source;
 
   protected ClassContext(String id, Description suiteDescription) {
+    this(id, suiteDescription, null);
+  }
+
+  protected ClassContext(String id, Description suiteDescription, Class<?> source) {
     super(id);
     this.suiteDescription = suiteDescription;
+    this.source = source;
     this.specs = new LinkedList<>();
     this.subContexts = new LinkedList<>();
   }
@@ -32,6 +40,9 @@ public void addSubContext(Context context) {
     suiteDescription.addChild(context.getDescription());
   }
 
+  @Override
+  public Optional<Class<?>> getSourceClass() { return Optional.ofNullable(source); }
+
   @Override
   public Description getDescription() { return suiteDescription; }
 
@@ -54,10 +65,20 @@ public long numSpecs() {
 
   @Override
   public void run(RunNotifier notifier) {
-    getSpecs().forEach(x -> x.run(notifier));
-    getSubContexts().forEach(x -> x.run(notifier));
+    long start = System.nanoTime();
+    SpecListeners.fireContextStarting(getId());
+    try {
+      getSpecs().forEach(x -> x.run(notifier));
+      getSubContexts().forEach(x -> x.run(notifier));
+    } finally {
+      finishSpecs(notifier);
+      SpecListeners.fireContextFinished(getId(), System.nanoTime() - start);
+    }
   }
 
-  private Stream<Spec> getSpecs() { return specs.stream(); }
-  private Stream<Context> getSubContexts() { return subContexts.stream(); }
+  @Override
+  public Stream<Spec> getSpecs() { return specs.stream(); }
+
+  @Override
+  public Stream<Context> getSubContexts() { return subContexts.stream(); }
 }
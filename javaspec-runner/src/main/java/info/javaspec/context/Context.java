@@ -2,9 +2,12 @@
 
 import info.javaspec.spec.Spec;
 import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunNotifier;
 
 import java.io.Serializable;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /** A grouping of related specs, which may be further divided into sub-groups (sub-contexts) */
 public abstract class Context {
@@ -16,6 +19,9 @@ protected Context(String id) {
 
   public String getId() { return id; }
 
+  /** The class that declares this context, if it came from one */
+  public Optional<Class<?>> getSourceClass() { return Optional.empty(); }
+
   public abstract Description getDescription();
   public Description describeSpec(Serializable specId, String displayName) {
     return Description.createTestDescription(getDescription().getClassName(), displayName, specId);
@@ -25,5 +31,24 @@ public Description describeSpec(Serializable specId, String displayName) {
   public abstract boolean hasSpecs();
   public abstract long numSpecs();
 
+  /** Specs declared directly in this context, in declaration order */
+  public abstract Stream<Spec> getSpecs();
+
+  /** Contexts nested directly within this one, in declaration order */
+  public abstract Stream<Context> getSubContexts();
+
   public abstract void run(RunNotifier notifier);
+
+  /**
+   * Tells each spec declared directly in this context that the context is done with it.  Runs once the context has
+   * finished - however its specs were scheduled, and even if some of them never ran.  Anything that throws is reported
+   * as a failure of the context, as JUnit does for a class that fails to clean up.
+   */
+  public void finishSpecs(RunNotifier notifier) {
+    getSpecs().forEach(x -> {
+      Throwable failure = x.contextFinished();
+      if(failure != null)
+        notifier.fireTestFailure(new Failure(getDescription(), failure));
+    });
+  }
 }
@@ -1,38 +1,159 @@
 package info.javaspec.context;
 
+import info.javaspec.index.IndexCache;
+import info.javaspec.index.IndexedContext;
+import info.javaspec.index.IndexedField;
+import info.javaspec.index.SpecIndex;
 import info.javaspec.spec.SpecFactory;
+import info.javaspec.util.ClassMetadata;
 import info.javaspec.util.ReflectionBasedFactory;
 import org.junit.runner.Description;
 
-import java.lang.reflect.Modifier;
-import java.util.function.Predicate;
+import java.lang.reflect.Field;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.toList;
+
 public class ContextFactory extends ReflectionBasedFactory {
+  private final TagFilter tags;
+
+  /** Creates contexts from the generated index for the given class, if it has one, or with reflection otherwise */
   public static ClassContext createRootContext(Class<?> source) {
-    return new ContextFactory().create(source, source.getSimpleName());
+    return createRootContext(source, TagFilter.everything());
   }
 
-  private ClassContext createSubContext(Class<?> source) {
-    return create(source, identifierToDisplayName(source.getSimpleName()));
+  /**
+   * Creates contexts for the specs the filter selects, from the generated index for the given class if it has one or
+   * with reflection otherwise.  Classes and fields that are filtered out are skipped, instead of being made into
+   * contexts and specs.
+   */
+  public static ClassContext createRootContext(Class<?> source, TagFilter tags) {
+    ContextFactory factory = new ContextFactory(tags);
+    return factory.createRoot(source, SpecIndex.forRootContext(source).map(SpecIndex::getRootContext));
+  }
+
+  /**
+   * Creates contexts from the generated index for the given class if it has one, or from the cache if it can index the
+   * class.  Falls back to reflection otherwise.
+   */
+  public static ClassContext createRootContext(Class<?> source, IndexCache cache) {
+    return createRootContext(source, cache, TagFilter.everything());
+  }
+
+  /** Creates contexts for the specs the filter selects, like #createRootContext(Class, IndexCache) */
+  public static ClassContext createRootContext(Class<?> source, IndexCache cache, TagFilter tags) {
+    ContextFactory factory = new ContextFactory(tags);
+    Optional<IndexedContext> indexed = SpecIndex.forRootContext(source).map(SpecIndex::getRootContext);
+    if(!indexed.isPresent())
+      indexed = cache.indexFor(source);
+
+    return factory.createRoot(source, indexed);
   }
 
-  private ClassContext create(Class<?> source, String displayName) {
-    String contextId = source.getCanonicalName();
-    ClassContext context = new ClassContext(contextId, Description.createSuiteDescription(displayName, contextId));
+  /** Creates a root context without any specs, for a class whose specs aren't going to run */
+  public static ClassContext createEmptyRootContext(Class<?> source) {
+    return createEmpty(source, source.getSimpleName());
+  }
+
+  /**
+   * Creates only the contexts that enclose the given It field, from its root context class down through inner classes
+   * to the class that declares it, with that field as the only spec.  Nothing else in those classes is inspected.
+   */
+  public static ClassContext createPathToSpec(Field it) {
+    ContextFactory factory = new ContextFactory(TagFilter.everything());
+    LinkedList<Class<?>> path = new LinkedList<>();
+    path.add(it.getDeclaringClass());
+    while(ClassMetadata.of(path.getFirst()).isInner())
+      path.addFirst(ClassMetadata.of(path.getFirst()).getEnclosingClass());
+
+    ClassContext rootContext = createEmpty(path.getFirst(), path.getFirst().getSimpleName());
+    ClassContext context = rootContext;
+    for(Class<?> source : path.subList(1, path.size())) {
+      ClassContext subContext = createEmpty(source, factory.identifierToDisplayName(source.getSimpleName()));
+      context.addSubContext(subContext);
+      context = subContext;
+    }
+
+    new SpecFactory(context).addSpecFromField(it);
+    return rootContext;
+  }
+
+  private ContextFactory(TagFilter tags) {
+    this.tags = tags;
+  }
 
-    SpecFactory specFactory = new SpecFactory(context);
-    specFactory.addSpecsFromClass(source);
+  /** The root context always exists, even when everything in it is filtered out */
+  private ClassContext createRoot(Class<?> source, Optional<IndexedContext> indexed) {
+    if(indexed.isPresent()) {
+      return createFromIndex(indexed.get())
+        .orElseGet(() -> createEmpty(indexed.get().getId(), indexed.get().getDisplayName(), source));
+    }
 
-    readInnerClasses(source)
+    return create(source, source.getSimpleName())
+      .orElseGet(() -> createEmpty(source, source.getSimpleName()));
+  }
+
+  private static ClassContext createEmpty(Class<?> source, String displayName) {
+    return createEmpty(source.getCanonicalName(), displayName, source);
+  }
+
+  private static ClassContext createEmpty(String contextId, String displayName, Class<?> source) {
+    return new ClassContext(contextId, Description.createSuiteDescription(displayName, contextId), source);
+  }
+
+  private Optional<ClassContext> createFromIndex(IndexedContext indexed) {
+    if(tags.excludes(indexed.getType()))
+      return Optional.empty();
+
+    List<IndexedField> specFields = indexed.getSpecFields().stream()
+      .filter(tags::selects)
+      .collect(toList());
+    List<ClassContext> subContexts = indexed.getSubContexts().stream()
+      .map(this::createFromIndex)
+      .filter(Optional::isPresent)
+      .map(Optional::get)
+      .collect(toList());
+    if(isFilteredOut(specFields, subContexts))
+      return Optional.empty();
+
+    ClassContext context = createEmpty(indexed.getId(), indexed.getDisplayName(), indexed.getType());
+    new SpecFactory(context).addSpecsFromIndex(indexed, specFields);
+    subContexts.forEach(context::addSubContext);
+    return Optional.of(context);
+  }
+
+  private Optional<ClassContext> createSubContext(Class<?> source) {
+    return create(source, identifierToDisplayName(source.getSimpleName()));
+  }
+
+  private Optional<ClassContext> create(Class<?> source, String displayName) {
+    if(tags.excludes(source))
+      return Optional.empty();
+
+    List<IndexedField> specFields = SpecFactory.selectItFields(source, tags);
+    List<ClassContext> subContexts = readInnerClasses(source)
       .map(this::createSubContext)
-      .forEach(context::addSubContext);
+      .filter(Optional::isPresent)
+      .map(Optional::get)
+      .collect(toList());
+    if(isFilteredOut(specFields, subContexts))
+      return Optional.empty();
+
+    ClassContext context = createEmpty(source, displayName);
+    new SpecFactory(context).addSpecsFromClass(source, specFields);
+    subContexts.forEach(context::addSubContext);
+    return Optional.of(context);
+  }
 
-    return context;
+  /** Contexts without specs are only left out when filtering, so that they're described as usual otherwise */
+  private boolean isFilteredOut(List<IndexedField> specFields, List<ClassContext> subContexts) {
+    return !tags.selectsEverything() && specFields.isEmpty() && subContexts.isEmpty();
   }
 
   private static Stream<Class<?>> readInnerClasses(Class<?> parent) {
-    Predicate<Class<?>> isNonStatic = x -> !Modifier.isStatic(x.getModifiers());
-    return Stream.of(parent.getDeclaredClasses()).filter(isNonStatic);
+    return ClassMetadata.of(parent).innerClasses();
   }
 }
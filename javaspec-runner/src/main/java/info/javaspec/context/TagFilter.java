@@ -0,0 +1,119 @@
+package info.javaspec.context;
+
+import info.javaspec.dsl.Tag;
+import info.javaspec.index.IndexedField;
+import info.javaspec.util.ClassMetadata;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Chooses which specs to create, by the tags on their It fields and enclosing context classes.
+ * <p>
+ * It is parsed from a comma-separated list of tags, like <code>fast,integration,!perf</code>.  Plain tags are
+ * included: when there are any, only specs with at least one of them are created.  Tags that start with
+ * <code>!</code> are excluded: specs with any of them are not created, and neither are context classes with any of
+ * them, nor anything declared within those classes.
+ */
+public final class TagFilter {
+  private static final TagFilter EVERYTHING = new TagFilter(Collections.emptySet(), Collections.emptySet());
+  private static final Pattern TAG = Pattern.compile("[\\w.-]+");
+  private static final ClassValue<Set<String>> CLASS_TAGS = new ClassValue<Set<String>>() {
+    @Override
+    protected Set<String> computeValue(Class<?> contextClass) {
+      Class<?> enclosingClass = ClassMetadata.of(contextClass).getEnclosingClass();
+      Set<String> tags = new HashSet<>();
+      if(enclosingClass != null)
+        tags.addAll(CLASS_TAGS.get(enclosingClass));
+
+      addTags(contextClass.getAnnotation(Tag.class), tags);
+      return Collections.unmodifiableSet(tags);
+    }
+  };
+
+  private final Set<String> included;
+  private final Set<String> excluded;
+
+  public static TagFilter everything() {
+    return EVERYTHING;
+  }
+
+  public static TagFilter parse(String expression) {
+    Set<String> included = new LinkedHashSet<>();
+    Set<String> excluded = new LinkedHashSet<>();
+    for(String term : expression.split(",", -1)) {
+      String trimmed = term.trim();
+      boolean isExcluded = trimmed.startsWith("!");
+      String tag = isExcluded ? trimmed.substring(1).trim() : trimmed;
+      if(!TAG.matcher(tag).matches())
+        throw InvalidTags.forExpression(expression);
+
+      (isExcluded ? excluded : included).add(tag);
+    }
+
+    return new TagFilter(included, excluded);
+  }
+
+  private TagFilter(Set<String> included, Set<String> excluded) {
+    this.included = included;
+    this.excluded = excluded;
+  }
+
+  /** True when no tags are included or excluded, so every spec is created */
+  public boolean selectsEverything() {
+    return included.isEmpty() && excluded.isEmpty();
+  }
+
+  /** True when the class - or one that encloses it - has an excluded tag, so nothing within it is created */
+  public boolean excludes(Class<?> contextClass) {
+    return !excluded.isEmpty() && !Collections.disjoint(excluded, CLASS_TAGS.get(contextClass));
+  }
+
+  /** Whether to create a spec for the given It field */
+  public boolean selects(Field it) {
+    if(selectsEverything())
+      return true;
+
+    Set<String> tags = new HashSet<>(CLASS_TAGS.get(it.getDeclaringClass()));
+    addTags(it.getAnnotation(Tag.class), tags);
+    return Collections.disjoint(excluded, tags) && (included.isEmpty() || !Collections.disjoint(included, tags));
+  }
+
+  /** Whether to create a spec for the given It field, which is only looked up when some tags are chosen */
+  public boolean selects(IndexedField it) {
+    if(selectsEverything())
+      return true;
+
+    try {
+      return selects(it.getDeclaringClass().getDeclaredField(it.getName()));
+    } catch(NoSuchFieldException e) {
+      return false;
+    }
+  }
+
+  private static void addTags(Tag annotation, Set<String> tags) {
+    if(annotation != null)
+      tags.addAll(Arrays.asList(annotation.value()));
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder expression = new StringBuilder();
+    included.forEach(x -> expression.append(expression.length() == 0 ? "" : ",").append(x));
+    excluded.forEach(x -> expression.append(expression.length() == 0 ? "!" : ",!").append(x));
+    return expression.toString();
+  }
+
+  public static final class InvalidTags extends RuntimeException {
+    public static InvalidTags forExpression(String expression) {
+      return new InvalidTags(String.format("Invalid tag expression: %s", expression));
+    }
+
+    private InvalidTags(String message) { super(message); }
+  }
+}
@@ -0,0 +1,121 @@
+package info.javaspec.daemon;
+
+import info.javaspec.daemon.DaemonProtocol.InvalidRequest;
+import info.javaspec.daemon.DaemonProtocol.OutputLines;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Serves run requests on a Unix-domain socket, one at a time, in the same JVM.  Each request is a list of command line
+ * arguments, and its console output is streamed back to the client as it's printed.  See DaemonProtocol for the
+ * format.
+ * <p>
+ * The socket file is removed when the daemon is closed or the JVM exits.  A socket file left behind by a daemon that
+ * is no longer running is replaced.
+ */
+public final class Daemon implements Closeable {
+  private final Path socket;
+  private final ServerSocketChannel server;
+  private final Command command;
+
+  public static Daemon listen(Path socket, Command command) throws IOException {
+    removeStaleSocket(socket);
+    ServerSocketChannel server = UnixSockets.listen(socket);
+    socket.toFile().deleteOnExit();
+    return new Daemon(socket, server, command);
+  }
+
+  private static void removeStaleSocket(Path socket) throws IOException {
+    if(!Files.exists(socket))
+      return;
+
+    SocketChannel channel;
+    try {
+      channel = UnixSockets.connect(socket);
+    } catch(IOException e) {
+      Files.delete(socket);
+      return;
+    }
+
+    try {
+      channel.close();
+    } catch(IOException e) {
+      //Something is listening either way
+    }
+
+    throw AlreadyRunning.at(socket);
+  }
+
+  private Daemon(Path socket, ServerSocketChannel server, Command command) {
+    this.socket = socket;
+    this.server = server;
+    this.command = command;
+  }
+
+  public Path getSocket() { return socket; }
+
+  /** Handles requests until the daemon is closed */
+  public void serve() {
+    while(server.isOpen()) {
+      try(SocketChannel client = server.accept()) {
+        handle(client);
+      } catch(ClosedChannelException e) {
+        return;
+      } catch(IOException | InvalidRequest e) {
+        System.err.printf("Unable to finish request on %s: %s%n", socket, e.getMessage());
+      }
+    }
+  }
+
+  private void handle(SocketChannel client) throws IOException {
+    BufferedReader reader = new BufferedReader(
+      new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+    List<String> args = DaemonProtocol.readRequest(reader);
+
+    OutputLines output = new OutputLines(new BufferedOutputStream(Channels.newOutputStream(client)));
+    PrintStream console = new PrintStream(output, true, StandardCharsets.UTF_8.name());
+    int exitCode;
+    try {
+      exitCode = command.run(console, args.toArray(new String[args.size()]));
+    } catch(RuntimeException e) {
+      e.printStackTrace(console);
+      exitCode = 1;
+    }
+
+    console.flush();
+    output.finish(exitCode);
+  }
+
+  @Override
+  public void close() throws IOException {
+    server.close();
+    Files.deleteIfExists(socket);
+  }
+
+  /** Runs the arguments in one request, printing to the given console, and returns the exit code */
+  @FunctionalInterface
+  public interface Command {
+    int run(PrintStream console, String... args);
+  }
+
+  public static final class AlreadyRunning extends RuntimeException {
+    public static AlreadyRunning at(Path socket) {
+      return new AlreadyRunning(String.format("A daemon is already listening on %s", socket));
+    }
+
+    private AlreadyRunning(String message) { super(message); }
+  }
+}
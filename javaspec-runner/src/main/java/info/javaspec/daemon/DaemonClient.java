@@ -0,0 +1,38 @@
+package info.javaspec.daemon;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+/** Sends command line arguments to a daemon, and prints its console output as it arrives */
+public final class DaemonClient {
+  /** Runs the arguments in the daemon listening on the given socket, and returns its exit code */
+  public static int run(Path socket, PrintStream console, List<String> args) throws IOException {
+    try(SocketChannel channel = UnixSockets.connect(socket)) {
+      DaemonProtocol.writeRequest(
+        new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8), args);
+
+      BufferedReader reader = new BufferedReader(
+        new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+      String line;
+      while((line = reader.readLine()) != null) {
+        if(line.startsWith(DaemonProtocol.OUTPUT_PREFIX))
+          console.println(line.substring(DaemonProtocol.OUTPUT_PREFIX.length()));
+        else if(line.startsWith(DaemonProtocol.EXIT_PREFIX))
+          return Integer.parseInt(line.substring(DaemonProtocol.EXIT_PREFIX.length()));
+      }
+
+      throw new EOFException(String.format("Daemon on %s stopped before the run finished", socket));
+    }
+  }
+
+  private DaemonClient() { /* static class */ }
+}
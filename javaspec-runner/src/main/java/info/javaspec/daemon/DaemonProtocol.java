@@ -0,0 +1,112 @@
+package info.javaspec.daemon;
+
+import java.io.BufferedReader;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lines of UTF-8 text sent each way over the socket, so that a request can be typed into any tool that talks to Unix
+ * sockets.  The client sends each argument on its own line, followed by an empty line.  The daemon sends each line of
+ * console output with <code>&gt; </code> in front of it, as it's printed, and finishes with the exit code in a line
+ * like <code>exit 1</code>.
+ */
+public final class DaemonProtocol {
+  static final String OUTPUT_PREFIX = "> ";
+  static final String EXIT_PREFIX = "exit ";
+
+  static void writeRequest(Writer writer, List<String> args) throws IOException {
+    for(String arg : args) {
+      if(arg.isEmpty() || arg.indexOf('\n') >= 0 || arg.indexOf('\r') >= 0)
+        throw InvalidRequest.forArgument(arg);
+
+      writer.write(arg);
+      writer.write('\n');
+    }
+
+    writer.write('\n');
+    writer.flush();
+  }
+
+  static List<String> readRequest(BufferedReader reader) throws IOException {
+    List<String> args = new ArrayList<>();
+    String line;
+    while((line = reader.readLine()) != null && !line.isEmpty())
+      args.add(line);
+
+    if(line == null)
+      throw InvalidRequest.unfinished();
+
+    return args;
+  }
+
+  private DaemonProtocol() { /* static class */ }
+
+  /** Puts the output prefix at the start of each line written to it */
+  static final class OutputLines extends FilterOutputStream {
+    private static final byte[] PREFIX = OUTPUT_PREFIX.getBytes(StandardCharsets.UTF_8);
+    private boolean isAtLineStart = true;
+
+    OutputLines(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if(isAtLineStart)
+        out.write(PREFIX);
+
+      out.write(b);
+      isAtLineStart = b == '\n';
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      int lineStart = offset;
+      for(int i = offset; i < offset + length; i++) {
+        if(bytes[i] != '\n')
+          continue;
+
+        writeLine(bytes, lineStart, i + 1 - lineStart);
+        lineStart = i + 1;
+      }
+
+      if(lineStart < offset + length)
+        writeLine(bytes, lineStart, offset + length - lineStart);
+    }
+
+    private void writeLine(byte[] bytes, int offset, int length) throws IOException {
+      if(isAtLineStart)
+        out.write(PREFIX);
+
+      out.write(bytes, offset, length);
+      isAtLineStart = bytes[offset + length - 1] == '\n';
+    }
+
+    /** Ends the output, with a line break if the last line didn't have one, and then the exit code */
+    void finish(int exitCode) throws IOException {
+      if(!isAtLineStart)
+        out.write('\n');
+
+      out.write((EXIT_PREFIX + exitCode + "\n").getBytes(StandardCharsets.UTF_8));
+      isAtLineStart = true;
+      out.flush();
+    }
+  }
+
+  public static final class InvalidRequest extends RuntimeException {
+    public static InvalidRequest forArgument(String arg) {
+      return new InvalidRequest(String.format("Arguments sent to the daemon can't be empty or span lines: <%s>", arg));
+    }
+
+    public static InvalidRequest unfinished() {
+      return new InvalidRequest("Connection closed before the end of the request");
+    }
+
+    private InvalidRequest(String message) { super(message); }
+  }
+}
@@ -0,0 +1,126 @@
+package info.javaspec.daemon;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * Opens Unix-domain socket channels, which JVMs have from Java 16 on.  They're looked up reflectively, so this class is
+ * safe to load anywhere; on older JVMs, opening a channel throws Unsupported.
+ */
+public final class UnixSockets {
+  private static final Support SUPPORT = Support.lookUp();
+
+  /** True when this JVM can open Unix-domain sockets */
+  public static boolean isSupported() {
+    return SUPPORT != null;
+  }
+
+  /** Binds a server to a new socket file at the given path */
+  public static ServerSocketChannel listen(Path socket) throws IOException {
+    ServerSocketChannel server = (ServerSocketChannel)support().open(support().openServer);
+    try {
+      server.bind(support().address(socket));
+    } catch(IOException | RuntimeException e) {
+      server.close();
+      throw e;
+    }
+
+    return server;
+  }
+
+  /** Connects to a server listening on the socket file at the given path */
+  public static SocketChannel connect(Path socket) throws IOException {
+    SocketChannel channel = (SocketChannel)support().open(support().openClient);
+    try {
+      channel.connect(support().address(socket));
+    } catch(IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+
+    return channel;
+  }
+
+  private static Support support() {
+    if(SUPPORT == null)
+      throw Unsupported.onThisJvm();
+
+    return SUPPORT;
+  }
+
+  private UnixSockets() { /* static class */ }
+
+  private static final class Support {
+    private final ProtocolFamily unix;
+    private final Method addressOf;
+    private final Method openServer;
+    private final Method openClient;
+
+    static Support lookUp() {
+      try {
+        return new Support(
+          StandardProtocolFamily.valueOf("UNIX"),
+          Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", Path.class),
+          ServerSocketChannel.class.getMethod("open", ProtocolFamily.class),
+          SocketChannel.class.getMethod("open", ProtocolFamily.class));
+      } catch(ReflectiveOperationException | IllegalArgumentException | LinkageError e) {
+        return null;
+      }
+    }
+
+    private Support(ProtocolFamily unix, Method addressOf, Method openServer, Method openClient) {
+      this.unix = unix;
+      this.addressOf = addressOf;
+      this.openServer = openServer;
+      this.openClient = openClient;
+    }
+
+    SocketAddress address(Path socket) {
+      try {
+        return (SocketAddress)addressOf.invoke(null, socket);
+      } catch(IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      } catch(InvocationTargetException e) {
+        throw rethrow(e.getCause());
+      }
+    }
+
+    Object open(Method opener) throws IOException {
+      try {
+        return opener.invoke(null, unix);
+      } catch(IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      } catch(InvocationTargetException e) {
+        if(e.getCause() instanceof IOException)
+          throw (IOException)e.getCause();
+
+        throw rethrow(e.getCause());
+      }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+      if(cause instanceof RuntimeException)
+        throw (RuntimeException)cause;
+      else if(cause instanceof Error)
+        throw (Error)cause;
+
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  public static final class Unsupported extends RuntimeException {
+    public static Unsupported onThisJvm() {
+      return new Unsupported(String.format("Unix-domain sockets need Java 16 or later; this is Java %s",
+        System.getProperty("java.specification.version")));
+    }
+
+    private Unsupported(String message) { super(message); }
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * A long-lived JavaSpec process that runs specs on request from a local Unix-domain socket, so that each run after the
+ * first starts in a JVM that has already loaded and compiled the runner.
+ */
+package info.javaspec.daemon;
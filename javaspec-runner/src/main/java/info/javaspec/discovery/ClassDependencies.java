@@ -0,0 +1,139 @@
+package info.javaspec.discovery;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Which classes refer to which others, as read from their class files.  A class depends on the classes it refers to,
+ * and on everything those depend on in turn.
+ * <p>
+ * A nested class and the class it's declared in refer to each other, so a change anywhere in a tree of context classes
+ * reaches its root context.
+ * <p>
+ * Dependencies can be saved to a local file, so that a later run - or another JVM - can use them without reading the
+ * class files again.
+ */
+public final class ClassDependencies {
+  private static final int MAGIC = 0x4a534447; //JSDG
+  private static final ClassDependencies EMPTY = new ClassDependencies(Collections.emptyMap());
+  private static final ConcurrentMap<Path, ClassDependencies> OPEN = new ConcurrentHashMap<>();
+
+  private final Map<String, Set<String>> references;
+  private final Map<String, Set<String>> referrers;
+
+  /** No classes at all, as when dependencies haven't been saved yet */
+  public static ClassDependencies empty() {
+    return EMPTY;
+  }
+
+  /** Dependencies where each class, named by its binary name, refers to the classes in its set */
+  public static ClassDependencies of(Map<String, Set<String>> references) {
+    return new ClassDependencies(references);
+  }
+
+  /** The dependencies saved in the given file, which is only read the first time it is opened in this JVM */
+  public static ClassDependencies open(Path file) {
+    return OPEN.computeIfAbsent(file.toAbsolutePath().normalize(), ClassDependencies::load);
+  }
+
+  /** Reads the dependencies in the given file, or none if the file is missing or can't be read */
+  public static ClassDependencies load(Path file) {
+    try(InputStream stream = Files.newInputStream(file)) {
+      DataInputStream input = new DataInputStream(new BufferedInputStream(stream));
+      if(input.readInt() != MAGIC)
+        return EMPTY;
+
+      Map<String, Set<String>> references = new HashMap<>();
+      for(int numClasses = input.readInt(); numClasses > 0; numClasses--) {
+        String className = input.readUTF();
+        Set<String> referenced = new HashSet<>();
+        for(int numReferences = input.readInt(); numReferences > 0; numReferences--)
+          referenced.add(input.readUTF());
+
+        references.put(className, referenced);
+      }
+
+      return new ClassDependencies(references);
+    } catch(IOException e) {
+      return EMPTY;
+    }
+  }
+
+  private ClassDependencies(Map<String, Set<String>> references) {
+    this.references = references;
+    this.referrers = new HashMap<>();
+    references.forEach((name, referenced) -> referenced.forEach(x ->
+      referrers.computeIfAbsent(x, y -> new HashSet<>()).add(name)));
+  }
+
+  /** Binary names of the classes that were read */
+  public Set<String> getClassNames() {
+    return Collections.unmodifiableSet(references.keySet());
+  }
+
+  /** Binary names of the classes that the given class refers to directly */
+  public Set<String> getReferencedClassNames(String className) {
+    return references.getOrDefault(className, Collections.emptySet());
+  }
+
+  /**
+   * Binary names of the classes that depend on any of the given classes, directly or through others, along with the
+   * given classes themselves.
+   */
+  public Set<String> dependentsOf(Collection<String> classNames) {
+    Set<String> dependents = new HashSet<>(classNames);
+    Deque<String> toVisit = new ArrayDeque<>(classNames);
+    while(!toVisit.isEmpty()) {
+      for(String referrer : referrers.getOrDefault(toVisit.pop(), Collections.emptySet())) {
+        if(dependents.add(referrer))
+          toVisit.push(referrer);
+      }
+    }
+
+    return dependents;
+  }
+
+  /** Replaces the given file with these dependencies, and shares them with anyone who opens that file later */
+  public void save(Path file) throws IOException {
+    Path parent = file.getParent();
+    if(parent != null)
+      Files.createDirectories(parent);
+
+    Path updated = file.resolveSibling(file.getFileName() + ".tmp");
+    try(OutputStream stream = Files.newOutputStream(updated)) {
+      DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream));
+      output.writeInt(MAGIC);
+      output.writeInt(references.size());
+      for(Map.Entry<String, Set<String>> entry : new TreeMap<>(references).entrySet()) {
+        output.writeUTF(entry.getKey());
+        output.writeInt(entry.getValue().size());
+        for(String referenced : entry.getValue())
+          output.writeUTF(referenced);
+      }
+
+      output.flush();
+    }
+
+    Files.move(updated, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    OPEN.put(file.toAbsolutePath().normalize(), this);
+  }
+}
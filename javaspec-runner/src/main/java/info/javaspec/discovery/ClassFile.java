@@ -0,0 +1,318 @@
+package info.javaspec.discovery;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * What a class file says about the class it defines, as far as finding contexts goes: its name, what kind of class it
+ * is, whether it declares any It fields, and which inner classes it declares.  Read straight from the constant pool,
+ * fields, and InnerClasses attribute, without loading the class.
+ * <p>
+ * When asked for, it also lists the other classes that the constant pool refers to, which are the classes it could
+ * depend on at runtime.
+ */
+final class ClassFile {
+  private static final int MAGIC = 0xCAFEBABE;
+  private static final int ACC_STATIC = 0x0008;
+  private static final int ACC_INTERFACE = 0x0200;
+  private static final int ACC_ABSTRACT = 0x0400;
+  private static final int ACC_ANNOTATION = 0x2000;
+  private static final int ACC_ENUM = 0x4000;
+  private static final byte[] IT_DESCRIPTOR = "Linfo/javaspec/dsl/It;".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] INNER_CLASSES = "InnerClasses".getBytes(StandardCharsets.UTF_8);
+
+  private static final int CONSTANT_UTF8 = 1;
+  private static final int CONSTANT_INTEGER = 3;
+  private static final int CONSTANT_FLOAT = 4;
+  private static final int CONSTANT_LONG = 5;
+  private static final int CONSTANT_DOUBLE = 6;
+  private static final int CONSTANT_CLASS = 7;
+  private static final int CONSTANT_STRING = 8;
+  private static final int CONSTANT_FIELD_REF = 9;
+  private static final int CONSTANT_METHOD_REF = 10;
+  private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+  private static final int CONSTANT_NAME_AND_TYPE = 12;
+  private static final int CONSTANT_METHOD_HANDLE = 15;
+  private static final int CONSTANT_METHOD_TYPE = 16;
+  private static final int CONSTANT_DYNAMIC = 17;
+  private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+  private static final int CONSTANT_MODULE = 19;
+  private static final int CONSTANT_PACKAGE = 20;
+
+  private final String name;
+  private final int accessFlags;
+  private final boolean isNested;
+  private final boolean hasItFields;
+  private final List<String> innerClassNames;
+  private final Set<String> referencedClassNames;
+
+  /** Reads the class file in the buffer, from its position to its limit.  The buffer's position is not changed. */
+  public static ClassFile read(ByteBuffer classFile) {
+    return read(classFile, false);
+  }
+
+  /** Reads the class file like read, and also lists the classes it refers to */
+  public static ClassFile readWithReferences(ByteBuffer classFile) {
+    return read(classFile, true);
+  }
+
+  private static ClassFile read(ByteBuffer classFile, boolean withReferences) {
+    try {
+      return new Reader(classFile.slice()).read(withReferences);
+    } catch(BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+      throw InvalidClassFile.truncated(e);
+    }
+  }
+
+  private ClassFile(String name, int accessFlags, boolean isNested, boolean hasItFields,
+                    List<String> innerClassNames, Set<String> referencedClassNames) {
+    this.name = name;
+    this.accessFlags = accessFlags;
+    this.isNested = isNested;
+    this.hasItFields = hasItFields;
+    this.innerClassNames = innerClassNames;
+    this.referencedClassNames = referencedClassNames;
+  }
+
+  /** Binary name of the class, like <code>com.example.Outer$Inner</code> */
+  public String getName() { return name; }
+
+  /** True if the class is declared inside another class (or method) */
+  public boolean isNested() { return isNested; }
+
+  /** True if the class declares at least one field whose type is It */
+  public boolean hasItFields() { return hasItFields; }
+
+  /** Binary names of the non-static classes declared directly in this one, which may be sub-contexts */
+  public List<String> getInnerClassNames() { return innerClassNames; }
+
+  /**
+   * Binary names of the other classes named in the constant pool and in the types of its fields and methods -
+   * including the classes it's nested in or encloses - with array types replaced by their element types.  Empty unless
+   * the class file was read with its references.
+   */
+  public Set<String> getReferencedClassNames() { return referencedClassNames; }
+
+  /** True for concrete classes, which JavaSpec could instantiate as a context */
+  public boolean isConcreteClass() {
+    return (accessFlags & (ACC_INTERFACE | ACC_ABSTRACT | ACC_ANNOTATION | ACC_ENUM)) == 0;
+  }
+
+  private static final class Reader {
+    private final ByteBuffer bytes;
+    private int[] offsets;
+
+    public Reader(ByteBuffer bytes) {
+      this.bytes = bytes;
+    }
+
+    public ClassFile read(boolean withReferences) {
+      if(bytes.getInt() != MAGIC)
+        throw InvalidClassFile.notAClassFile();
+
+      bytes.getInt(); //Minor and major version
+      readConstantPool();
+
+      int accessFlags = u2();
+      int thisClass = u2();
+      bytes.getShort(); //Super class
+      skip(2 * u2()); //Interfaces
+
+      boolean hasItFields = false;
+      List<Integer> memberDescriptors = new ArrayList<>(0);
+      int numFields = u2();
+      for(int i = 0; i < numFields; i++) {
+        bytes.getShort(); //Access flags
+        bytes.getShort(); //Name
+        int descriptor = u2();
+        hasItFields |= utf8Equals(descriptor, IT_DESCRIPTOR);
+        if(withReferences)
+          memberDescriptors.add(descriptor);
+
+        skipAttributes();
+      }
+
+      int numMethods = u2();
+      for(int i = 0; i < numMethods; i++) {
+        skip(4); //Access flags and name
+        int descriptor = u2();
+        if(withReferences)
+          memberDescriptors.add(descriptor);
+
+        skipAttributes();
+      }
+
+      boolean isNested = false;
+      List<String> innerClassNames = new ArrayList<>(0);
+      int numAttributes = u2();
+      for(int i = 0; i < numAttributes; i++) {
+        int attributeName = u2();
+        int length = bytes.getInt();
+        if(!utf8Equals(attributeName, INNER_CLASSES)) {
+          skip(length);
+          continue;
+        }
+
+        int numClasses = u2();
+        for(int c = 0; c < numClasses; c++) {
+          int innerClass = u2();
+          int outerClass = u2();
+          bytes.getShort(); //Simple name
+          int innerAccessFlags = u2();
+          if(innerClass == thisClass)
+            isNested = true;
+          else if(outerClass == thisClass && (innerAccessFlags & ACC_STATIC) == 0)
+            innerClassNames.add(className(innerClass));
+        }
+      }
+
+      String name = className(thisClass);
+      Set<String> referencedClassNames = withReferences
+        ? referencedClassNames(name, memberDescriptors)
+        : Collections.emptySet();
+      return new ClassFile(name, accessFlags, isNested, hasItFields, Collections.unmodifiableList(innerClassNames),
+        referencedClassNames);
+    }
+
+    //Classes named in class constants, and in the types of fields and methods - declared here, or used from elsewhere
+    private Set<String> referencedClassNames(String thisClassName, List<Integer> memberDescriptors) {
+      Set<String> names = new TreeSet<>();
+      for(int i = 1; i < offsets.length; i++) {
+        if(offsets[i] == 0)
+          continue; //Second half of a long or double
+
+        int tag = bytes.get(offsets[i]);
+        if(tag == CONSTANT_CLASS) {
+          String name = className(i);
+          if(name.startsWith("["))
+            addDescriptorClassNames(name, names);
+          else
+            names.add(name);
+        } else if(tag == CONSTANT_NAME_AND_TYPE) {
+          addDescriptorClassNames(utf8(bytes.getShort(offsets[i] + 3) & 0xFFFF), names);
+        } else if(tag == CONSTANT_METHOD_TYPE) {
+          addDescriptorClassNames(utf8(bytes.getShort(offsets[i] + 1) & 0xFFFF), names);
+        }
+      }
+
+      for(int descriptor : memberDescriptors)
+        addDescriptorClassNames(utf8(descriptor), names);
+
+      names.remove(thisClassName);
+      return Collections.unmodifiableSet(names);
+    }
+
+    //Descriptors name classes like Ljava/lang/String; - or Ljava.lang.String; for array classes, after className
+    private static void addDescriptorClassNames(String descriptor, Set<String> names) {
+      for(int start = descriptor.indexOf('L'); start >= 0; start = descriptor.indexOf('L', start)) {
+        int end = descriptor.indexOf(';', start);
+        names.add(descriptor.substring(start + 1, end).replace('/', '.'));
+        start = end;
+      }
+    }
+
+    private void readConstantPool() {
+      int count = u2();
+      offsets = new int[count];
+      for(int i = 1; i < count; i++) {
+        offsets[i] = bytes.position();
+        int tag = bytes.get();
+        switch(tag) {
+          case CONSTANT_UTF8:
+            skip(u2());
+            break;
+          case CONSTANT_CLASS: case CONSTANT_STRING: case CONSTANT_METHOD_TYPE: case CONSTANT_MODULE:
+          case CONSTANT_PACKAGE:
+            skip(2);
+            break;
+          case CONSTANT_METHOD_HANDLE:
+            skip(3);
+            break;
+          case CONSTANT_INTEGER: case CONSTANT_FLOAT: case CONSTANT_FIELD_REF: case CONSTANT_METHOD_REF:
+          case CONSTANT_INTERFACE_METHOD_REF: case CONSTANT_NAME_AND_TYPE: case CONSTANT_DYNAMIC:
+          case CONSTANT_INVOKE_DYNAMIC:
+            skip(4);
+            break;
+          case CONSTANT_LONG: case CONSTANT_DOUBLE:
+            skip(8);
+            i++; //Takes two entries
+            break;
+          default: throw InvalidClassFile.unknownConstant(tag);
+        }
+      }
+    }
+
+    private String className(int classIndex) {
+      int nameIndex = bytes.getShort(offsets[classIndex] + 1) & 0xFFFF;
+      return utf8(nameIndex).replace('/', '.');
+    }
+
+    private boolean utf8Equals(int index, byte[] expected) {
+      int offset = offsets[index];
+      if(bytes.get(offset) != CONSTANT_UTF8 || (bytes.getShort(offset + 1) & 0xFFFF) != expected.length)
+        return false;
+
+      for(int i = 0; i < expected.length; i++) {
+        if(bytes.get(offset + 3 + i) != expected[i])
+          return false;
+      }
+
+      return true;
+    }
+
+    //Class names are modified UTF-8, which only differs from UTF-8 for NUL and supplementary characters
+    private String utf8(int index) {
+      int offset = offsets[index];
+      if(bytes.get(offset) != CONSTANT_UTF8)
+        throw InvalidClassFile.notAName(index);
+
+      byte[] value = new byte[bytes.getShort(offset + 1) & 0xFFFF];
+      for(int i = 0; i < value.length; i++)
+        value[i] = bytes.get(offset + 3 + i);
+
+      return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private void skipAttributes() {
+      int numAttributes = u2();
+      for(int i = 0; i < numAttributes; i++) {
+        bytes.getShort(); //Name
+        skip(bytes.getInt());
+      }
+    }
+
+    private int u2() {
+      return bytes.getShort() & 0xFFFF;
+    }
+
+    private void skip(int numBytes) {
+      bytes.position(bytes.position() + numBytes);
+    }
+  }
+
+  public static final class InvalidClassFile extends RuntimeException {
+    public static InvalidClassFile notAClassFile() {
+      return new InvalidClassFile("Not a class file", null);
+    }
+
+    public static InvalidClassFile notAName(int index) {
+      return new InvalidClassFile(String.format("Constant %d is not a name", index), null);
+    }
+
+    public static InvalidClassFile truncated(Throwable cause) {
+      return new InvalidClassFile("Class file is truncated or malformed", cause);
+    }
+
+    public static InvalidClassFile unknownConstant(int tag) {
+      return new InvalidClassFile(String.format("Unknown constant pool tag: %d", tag), null);
+    }
+
+    private InvalidClassFile(String message, Throwable cause) { super(message, cause); }
+  }
+}
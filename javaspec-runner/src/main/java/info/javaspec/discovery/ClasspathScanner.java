@@ -0,0 +1,186 @@
+package info.javaspec.discovery;
+
+import info.javaspec.discovery.ClassFile.InvalidClassFile;
+import info.javaspec.discovery.JarClassFiles.InvalidJar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Finds root context classes in directories of class files and in jars, by reading their class files instead of
+ * loading them.  A root context is a concrete, top-level class that declares It fields or has an inner class (at any
+ * depth) that does.
+ * <p>
+ * Class files are read in parallel.  Jars are memory-mapped and read from their central directory, so finding the
+ * class files in a jar doesn't mean reading the whole jar.  Files that aren't valid class files are skipped.
+ */
+public final class ClasspathScanner {
+  private final List<Path> roots;
+
+  /** Scans the given directories and jars, in that order.  When a class is in more than one, the first one wins. */
+  public static ClasspathScanner of(List<Path> roots) {
+    return new ClasspathScanner(roots);
+  }
+
+  private ClasspathScanner(List<Path> roots) {
+    this.roots = new ArrayList<>(roots);
+  }
+
+  /** True for paths that this can scan: directories and jar (or zip) files */
+  public static boolean isScannable(Path path) {
+    if(Files.isDirectory(path))
+      return true;
+
+    String fileName = path.getFileName() == null ? "" : path.getFileName().toString();
+    return Files.isRegularFile(path) && (fileName.endsWith(".jar") || fileName.endsWith(".zip"));
+  }
+
+  /** Binary names of the root context classes, sorted by name */
+  public List<String> findRootContextClassNames() {
+    Map<String, ClassFile> classFiles = new LinkedHashMap<>();
+    for(Path root : roots)
+      readClassFiles(root).forEach(x -> classFiles.putIfAbsent(x.getName(), x));
+
+    Map<String, Boolean> hasSpecs = new HashMap<>();
+    return classFiles.values().stream()
+      .filter(x -> !x.isNested() && x.isConcreteClass())
+      .filter(x -> hasSpecsInTree(x, classFiles, hasSpecs))
+      .map(ClassFile::getName)
+      .sorted()
+      .collect(toList());
+  }
+
+  private static boolean hasSpecsInTree(ClassFile classFile, Map<String, ClassFile> classFiles,
+                                        Map<String, Boolean> hasSpecs) {
+    Boolean known = hasSpecs.get(classFile.getName());
+    if(known != null)
+      return known;
+
+    boolean result = classFile.hasItFields() || classFile.getInnerClassNames().stream()
+      .map(classFiles::get)
+      .filter(Objects::nonNull)
+      .anyMatch(x -> hasSpecsInTree(x, classFiles, hasSpecs));
+    hasSpecs.put(classFile.getName(), result);
+    return result;
+  }
+
+  /** The classes in these directories and jars, and the classes each of them refers to */
+  public ClassDependencies findDependencies() {
+    Map<String, ClassFile> classFiles = new LinkedHashMap<>();
+    for(Path root : roots)
+      readClassFiles(root, ClassFile::readWithReferences).forEach(x -> classFiles.putIfAbsent(x.getName(), x));
+
+    Map<String, Set<String>> references = new HashMap<>();
+    classFiles.values().forEach(x -> references.put(x.getName(), x.getReferencedClassNames()));
+    return ClassDependencies.of(references);
+  }
+
+  static List<ClassFile> readClassFiles(Path root) {
+    return readClassFiles(root, ClassFile::read);
+  }
+
+  private static List<ClassFile> readClassFiles(Path root, Function<ByteBuffer, ClassFile> reader) {
+    try {
+      if(Files.isDirectory(root))
+        return readDirectory(root, reader);
+      else
+        return readJar(root, reader);
+    } catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static List<ClassFile> readDirectory(Path directory,
+                                               Function<ByteBuffer, ClassFile> reader) throws IOException {
+    List<Path> files;
+    try(Stream<Path> walk = Files.walk(directory)) {
+      files = walk.filter(x -> x.getFileName().toString().endsWith(".class")).collect(toList());
+    }
+
+    return files.parallelStream()
+      .map(x -> readClassFile(x, reader))
+      .filter(Objects::nonNull)
+      .collect(toList());
+  }
+
+  private static ClassFile readClassFile(Path file, Function<ByteBuffer, ClassFile> reader) {
+    try {
+      return tryRead(ByteBuffer.wrap(Files.readAllBytes(file)), reader);
+    } catch(NoSuchFileException e) {
+      return null; //Deleted since the directory was listed, as when classes are being recompiled
+    } catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static List<ClassFile> readJar(Path file, Function<ByteBuffer, ClassFile> reader) throws IOException {
+    JarClassFiles jar;
+    try {
+      jar = JarClassFiles.open(file);
+    } catch(InvalidJar e) {
+      return readJarSequentially(file, reader);
+    }
+
+    return jar.getEntries().parallelStream()
+      .map(x -> tryRead(x.read(), reader))
+      .filter(Objects::nonNull)
+      .collect(toList());
+  }
+
+  //For jars that the memory-mapped reader can't handle, such as ones that need Zip64
+  private static List<ClassFile> readJarSequentially(Path file,
+                                                     Function<ByteBuffer, ClassFile> reader) throws IOException {
+    List<ClassFile> classFiles = new ArrayList<>();
+    try(ZipFile zip = new ZipFile(file.toFile())) {
+      for(ZipEntry entry : Collections.list(zip.entries())) {
+        if(!entry.getName().endsWith(".class") || entry.getName().startsWith("META-INF/"))
+          continue;
+
+        try(InputStream stream = zip.getInputStream(entry)) {
+          ClassFile classFile = tryRead(ByteBuffer.wrap(readAll(stream)), reader);
+          if(classFile != null)
+            classFiles.add(classFile);
+        }
+      }
+    }
+
+    return classFiles;
+  }
+
+  private static byte[] readAll(InputStream stream) throws IOException {
+    byte[] buffer = new byte[8192];
+    ByteArrayOutputStream contents = new ByteArrayOutputStream();
+    for(int n = stream.read(buffer); n >= 0; n = stream.read(buffer))
+      contents.write(buffer, 0, n);
+
+    return contents.toByteArray();
+  }
+
+  private static ClassFile tryRead(ByteBuffer bytes, Function<ByteBuffer, ClassFile> reader) {
+    try {
+      return reader.apply(bytes);
+    } catch(InvalidClassFile e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package info.javaspec.discovery;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * The class files in a jar, read from a memory-mapped copy of the file.  Entries are listed from the central directory
+ * at the end of the jar, and each entry can be read on its own, so entries can be read in parallel.
+ * <p>
+ * Jars that need Zip64 extensions (over 65535 entries or 4GB) are not supported.
+ */
+final class JarClassFiles {
+  private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+  private static final int CENTRAL_DIRECTORY_ENTRY = 0x02014b50;
+  private static final int LOCAL_FILE_HEADER = 0x04034b50;
+  private static final int END_RECORD_SIZE = 22;
+  private static final int MAX_COMMENT_SIZE = 0xFFFF;
+  private static final int STORED = 0;
+  private static final int DEFLATED = 8;
+
+  private final Path file;
+  private final ByteBuffer contents;
+  private final List<Entry> entries;
+
+  public static JarClassFiles open(Path file) throws IOException {
+    try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      contents.order(ByteOrder.LITTLE_ENDIAN);
+      return new JarClassFiles(file, contents);
+    }
+  }
+
+  private JarClassFiles(Path file, ByteBuffer contents) {
+    this.file = file;
+    this.contents = contents;
+    this.entries = Collections.unmodifiableList(readCentralDirectory());
+  }
+
+  /** Class files in the jar, in the order they are listed */
+  public List<Entry> getEntries() { return entries; }
+
+  private List<Entry> readCentralDirectory() {
+    int end = findEndOfCentralDirectory();
+    int numEntries = contents.getShort(end + 10) & 0xFFFF;
+    long directoryOffset = contents.getInt(end + 16) & 0xFFFFFFFFL;
+    if(numEntries == 0xFFFF || directoryOffset == 0xFFFFFFFFL)
+      throw InvalidJar.zip64(file);
+
+    List<Entry> classFiles = new ArrayList<>(numEntries);
+    int offset = (int)directoryOffset;
+    for(int i = 0; i < numEntries; i++) {
+      if(contents.getInt(offset) != CENTRAL_DIRECTORY_ENTRY)
+        throw InvalidJar.corrupt(file);
+
+      int method = contents.getShort(offset + 10) & 0xFFFF;
+      int compressedSize = contents.getInt(offset + 20);
+      int size = contents.getInt(offset + 24);
+      int nameLength = contents.getShort(offset + 28) & 0xFFFF;
+      int extraLength = contents.getShort(offset + 30) & 0xFFFF;
+      int commentLength = contents.getShort(offset + 32) & 0xFFFF;
+      int headerOffset = contents.getInt(offset + 42);
+      String name = readName(offset + 46, nameLength);
+      if(name.endsWith(".class") && !name.startsWith("META-INF/"))
+        classFiles.add(new Entry(name, method, compressedSize, size, headerOffset));
+
+      offset += 46 + nameLength + extraLength + commentLength;
+    }
+
+    return classFiles;
+  }
+
+  private int findEndOfCentralDirectory() {
+    int lowest = Math.max(0, contents.limit() - END_RECORD_SIZE - MAX_COMMENT_SIZE);
+    for(int offset = contents.limit() - END_RECORD_SIZE; offset >= lowest; offset--) {
+      if(contents.getInt(offset) == END_OF_CENTRAL_DIRECTORY)
+        return offset;
+    }
+
+    throw InvalidJar.corrupt(file);
+  }
+
+  private String readName(int offset, int length) {
+    byte[] name = new byte[length];
+    for(int i = 0; i < length; i++)
+      name[i] = contents.get(offset + i);
+
+    return new String(name, StandardCharsets.UTF_8);
+  }
+
+  /** A class file in the jar */
+  public final class Entry {
+    private final String name;
+    private final int method;
+    private final int compressedSize;
+    private final int size;
+    private final int headerOffset;
+
+    private Entry(String name, int method, int compressedSize, int size, int headerOffset) {
+      this.name = name;
+      this.method = method;
+      this.compressedSize = compressedSize;
+      this.size = size;
+      this.headerOffset = headerOffset;
+    }
+
+    /** Path of the entry in the jar, like <code>com/example/Widget.class</code> */
+    public String getName() { return name; }
+
+    /** The uncompressed class file.  Safe to call from any thread. */
+    public ByteBuffer read() {
+      ByteBuffer view = contents.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+      if(view.getInt(headerOffset) != LOCAL_FILE_HEADER)
+        throw InvalidJar.corrupt(file);
+
+      int nameLength = view.getShort(headerOffset + 26) & 0xFFFF;
+      int extraLength = view.getShort(headerOffset + 28) & 0xFFFF;
+      int dataOffset = headerOffset + 30 + nameLength + extraLength;
+      view.position(dataOffset).limit(dataOffset + compressedSize);
+      ByteBuffer data = view.slice();
+
+      switch(method) {
+        case STORED: return data;
+        case DEFLATED: return inflate(data);
+        default: throw InvalidJar.unsupportedCompression(file, name, method);
+      }
+    }
+
+    private ByteBuffer inflate(ByteBuffer data) {
+      byte[] compressed = new byte[data.remaining()];
+      data.get(compressed);
+      byte[] inflated = new byte[size];
+      Inflater inflater = new Inflater(true);
+      try {
+        inflater.setInput(compressed);
+        int numInflated = 0;
+        while(numInflated < size && !inflater.finished()) {
+          int n = inflater.inflate(inflated, numInflated, size - numInflated);
+          if(n == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+            break;
+
+          numInflated += n;
+        }
+
+        return ByteBuffer.wrap(inflated, 0, numInflated);
+      } catch(DataFormatException e) {
+        throw InvalidJar.corrupt(file);
+      } finally {
+        inflater.end();
+      }
+    }
+  }
+
+  public static final class InvalidJar extends RuntimeException {
+    public static InvalidJar corrupt(Path file) {
+      return new InvalidJar(String.format("Not a jar, or it is corrupt: %s", file));
+    }
+
+    public static InvalidJar unsupportedCompression(Path file, String entry, int method) {
+      return new InvalidJar(String.format("Unsupported compression method %d for %s in %s", method, entry, file));
+    }
+
+    public static InvalidJar zip64(Path file) {
+      return new InvalidJar(String.format("Jars that need Zip64 are not supported: %s", file));
+    }
+
+    private InvalidJar(String message) { super(message); }
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * Finding context classes on a class path by reading their class files, without loading classes that turn out not to
+ * have any specs.
+ */
+package info.javaspec.discovery;
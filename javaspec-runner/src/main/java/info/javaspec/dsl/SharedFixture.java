@@ -0,0 +1,26 @@
+package info.javaspec.dsl;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a context class whose <code>It</code> fields all share one test fixture, for when the fixture is expensive to
+ * build and the assertions only look at it.
+ * <p>
+ * Normally each <code>It</code> gets its own instance of the context classes and its own run of every
+ * <code>Establish</code> and <code>Because</code>.  In a shared fixture, the context classes are instantiated once,
+ * setup runs once before the first <code>It</code>, every <code>It</code> declared in the marked class runs against
+ * those same instances, and <code>Cleanup</code> runs once after the last one.  If setup fails, each spec in the class
+ * fails with that error.
+ * <p>
+ * This only applies to specs declared in the marked class itself.  Inner context classes are not shared unless they
+ * are marked too.  Since <code>It</code> lambdas may run in any order - or at the same time, when running specs
+ * concurrently - they should not change the fixture.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SharedFixture { }
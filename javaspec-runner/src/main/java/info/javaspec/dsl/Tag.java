@@ -0,0 +1,22 @@
+package info.javaspec.dsl;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Labels a context class or an <code>It</code> field, so that a run can include or exclude specs by label - like
+ * <code>fast</code>, <code>integration</code>, or <code>perf</code>.
+ * <p>
+ * Tags on a context class apply to every spec declared in it and in its inner context classes.  A spec has the tags on
+ * its own field, together with those of each context class that encloses it.  See RunnerConfig for how to choose the
+ * tags to run.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.FIELD})
+public @interface Tag {
+  String[] value();
+}
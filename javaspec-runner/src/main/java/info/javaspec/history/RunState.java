@@ -0,0 +1,158 @@
+package info.javaspec.history;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Which specs failed in the last run, and what each context class looked like when it last ran, so the next run can
+ * start with what is most likely to fail.  Shared by every runner in the JVM that uses the same file.
+ * <p>
+ * The file is small - one entry per failing spec and per context class - and it's rewritten on each save.  Each
+ * context class is remembered by a hash of its class file, so rebuilding a class without changing it doesn't count.
+ */
+public final class RunState {
+  private static final int MAGIC = 0x4a535332; //JSS2
+  private static final String HASH_ALGORITHM = "SHA-1";
+  private static final ConcurrentMap<Path, RunState> OPEN = new ConcurrentHashMap<>();
+
+  private final Path file;
+  private final Set<String> failedSpecIds;
+  private final ConcurrentMap<String, byte[]> classHashes;
+
+  /** The run state stored in the given file, which is only read the first time it is opened in this JVM */
+  public static RunState open(Path file) {
+    return OPEN.computeIfAbsent(file.toAbsolutePath().normalize(), RunState::load);
+  }
+
+  /** Reads the run state in the given file into a new instance, which is not shared with anyone else */
+  static RunState load(Path file) {
+    RunState state = new RunState(file);
+    try {
+      state.readFile();
+    } catch(IOException e) {
+      //Start over, since all it does is change the order
+      state.failedSpecIds.clear();
+      state.classHashes.clear();
+    }
+
+    return state;
+  }
+
+  private RunState(Path file) {
+    this.file = file;
+    this.failedSpecIds = ConcurrentHashMap.newKeySet();
+    this.classHashes = new ConcurrentHashMap<>();
+  }
+
+  public Path getFile() { return file; }
+
+  /** True if the given spec failed the last time it ran */
+  public boolean failedLastTime(String specId) {
+    return failedSpecIds.contains(specId);
+  }
+
+  public void recordResult(String specId, boolean passed) {
+    if(passed)
+      failedSpecIds.remove(specId);
+    else
+      failedSpecIds.add(specId);
+  }
+
+  /**
+   * True if the class file for the given class is different than when #recordClass was last called for it, or if it
+   * was never recorded.  Classes whose class file can't be found are never considered to have changed.
+   */
+  public boolean hasChanged(Class<?> type) {
+    return hashClassFile(type)
+      .map(x -> !Arrays.equals(x, classHashes.get(type.getName())))
+      .orElse(false);
+  }
+
+  /** Remembers what the class file for the given class looks like now */
+  public void recordClass(Class<?> type) {
+    hashClassFile(type).ifPresent(x -> classHashes.put(type.getName(), x));
+  }
+
+  private static Optional<byte[]> hashClassFile(Class<?> type) {
+    String name = type.getName();
+    try(InputStream classFile = type.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+      if(classFile == null)
+        return Optional.empty();
+
+      MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+      byte[] buffer = new byte[8192];
+      for(int n = classFile.read(buffer); n >= 0; n = classFile.read(buffer))
+        digest.update(buffer, 0, n);
+
+      return Optional.of(digest.digest());
+    } catch(IOException | NoSuchAlgorithmException e) {
+      return Optional.empty();
+    }
+  }
+
+  /** Replaces the file with the current state */
+  public synchronized void save() throws IOException {
+    Path parent = file.getParent();
+    if(parent != null)
+      Files.createDirectories(parent);
+
+    Path updated = file.resolveSibling(file.getFileName() + ".tmp");
+    try(OutputStream stream = Files.newOutputStream(updated)) {
+      DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream));
+      output.writeInt(MAGIC);
+      Set<String> failed = failedSpecIds;
+      output.writeInt(failed.size());
+      for(String specId : failed)
+        output.writeUTF(specId);
+
+      Map<String, byte[]> hashes = classHashes;
+      output.writeInt(hashes.size());
+      for(Map.Entry<String, byte[]> hash : hashes.entrySet()) {
+        output.writeUTF(hash.getKey());
+        output.writeByte(hash.getValue().length);
+        output.write(hash.getValue());
+      }
+
+      output.flush();
+    }
+
+    Files.move(updated, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private void readFile() throws IOException {
+    try(InputStream stream = Files.newInputStream(file)) {
+      DataInputStream input = new DataInputStream(new BufferedInputStream(stream));
+      if(input.readInt() != MAGIC)
+        throw new IOException(String.format("Not a run state file: %s", file));
+
+      for(int remaining = input.readInt(); remaining > 0; remaining--)
+        failedSpecIds.add(input.readUTF());
+
+      for(int remaining = input.readInt(); remaining > 0; remaining--) {
+        String className = input.readUTF();
+        byte[] hash = new byte[input.readUnsignedByte()];
+        input.readFully(hash);
+        classHashes.put(className, hash);
+      }
+    } catch(NoSuchFileException e) {
+      return;
+    }
+  }
+}
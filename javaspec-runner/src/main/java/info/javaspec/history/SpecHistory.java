@@ -0,0 +1,271 @@
+package info.javaspec.history;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+/**
+ * How long each spec took in recent runs, by spec id.  Shared by every runner in the JVM that uses the same file.
+ * <p>
+ * The file is an append-only log: each save adds a record for every spec that ran since the last save, and the last
+ * record for a spec wins when it's read back.  That keeps saves proportional to the number of specs that ran, no matter
+ * how many are in the file.  The log is rewritten with one record per spec once it's mostly superseded records.
+ * Each record is the spec id (as in DataOutput#writeUTF) followed by the duration in nanoseconds, as a variable-length
+ * integer.
+ * <p>
+ * Runners in other JVMs may share the file too, so appending and compacting both hold a lock on it, and reading holds a
+ * shared one.  A save that was cut short leaves part of a record at the end, which the next save drops before it
+ * appends anything.
+ * <p>
+ * Root contexts are recorded the same way, by their id, with the total for the specs in them.  Spec ids always have a
+ * <code>#</code> in them, and context ids never do.
+ */
+public final class SpecHistory {
+  private static final int MAGIC = 0x4a534831; //JSH1
+  private static final int MIN_RECORDS_TO_COMPACT = 1024;
+  private static final ConcurrentMap<Path, SpecHistory> OPEN = new ConcurrentHashMap<>();
+
+  private final Path file;
+  private final ConcurrentMap<String, Long> durations;
+  private final ConcurrentMap<String, Long> unsaved;
+  private volatile SortedMap<String, Long> loadedRootContexts = Collections.emptySortedMap();
+  private long endOfRecords;
+
+  /** The history stored in the given file, which is only read the first time it is opened in this JVM */
+  public static SpecHistory open(Path file) {
+    return OPEN.computeIfAbsent(file.toAbsolutePath().normalize(), SpecHistory::load);
+  }
+
+  /** Reads the history in the given file into a new instance, which is not shared with anyone else */
+  static SpecHistory load(Path file) {
+    SpecHistory history = new SpecHistory(file);
+    try {
+      int numRecords = history.readFile();
+      if(numRecords >= MIN_RECORDS_TO_COMPACT && numRecords > 2 * history.durations.size())
+        history.compact();
+    } catch(IOException e) {
+      //Start over with an empty history, since all it does is make runs faster
+      history.durations.clear();
+    }
+
+    SortedMap<String, Long> rootContexts = new TreeMap<>();
+    history.durations.forEach((id, nanos) -> {
+      if(id.indexOf('#') < 0)
+        rootContexts.put(id, nanos);
+    });
+    history.loadedRootContexts = Collections.unmodifiableSortedMap(rootContexts);
+    return history;
+  }
+
+  private SpecHistory(Path file) {
+    this.file = file;
+    this.durations = new ConcurrentHashMap<>();
+    this.unsaved = new ConcurrentHashMap<>();
+  }
+
+  public Path getFile() { return file; }
+
+  /** Typical duration of the given spec, or empty if it hasn't run before */
+  public OptionalLong expectedNanos(String specId) {
+    Long nanos = durations.get(specId);
+    return nanos == null ? OptionalLong.empty() : OptionalLong.of(nanos);
+  }
+
+  /**
+   * Typical duration of each root context, by id, as it was when the file was read.  Nothing recorded since then is
+   * included, so every runner in this JVM sees the same durations.
+   */
+  public SortedMap<String, Long> loadedRootContextNanos() {
+    return loadedRootContexts;
+  }
+
+  public int size() {
+    return durations.size();
+  }
+
+  /** Remembers how long a spec took this time, smoothed with earlier runs.  Call #save to write it to the file. */
+  public void record(String specId, long nanos) {
+    long smoothed = durations.merge(specId, Math.max(0, nanos), (earlier, latest) -> (earlier + latest) / 2);
+    unsaved.put(specId, smoothed);
+  }
+
+  /** Remembers the total typical duration of the specs in a root context.  Call #save to write it to the file. */
+  public void recordRootContext(String rootContextId, long nanos) {
+    long total = Math.max(0, nanos);
+    durations.put(rootContextId, total);
+    unsaved.put(rootContextId, total);
+  }
+
+  /** Appends everything recorded since the last save to the file */
+  public synchronized void save() throws IOException {
+    if(unsaved.isEmpty())
+      return;
+
+    List<Map.Entry<String, Long>> records = new ArrayList<>(unsaved.entrySet());
+    records.forEach(x -> unsaved.remove(x.getKey(), x.getValue()));
+
+    Path parent = file.getParent();
+    if(parent != null)
+      Files.createDirectories(parent);
+
+    try(FileChannel channel = FileChannel.open(file,
+          StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      FileLock lock = channel.lock();
+      try {
+        //Only look for a partial record when someone else has written to the file since this JVM last did
+        long size = channel.size();
+        long end = size == endOfRecords ? size : readRecords(readAll(channel), (id, nanos) -> { });
+        channel.truncate(end);
+        channel.position(end);
+
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        if(end == 0)
+          output.writeInt(MAGIC);
+
+        for(Map.Entry<String, Long> record : records)
+          writeRecord(output, record.getKey(), record.getValue());
+
+        output.flush();
+        endOfRecords = channel.position();
+      } finally {
+        lock.release();
+      }
+    }
+  }
+
+  private synchronized int readFile() throws IOException {
+    try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      FileLock lock = channel.lock(0, Long.MAX_VALUE, true);
+      try {
+        byte[] contents = readAll(channel);
+        if(!isHistory(contents))
+          throw new IOException(String.format("Not a spec history file: %s", file));
+
+        int[] numRecords = { 0 };
+        endOfRecords = readRecords(contents, (id, nanos) -> {
+          durations.put(id, nanos);
+          numRecords[0]++;
+        });
+        return numRecords[0];
+      } finally {
+        lock.release();
+      }
+    } catch(NoSuchFileException e) {
+      return 0;
+    }
+  }
+
+  /** Rewrites the file in place with one record per spec, including any that other JVMs appended since it was read */
+  private synchronized void compact() throws IOException {
+    try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      FileLock lock = channel.lock();
+      try {
+        readRecords(readAll(channel), durations::put);
+        ByteArrayOutputStream compacted = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(compacted);
+        output.writeInt(MAGIC);
+        for(Map.Entry<String, Long> record : durations.entrySet())
+          writeRecord(output, record.getKey(), record.getValue());
+
+        output.flush();
+        ByteBuffer buffer = ByteBuffer.wrap(compacted.toByteArray());
+        channel.position(0);
+        while(buffer.hasRemaining())
+          channel.write(buffer);
+
+        channel.truncate(compacted.size());
+        endOfRecords = compacted.size();
+      } finally {
+        lock.release();
+      }
+    }
+  }
+
+  private static byte[] readAll(FileChannel channel) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate((int)channel.size());
+    while(buffer.hasRemaining()) {
+      if(channel.read(buffer, buffer.position()) < 0)
+        break;
+    }
+
+    return buffer.array();
+  }
+
+  private static boolean isHistory(byte[] contents) {
+    return contents.length >= 4 && ByteBuffer.wrap(contents).getInt() == MAGIC;
+  }
+
+  /**
+   * Passes each whole record in the given file contents to the consumer, and returns where the last of them ends.  That
+   * is 0 when the contents aren't a history at all, so the file can be started over.
+   */
+  private static long readRecords(byte[] contents, BiConsumer<String, Long> onRecord) throws IOException {
+    if(!isHistory(contents))
+      return 0;
+
+    ByteArrayInputStream stream = new ByteArrayInputStream(contents, 4, contents.length - 4);
+    DataInputStream input = new DataInputStream(stream);
+    while(true) {
+      long start = contents.length - stream.available();
+      String specId;
+      long nanos;
+      try {
+        specId = input.readUTF();
+        nanos = readVarLong(input);
+      } catch(EOFException e) {
+        return start; //Also skips a record that was only partly written
+      }
+
+      onRecord.accept(specId, nanos);
+    }
+  }
+
+  private static void writeRecord(DataOutputStream output, String specId, long nanos) throws IOException {
+    output.writeUTF(specId);
+    writeVarLong(output, nanos);
+  }
+
+  private static void writeVarLong(DataOutputStream output, long value) throws IOException {
+    long remaining = value;
+    while((remaining & ~0x7FL) != 0) {
+      output.writeByte((int)((remaining & 0x7F) | 0x80));
+      remaining >>>= 7;
+    }
+
+    output.writeByte((int)remaining);
+  }
+
+  private static long readVarLong(DataInputStream input) throws IOException {
+    long value = 0;
+    for(int shift = 0; shift < 64; shift += 7) {
+      int next = input.readUnsignedByte();
+      value |= (long)(next & 0x7F) << shift;
+      if((next & 0x80) == 0)
+        return value;
+    }
+
+    throw new IOException("Malformed duration in spec history");
+  }
+}
@@ -0,0 +1,2 @@
+/** What happened in earlier runs, kept in local files so later runs can use it to decide what to run first. */
+package info.javaspec.history;
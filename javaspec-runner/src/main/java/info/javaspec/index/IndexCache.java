@@ -0,0 +1,319 @@
+package info.javaspec.index;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Cleanup;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+import info.javaspec.dsl.SharedFixture;
+import info.javaspec.util.ClassMetadata;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Indexes for root context classes that were found with reflection in an earlier run, kept in a local file so later
+ * runs can skip the reflection.  Shared by every runner in the JVM that uses the same file.
+ * <p>
+ * Each context class is cached on its own, along with a hash of its class file.  A class whose class file has changed
+ * is inspected again, while the rest of its tree still comes from the cache.  A file that can't be read is treated as
+ * an empty cache.
+ */
+public final class IndexCache {
+  private static final int MAGIC = 0x4a534431; //JSD1
+  private static final String HASH_ALGORITHM = "SHA-1";
+  private static final ConcurrentMap<Path, IndexCache> OPEN = new ConcurrentHashMap<>();
+
+  private final Path file;
+  private final ConcurrentMap<String, ClassRecord> records;
+  private final AtomicInteger numInspected;
+  private volatile boolean isChanged;
+
+  /** The cache stored in the given file, which is only read the first time it is opened in this JVM */
+  public static IndexCache open(Path file) {
+    return OPEN.computeIfAbsent(file.toAbsolutePath().normalize(), IndexCache::load);
+  }
+
+  /** Reads the cache in the given file into a new instance, which is not shared with anyone else */
+  static IndexCache load(Path file) {
+    IndexCache cache = new IndexCache(file);
+    try {
+      cache.readFile();
+    } catch(IOException e) {
+      cache.records.clear();
+    }
+
+    return cache;
+  }
+
+  private IndexCache(Path file) {
+    this.file = file;
+    this.records = new ConcurrentHashMap<>();
+    this.numInspected = new AtomicInteger();
+  }
+
+  public Path getFile() { return file; }
+
+  /** Number of context classes in the cache */
+  public int size() { return records.size(); }
+
+  /** Number of context classes that were inspected with reflection because they weren't cached, or had changed */
+  public int numInspected() { return numInspected.get(); }
+
+  /**
+   * An index for the given top-level context class, made from cached classes where their class files are unchanged.
+   * Empty for classes that aren't top-level, or whose tree has a class file that can't be found, or that have more
+   * than one fixture field of the same type; the caller should fall back to reflection for those.
+   */
+  public Optional<IndexedContext> indexFor(Class<?> rootContextClass) {
+    if(rootContextClass.getEnclosingClass() != null)
+      return Optional.empty();
+
+    try {
+      return Optional.of(builderFor(rootContextClass, rootContextClass.getSimpleName()).build());
+    } catch(NotCacheable e) {
+      return Optional.empty();
+    }
+  }
+
+  private IndexedContext.Builder builderFor(Class<?> type, String displayName) throws NotCacheable {
+    ClassRecord record = currentRecord(type);
+    IndexedContext.Builder builder = IndexedContext.builder(type, record.id, displayName);
+    if(record.hasSharedFixture)
+      builder.sharedFixture();
+
+    record.establishField.ifPresent(x -> builder.establish(IndexedField.reflective(type, x)));
+    record.becauseField.ifPresent(x -> builder.because(IndexedField.reflective(type, x)));
+    record.cleanupField.ifPresent(x -> builder.cleanup(IndexedField.reflective(type, x)));
+    record.specFields.forEach(x -> builder.it(IndexedField.reflective(type, x)));
+    for(String subContextName : record.subContexts) {
+      Class<?> subContext = load(subContextName, type.getClassLoader());
+      builder.subContext(builderFor(subContext, identifierToDisplayName(subContext.getSimpleName())));
+    }
+
+    return builder;
+  }
+
+  //Same display names as ContextFactory gives sub-contexts it finds with reflection
+  private static String identifierToDisplayName(String identifier) {
+    return identifier.replace('_', ' ');
+  }
+
+  private ClassRecord currentRecord(Class<?> type) throws NotCacheable {
+    byte[] hash = hashClassFile(type);
+    ClassRecord cached = records.get(type.getName());
+    if(cached != null && Arrays.equals(cached.hash, hash))
+      return cached;
+
+    ClassRecord inspected = ClassRecord.inspect(type, hash);
+    numInspected.incrementAndGet();
+    records.put(type.getName(), inspected);
+    isChanged = true;
+    return inspected;
+  }
+
+  private static Class<?> load(String className, ClassLoader loader) throws NotCacheable {
+    try {
+      return Class.forName(className, false, loader);
+    } catch(ClassNotFoundException | LinkageError e) {
+      throw new NotCacheable();
+    }
+  }
+
+  private static byte[] hashClassFile(Class<?> type) throws NotCacheable {
+    String name = type.getName();
+    try(InputStream classFile = type.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+      if(classFile == null)
+        throw new NotCacheable();
+
+      MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+      byte[] buffer = new byte[8192];
+      for(int n = classFile.read(buffer); n >= 0; n = classFile.read(buffer))
+        digest.update(buffer, 0, n);
+
+      return digest.digest();
+    } catch(IOException | NoSuchAlgorithmException e) {
+      throw new NotCacheable();
+    }
+  }
+
+  /** Replaces the file with the current cache, if anything has changed since it was read */
+  public synchronized void save() throws IOException {
+    if(!isChanged)
+      return;
+
+    isChanged = false;
+    Path parent = file.getParent();
+    if(parent != null)
+      Files.createDirectories(parent);
+
+    Path updated = file.resolveSibling(file.getFileName() + ".tmp");
+    try(OutputStream stream = Files.newOutputStream(updated)) {
+      DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream));
+      output.writeInt(MAGIC);
+      List<ClassRecord> current = new ArrayList<>(records.values());
+      output.writeInt(current.size());
+      for(ClassRecord record : current)
+        record.writeTo(output);
+
+      output.flush();
+    }
+
+    Files.move(updated, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private void readFile() throws IOException {
+    try(InputStream stream = Files.newInputStream(file)) {
+      DataInputStream input = new DataInputStream(new BufferedInputStream(stream));
+      if(input.readInt() != MAGIC)
+        throw new IOException(String.format("Not an index cache file: %s", file));
+
+      for(int remaining = input.readInt(); remaining > 0; remaining--) {
+        ClassRecord record = ClassRecord.readFrom(input);
+        records.put(record.className, record);
+      }
+    } catch(NoSuchFileException e) {
+      return;
+    }
+  }
+
+  /** What a context class declares, as of when its class file had the given hash */
+  private static final class ClassRecord {
+    private final String className;
+    private final byte[] hash;
+    private final String id;
+    private final boolean hasSharedFixture;
+    private final Optional<String> establishField;
+    private final Optional<String> becauseField;
+    private final Optional<String> cleanupField;
+    private final List<String> specFields;
+    private final List<String> subContexts;
+
+    public static ClassRecord inspect(Class<?> type, byte[] hash) throws NotCacheable {
+      ClassMetadata metadata = ClassMetadata.of(type);
+      return new ClassRecord(type.getName(), hash, type.getCanonicalName(),
+        type.isAnnotationPresent(SharedFixture.class),
+        onlyFieldOfType(metadata, Establish.class),
+        onlyFieldOfType(metadata, Because.class),
+        onlyFieldOfType(metadata, Cleanup.class),
+        instanceFieldsOfType(metadata, It.class),
+        metadata.innerClasses().map(Class::getName).collect(toList()));
+    }
+
+    private static Optional<String> onlyFieldOfType(ClassMetadata metadata, Class<?> fieldType) throws NotCacheable {
+      List<String> fields = instanceFieldsOfType(metadata, fieldType);
+      if(fields.size() > 1)
+        throw new NotCacheable();
+
+      return fields.stream().findFirst();
+    }
+
+    private static List<String> instanceFieldsOfType(ClassMetadata metadata, Class<?> fieldType) {
+      return metadata.declaredFieldsOfType(fieldType)
+        .filter(x -> !Modifier.isStatic(x.getModifiers()))
+        .map(Field::getName)
+        .collect(toList());
+    }
+
+    public static ClassRecord readFrom(DataInputStream input) throws IOException {
+      String className = input.readUTF();
+      byte[] hash = new byte[input.readUnsignedByte()];
+      input.readFully(hash);
+      String id = input.readUTF();
+      boolean hasSharedFixture = input.readBoolean();
+      Optional<String> establishField = readOptional(input);
+      Optional<String> becauseField = readOptional(input);
+      Optional<String> cleanupField = readOptional(input);
+      List<String> specFields = readList(input);
+      List<String> subContexts = readList(input);
+      return new ClassRecord(className, hash, id, hasSharedFixture, establishField, becauseField, cleanupField,
+        specFields, subContexts);
+    }
+
+    private static Optional<String> readOptional(DataInputStream input) throws IOException {
+      return input.readBoolean() ? Optional.of(input.readUTF()) : Optional.empty();
+    }
+
+    private static List<String> readList(DataInputStream input) throws IOException {
+      int size = input.readInt();
+      if(size < 0)
+        throw new IOException(String.format("Invalid list size: %d", size));
+
+      List<String> values = new ArrayList<>(Math.min(size, 64));
+      for(int i = 0; i < size; i++)
+        values.add(input.readUTF());
+
+      return Collections.unmodifiableList(values);
+    }
+
+    private ClassRecord(String className, byte[] hash, String id, boolean hasSharedFixture,
+                        Optional<String> establishField, Optional<String> becauseField, Optional<String> cleanupField,
+                        List<String> specFields, List<String> subContexts) {
+      this.className = className;
+      this.hash = hash;
+      this.id = id;
+      this.hasSharedFixture = hasSharedFixture;
+      this.establishField = establishField;
+      this.becauseField = becauseField;
+      this.cleanupField = cleanupField;
+      this.specFields = specFields;
+      this.subContexts = subContexts;
+    }
+
+    public void writeTo(DataOutputStream output) throws IOException {
+      output.writeUTF(className);
+      output.writeByte(hash.length);
+      output.write(hash);
+      output.writeUTF(id);
+      output.writeBoolean(hasSharedFixture);
+      writeOptional(output, establishField);
+      writeOptional(output, becauseField);
+      writeOptional(output, cleanupField);
+      writeList(output, specFields);
+      writeList(output, subContexts);
+    }
+
+    private static void writeOptional(DataOutputStream output, Optional<String> value) throws IOException {
+      output.writeBoolean(value.isPresent());
+      if(value.isPresent())
+        output.writeUTF(value.get());
+    }
+
+    private static void writeList(DataOutputStream output, List<String> values) throws IOException {
+      output.writeInt(values.size());
+      for(String value : values)
+        output.writeUTF(value);
+    }
+  }
+
+  //Checked, so every path that can't be cached has to say so
+  private static final class NotCacheable extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public NotCacheable() {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package info.javaspec.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A context class from a {@link SpecIndex}, with its spec fields, its fixture fields, and the inner classes that are
+ * nested contexts.  Fixture fields from enclosing contexts are already combined: setup runs outside-in, and cleanup
+ * runs inside-out.
+ */
+public final class IndexedContext {
+  private final Class<?> type;
+  private final String id;
+  private final String displayName;
+  private final boolean hasSharedFixture;
+  private final List<IndexedField> specFields;
+  private final List<IndexedField> beforeSpecFields;
+  private final List<IndexedField> afterSpecFields;
+  private final List<IndexedContext> subContexts;
+
+  public static Builder builder(Class<?> type, String id, String displayName) {
+    return new Builder(type, id, displayName);
+  }
+
+  private IndexedContext(Builder builder, List<IndexedField> enclosingBefore, List<IndexedField> enclosingAfter) {
+    this.type = builder.type;
+    this.id = builder.id;
+    this.displayName = builder.displayName;
+    this.hasSharedFixture = builder.hasSharedFixture;
+    this.specFields = Collections.unmodifiableList(new ArrayList<>(builder.specFields));
+
+    List<IndexedField> before = new ArrayList<>(enclosingBefore);
+    builder.establishField.ifPresent(before::add);
+    builder.becauseField.ifPresent(before::add);
+    this.beforeSpecFields = Collections.unmodifiableList(before);
+
+    List<IndexedField> after = new ArrayList<>();
+    builder.cleanupField.ifPresent(after::add);
+    after.addAll(enclosingAfter);
+    this.afterSpecFields = Collections.unmodifiableList(after);
+
+    this.subContexts = Collections.unmodifiableList(builder.subContexts.stream()
+      .map(x -> new IndexedContext(x, beforeSpecFields, afterSpecFields))
+      .collect(toList()));
+  }
+
+  public Class<?> getType() { return type; }
+  public String getId() { return id; }
+  public String getDisplayName() { return displayName; }
+  public boolean hasSharedFixture() { return hasSharedFixture; }
+  public List<IndexedField> getSpecFields() { return specFields; }
+  public List<IndexedField> getBeforeSpecFields() { return beforeSpecFields; }
+  public List<IndexedField> getAfterSpecFields() { return afterSpecFields; }
+  public List<IndexedContext> getSubContexts() { return subContexts; }
+
+  public static final class Builder {
+    private final Class<?> type;
+    private final String id;
+    private final String displayName;
+    private boolean hasSharedFixture;
+    private Optional<IndexedField> establishField = Optional.empty();
+    private Optional<IndexedField> becauseField = Optional.empty();
+    private Optional<IndexedField> cleanupField = Optional.empty();
+    private final List<IndexedField> specFields = new LinkedList<>();
+    private final List<Builder> subContexts = new LinkedList<>();
+
+    private Builder(Class<?> type, String id, String displayName) {
+      this.type = type;
+      this.id = id;
+      this.displayName = displayName;
+    }
+
+    public Builder sharedFixture() {
+      this.hasSharedFixture = true;
+      return this;
+    }
+
+    public Builder establish(IndexedField field) {
+      this.establishField = Optional.of(field);
+      return this;
+    }
+
+    public Builder because(IndexedField field) {
+      this.becauseField = Optional.of(field);
+      return this;
+    }
+
+    public Builder cleanup(IndexedField field) {
+      this.cleanupField = Optional.of(field);
+      return this;
+    }
+
+    public Builder it(IndexedField field) {
+      specFields.add(field);
+      return this;
+    }
+
+    public Builder subContext(Builder subContext) {
+      subContexts.add(subContext);
+      return this;
+    }
+
+    /** Builds this as a root context, along with the sub-contexts that were added to it */
+    public IndexedContext build() {
+      return new IndexedContext(this, Collections.emptyList(), Collections.emptyList());
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package info.javaspec.index;
+
+import info.javaspec.util.ClassMetadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+
+/** A spec or fixture field in a context class, along with a way to read its value from an instance of that class. */
+public final class IndexedField {
+  private final Class<?> declaringClass;
+  private final String name;
+  private final Reader reader;
+
+  /** A field that can be read directly, by code that was generated with access to it */
+  public static IndexedField of(Class<?> declaringClass, String name, Reader reader) {
+    return new IndexedField(declaringClass, name, reader);
+  }
+
+  /** A field that has to be read with reflection, like a private field.  It is looked up the first time it's read. */
+  public static IndexedField reflective(Class<?> declaringClass, String name) {
+    return new IndexedField(declaringClass, name, new LazyReflectiveReader(declaringClass, name));
+  }
+
+  /**
+   * A field that has already been found with reflection.  Its getter is looked up now, so reading it is just a call to
+   * that handle.  If that fails, it's reported each time the field is read.
+   */
+  public static IndexedField forField(Field field) {
+    Class<?> declaringClass = field.getDeclaringClass();
+    Reader reader;
+    try {
+      MethodHandle getter = ClassMetadata.of(declaringClass).getter(field);
+      reader = x -> (Object)getter.invokeExact(x);
+    } catch(IllegalAccessException | RuntimeException e) {
+      reader = x -> { throw e; };
+    }
+
+    return new IndexedField(declaringClass, field.getName(), reader);
+  }
+
+  private IndexedField(Class<?> declaringClass, String name, Reader reader) {
+    this.declaringClass = declaringClass;
+    this.name = name;
+    this.reader = reader;
+  }
+
+  public Class<?> getDeclaringClass() { return declaringClass; }
+  public String getName() { return name; }
+
+  public Object readFrom(Object instance) throws Throwable {
+    return reader.read(instance);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s#%s", declaringClass.getName(), name);
+  }
+
+  @FunctionalInterface
+  public interface Reader {
+    Object read(Object instance) throws Throwable;
+  }
+
+  private static final class LazyReflectiveReader implements Reader {
+    private final Class<?> declaringClass;
+    private final String name;
+    private volatile MethodHandle getter;
+
+    public LazyReflectiveReader(Class<?> declaringClass, String name) {
+      this.declaringClass = declaringClass;
+      this.name = name;
+    }
+
+    @Override
+    public Object read(Object instance) throws Throwable {
+      MethodHandle handle = getter;
+      if(handle == null) {
+        handle = ClassMetadata.of(declaringClass).getter(declaringClass.getDeclaredField(name));
+        getter = handle;
+      }
+
+      return (Object)handle.invokeExact(instance);
+    }
+  }
+}
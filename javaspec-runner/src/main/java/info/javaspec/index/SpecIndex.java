@@ -0,0 +1,28 @@
+package info.javaspec.index;
+
+import java.util.Optional;
+
+/**
+ * Lists everything in one root context class.  Implemented by a class generated alongside that root context, whose
+ * name is the binary name of the root context plus {@link #CLASS_NAME_SUFFIX}.
+ */
+public interface SpecIndex {
+  String CLASS_NAME_SUFFIX = "_JavaSpecIndex";
+
+  /** Loads the generated index for the given root context class, if there is one that can be used */
+  static Optional<SpecIndex> forRootContext(Class<?> rootContextClass) {
+    String indexName = rootContextClass.getName() + CLASS_NAME_SUFFIX;
+    try {
+      Class<?> indexClass = Class.forName(indexName, true, rootContextClass.getClassLoader());
+      if(!SpecIndex.class.isAssignableFrom(indexClass))
+        return Optional.empty();
+
+      SpecIndex index = (SpecIndex)indexClass.getConstructor().newInstance();
+      return Optional.of(index);
+    } catch(ReflectiveOperationException | LinkageError e) {
+      return Optional.empty();
+    }
+  }
+
+  IndexedContext getRootContext();
+}
@@ -0,0 +1,6 @@
+/**
+ * A listing of the contexts and specs in a root context class, so they can be found without inspecting every class in
+ * the tree.  Indexes are generated at compile time by javaspec-processor; the runner falls back to reflection for
+ * classes that don't have one.
+ */
+package info.javaspec.index;
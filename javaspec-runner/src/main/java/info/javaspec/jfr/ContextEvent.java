@@ -0,0 +1,17 @@
+package info.javaspec.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("info.javaspec.Context")
+@Label("Context")
+@Category("JavaSpec")
+@Description("A context running its specs and sub-contexts")
+@StackTrace(false)
+final class ContextEvent extends jdk.jfr.Event {
+  @Label("Context Id")
+  String contextId;
+}
@@ -0,0 +1,130 @@
+package info.javaspec.jfr;
+
+import info.javaspec.lifecycle.Phase;
+import info.javaspec.lifecycle.SpecListener;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Turns lifecycle notifications into Flight Recorder events.  Events only exist while a recording is running; the rest
+ * of the time, each notification is one volatile read.
+ * <p>
+ * Each thread has at most one spec and one phase in progress.  Contexts are tracked by id instead, since a context
+ * whose specs run concurrently may finish on a different thread than it started on.
+ */
+final class FlightRecorderSpecListener implements SpecListener, FlightRecorderListener {
+  private final Set<Long> runningRecordings = ConcurrentHashMap.newKeySet();
+  private final ThreadLocal<InProgress> inProgress = ThreadLocal.withInitial(InProgress::new);
+  private final ConcurrentMap<String, ContextEvent> contexts = new ConcurrentHashMap<>();
+  private volatile boolean isRecording;
+
+  @Override
+  public void recorderInitialized(FlightRecorder recorder) {
+    recorder.getRecordings().forEach(this::recordingStateChanged);
+  }
+
+  @Override
+  public void recordingStateChanged(Recording recording) {
+    if(recording.getState() == RecordingState.RUNNING)
+      runningRecordings.add(recording.getId());
+    else
+      runningRecordings.remove(recording.getId());
+
+    isRecording = !runningRecordings.isEmpty();
+  }
+
+  @Override
+  public void contextStarting(String contextId) {
+    if(!isRecording)
+      return;
+
+    ContextEvent event = new ContextEvent();
+    event.contextId = contextId;
+    event.begin();
+    contexts.put(contextId, event);
+  }
+
+  @Override
+  public void contextFinished(String contextId, long nanos) {
+    if(!isRecording)
+      return;
+
+    //A recording may have started after this context did
+    ContextEvent event = contexts.remove(contextId);
+    if(event != null)
+      event.commit();
+  }
+
+  @Override
+  public void specStarting(String contextId, String specId) {
+    if(!isRecording)
+      return;
+
+    SpecEvent event = new SpecEvent();
+    event.contextId = contextId;
+    event.specId = specId;
+    event.begin();
+    inProgress.get().spec = event;
+  }
+
+  @Override
+  public void phaseStarting(String contextId, String specId, Phase phase) {
+    if(!isRecording)
+      return;
+
+    SpecPhaseEvent event = new SpecPhaseEvent();
+    event.contextId = contextId;
+    event.specId = specId;
+    event.phase = phase.name();
+    event.begin();
+    inProgress.get().phase = event;
+  }
+
+  @Override
+  public void phaseFinished(String contextId, String specId, Phase phase, long nanos) {
+    if(!isRecording)
+      return;
+
+    InProgress current = inProgress.get();
+    if(current.phase != null) {
+      current.phase.commit();
+      current.phase = null;
+    }
+  }
+
+  @Override
+  public void specFailed(String contextId, String specId, Throwable failure) {
+    if(!isRecording)
+      return;
+
+    SpecFailureEvent event = new SpecFailureEvent();
+    event.contextId = contextId;
+    event.specId = specId;
+    event.failureClass = failure.getClass();
+    event.message = failure.getMessage();
+    event.commit();
+  }
+
+  @Override
+  public void specFinished(String contextId, String specId, long nanos) {
+    if(!isRecording)
+      return;
+
+    InProgress current = inProgress.get();
+    if(current.spec != null) {
+      current.spec.commit();
+      current.spec = null;
+    }
+  }
+
+  private static final class InProgress {
+    public SpecEvent spec;
+    public SpecPhaseEvent phase;
+  }
+}
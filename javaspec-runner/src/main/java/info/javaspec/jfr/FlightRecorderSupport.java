@@ -0,0 +1,32 @@
+package info.javaspec.jfr;
+
+import info.javaspec.lifecycle.SpecListener;
+import info.javaspec.lifecycle.SpecListeners;
+
+/**
+ * Registers Flight Recorder events for specs when the JVM has Flight Recorder (Java 11 and later, and some builds of
+ * Java 8).  This class doesn't refer to any Flight Recorder types, so it's safe to load anywhere.
+ */
+public final class FlightRecorderSupport {
+  private static final String LISTENER_CLASS = "info.javaspec.jfr.FlightRecorderSpecListener";
+  private static boolean installed;
+
+  /** Starts emitting events whenever a recording is running, if it hasn't already, and if this JVM can */
+  public static synchronized void install() {
+    if(installed)
+      return;
+
+    installed = true;
+    try {
+      Object listener = Class.forName(LISTENER_CLASS).getDeclaredConstructor().newInstance();
+      Class.forName("jdk.jfr.FlightRecorder")
+        .getMethod("addListener", Class.forName("jdk.jfr.FlightRecorderListener"))
+        .invoke(null, listener);
+      SpecListeners.add((SpecListener)listener);
+    } catch(ReflectiveOperationException | LinkageError | RuntimeException e) {
+      //No Flight Recorder here; specs run the same without events
+    }
+  }
+
+  private FlightRecorderSupport() { /* static class */ }
+}
@@ -0,0 +1,20 @@
+package info.javaspec.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("info.javaspec.Spec")
+@Label("Spec")
+@Category("JavaSpec")
+@Description("Running one spec, from creating its context to cleaning up")
+@StackTrace(false)
+final class SpecEvent extends jdk.jfr.Event {
+  @Label("Context Id")
+  String contextId;
+
+  @Label("Spec Id")
+  String specId;
+}
@@ -0,0 +1,24 @@
+package info.javaspec.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("info.javaspec.SpecFailure")
+@Label("Spec Failure")
+@Category("JavaSpec")
+@Description("A failure reported by a spec")
+final class SpecFailureEvent extends jdk.jfr.Event {
+  @Label("Context Id")
+  String contextId;
+
+  @Label("Spec Id")
+  String specId;
+
+  @Label("Failure Class")
+  Class<?> failureClass;
+
+  @Label("Message")
+  String message;
+}
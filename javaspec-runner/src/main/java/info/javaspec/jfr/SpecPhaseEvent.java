@@ -0,0 +1,23 @@
+package info.javaspec.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("info.javaspec.SpecPhase")
+@Label("Spec Phase")
+@Category("JavaSpec")
+@Description("One part of running a spec: instantiating its context, or running one of its lambdas")
+@StackTrace(false)
+final class SpecPhaseEvent extends jdk.jfr.Event {
+  @Label("Context Id")
+  String contextId;
+
+  @Label("Spec Id")
+  String specId;
+
+  @Label("Phase")
+  String phase;
+}
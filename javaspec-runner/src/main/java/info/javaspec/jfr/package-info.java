@@ -0,0 +1,5 @@
+/**
+ * JDK Flight Recorder events for contexts and specs, so that samples and GC pauses in a recording can be attributed to
+ * the spec that was running.  Nothing here is loaded on JVMs without Flight Recorder.
+ */
+package info.javaspec.jfr;
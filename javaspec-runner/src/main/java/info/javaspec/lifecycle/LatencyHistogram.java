@@ -0,0 +1,90 @@
+package info.javaspec.lifecycle;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts durations in log-linear buckets: each power of 2 is split into 16 equal buckets, so a percentile is off by
+ * at most 1/16 (6.25%) of the true value.  It takes the same memory - 960 counters - no matter how many values it
+ * counts or how large they are, and recording a value doesn't allocate.  Safe to record from many threads at once.
+ */
+public final class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int NUM_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(bucketOf(value));
+    count.incrementAndGet();
+    for(long current = max.get(); value > current; current = max.get()) {
+      if(max.compareAndSet(current, value))
+        break;
+    }
+  }
+
+  /** Adds everything recorded in another histogram to this one */
+  public void addAll(LatencyHistogram other) {
+    for(int i = 0; i < NUM_BUCKETS; i++) {
+      long bucketCount = other.counts.get(i);
+      if(bucketCount > 0)
+        counts.addAndGet(i, bucketCount);
+    }
+
+    count.addAndGet(other.count());
+    long otherMax = other.max();
+    for(long current = max.get(); otherMax > current; current = max.get()) {
+      if(max.compareAndSet(current, otherMax))
+        break;
+    }
+  }
+
+  public long count() { return count.get(); }
+
+  public long max() { return max.get(); }
+
+  /**
+   * The smallest duration that the given fraction (0 to 1) of recorded durations are less than or equal to, to within
+   * the width of one bucket.  Returns 0 when nothing has been recorded.
+   */
+  public long percentile(double fraction) {
+    long total = count();
+    if(total == 0)
+      return 0;
+
+    long rank = Math.max(1, (long)Math.ceil(fraction * total));
+    long seen = 0;
+    for(int i = 0; i < NUM_BUCKETS; i++) {
+      seen += counts.get(i);
+      if(seen >= rank)
+        return Math.min(highestValueIn(i), max());
+    }
+
+    return max();
+  }
+
+  static int bucketOf(long value) {
+    if(value < SUB_BUCKETS)
+      return (int)value;
+
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int)(value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long highestValueIn(int bucket) {
+    if(bucket < SUB_BUCKETS)
+      return bucket;
+
+    int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    long top = bucket % SUB_BUCKETS + SUB_BUCKETS;
+    int shift = exponent - SUB_BUCKET_BITS;
+    return top == 2 * SUB_BUCKETS - 1 && exponent == Long.SIZE - 2
+      ? Long.MAX_VALUE
+      : ((top + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,26 @@
+package info.javaspec.lifecycle;
+
+import info.javaspec.dsl.Because;
+import info.javaspec.dsl.Before;
+
+/** The parts of running a spec, in the order they happen */
+public enum Phase {
+  /** Creating instances of the context classes and reading the lambdas out of their fields */
+  INSTANTIATE,
+
+  /** Running one Establish lambda */
+  ESTABLISH,
+
+  /** Running one Because lambda */
+  BECAUSE,
+
+  /** Running the It lambda */
+  IT,
+
+  /** Running one Cleanup lambda */
+  CLEANUP;
+
+  public static Phase of(Before before) {
+    return before instanceof Because ? BECAUSE : ESTABLISH;
+  }
+}
@@ -0,0 +1,134 @@
+package info.javaspec.lifecycle;
+
+import info.javaspec.util.Escape;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static java.util.Comparator.comparing;
+
+/**
+ * Totals how long each phase takes, per context.  Each context only allocates its counters once, so recording a phase
+ * is a few atomic updates.
+ * <p>
+ * The report is JSON, with one entry per context:
+ * <pre>
+ * {"contexts": [
+ *   {"id": "com.example.WidgetTest.foo", "specs": 2, "nanos": 1800, "phases": {
+ *     "instantiate": {"count": 2, "totalNanos": 600, "maxNanos": 400},
+ *     ...
+ *   }}
+ * ]}
+ * </pre>
+ */
+public final class PhaseTimings implements SpecListener {
+  private static final Phase[] PHASES = Phase.values();
+  private final ConcurrentMap<String, ContextTimings> contexts = new ConcurrentHashMap<>();
+
+  @Override
+  public void phaseFinished(String contextId, String specId, Phase phase, long nanos) {
+    timingsFor(contextId).record(phase.ordinal(), nanos);
+  }
+
+  @Override
+  public void specFinished(String contextId, String specId, long nanos) {
+    timingsFor(contextId).record(PHASES.length, nanos);
+  }
+
+  private ContextTimings timingsFor(String contextId) {
+    ContextTimings timings = contexts.get(contextId);
+    return timings != null ? timings : contexts.computeIfAbsent(contextId, ContextTimings::new);
+  }
+
+  /** Number of times the given phase was recorded for the given context */
+  public long count(String contextId, Phase phase) {
+    ContextTimings timings = contexts.get(contextId);
+    return timings == null ? 0 : timings.count(phase.ordinal());
+  }
+
+  /** Total duration of the given phase, for all specs in the given context */
+  public long totalNanos(String contextId, Phase phase) {
+    ContextTimings timings = contexts.get(contextId);
+    return timings == null ? 0 : timings.totalNanos(phase.ordinal());
+  }
+
+  /** Replaces the given file with a report of everything recorded so far */
+  public void writeReport(Path file) throws IOException {
+    Path parent = file.getParent();
+    if(parent != null)
+      Files.createDirectories(parent);
+
+    Path updated = file.resolveSibling(file.getFileName() + ".tmp");
+    try(Writer writer = Files.newBufferedWriter(updated, StandardCharsets.UTF_8)) {
+      writeReport(writer);
+    }
+
+    Files.move(updated, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  public void writeReport(Writer writer) throws IOException {
+    List<ContextTimings> sorted = new ArrayList<>(contexts.values());
+    sorted.sort(comparing(x -> x.id));
+
+    writer.write("{\"contexts\": [");
+    for(int i = 0; i < sorted.size(); i++) {
+      writer.write(i == 0 ? "\n" : ",\n");
+      sorted.get(i).writeTo(writer);
+    }
+
+    writer.write("\n]}\n");
+  }
+
+  private static final class ContextTimings {
+    private static final int COUNT = 0, TOTAL = 1, MAX = 2, NUM_STATS = 3;
+
+    private final String id;
+    private final AtomicLongArray stats = new AtomicLongArray((PHASES.length + 1) * NUM_STATS);
+
+    public ContextTimings(String id) {
+      this.id = id;
+    }
+
+    public void record(int phase, long nanos) {
+      int offset = phase * NUM_STATS;
+      stats.incrementAndGet(offset + COUNT);
+      stats.addAndGet(offset + TOTAL, nanos);
+      for(long max = stats.get(offset + MAX); nanos > max; max = stats.get(offset + MAX)) {
+        if(stats.compareAndSet(offset + MAX, max, nanos))
+          break;
+      }
+    }
+
+    public long count(int phase) { return stats.get(phase * NUM_STATS + COUNT); }
+    public long totalNanos(int phase) { return stats.get(phase * NUM_STATS + TOTAL); }
+    public long maxNanos(int phase) { return stats.get(phase * NUM_STATS + MAX); }
+
+    public void writeTo(Writer writer) throws IOException {
+      writer.write(String.format("  {\"id\": \"%s\", \"specs\": %d, \"nanos\": %d, \"phases\": {",
+        Escape.json(id), count(PHASES.length), totalNanos(PHASES.length)));
+
+      String separator = "";
+      for(Phase phase : PHASES) {
+        int index = phase.ordinal();
+        if(count(index) == 0)
+          continue;
+
+        writer.write(String.format("%s\n    \"%s\": {\"count\": %d, \"totalNanos\": %d, \"maxNanos\": %d}",
+          separator, phase.name().toLowerCase(Locale.ROOT), count(index), totalNanos(index), maxNanos(index)));
+        separator = ",";
+      }
+
+      writer.write("\n  }}");
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package info.javaspec.lifecycle;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Adds up how many bytes each spec allocates and how much CPU time it uses, per spec and per context.
+ * <p>
+ * Each phase is measured with the counters of the thread that runs it, read before and after, so it works the same
+ * when specs run on worker threads.  Allocation is only measured on JVMs whose ThreadMXBean is the HotSpot extension
+ * (com.sun.management.ThreadMXBean).  Threads the JVM can't measure - like virtual threads, on some JVMs - are skipped.
+ */
+public final class ResourceUsage implements SpecListener {
+  private static final long UNMEASURED = -1;
+
+  private final ThreadMXBean threads;
+  private final com.sun.management.ThreadMXBean allocations;
+  private final ThreadLocal<long[]> phaseStart = ThreadLocal.withInitial(() -> new long[2]);
+  private final ConcurrentMap<String, Usage> contexts = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Usage> specs = new ConcurrentHashMap<>();
+
+  public ResourceUsage() {
+    this.threads = ManagementFactory.getThreadMXBean();
+    this.allocations = threads instanceof com.sun.management.ThreadMXBean
+      ? (com.sun.management.ThreadMXBean)threads
+      : null;
+
+    if(threads.isThreadCpuTimeSupported() && !threads.isThreadCpuTimeEnabled())
+      threads.setThreadCpuTimeEnabled(true);
+    if(allocations != null && allocations.isThreadAllocatedMemorySupported()
+      && !allocations.isThreadAllocatedMemoryEnabled()) {
+      allocations.setThreadAllocatedMemoryEnabled(true);
+    }
+  }
+
+  @Override
+  public void phaseStarting(String contextId, String specId, Phase phase) {
+    long[] start = phaseStart.get();
+    start[0] = cpuNanos();
+    start[1] = allocatedBytes();
+  }
+
+  @Override
+  public void phaseFinished(String contextId, String specId, Phase phase, long nanos) {
+    long[] start = phaseStart.get();
+    long cpuNanos = difference(start[0], cpuNanos());
+    long allocatedBytes = difference(start[1], allocatedBytes());
+    usageOf(contexts, contextId).add(cpuNanos, allocatedBytes);
+    usageOf(specs, specId).add(cpuNanos, allocatedBytes);
+  }
+
+  private long cpuNanos() {
+    try {
+      return threads.getCurrentThreadCpuTime();
+    } catch(UnsupportedOperationException e) {
+      return UNMEASURED;
+    }
+  }
+
+  private long allocatedBytes() {
+    if(allocations == null)
+      return UNMEASURED;
+
+    try {
+      return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+    } catch(UnsupportedOperationException e) {
+      return UNMEASURED;
+    }
+  }
+
+  private static long difference(long start, long end) {
+    return start < 0 || end < start ? 0 : end - start;
+  }
+
+  private static Usage usageOf(ConcurrentMap<String, Usage> usages, String id) {
+    Usage usage = usages.get(id);
+    return usage != null ? usage : usages.computeIfAbsent(id, x -> new Usage());
+  }
+
+  /** Bytes allocated by all specs in the given context (not including sub-contexts) */
+  public long allocatedBytes(String contextId) {
+    Usage usage = contexts.get(contextId);
+    return usage == null ? 0 : usage.allocatedBytes.get();
+  }
+
+  /** CPU time used by all specs in the given context (not including sub-contexts) */
+  public long cpuNanos(String contextId) {
+    Usage usage = contexts.get(contextId);
+    return usage == null ? 0 : usage.cpuNanos.get();
+  }
+
+  /** True until a phase has been measured, or since the last time this was cleared */
+  public boolean isEmpty() {
+    return contexts.isEmpty();
+  }
+
+  /** Forgets everything measured so far, so that later reports only cover specs that run after this */
+  public void clear() {
+    contexts.clear();
+    specs.clear();
+  }
+
+  /** Prints the contexts and specs that allocated the most and that used the most CPU time */
+  public void printTopOffenders(PrintStream out, int limit) {
+    out.println("Contexts allocating the most:");
+    printTop(out, contexts, x -> x.allocatedBytes.get(), limit, "%,d bytes");
+    out.println("Specs allocating the most:");
+    printTop(out, specs, x -> x.allocatedBytes.get(), limit, "%,d bytes");
+    out.println("Contexts using the most CPU:");
+    printTop(out, contexts, x -> x.cpuNanos.get() / 1_000_000, limit, "%,d ms");
+    out.println("Specs using the most CPU:");
+    printTop(out, specs, x -> x.cpuNanos.get() / 1_000_000, limit, "%,d ms");
+  }
+
+  private static void printTop(PrintStream out, Map<String, Usage> usages, ToLongFunction<Usage> amount, int limit,
+                               String amountFormat) {
+    usages.entrySet().stream()
+      .sorted(Comparator.comparingLong((Map.Entry<String, Usage> x) -> amount.applyAsLong(x.getValue())).reversed())
+      .limit(limit)
+      .collect(toList())
+      .forEach(x -> out.printf("  %s: " + amountFormat + "%n", x.getKey(), amount.applyAsLong(x.getValue())));
+  }
+
+  private static final class Usage {
+    public final AtomicLong cpuNanos = new AtomicLong();
+    public final AtomicLong allocatedBytes = new AtomicLong();
+
+    public void add(long cpuNanos, long allocatedBytes) {
+      this.cpuNanos.addAndGet(cpuNanos);
+      this.allocatedBytes.addAndGet(allocatedBytes);
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package info.javaspec.lifecycle;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Records how long every spec takes in a LatencyHistogram for the whole run and one for each context, along with the
+ * slowest few specs.  Only the first contexts to finish a spec get a histogram of their own - the rest share one - so
+ * memory stays bounded no matter how many contexts and specs there are or how many times they run.
+ */
+public final class SpecLatencies implements SpecListener {
+  static final int MAX_CONTEXTS = 64;
+  static final String OTHER_CONTEXTS = "(other contexts)";
+
+  private final int numSlowest;
+  private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+  private volatile Latencies latencies;
+
+  /** Tracks durations of all specs, and the given number of slowest specs */
+  public SpecLatencies(int numSlowest) {
+    this.numSlowest = numSlowest;
+    this.latencies = new Latencies(numSlowest);
+  }
+
+  @Override
+  public void phaseFinished(String contextId, String specId, Phase phase, long nanos) { }
+
+  @Override
+  public void specFinished(String contextId, String specId, long nanos) {
+    swapLock.readLock().lock();
+    try {
+      latencies.record(contextId, specId, nanos);
+    } finally {
+      swapLock.readLock().unlock();
+    }
+  }
+
+  /** Durations of every spec that finished since this was created or last cleared */
+  public LatencyHistogram histogram() {
+    return latencies.all;
+  }
+
+  /**
+   * Durations of the specs declared in the given context, or of those in all the contexts that don't have their own.
+   * Null when no spec in it has finished.
+   */
+  public LatencyHistogram histogram(String contextId) {
+    LatencyHistogram histogram = latencies.byContext.get(contextId);
+    return histogram == null ? latencies.byContext.get(OTHER_CONTEXTS) : histogram;
+  }
+
+  /** True until a spec has finished, or since the last time this was cleared */
+  public boolean isEmpty() {
+    return latencies.all.count() == 0;
+  }
+
+  /** Forgets everything recorded so far, so that later reports only cover specs that finish after this */
+  public void clear() {
+    swap();
+  }
+
+  /** Prints percentiles for all specs together and for each context, followed by the slowest specs */
+  public void print(PrintStream out) {
+    print(latencies, out);
+  }
+
+  /**
+   * Prints what was recorded so far, like #print, and forgets it like #clear.  Specs that finish while this happens
+   * are left for the next report, instead of going missing in between.
+   */
+  public void printAndClear(PrintStream out) {
+    print(swap(), out);
+  }
+
+  private Latencies swap() {
+    swapLock.writeLock().lock();
+    try {
+      Latencies swapped = latencies;
+      latencies = new Latencies(numSlowest);
+      return swapped;
+    } finally {
+      swapLock.writeLock().unlock();
+    }
+  }
+
+  private static void print(Latencies printing, PrintStream out) {
+    out.printf("%8s %10s %10s %10s %10s  %s%n", "specs", "p50 ms", "p90 ms", "p99 ms", "max ms", "context");
+    printRow(out, printing.all, "(all)");
+    printing.byContext.entrySet().stream()
+      .sorted(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> x) -> x.getValue().count()).reversed()
+        .thenComparing(Map.Entry::getKey))
+      .forEach(x -> printRow(out, x.getValue(), x.getKey()));
+
+    out.printf("Slowest specs:%n");
+    printing.slowest().stream()
+      .sorted(Comparator.comparingLong((SpecDuration x) -> x.nanos).reversed())
+      .forEach(x -> out.printf("  %s: %s ms%n", x.specId, millis(x.nanos)));
+  }
+
+  private static void printRow(PrintStream out, LatencyHistogram histogram, String name) {
+    out.printf("%8d %10s %10s %10s %10s  %s%n", histogram.count(),
+      millis(histogram.percentile(0.5)), millis(histogram.percentile(0.9)), millis(histogram.percentile(0.99)),
+      millis(histogram.max()), name);
+  }
+
+  private static String millis(long nanos) {
+    return String.format("%.3f", nanos / 1e6);
+  }
+
+  private static final class Latencies {
+    public final LatencyHistogram all = new LatencyHistogram();
+    public final ConcurrentMap<String, LatencyHistogram> byContext = new ConcurrentHashMap<>();
+    private final int numSlowest;
+    private final PriorityQueue<SpecDuration> slowest;
+    private volatile long fastestOfSlowest = -1;
+
+    public Latencies(int numSlowest) {
+      this.numSlowest = numSlowest;
+      this.slowest = new PriorityQueue<>(numSlowest + 1, Comparator.comparingLong(x -> x.nanos));
+    }
+
+    public void record(String contextId, String specId, long nanos) {
+      all.record(nanos);
+      histogramFor(contextId).record(nanos);
+      if(nanos > fastestOfSlowest)
+        addToSlowest(specId, nanos);
+    }
+
+    private LatencyHistogram histogramFor(String contextId) {
+      LatencyHistogram histogram = byContext.get(contextId);
+      return histogram == null ? addContext(contextId) : histogram;
+    }
+
+    private synchronized LatencyHistogram addContext(String contextId) {
+      //One slot is kept for the contexts that don't get their own
+      String key = byContext.containsKey(contextId) || byContext.size() < MAX_CONTEXTS - 1 ? contextId : OTHER_CONTEXTS;
+      return byContext.computeIfAbsent(key, x -> new LatencyHistogram());
+    }
+
+    private synchronized void addToSlowest(String specId, long nanos) {
+      slowest.add(new SpecDuration(specId, nanos));
+      if(slowest.size() > numSlowest)
+        slowest.poll();
+
+      if(slowest.size() == numSlowest)
+        fastestOfSlowest = slowest.peek().nanos;
+    }
+
+    public synchronized List<SpecDuration> slowest() {
+      return new ArrayList<>(slowest);
+    }
+  }
+
+  private static final class SpecDuration {
+    public final String specId;
+    public final long nanos;
+
+    public SpecDuration(String specId, long nanos) {
+      this.specId = specId;
+      this.nanos = nanos;
+    }
+  }
+}
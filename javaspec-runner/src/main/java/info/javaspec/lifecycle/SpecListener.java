@@ -0,0 +1,43 @@
+package info.javaspec.lifecycle;
+
+/**
+ * Observes contexts and specs as they run.  Methods are called on the thread that runs the spec, which may be any
+ * thread when specs run concurrently, so implementations need to be thread-safe.  They are called for every spec, so
+ * they should also be quick.
+ * <p>
+ * Contexts report starting before any of their specs or sub-contexts start, and finishing once all of them are done,
+ * however the specs are scheduled.  Contexts and specs are identified by the same ids as Context#getId and
+ * Spec#getId.  Durations are in nanoseconds, as measured by System#nanoTime.
+ */
+public interface SpecListener {
+  /** Called when a context starts running its specs and sub-contexts, on the thread that starts them */
+  default void contextStarting(String contextId) { }
+
+  /**
+   * Called once a context has run its specs and sub-contexts.  When specs run concurrently, this may be on the thread
+   * that finished the last of them.
+   */
+  default void contextFinished(String contextId, long nanos) { }
+
+  /** Called on the thread that is about to run the spec, before anything else happens for it */
+  default void specStarting(String contextId, String specId) { }
+
+  /** Called just before each part of a spec, on the thread that will run it */
+  default void phaseStarting(String contextId, String specId, Phase phase) { }
+
+  /**
+   * Called after each part of a spec, whether or not it succeeded.  Phases that run once per fixture - when specs
+   * share one - are reported for the spec that triggered them.  Phases with more than one lambda (for example, one
+   * Establish for each enclosing context) are reported once for each lambda.
+   */
+  void phaseFinished(String contextId, String specId, Phase phase, long nanos);
+
+  /** Called for each failure a spec reports, before it is reported to JUnit */
+  default void specFailed(String contextId, String specId, Throwable failure) { }
+
+  /** Called when a spec is skipped because it is pending - that is, when one of its lambdas is missing */
+  default void specIgnored(String contextId, String specId) { }
+
+  /** Called on the thread that ran the spec, once everything is done for it */
+  default void specFinished(String contextId, String specId, long nanos) { }
+}
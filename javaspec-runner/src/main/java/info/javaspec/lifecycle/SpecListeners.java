@@ -0,0 +1,66 @@
+package info.javaspec.lifecycle;
+
+import java.util.Arrays;
+
+/**
+ * Listeners that are told about every spec that runs in this JVM.  Specs call the static fire methods, which do
+ * nothing (and allocate nothing) when there are no listeners.
+ */
+public final class SpecListeners {
+  private static final SpecListener[] NONE = new SpecListener[0];
+  private static volatile SpecListener[] listeners = NONE;
+
+  public static synchronized void add(SpecListener listener) {
+    SpecListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+    updated[listeners.length] = listener;
+    listeners = updated;
+  }
+
+  public static synchronized void remove(SpecListener listener) {
+    listeners = Arrays.stream(listeners)
+      .filter(x -> x != listener)
+      .toArray(SpecListener[]::new);
+  }
+
+  public static void fireContextStarting(String contextId) {
+    for(SpecListener listener : listeners)
+      listener.contextStarting(contextId);
+  }
+
+  public static void fireContextFinished(String contextId, long nanos) {
+    for(SpecListener listener : listeners)
+      listener.contextFinished(contextId, nanos);
+  }
+
+  public static void fireSpecStarting(String contextId, String specId) {
+    for(SpecListener listener : listeners)
+      listener.specStarting(contextId, specId);
+  }
+
+  public static void firePhaseStarting(String contextId, String specId, Phase phase) {
+    for(SpecListener listener : listeners)
+      listener.phaseStarting(contextId, specId, phase);
+  }
+
+  public static void firePhaseFinished(String contextId, String specId, Phase phase, long nanos) {
+    for(SpecListener listener : listeners)
+      listener.phaseFinished(contextId, specId, phase, nanos);
+  }
+
+  public static void fireSpecFailed(String contextId, String specId, Throwable failure) {
+    for(SpecListener listener : listeners)
+      listener.specFailed(contextId, specId, failure);
+  }
+
+  public static void fireSpecIgnored(String contextId, String specId) {
+    for(SpecListener listener : listeners)
+      listener.specIgnored(contextId, specId);
+  }
+
+  public static void fireSpecFinished(String contextId, String specId, long nanos) {
+    for(SpecListener listener : listeners)
+      listener.specFinished(contextId, specId, nanos);
+  }
+
+  private SpecListeners() { /* static class */ }
+}
@@ -0,0 +1,2 @@
+/** Hooks for observing specs as they run, and how long each part of them takes. */
+package info.javaspec.lifecycle;
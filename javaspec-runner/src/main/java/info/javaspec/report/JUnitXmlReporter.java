@@ -0,0 +1,151 @@
+package info.javaspec.report;
+
+import info.javaspec.lifecycle.Phase;
+import info.javaspec.util.Escape;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes results in the JUnit XML format that CI servers read, one test case at a time as each spec finishes.  The
+ * totals on the test suite are written last, over space that was set aside for them at the start.
+ * <p>
+ * Each test case's class name is the id of its context, and its name is the rest of the spec's id.  If the file can't
+ * be written, that's printed once and later test cases are dropped, so the specs still run.
+ */
+public final class JUnitXmlReporter implements ResultFile {
+  private static final int TOTALS_WIDTH = 96;
+
+  private final Path file;
+  private final ReportChannel channel;
+  private final long totalsPosition;
+  private final long startMillis;
+  private final ThreadLocal<SpecOutcome> outcomes = ThreadLocal.withInitial(SpecOutcome::new);
+  private final AtomicLong numSpecs = new AtomicLong();
+  private final AtomicLong numFailed = new AtomicLong();
+  private final AtomicLong numIgnored = new AtomicLong();
+  private volatile boolean isDisabled;
+  private boolean isClosed;
+
+  public static JUnitXmlReporter create(Path file, String suiteName) throws IOException {
+    return new JUnitXmlReporter(file, ReportChannel.create(file), suiteName);
+  }
+
+  private JUnitXmlReporter(Path file, ReportChannel channel, String suiteName) throws IOException {
+    this.file = file;
+    this.channel = channel;
+    this.startMillis = System.currentTimeMillis();
+    channel.write(String.format("<?xml version=\"1.0\" encoding=\"UTF-8\"?>%n<testsuite name=\"%s\"",
+      Escape.xml(suiteName)));
+    this.totalsPosition = channel.position();
+    channel.write(totals(0, 0, 0, 0) + String.format(">%n"));
+  }
+
+  @Override
+  public void specStarting(String contextId, String specId) {
+    outcomes.get().clear();
+  }
+
+  @Override
+  public void phaseFinished(String contextId, String specId, Phase phase, long nanos) { }
+
+  @Override
+  public void specFailed(String contextId, String specId, Throwable failure) {
+    outcomes.get().failed(failure);
+  }
+
+  @Override
+  public void specIgnored(String contextId, String specId) {
+    outcomes.get().ignored();
+  }
+
+  @Override
+  public void specFinished(String contextId, String specId, long nanos) {
+    SpecOutcome outcome = outcomes.get();
+    StringBuilder testCase = new StringBuilder(256);
+    testCase.append(String.format(Locale.ROOT, "  <testcase classname=\"%s\" name=\"%s\" time=\"%.6f\"",
+      Escape.xml(contextId), Escape.xml(specName(contextId, specId)), nanos / 1e9));
+
+    if(!outcome.getFailures().isEmpty()) {
+      testCase.append(">\n");
+      for(Throwable failure : outcome.getFailures()) {
+        testCase.append(String.format("    <failure type=\"%s\" message=\"%s\">",
+          Escape.xml(failure.getClass().getName()), Escape.xml(failure.getMessage())));
+        testCase.append(Escape.xml(stackTrace(failure))).append("</failure>\n");
+      }
+
+      testCase.append("  </testcase>\n");
+      numFailed.incrementAndGet();
+    } else if(outcome.isIgnored()) {
+      testCase.append(">\n    <skipped/>\n  </testcase>\n");
+      numIgnored.incrementAndGet();
+    } else {
+      testCase.append("/>\n");
+    }
+
+    numSpecs.incrementAndGet();
+    outcome.clear();
+    if(isDisabled)
+      return;
+
+    try {
+      channel.write(testCase);
+    } catch(IOException e) {
+      isDisabled = true;
+      System.err.printf("Unable to write results to %s, so no more will be written: %s%n", file, e);
+    }
+  }
+
+  static String specName(String contextId, String specId) {
+    return specId.startsWith(contextId + "#") ? specId.substring(contextId.length() + 1) : specId;
+  }
+
+  private static String stackTrace(Throwable failure) {
+    StringWriter trace = new StringWriter();
+    failure.printStackTrace(new PrintWriter(trace));
+    return trace.toString();
+  }
+
+  private String totals(long tests, long failures, long skipped, long elapsedMillis) {
+    String totals = String.format(Locale.ROOT,
+      " tests=\"%d\" failures=\"%d\" errors=\"0\" skipped=\"%d\" time=\"%.3f\"",
+      tests, failures, skipped, elapsedMillis / 1e3);
+    StringBuilder padded = new StringBuilder(TOTALS_WIDTH).append(totals);
+    while(padded.length() < TOTALS_WIDTH)
+      padded.append(' ');
+
+    return padded.toString();
+  }
+
+  /** Writes everything reported so far to the file, leaving it open for more */
+  @Override
+  public void flush() throws IOException {
+    if(!isDisabled)
+      channel.flush();
+  }
+
+  /** Finishes the test suite with its totals, and closes the file.  A file that couldn't be written is just closed. */
+  @Override
+  public synchronized void close() throws IOException {
+    if(isClosed)
+      return;
+
+    isClosed = true;
+    if(isDisabled) {
+      channel.close();
+      return;
+    }
+
+    try {
+      channel.write("</testsuite>\n");
+      long elapsedMillis = System.currentTimeMillis() - startMillis;
+      channel.overwrite(totalsPosition, totals(numSpecs.get(), numFailed.get(), numIgnored.get(), elapsedMillis));
+    } finally {
+      channel.close();
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package info.javaspec.report;
+
+import info.javaspec.lifecycle.Phase;
+import info.javaspec.util.Escape;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Writes each lifecycle event as one line of JSON (newline-delimited JSON), as it happens.  Lines from specs running
+ * at the same time may be interleaved with each other, but each line is whole.
+ * <p>
+ * Every line has an <code>event</code> and the <code>context</code> id; spec events also have the <code>spec</code>
+ * id.  Durations are in <code>nanos</code>.
+ * <p>
+ * If the file can't be written, that's printed once and later events are dropped, so the specs still run.
+ */
+public final class NdjsonReporter implements ResultFile {
+  private final Path file;
+  private final ReportChannel channel;
+  private final ThreadLocal<SpecOutcome> outcomes = ThreadLocal.withInitial(SpecOutcome::new);
+  private volatile boolean isDisabled;
+
+  public static NdjsonReporter create(Path file) throws IOException {
+    return new NdjsonReporter(file, ReportChannel.create(file));
+  }
+
+  private NdjsonReporter(Path file, ReportChannel channel) {
+    this.file = file;
+    this.channel = channel;
+  }
+
+  @Override
+  public void contextStarting(String contextId) {
+    write(String.format("{\"event\":\"contextStarted\",\"context\":\"%s\"}%n", Escape.json(contextId)));
+  }
+
+  @Override
+  public void contextFinished(String contextId, long nanos) {
+    write(String.format("{\"event\":\"contextFinished\",\"context\":\"%s\",\"nanos\":%d}%n",
+      Escape.json(contextId), nanos));
+  }
+
+  @Override
+  public void specStarting(String contextId, String specId) {
+    outcomes.get().clear();
+    write(String.format("{\"event\":\"specStarted\",\"context\":\"%s\",\"spec\":\"%s\"}%n",
+      Escape.json(contextId), Escape.json(specId)));
+  }
+
+  @Override
+  public void phaseFinished(String contextId, String specId, Phase phase, long nanos) { }
+
+  @Override
+  public void specFailed(String contextId, String specId, Throwable failure) {
+    outcomes.get().failed(failure);
+    write(String.format("{\"event\":\"specFailed\",\"context\":\"%s\",\"spec\":\"%s\",\"type\":\"%s\","
+        + "\"message\":\"%s\"}%n",
+      Escape.json(contextId), Escape.json(specId), Escape.json(failure.getClass().getName()),
+      Escape.json(failure.getMessage())));
+  }
+
+  @Override
+  public void specIgnored(String contextId, String specId) {
+    outcomes.get().ignored();
+  }
+
+  @Override
+  public void specFinished(String contextId, String specId, long nanos) {
+    SpecOutcome outcome = outcomes.get();
+    write(String.format("{\"event\":\"specFinished\",\"context\":\"%s\",\"spec\":\"%s\",\"status\":\"%s\","
+        + "\"nanos\":%d}%n",
+      Escape.json(contextId), Escape.json(specId), outcome.status(), nanos));
+    outcome.clear();
+  }
+
+  private void write(String line) {
+    if(isDisabled)
+      return;
+
+    try {
+      channel.write(line);
+    } catch(IOException e) {
+      isDisabled = true;
+      System.err.printf("Unable to write events to %s, so no more will be written: %s%n", file, e);
+    }
+  }
+
+  /** Writes everything reported so far to the file, leaving it open for more */
+  @Override
+  public void flush() throws IOException {
+    if(!isDisabled)
+      channel.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
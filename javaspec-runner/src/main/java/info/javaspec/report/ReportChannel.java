@@ -0,0 +1,93 @@
+package info.javaspec.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends UTF-8 text to a file through a fixed-size buffer, so a report of any size only takes the memory of the
+ * buffer.  Each call to #write is written as a unit, so threads can share one channel without interleaving their
+ * records.
+ */
+final class ReportChannel implements Closeable {
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final FileChannel channel;
+  private final ByteBuffer buffer;
+  private final CharsetEncoder encoder;
+
+  public static ReportChannel create(Path file) throws IOException {
+    Path parent = file.getParent();
+    if(parent != null)
+      Files.createDirectories(parent);
+
+    return new ReportChannel(FileChannel.open(file,
+      StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+  }
+
+  private ReportChannel(FileChannel channel) {
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    this.encoder = StandardCharsets.UTF_8.newEncoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  }
+
+  /** Where the next character written will go, as a byte offset from the start of the file */
+  public synchronized long position() throws IOException {
+    return channel.position() + buffer.position();
+  }
+
+  public synchronized void write(CharSequence text) throws IOException {
+    CharBuffer chars = CharBuffer.wrap(text);
+    encoder.reset();
+    for(CoderResult result = encoder.encode(chars, buffer, true); result.isOverflow();
+        result = encoder.encode(chars, buffer, true)) {
+      drain();
+    }
+
+    while(encoder.flush(buffer).isOverflow())
+      drain();
+  }
+
+  /** Replaces text that was already written, at the given position.  Only use this for text of the same length. */
+  public synchronized void overwrite(long position, CharSequence text) throws IOException {
+    drain();
+    ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(text));
+    long at = position;
+    while(bytes.hasRemaining())
+      at += channel.write(bytes, at);
+  }
+
+  /** Writes everything buffered so far to the file */
+  public synchronized void flush() throws IOException {
+    drain();
+    channel.force(false);
+  }
+
+  private void drain() throws IOException {
+    buffer.flip();
+    while(buffer.hasRemaining())
+      channel.write(buffer);
+
+    buffer.clear();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      drain();
+    } finally {
+      channel.close();
+    }
+  }
+}
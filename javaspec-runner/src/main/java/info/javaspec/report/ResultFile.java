@@ -0,0 +1,9 @@
+package info.javaspec.report;
+
+import info.javaspec.lifecycle.SpecListener;
+
+import java.io.Closeable;
+import java.io.Flushable;
+
+/** A file of results that is written as lifecycle events happen, and finished when it is closed */
+public interface ResultFile extends SpecListener, Flushable, Closeable { }
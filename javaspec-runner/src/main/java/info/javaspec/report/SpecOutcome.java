@@ -0,0 +1,33 @@
+package info.javaspec.report;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What has happened so far to a spec that is running.  Reporters keep one of these per thread and clear it when each
+ * spec finishes, so they only remember the specs that are in flight.
+ */
+final class SpecOutcome {
+  private final List<Throwable> failures = new ArrayList<>(1);
+  private boolean isIgnored;
+
+  public void clear() {
+    failures.clear();
+    isIgnored = false;
+  }
+
+  public void failed(Throwable failure) { failures.add(failure); }
+  public void ignored() { isIgnored = true; }
+
+  public List<Throwable> getFailures() { return failures; }
+  public boolean isIgnored() { return isIgnored; }
+
+  public String status() {
+    if(!failures.isEmpty())
+      return "failed";
+    else if(isIgnored)
+      return "ignored";
+    else
+      return "passed";
+  }
+}
@@ -0,0 +1,2 @@
+/** Result files written as specs finish, for CI servers and other tools to read. */
+package info.javaspec.report;
@@ -0,0 +1,84 @@
+package info.javaspec.runner;
+
+import info.javaspec.context.Context;
+import info.javaspec.lifecycle.SpecListeners;
+import info.javaspec.spec.Spec;
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunNotifier;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A context with the same specs and sub-contexts as another one, in a different order (or wrapped, to observe them as
+ * they run).  It describes itself the same as the original, so JUnit sees the same tree as it would otherwise.
+ * <p>
+ * When run directly, it may also run its sub-contexts before its own specs.
+ */
+final class ArrangedContext extends Context {
+  private final Context original;
+  private final List<Spec> specs;
+  private final List<Context> subContexts;
+  private final boolean subContextsFirst;
+
+  public ArrangedContext(Context original, List<Spec> specs, List<Context> subContexts) {
+    this(original, specs, subContexts, false);
+  }
+
+  public ArrangedContext(Context original, List<Spec> specs, List<Context> subContexts, boolean subContextsFirst) {
+    super(original.getId());
+    this.original = original;
+    this.specs = specs;
+    this.subContexts = subContexts;
+    this.subContextsFirst = subContextsFirst;
+  }
+
+  /** True if the given context runs its sub-contexts before its own specs, as schedulers should too */
+  static boolean runsSubContextsFirst(Context context) {
+    return context instanceof ArrangedContext && ((ArrangedContext)context).subContextsFirst;
+  }
+
+  @Override
+  public Optional<Class<?>> getSourceClass() { return original.getSourceClass(); }
+
+  @Override
+  public Description getDescription() { return original.getDescription(); }
+
+  @Override
+  public void addSpec(Spec spec) { throw new UnsupportedOperationException(); }
+
+  @Override
+  public boolean hasSpecs() { return original.hasSpecs(); }
+
+  @Override
+  public long numSpecs() { return original.numSpecs(); }
+
+  @Override
+  public Stream<Spec> getSpecs() { return specs.stream(); }
+
+  @Override
+  public Stream<Context> getSubContexts() { return subContexts.stream(); }
+
+  @Override
+  public void run(RunNotifier notifier) {
+    long start = System.nanoTime();
+    SpecListeners.fireContextStarting(getId());
+    try {
+      runChildren(notifier);
+    } finally {
+      finishSpecs(notifier);
+      SpecListeners.fireContextFinished(getId(), System.nanoTime() - start);
+    }
+  }
+
+  private void runChildren(RunNotifier notifier) {
+    if(subContextsFirst) {
+      subContexts.forEach(x -> x.run(notifier));
+      specs.forEach(x -> x.run(notifier));
+    } else {
+      specs.forEach(x -> x.run(notifier));
+      subContexts.forEach(x -> x.run(notifier));
+    }
+  }
+}
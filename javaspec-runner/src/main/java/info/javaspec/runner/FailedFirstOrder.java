@@ -0,0 +1,218 @@
+package info.javaspec.runner;
+
+import info.javaspec.context.Context;
+import info.javaspec.history.RunState;
+import info.javaspec.spec.Spec;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs the specs most likely to fail first: those that failed last time, then those in context classes that have been
+ * re-compiled since they last ran, and then everything else.  Contexts are ordered by the most urgent spec in them,
+ * and otherwise keep their declaration order.
+ * <p>
+ * A context class is only remembered as having run once every spec in it and its sub-contexts has run, so classes
+ * that a stopped or failed-fast run never got to keep their place next time.
+ */
+final class FailedFirstOrder implements RunOrder {
+  private static final int FAILED = 0;
+  private static final int CHANGED = 1;
+  private static final int UNCHANGED = 2;
+
+  private final RunState state;
+  private final Queue<Class<?>> finishedClasses;
+
+  public FailedFirstOrder(RunState state) {
+    this.state = state;
+    this.finishedClasses = new ConcurrentLinkedQueue<>();
+  }
+
+  public RunState getState() { return state; }
+
+  @Override
+  public Context arrange(Context rootContext) {
+    Ranks ranks = new Ranks();
+    rank(rootContext, UNCHANGED, ranks);
+    return arrange(rootContext, ranks, null);
+  }
+
+  private int rank(Context context, int enclosingRank, Ranks ranks) {
+    int contextRank = context.getSourceClass()
+      .map(x -> state.hasChanged(x) ? CHANGED : enclosingRank)
+      .orElse(enclosingRank);
+
+    int treeRank = context.getSpecs()
+      .mapToInt(x -> rank(x, contextRank))
+      .reduce(contextRank, Math::min);
+    treeRank = context.getSubContexts()
+      .mapToInt(x -> rank(x, contextRank, ranks))
+      .reduce(treeRank, Math::min);
+
+    ranks.ofContext.put(context, contextRank);
+    ranks.ofTree.put(context, treeRank);
+    ranks.numSpecs.put(context, (int)context.getSpecs().count()
+      + context.getSubContexts().mapToInt(ranks.numSpecs::get).sum());
+    return treeRank;
+  }
+
+  private int rank(Spec spec, int contextRank) {
+    return state.failedLastTime(spec.getId()) ? FAILED : contextRank;
+  }
+
+  private Context arrange(Context context, Ranks ranks, Progress enclosing) {
+    Progress progress = new Progress(context.getSourceClass(), enclosing, ranks.numSpecs.get(context));
+    int contextRank = ranks.ofContext.get(context);
+
+    List<Spec> specs = context.getSpecs()
+      .sorted(Comparator.comparingInt((Spec x) -> rank(x, contextRank)))
+      .collect(toList());
+    int firstSpecRank = specs.isEmpty() ? Integer.MAX_VALUE : rank(specs.get(0), contextRank);
+
+    List<Context> subContexts = context.getSubContexts()
+      .sorted(Comparator.comparingInt((Context x) -> ranks.ofTree.get(x)))
+      .collect(toList());
+    int firstSubContextRank = subContexts.isEmpty() ? Integer.MAX_VALUE : ranks.ofTree.get(subContexts.get(0));
+
+    return new ArrangedContext(context,
+      specs.stream().map(x -> new ObservedSpec(x, progress)).collect(toList()),
+      subContexts.stream().map(x -> arrange(x, ranks, progress)).collect(toList()),
+      firstSubContextRank < firstSpecRank);
+  }
+
+  @Override
+  public void runFinished() {
+    for(Class<?> type = finishedClasses.poll(); type != null; type = finishedClasses.poll())
+      state.recordClass(type);
+
+    try {
+      state.save();
+    } catch(IOException e) {
+      //Losing a run's results only costs a less optimal order next time
+      System.err.printf("Unable to save run state to %s: %s%n", state.getFile(), e);
+    }
+  }
+
+  private final class ObservedSpec extends Spec {
+    private final Spec spec;
+    private final Progress progress;
+
+    public ObservedSpec(Spec spec, Progress progress) {
+      super(spec.getId());
+      this.spec = spec;
+      this.progress = progress;
+    }
+
+    @Override
+    public Description getDescription() { return spec.getDescription(); }
+
+    @Override
+    public void addDescriptionTo(Description suite) { spec.addDescriptionTo(suite); }
+
+    @Override
+    public Throwable contextFinished() { return spec.contextFinished(); }
+
+    @Override
+    public void run(RunNotifier notifier) {
+      FailureDetector detector = new FailureDetector(notifier);
+      boolean passed = false;
+      try {
+        spec.run(detector);
+        passed = !detector.failed;
+      } finally {
+        //A spec that the run stopped before it started hasn't told us anything
+        if(detector.started || detector.ignored) {
+          state.recordResult(getId(), passed);
+          progress.specFinished();
+        }
+      }
+    }
+  }
+
+  /** Counts down the specs in a context and its sub-contexts, remembering its class once they have all run */
+  private final class Progress {
+    private final Optional<Class<?>> sourceClass;
+    private final Progress enclosing;
+    private final AtomicInteger numUnfinished;
+
+    public Progress(Optional<Class<?>> sourceClass, Progress enclosing, int numSpecs) {
+      this.sourceClass = sourceClass;
+      this.enclosing = enclosing;
+      this.numUnfinished = new AtomicInteger(numSpecs);
+      if(numSpecs == 0)
+        sourceClass.ifPresent(finishedClasses::add);
+    }
+
+    public void specFinished() {
+      if(numUnfinished.decrementAndGet() == 0)
+        sourceClass.ifPresent(finishedClasses::add);
+
+      if(enclosing != null)
+        enclosing.specFinished();
+    }
+  }
+
+  private static final class Ranks {
+    public final Map<Context, Integer> ofContext = new IdentityHashMap<>();
+    public final Map<Context, Integer> ofTree = new IdentityHashMap<>();
+    public final Map<Context, Integer> numSpecs = new IdentityHashMap<>();
+  }
+
+  /** Passes notifications on to another notifier, noting whether there were any failures */
+  private static final class FailureDetector extends RunNotifier {
+    private final RunNotifier target;
+    private boolean started;
+    private boolean ignored;
+    private boolean failed;
+
+    public FailureDetector(RunNotifier target) {
+      this.target = target;
+    }
+
+    @Override
+    public void fireTestStarted(Description description) throws StoppedByUserException {
+      target.fireTestStarted(description);
+      started = true;
+    }
+
+    @Override
+    public void fireTestFailure(Failure failure) {
+      failed = true;
+      target.fireTestFailure(failure);
+    }
+
+    @Override
+    public void fireTestAssumptionFailed(Failure failure) {
+      target.fireTestAssumptionFailed(failure);
+    }
+
+    @Override
+    public void fireTestIgnored(Description description) {
+      ignored = true;
+      target.fireTestIgnored(description);
+    }
+
+    @Override
+    public void fireTestFinished(Description description) {
+      target.fireTestFinished(description);
+    }
+
+    @Override
+    public void pleaseStop() {
+      target.pleaseStop();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package info.javaspec.runner;
+
+import info.javaspec.context.Context;
+import info.javaspec.lifecycle.SpecListeners;
+import info.javaspec.spec.Spec;
+import org.junit.runner.notification.RunNotifier;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs a context tree on a fork/join pool.  Each sub-context and each spec becomes its own task, so idle workers can
+ * steal specs from a wide context or whole branches from a deep one.  A context starts before its tasks are forked, and
+ * finishes once they have all been joined.
+ * <p>
+ * This works because each spec is isolated in its own execution context.  Notifications from the workers are
+ * delivered to the JUnit notifier on the calling thread, whose listeners expect to be called by one thread at a time.
+ * Anything a spec throws instead of reporting is re-thrown on the calling thread, as it would be when running
+ * sequentially.
+ */
+final class ForkJoinScheduler implements SpecScheduler {
+  private final int parallelism;
+
+  public ForkJoinScheduler(int parallelism) {
+    if(parallelism < 1)
+      throw new IllegalArgumentException(String.format("Parallelism must be at least 1: %d", parallelism));
+
+    this.parallelism = parallelism;
+  }
+
+  public int getParallelism() { return parallelism; }
+
+  @Override
+  public void run(Context rootContext, RunNotifier notifier) {
+    AtomicReference<RuntimeException> firstError = new AtomicReference<>();
+    NotifierBridge bridge = new NotifierBridge(notifier);
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      ForkJoinTask<Void> root = pool.submit(new ContextTask(rootContext, bridge, firstError));
+      bridge.deliverUntil(root::isDone);
+      root.join();
+    } catch(RuntimeException e) {
+      //Fork/join re-creates exceptions that cross threads; prefer the one the spec actually threw
+      throw firstError.get() == null ? e : firstError.get();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static final class ContextTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final transient Context context;
+    private final transient NotifierBridge bridge;
+    private final transient AtomicReference<RuntimeException> firstError;
+
+    public ContextTask(Context context, NotifierBridge bridge, AtomicReference<RuntimeException> firstError) {
+      this.context = context;
+      this.bridge = bridge;
+      this.firstError = firstError;
+    }
+
+    @Override
+    protected void compute() {
+      Stream<ForkJoinTask<?>> specTasks = context.getSpecs().map(x -> new SpecTask(x, bridge, firstError));
+      Stream<ForkJoinTask<?>> contextTasks = context.getSubContexts()
+        .map(x -> new ContextTask(x, bridge, firstError));
+      List<ForkJoinTask<?>> tasks = ArrangedContext.runsSubContextsFirst(context)
+        ? Stream.concat(contextTasks, specTasks).collect(toList())
+        : Stream.concat(specTasks, contextTasks).collect(toList());
+
+      long start = System.nanoTime();
+      SpecListeners.fireContextStarting(context.getId());
+      try {
+        invokeAll(tasks);
+      } finally {
+        RunNotifier contextNotifier = bridge.newSpecNotifier();
+        try {
+          context.finishSpecs(contextNotifier);
+        } finally {
+          bridge.publish(contextNotifier);
+          SpecListeners.fireContextFinished(context.getId(), System.nanoTime() - start);
+        }
+      }
+    }
+  }
+
+  private static final class SpecTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final transient Spec spec;
+    private final transient NotifierBridge bridge;
+    private final transient AtomicReference<RuntimeException> firstError;
+
+    public SpecTask(Spec spec, NotifierBridge bridge, AtomicReference<RuntimeException> firstError) {
+      this.spec = spec;
+      this.bridge = bridge;
+      this.firstError = firstError;
+    }
+
+    @Override
+    protected void compute() {
+      RunNotifier specNotifier = bridge.newSpecNotifier();
+      try {
+        spec.run(specNotifier);
+      } catch(RuntimeException e) {
+        firstError.compareAndSet(null, e);
+        throw e;
+      } finally {
+        bridge.publish(specNotifier);
+      }
+    }
+  }
+}
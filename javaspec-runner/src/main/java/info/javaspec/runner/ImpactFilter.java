@@ -0,0 +1,71 @@
+package info.javaspec.runner;
+
+import info.javaspec.discovery.ClassDependencies;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Chooses which root contexts to run after some classes changed: those that could be affected, because a class in
+ * their tree depends on a changed class.  Dependencies are read from class files - both contexts and the code they
+ * test - by ClassDependencies.
+ * <p>
+ * Root contexts that aren't in the dependencies, like ones that were added since they were last read, always run.
+ */
+public final class ImpactFilter {
+  private static final ImpactFilter EVERYTHING = new ImpactFilter(null, ClassDependencies.empty());
+  private static final ConcurrentMap<String, ImpactFilter> SAVED = new ConcurrentHashMap<>();
+
+  private final Set<String> changedClassNames;
+  private final ClassDependencies dependencies;
+  private final Set<String> affectedClassNames;
+
+  /** Runs every root context, as when no changes are known */
+  public static ImpactFilter everything() {
+    return EVERYTHING;
+  }
+
+  /** Runs the root contexts that depend on the given classes, which are named by their binary names */
+  public static ImpactFilter of(Collection<String> changedClassNames, ClassDependencies dependencies) {
+    return new ImpactFilter(new LinkedHashSet<>(changedClassNames), dependencies);
+  }
+
+  /**
+   * Runs the root contexts that depend on the given classes, according to the dependencies saved in the given file.
+   * Worked out once per file and set of changes.
+   */
+  public static ImpactFilter ofSaved(Collection<String> changedClassNames, Path dependenciesFile) {
+    String key = String.format("%s %s", dependenciesFile.toAbsolutePath().normalize(), changedClassNames);
+    return SAVED.computeIfAbsent(key, x -> of(changedClassNames, ClassDependencies.open(dependenciesFile)));
+  }
+
+  private ImpactFilter(Set<String> changedClassNames, ClassDependencies dependencies) {
+    this.changedClassNames = changedClassNames;
+    this.dependencies = dependencies;
+    this.affectedClassNames = changedClassNames == null
+      ? Collections.emptySet()
+      : dependencies.dependentsOf(changedClassNames);
+  }
+
+  /** True when no changes are known, so every root context runs */
+  public boolean selectsEverything() {
+    return changedClassNames == null;
+  }
+
+  /** Whether to run the context class with the given binary name, which may be a root context or nested in one */
+  public boolean includes(String contextClassName) {
+    return selectsEverything()
+      || affectedClassNames.contains(contextClassName)
+      || !dependencies.getClassNames().contains(contextClassName);
+  }
+
+  @Override
+  public String toString() {
+    return selectsEverything() ? "everything" : String.join(",", changedClassNames);
+  }
+}
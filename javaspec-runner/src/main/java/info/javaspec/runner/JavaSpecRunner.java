@@ -2,10 +2,22 @@
 
 import info.javaspec.context.ContextFactory;
 import info.javaspec.context.Context;
+import info.javaspec.context.TagFilter;
+import info.javaspec.index.IndexCache;
+import info.javaspec.jfr.FlightRecorderSupport;
 import org.junit.runner.Description;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sortable;
+import org.junit.runner.manipulation.Sorter;
 import org.junit.runner.notification.RunNotifier;
 
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Optional;
+
 /**
  * JUnit test runner for specs written in lambdas and organized into context classes.
  * 
@@ -35,18 +47,101 @@
  * <p>
  * Classes WidgetFooTest and its inner class foo are both <em>context classes</em>.  See ClassSpecGateway for
  * details.
+ * <p>
+ * Specs run sequentially and in declaration order unless configured otherwise.  See RunnerConfig for options to run
+ * them concurrently, to run the slowest ones first, or to only run specs with certain tags, in one shard of a suite, or
+ * that depend on classes that changed.
+ * <p>
+ * JUnit may filter and sort the specs before they run, like IDEs do to run one spec.  Specs that are filtered out are
+ * never instantiated, and filtering with a SpecFilter goes straight to that spec.
+ * <p>
+ * When a Flight Recorder recording is running, contexts and specs are recorded as events in the JavaSpec category.
  */
-public final class JavaSpecRunner extends Runner {
+public final class JavaSpecRunner extends Runner implements Filterable, Sortable {
+  static {
+    FlightRecorderSupport.install();
+  }
+
   private Context rootContext;
+  private final SpecScheduler scheduler;
+  private final RunOrder runOrder;
+  private PrintStream console = System.out;
+  private Optional<TimingsReport> timingsReport = Optional.empty();
+  private Optional<UsageReport> usageReport = Optional.empty();
+  private Optional<LatencyReport> latencyReport = Optional.empty();
+  private Optional<ResultReport> junitXmlReport = Optional.empty();
+  private Optional<ResultReport> ndjsonReport = Optional.empty();
 
   public JavaSpecRunner(Class<?> rootContextClass) {
-    this(ContextFactory.createRootContext(rootContextClass));
+    this(rootContextClass, RunnerConfig.fromSystemProperties());
+  }
+
+  private JavaSpecRunner(Class<?> rootContextClass, RunnerConfig config) {
+    this(createRootContext(rootContextClass, config), config);
+  }
+
+  private static Context createRootContext(Class<?> rootContextClass, RunnerConfig config) {
+    if(!config.shard().includes(rootContextClass.getCanonicalName())
+      || !config.impactFilter().includes(rootContextClass.getName()))
+      return ContextFactory.createEmptyRootContext(rootContextClass);
+
+    TagFilter tags = config.tagFilter();
+    Optional<IndexCache> cache = config.indexCache();
+    if(!cache.isPresent())
+      return ContextFactory.createRootContext(rootContextClass, tags);
+
+    Context rootContext = ContextFactory.createRootContext(rootContextClass, cache.get(), tags);
+    try {
+      cache.get().save();
+    } catch(IOException e) {
+      System.err.printf("Unable to cache contexts in %s: %s%n", cache.get().getFile(), e);
+    }
+
+    return rootContext;
+  }
+
+  /**
+   * Tags - or the root context being in another shard, or not depending on any changed classes - may filter out every
+   * spec, in which case nothing runs.
+   */
+  public JavaSpecRunner(Context rootContext, RunnerConfig config) {
+    this(rootContext, config, System.out);
+  }
+
+  /** Prints reports on the run to the given console, instead of to System.out */
+  public JavaSpecRunner(Context rootContext, RunnerConfig config, PrintStream console) {
+    this(rootContext, config.scheduler(), config.runOrder(), mayFilterOutEverything(config));
+    this.console = console;
+    this.timingsReport = config.timingsReport().map(TimingsReport::to);
+    this.usageReport = config.usageReportSize().map(UsageReport::top);
+    this.latencyReport = config.latencyReportSize().map(LatencyReport::slowest);
+    this.junitXmlReport = config.junitXmlReport().map(ResultReport::junitXml);
+    this.ndjsonReport = config.ndjsonReport().map(ResultReport::ndjson);
+  }
+
+  private static boolean mayFilterOutEverything(RunnerConfig config) {
+    return !config.tagFilter().selectsEverything() || config.shard().getCount() > 1
+      || !config.impactFilter().selectsEverything();
   }
 
   public JavaSpecRunner(Context rootContext) {
+    this(rootContext, SpecScheduler.sequential());
+  }
+
+  public JavaSpecRunner(Context rootContext, SpecScheduler scheduler) {
+    this(rootContext, scheduler, RunOrder.declaration());
+  }
+
+  public JavaSpecRunner(Context rootContext, SpecScheduler scheduler, RunOrder runOrder) {
+    this(rootContext, scheduler, runOrder, false);
+  }
+
+  private JavaSpecRunner(Context rootContext, SpecScheduler scheduler, RunOrder runOrder, boolean mayBeEmpty) {
     this.rootContext = rootContext;
+    this.scheduler = scheduler;
+    this.runOrder = runOrder;
 
-    if(!rootContext.hasSpecs())
+    if(!mayBeEmpty && !rootContext.hasSpecs())
       throw NoSpecs.forContext(rootContext.getId());
   }
 
@@ -57,7 +152,46 @@ public Description getDescription() {
 
   @Override
   public void run(RunNotifier notifier) {
-    rootContext.run(notifier);
+    if(usageReport.isPresent() || latencyReport.isPresent() || junitXmlReport.isPresent() || ndjsonReport.isPresent())
+      RunFinishedListener.listen(notifier, runFinishedReports());
+
+    Context arranged = runOrder.arrange(rootContext);
+    try {
+      scheduler.run(arranged, notifier);
+    } finally {
+      runOrder.runFinished();
+      timingsReport.ifPresent(TimingsReport::write);
+      junitXmlReport.ifPresent(ResultReport::flush);
+      ndjsonReport.ifPresent(ResultReport::flush);
+    }
+  }
+
+  /** Reports on the whole run, once every root context in it is done.  Doesn't hold on to the contexts. */
+  private Runnable runFinishedReports() {
+    PrintStream out = console;
+    Optional<UsageReport> usage = usageReport;
+    Optional<LatencyReport> latency = latencyReport;
+    Optional<ResultReport> junitXml = junitXmlReport;
+    Optional<ResultReport> ndjson = ndjsonReport;
+    return () -> {
+      usage.ifPresent(x -> x.print(out));
+      latency.ifPresent(x -> x.print(out));
+      junitXml.ifPresent(ResultReport::finish);
+      ndjson.ifPresent(ResultReport::finish);
+    };
+  }
+
+  @Override
+  public void filter(Filter filter) throws NoTestsRemainException {
+    Optional<Context> remaining = filter instanceof SpecFilter
+      ? PrunedContext.toSpec(rootContext, ((SpecFilter)filter).getSpecId())
+      : PrunedContext.filter(rootContext, filter);
+    rootContext = remaining.orElseThrow(NoTestsRemainException::new);
+  }
+
+  @Override
+  public void sort(Sorter sorter) {
+    rootContext = PrunedContext.sort(rootContext, sorter);
   }
 
   @Override
@@ -0,0 +1,51 @@
+package info.javaspec.runner;
+
+import info.javaspec.lifecycle.SpecLatencies;
+import info.javaspec.lifecycle.SpecListeners;
+
+import java.io.PrintStream;
+
+/**
+ * Prints duration percentiles for the run and for each context, and the slowest specs, once the whole run has
+ * finished.  Durations are recorded for every spec that runs in the JVM, and each report covers the specs that ran
+ * since the last one.
+ */
+final class LatencyReport {
+  private static volatile SpecLatencies latencies;
+  private final int numSlowest;
+
+  public static LatencyReport slowest(int numSlowest) {
+    sharedLatencies(numSlowest);
+    return new LatencyReport(numSlowest);
+  }
+
+  private static SpecLatencies sharedLatencies(int numSlowest) {
+    if(latencies == null) {
+      synchronized(LatencyReport.class) {
+        if(latencies == null) {
+          SpecLatencies newLatencies = new SpecLatencies(numSlowest);
+          SpecListeners.add(newLatencies);
+          latencies = newLatencies;
+        }
+      }
+    }
+
+    return latencies;
+  }
+
+  private LatencyReport(int numSlowest) {
+    this.numSlowest = numSlowest;
+  }
+
+  public int getNumSlowest() { return numSlowest; }
+
+  public void print(PrintStream out) {
+    synchronized(LatencyReport.class) {
+      if(latencies.isEmpty())
+        return;
+
+      out.println("Spec durations:");
+      latencies.printAndClear(out);
+    }
+  }
+}
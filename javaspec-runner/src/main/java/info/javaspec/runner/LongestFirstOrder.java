@@ -0,0 +1,136 @@
+package info.javaspec.runner;
+
+import info.javaspec.context.Context;
+import info.javaspec.history.SpecHistory;
+import info.javaspec.spec.Spec;
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunNotifier;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Longest-processing-time-first ordering, using durations from earlier runs.  Within each context, specs and
+ * sub-contexts are sorted by how long they (and everything in them) are expected to take, longest first.  Specs with
+ * no history are treated as taking forever, so they run early and get timed.
+ * <p>
+ * Once the run is over, the root context is recorded with the total for its specs, for Shard to balance by.
+ */
+final class LongestFirstOrder implements RunOrder {
+  private static final long UNKNOWN = Long.MAX_VALUE;
+
+  private final SpecHistory history;
+  private volatile Context rootContext;
+
+  public LongestFirstOrder(SpecHistory history) {
+    this.history = history;
+  }
+
+  public SpecHistory getHistory() { return history; }
+
+  @Override
+  public Context arrange(Context rootContext) {
+    this.rootContext = rootContext;
+    Map<Context, Long> expectedNanos = new IdentityHashMap<>();
+    expectedNanos(rootContext, expectedNanos);
+    return arrange(rootContext, expectedNanos);
+  }
+
+  private Context arrange(Context context, Map<Context, Long> expectedNanos) {
+    List<Spec> specs = context.getSpecs()
+      .sorted(Comparator.comparingLong((Spec x) -> expectedNanos(x)).reversed())
+      .map(TimedSpec::new)
+      .collect(toList());
+
+    List<Context> subContexts = context.getSubContexts()
+      .sorted(Comparator.comparingLong((Context x) -> expectedNanos.get(x)).reversed())
+      .map(x -> arrange(x, expectedNanos))
+      .collect(toList());
+
+    return new ArrangedContext(context, specs, subContexts);
+  }
+
+  private long expectedNanos(Context context, Map<Context, Long> expectedNanos) {
+    long total = context.getSpecs().mapToLong(this::expectedNanos).reduce(0, LongestFirstOrder::saturatedAdd);
+    total = context.getSubContexts()
+      .mapToLong(x -> expectedNanos(x, expectedNanos))
+      .reduce(total, LongestFirstOrder::saturatedAdd);
+
+    expectedNanos.put(context, total);
+    return total;
+  }
+
+  private long expectedNanos(Spec spec) {
+    return history.expectedNanos(spec.getId()).orElse(UNKNOWN);
+  }
+
+  private static long saturatedAdd(long a, long b) {
+    long sum = a + b;
+    return sum < 0 ? Long.MAX_VALUE : sum;
+  }
+
+  @Override
+  public void runFinished() {
+    if(rootContext != null)
+      recordRootContext(rootContext);
+
+    try {
+      history.save();
+    } catch(IOException e) {
+      //Losing a run's timing only costs a less optimal order next time
+      System.err.printf("Unable to save spec history to %s: %s%n", history.getFile(), e);
+    }
+  }
+
+  private void recordRootContext(Context context) {
+    long[] knownNanos = specsInTree(context)
+      .map(x -> history.expectedNanos(x.getId()))
+      .filter(OptionalLong::isPresent)
+      .mapToLong(OptionalLong::getAsLong)
+      .toArray();
+    if(knownNanos.length > 0)
+      history.recordRootContext(context.getId(), LongStream.of(knownNanos).reduce(0, LongestFirstOrder::saturatedAdd));
+  }
+
+  private static Stream<Spec> specsInTree(Context context) {
+    return Stream.concat(
+      context.getSpecs(),
+      context.getSubContexts().flatMap(LongestFirstOrder::specsInTree));
+  }
+
+  private final class TimedSpec extends Spec {
+    private final Spec spec;
+
+    public TimedSpec(Spec spec) {
+      super(spec.getId());
+      this.spec = spec;
+    }
+
+    @Override
+    public Description getDescription() { return spec.getDescription(); }
+
+    @Override
+    public void addDescriptionTo(Description suite) { spec.addDescriptionTo(suite); }
+
+    @Override
+    public Throwable contextFinished() { return spec.contextFinished(); }
+
+    @Override
+    public void run(RunNotifier notifier) {
+      long start = System.nanoTime();
+      try {
+        spec.run(notifier);
+      } finally {
+        history.record(getId(), System.nanoTime() - start);
+      }
+    }
+  }
+}
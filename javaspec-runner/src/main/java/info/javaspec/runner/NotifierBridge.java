@@ -0,0 +1,158 @@
+package info.javaspec.runner;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Carries notifications from specs running on worker threads to a JUnit RunNotifier, on a single delivery thread.
+ * <p>
+ * Each spec reports to its own buffer, which only the worker running that spec touches.  Once the spec is done, the
+ * whole buffer is handed over on a lock-free queue, and the delivery thread replays it to the real notifier.  Listeners
+ * see the started/failed/finished events for each spec together, in the order the spec fired them, on the thread that
+ * started the run.
+ */
+final class NotifierBridge {
+  private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final RunNotifier target;
+  private final Queue<SpecEvents> completed;
+  private final Thread deliveryThread;
+  private volatile boolean stopRequested;
+
+  /** Creates a bridge that delivers to the given notifier, on the calling thread */
+  public NotifierBridge(RunNotifier target) {
+    this.target = target;
+    this.completed = new ConcurrentLinkedQueue<>();
+    this.deliveryThread = Thread.currentThread();
+  }
+
+  /** Makes a notifier for one spec to use on one thread.  Pass it to #publish when the spec is done. */
+  public RunNotifier newSpecNotifier() {
+    return new SpecEvents();
+  }
+
+  public void publish(RunNotifier specNotifier) {
+    completed.add((SpecEvents)specNotifier);
+    LockSupport.unpark(deliveryThread);
+  }
+
+  /**
+   * Delivers published notifications until all specs are done, as told by the given condition.  Call this from the
+   * thread that created the bridge.
+   *
+   * @throws StoppedByUserException if a listener asked to stop the run
+   */
+  public void deliverUntil(BooleanSupplier isDone) throws StoppedByUserException {
+    while(!isDone.getAsBoolean()) {
+      deliverPublished();
+      LockSupport.parkNanos(this, MAX_PARK_NANOS);
+    }
+
+    deliverPublished();
+    if(stopRequested)
+      throw new StoppedByUserException();
+  }
+
+  private void deliverPublished() {
+    for(SpecEvents events = completed.poll(); events != null; events = completed.poll()) {
+      try {
+        events.replayTo(target);
+      } catch(StoppedByUserException e) {
+        stopRequested = true;
+      }
+    }
+  }
+
+  private final class SpecEvents extends RunNotifier {
+    private final List<Event> events = new ArrayList<>(3);
+
+    @Override
+    public void fireTestStarted(Description description) throws StoppedByUserException {
+      if(stopRequested)
+        throw new StoppedByUserException();
+
+      events.add(new Event(EventType.STARTED, description, null));
+    }
+
+    @Override
+    public void fireTestFailure(Failure failure) {
+      events.add(new Event(EventType.FAILURE, null, failure));
+    }
+
+    @Override
+    public void fireTestAssumptionFailed(Failure failure) {
+      events.add(new Event(EventType.ASSUMPTION_FAILED, null, failure));
+    }
+
+    @Override
+    public void fireTestIgnored(Description description) {
+      events.add(new Event(EventType.IGNORED, description, null));
+    }
+
+    @Override
+    public void fireTestFinished(Description description) {
+      events.add(new Event(EventType.FINISHED, description, null));
+    }
+
+    @Override
+    public void pleaseStop() {
+      stopRequested = true;
+    }
+
+    /**
+     * Replays the events in order.  When the notifier refuses to start the spec, none of the rest are replayed, since
+     * listeners never saw it start.  When it says to stop afterwards, the rest are still replayed so listeners see the
+     * spec finish.
+     */
+    public void replayTo(RunNotifier notifier) throws StoppedByUserException {
+      StoppedByUserException stopped = null;
+      for(Event event : events) {
+        try {
+          event.replayTo(notifier);
+        } catch(StoppedByUserException e) {
+          if(event.type == EventType.STARTED)
+            throw e;
+
+          stopped = e;
+        }
+      }
+
+      if(stopped != null)
+        throw stopped;
+    }
+  }
+
+  private enum EventType { STARTED, FAILURE, ASSUMPTION_FAILED, IGNORED, FINISHED }
+
+  private static final class Event {
+    private final EventType type;
+    private final Description description;
+    private final Failure failure;
+
+    public Event(EventType type, Description description, Failure failure) {
+      this.type = type;
+      this.description = description;
+      this.failure = failure;
+    }
+
+    public void replayTo(RunNotifier notifier) throws StoppedByUserException {
+      switch(type) {
+        case STARTED: notifier.fireTestStarted(description); break;
+        case FAILURE: notifier.fireTestFailure(failure); break;
+        case ASSUMPTION_FAILED: notifier.fireTestAssumptionFailed(failure); break;
+        case IGNORED: notifier.fireTestIgnored(description); break;
+        case FINISHED: notifier.fireTestFinished(description); break;
+      }
+    }
+  }
+}
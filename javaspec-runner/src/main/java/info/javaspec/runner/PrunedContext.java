@@ -0,0 +1,158 @@
+package info.javaspec.runner;
+
+import info.javaspec.context.Context;
+import info.javaspec.lifecycle.SpecListeners;
+import info.javaspec.spec.Spec;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.RunNotifier;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A context with some of the specs and sub-contexts of another one, possibly in a different order.  Unlike
+ * ArrangedContext, it describes itself as only having those children, because that's what JUnit expects to see after
+ * it filters or sorts a runner.
+ * <p>
+ * Specs that are left out are discarded, so they don't hold up anything they share with the specs that remain.
+ */
+final class PrunedContext extends Context {
+  private final Context original;
+  private final Description description;
+  private final List<Spec> specs;
+  private final List<Context> subContexts;
+
+  /** The specs and sub-contexts that pass the filter, or nothing if there aren't any */
+  public static Optional<Context> filter(Context context, Filter filter) {
+    List<Spec> specs = new ArrayList<>();
+    context.getSpecs().forEach(x -> {
+      if(filter.shouldRun(x.getDescription()))
+        specs.add(x);
+      else
+        x.discard();
+    });
+
+    List<Context> subContexts = new ArrayList<>();
+    context.getSubContexts().forEach(x -> {
+      if(filter.shouldRun(x.getDescription()))
+        filter(x, filter).ifPresent(subContexts::add);
+      else
+        discardAll(x);
+    });
+
+    return remaining(context, specs, subContexts);
+  }
+
+  /**
+   * Only the spec with the given id and the contexts that enclose it, or nothing if it isn't in this tree.  Only the
+   * contexts on the way to the spec are inspected, by matching the spec's context id to theirs.
+   */
+  public static Optional<Context> toSpec(Context context, String specId) {
+    String contextId = specId.substring(0, Math.max(0, specId.lastIndexOf('#')));
+    List<Spec> specs = new ArrayList<>();
+    List<Context> subContexts = new ArrayList<>();
+    if(contextId.equals(context.getId())) {
+      context.getSpecs().forEach(x -> {
+        if(x.getId().equals(specId))
+          specs.add(x);
+        else
+          x.discard();
+      });
+      context.getSubContexts().forEach(PrunedContext::discardAll);
+    } else {
+      context.getSpecs().forEach(Spec::discard);
+      context.getSubContexts().forEach(x -> {
+        if(isEnclosedBy(contextId, x.getId()))
+          toSpec(x, specId).ifPresent(subContexts::add);
+        else
+          discardAll(x);
+      });
+    }
+
+    return remaining(context, specs, subContexts);
+  }
+
+  private static boolean isEnclosedBy(String contextId, String enclosingId) {
+    return contextId.equals(enclosingId) || contextId.startsWith(enclosingId + ".");
+  }
+
+  /** The same specs and sub-contexts, sorted by how the sorter compares their descriptions */
+  public static Context sort(Context context, Sorter sorter) {
+    List<Spec> specs = context.getSpecs()
+      .sorted(Comparator.comparing(Spec::getDescription, sorter))
+      .collect(toList());
+    List<Context> subContexts = context.getSubContexts()
+      .sorted(Comparator.comparing(Context::getDescription, sorter))
+      .map(x -> sort(x, sorter))
+      .collect(toList());
+
+    return new PrunedContext(context, specs, subContexts);
+  }
+
+  private static Optional<Context> remaining(Context context, List<Spec> specs, List<Context> subContexts) {
+    if(specs.isEmpty() && subContexts.isEmpty())
+      return Optional.empty();
+
+    return Optional.of(new PrunedContext(context, specs, subContexts));
+  }
+
+  private static void discardAll(Context context) {
+    context.getSpecs().forEach(Spec::discard);
+    context.getSubContexts().forEach(PrunedContext::discardAll);
+  }
+
+  private PrunedContext(Context original, List<Spec> specs, List<Context> subContexts) {
+    super(original.getId());
+    this.original = original;
+    this.specs = specs;
+    this.subContexts = subContexts;
+    this.description = original.getDescription().childlessCopy();
+    specs.forEach(x -> x.addDescriptionTo(description));
+    subContexts.forEach(x -> description.addChild(x.getDescription()));
+  }
+
+  @Override
+  public Optional<Class<?>> getSourceClass() { return original.getSourceClass(); }
+
+  @Override
+  public Description getDescription() { return description; }
+
+  @Override
+  public void addSpec(Spec spec) { throw new UnsupportedOperationException(); }
+
+  @Override
+  public boolean hasSpecs() {
+    return !specs.isEmpty() || subContexts.stream().anyMatch(Context::hasSpecs);
+  }
+
+  @Override
+  public long numSpecs() {
+    return specs.size() + subContexts.stream().mapToLong(Context::numSpecs).sum();
+  }
+
+  @Override
+  public Stream<Spec> getSpecs() { return specs.stream(); }
+
+  @Override
+  public Stream<Context> getSubContexts() { return subContexts.stream(); }
+
+  @Override
+  public void run(RunNotifier notifier) {
+    long start = System.nanoTime();
+    SpecListeners.fireContextStarting(getId());
+    try {
+      specs.forEach(x -> x.run(notifier));
+      subContexts.forEach(x -> x.run(notifier));
+    } finally {
+      finishSpecs(notifier);
+      SpecListeners.fireContextFinished(getId(), System.nanoTime() - start);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package info.javaspec.runner;
+
+import info.javaspec.lifecycle.SpecListeners;
+import info.javaspec.report.JUnitXmlReporter;
+import info.javaspec.report.NdjsonReporter;
+import info.javaspec.report.ResultFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streams results to a file as specs finish.  Each file is opened once per run and shared by every runner that reports
+ * to it, then finished when the run finishes - or when the JVM shuts down, if it never does.  It's flushed after each
+ * root context, so other tools can follow along.
+ */
+final class ResultReport {
+  private static final Map<Path, ResultFile> openFiles = new HashMap<>();
+  private final Path file;
+  private final ResultFile resultFile;
+
+  public static ResultReport junitXml(Path file) {
+    return new ResultReport(file, sharedFile(file, () -> JUnitXmlReporter.create(file, "JavaSpec")));
+  }
+
+  public static ResultReport ndjson(Path file) {
+    return new ResultReport(file, sharedFile(file, () -> NdjsonReporter.create(file)));
+  }
+
+  private static synchronized ResultFile sharedFile(Path file, ResultFileFactory factory) {
+    Path key = file.toAbsolutePath().normalize();
+    ResultFile resultFile = openFiles.get(key);
+    if(resultFile != null)
+      return resultFile;
+
+    try {
+      resultFile = factory.create();
+    } catch(IOException e) {
+      throw UnableToOpen.forFile(file, e);
+    }
+
+    if(openFiles.isEmpty())
+      Runtime.getRuntime().addShutdownHook(new Thread(ResultReport::closeAll, "javaspec-report"));
+
+    SpecListeners.add(resultFile);
+    openFiles.put(key, resultFile);
+    return resultFile;
+  }
+
+  private static synchronized void closeAll() {
+    new ArrayList<>(openFiles.keySet()).forEach(ResultReport::close);
+  }
+
+  private static synchronized void close(Path key) {
+    ResultFile resultFile = openFiles.remove(key);
+    if(resultFile == null)
+      return;
+
+    SpecListeners.remove(resultFile);
+    try {
+      resultFile.close();
+    } catch(IOException e) {
+      System.err.printf("Unable to finish results in %s: %s%n", key, e);
+    }
+  }
+
+  private ResultReport(Path file, ResultFile resultFile) {
+    this.file = file;
+    this.resultFile = resultFile;
+  }
+
+  public Path getFile() { return file; }
+
+  /** Finishes the file, once the run is over.  A later run that reports to the same file starts it over. */
+  public void finish() {
+    close(file.toAbsolutePath().normalize());
+  }
+
+  public void flush() {
+    try {
+      resultFile.flush();
+    } catch(IOException e) {
+      System.err.printf("Unable to write results to %s: %s%n", file, e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface ResultFileFactory {
+    ResultFile create() throws IOException;
+  }
+
+  public static final class UnableToOpen extends RuntimeException {
+    public static UnableToOpen forFile(Path file, Throwable cause) {
+      return new UnableToOpen(String.format("Unable to open result file %s", file), cause);
+    }
+
+    private UnableToOpen(String message, Throwable cause) { super(message, cause); }
+  }
+}
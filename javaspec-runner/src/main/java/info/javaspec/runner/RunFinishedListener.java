@@ -0,0 +1,68 @@
+package info.javaspec.runner;
+
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Does something once the whole run has finished, instead of after each root context.  JUnit launchers and the
+ * JavaSpec command line say so with RunNotifier#fireTestRunFinished, so one of these listens on each notifier that
+ * runners are given.  Launchers that never say so - like those that make a notifier for each class - get theirs when
+ * the JVM shuts down.
+ */
+final class RunFinishedListener extends RunListener {
+  private static final Map<RunNotifier, RunFinishedListener> listening = new WeakHashMap<>();
+  private static final Set<RunFinishedListener> pending = new LinkedHashSet<>();
+  private static boolean isHookAdded;
+  private final Runnable action;
+
+  /** Runs the action when the run on the given notifier finishes, unless something is already waiting for that */
+  public static synchronized void listen(RunNotifier notifier, Runnable action) {
+    if(listening.containsKey(notifier))
+      return;
+
+    if(!isHookAdded) {
+      Runtime.getRuntime().addShutdownHook(new Thread(RunFinishedListener::finishAll, "javaspec-run-finished"));
+      isHookAdded = true;
+    }
+
+    RunFinishedListener listener = new RunFinishedListener(action);
+    notifier.addListener(listener);
+    listening.put(notifier, listener);
+    pending.add(listener);
+  }
+
+  private static void finishAll() {
+    List<RunFinishedListener> unfinished;
+    synchronized(RunFinishedListener.class) {
+      unfinished = new ArrayList<>(pending);
+    }
+
+    unfinished.forEach(RunFinishedListener::finish);
+  }
+
+  private RunFinishedListener(Runnable action) {
+    this.action = action;
+  }
+
+  @Override
+  public void testRunFinished(Result result) {
+    finish();
+  }
+
+  private void finish() {
+    synchronized(RunFinishedListener.class) {
+      if(!pending.remove(this))
+        return;
+    }
+
+    action.run();
+  }
+}
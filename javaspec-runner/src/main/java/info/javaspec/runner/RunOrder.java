@@ -0,0 +1,36 @@
+package info.javaspec.runner;
+
+import info.javaspec.context.Context;
+import info.javaspec.history.RunState;
+import info.javaspec.history.SpecHistory;
+
+/** Decides the order in which specs and contexts are handed to the SpecScheduler, and learns from each run. */
+public interface RunOrder {
+  /** Runs specs in the order they are declared */
+  static RunOrder declaration() {
+    return rootContext -> rootContext;
+  }
+
+  /**
+   * Runs the specs and contexts that took longest in earlier runs first, so that parallel runs don't end waiting on
+   * one slow spec that started last.  Specs that haven't run before go first, since nothing is known about them.
+   * Durations from this run are added to the history when it finishes.
+   */
+  static RunOrder longestFirst(SpecHistory history) {
+    return new LongestFirstOrder(history);
+  }
+
+  /**
+   * Runs specs that failed last time first, then specs in context classes that changed since they last ran, and then
+   * the rest.  Results from this run are saved to the run state when it finishes.
+   */
+  static RunOrder failedFirst(RunState state) {
+    return new FailedFirstOrder(state);
+  }
+
+  /** A view of the given context tree, with specs and sub-contexts in the order they should run */
+  Context arrange(Context rootContext);
+
+  /** Called once the arranged context has run, whether or not it completed normally */
+  default void runFinished() { }
+}
@@ -0,0 +1,223 @@
+package info.javaspec.runner;
+
+import info.javaspec.context.TagFilter;
+import info.javaspec.context.TagFilter.InvalidTags;
+import info.javaspec.history.RunState;
+import info.javaspec.history.SpecHistory;
+import info.javaspec.index.IndexCache;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Options for running specs, read from (system) properties so they can be set on any JVM that runs JUnit.
+ * <ul>
+ * <li><code>javaspec.execution</code>: <code>sequential</code> (default), <code>forkjoin</code> for CPU-bound specs,
+ * or <code>virtual</code> for specs that block on I/O</li>
+ * <li><code>javaspec.parallelism</code>: Number of worker threads for <code>forkjoin</code>, defaulting to the number
+ * of available processors.  For <code>virtual</code>, the most specs that may be running at once (default 256).</li>
+ * <li><code>javaspec.order</code>: <code>declaration</code> (default), or <code>longest-first</code> to run the specs
+ * that took longest last time first, and to record how long each spec takes.  <code>failed-first</code> runs the specs
+ * that failed last time first, followed by specs in context classes that were re-compiled since they last ran.</li>
+ * <li><code>javaspec.history</code>: File where spec durations are kept, defaulting to
+ * <code>.javaspec/history</code> in the working directory</li>
+ * <li><code>javaspec.state</code>: File where the results of the last run are kept for <code>failed-first</code>,
+ * defaulting to <code>.javaspec/state</code> in the working directory</li>
+ * <li><code>javaspec.timings</code>: File to write a JSON report to after each run, with how long each phase of the
+ * specs in each context took.  Not written by default.</li>
+ * <li><code>javaspec.usage</code>: Number of specs and contexts to list once the whole run has finished, for those
+ * that allocated the most memory and used the most CPU time.  Nothing is measured or listed by default.</li>
+ * <li><code>javaspec.latency</code>: Number of slowest specs to list once the whole run has finished, after duration
+ * percentiles for all specs and for each context.  Not listed by default.</li>
+ * <li><code>javaspec.report.xml</code>: File to write JUnit XML results to, as each spec finishes.  Not written by
+ * default.</li>
+ * <li><code>javaspec.report.ndjson</code>: File to write each lifecycle event to as a line of JSON, as it happens.  Not
+ * written by default.</li>
+ * <li><code>javaspec.cache</code>: File where the contexts and specs found in each context class are cached, so later
+ * runs only have to inspect the classes that changed.  Not cached by default.</li>
+ * <li><code>javaspec.tags</code>: Comma-separated tags to run, like <code>fast,integration</code>, or to skip when
+ * they start with <code>!</code>, like <code>!perf</code>.  Runs specs regardless of their tags by default.</li>
+ * <li><code>javaspec.shard</code>: <code>i/n</code> to only run the root contexts in the i-th of n shards, which are
+ * balanced by the root context durations in <code>javaspec.history</code> (recorded by <code>longest-first</code>).
+ * Runs every root context by default.</li>
+ * <li><code>javaspec.changed</code>: Comma-separated binary names of classes that changed, like
+ * <code>com.example.Widget,com.example.WidgetTest</code>, to only run the root contexts that depend on them.  Runs
+ * every root context by default.</li>
+ * <li><code>javaspec.dependencies</code>: File where the dependencies between classes are kept for
+ * <code>javaspec.changed</code>, defaulting to <code>.javaspec/dependencies</code> in the working directory.  It's
+ * written by the command line runner.</li>
+ * </ul>
+ */
+public final class RunnerConfig {
+  public static final String EXECUTION = "javaspec.execution";
+  public static final String PARALLELISM = "javaspec.parallelism";
+  public static final String ORDER = "javaspec.order";
+  public static final String HISTORY = "javaspec.history";
+  public static final String STATE = "javaspec.state";
+  public static final String TIMINGS = "javaspec.timings";
+  public static final String USAGE = "javaspec.usage";
+  public static final String LATENCY = "javaspec.latency";
+  public static final String XML_REPORT = "javaspec.report.xml";
+  public static final String NDJSON_REPORT = "javaspec.report.ndjson";
+  public static final String CACHE = "javaspec.cache";
+  public static final String TAGS = "javaspec.tags";
+  public static final String SHARD = "javaspec.shard";
+  public static final String CHANGED = "javaspec.changed";
+  public static final String DEPENDENCIES = "javaspec.dependencies";
+  private static final String DEFAULT_HISTORY = ".javaspec/history";
+  private static final String DEFAULT_STATE = ".javaspec/state";
+  private static final String DEFAULT_DEPENDENCIES = ".javaspec/dependencies";
+  private static final int DEFAULT_BLOCKING_CONCURRENCY = 256;
+
+  private final Properties properties;
+
+  public static RunnerConfig fromSystemProperties() {
+    return fromProperties(System.getProperties());
+  }
+
+  public static RunnerConfig fromProperties(Properties properties) {
+    return new RunnerConfig(properties);
+  }
+
+  private RunnerConfig(Properties properties) {
+    this.properties = properties;
+  }
+
+  public SpecScheduler scheduler() {
+    String execution = readProperty(EXECUTION).orElse("sequential");
+    switch(execution) {
+      case "sequential": return SpecScheduler.sequential();
+      case "forkjoin": return SpecScheduler.forkJoin(parallelism());
+      case "virtual": return SpecScheduler.threadPerSpec(parallelism(DEFAULT_BLOCKING_CONCURRENCY));
+      default: throw InvalidOption.forProperty(EXECUTION, execution);
+    }
+  }
+
+  public RunOrder runOrder() {
+    String order = readProperty(ORDER).orElse("declaration");
+    switch(order) {
+      case "declaration": return RunOrder.declaration();
+      case "longest-first": return RunOrder.longestFirst(history());
+      case "failed-first": return RunOrder.failedFirst(runState());
+      default: throw InvalidOption.forProperty(ORDER, order);
+    }
+  }
+
+  public SpecHistory history() {
+    return SpecHistory.open(Paths.get(readProperty(HISTORY).orElse(DEFAULT_HISTORY)));
+  }
+
+  public RunState runState() {
+    return RunState.open(Paths.get(readProperty(STATE).orElse(DEFAULT_STATE)));
+  }
+
+  public Optional<IndexCache> indexCache() {
+    return readProperty(CACHE).map(x -> IndexCache.open(Paths.get(x)));
+  }
+
+  public TagFilter tagFilter() {
+    return readProperty(TAGS).map(RunnerConfig::parseTags).orElse(TagFilter.everything());
+  }
+
+  private static TagFilter parseTags(String expression) {
+    try {
+      return TagFilter.parse(expression);
+    } catch(InvalidTags e) {
+      throw InvalidOption.forProperty(TAGS, expression);
+    }
+  }
+
+  public Shard shard() {
+    Optional<String> value = readProperty(SHARD);
+    if(!value.isPresent())
+      return Shard.all();
+
+    Shard shard = Shard.parse(value.get()).orElseThrow(() -> InvalidOption.forProperty(SHARD, value.get()));
+    return shard.getCount() == 1 ? shard : shard.balancedBy(history());
+  }
+
+  /** Binary names of the classes that changed, if they're known */
+  public Optional<List<String>> changedClassNames() {
+    return readProperty(CHANGED).map(value -> Arrays.stream(value.split(","))
+      .map(String::trim)
+      .filter(x -> !x.isEmpty())
+      .collect(toList()));
+  }
+
+  public Path dependenciesFile() {
+    return Paths.get(readProperty(DEPENDENCIES).orElse(DEFAULT_DEPENDENCIES));
+  }
+
+  /** Root contexts that depend on the changed classes, according to the dependencies file */
+  public ImpactFilter impactFilter() {
+    return changedClassNames()
+      .map(x -> ImpactFilter.ofSaved(x, dependenciesFile()))
+      .orElse(ImpactFilter.everything());
+  }
+
+  public Optional<Path> timingsReport() {
+    return readProperty(TIMINGS).map(Paths::get);
+  }
+
+  /** How many of the top allocators and CPU users to report, if any */
+  public Optional<Integer> usageReportSize() {
+    return readProperty(USAGE).map(x -> positiveInteger(USAGE, x));
+  }
+
+  /** How many of the slowest specs to report, if any */
+  public Optional<Integer> latencyReportSize() {
+    return readProperty(LATENCY).map(x -> positiveInteger(LATENCY, x));
+  }
+
+  public Optional<Path> junitXmlReport() {
+    return readProperty(XML_REPORT).map(Paths::get);
+  }
+
+  public Optional<Path> ndjsonReport() {
+    return readProperty(NDJSON_REPORT).map(Paths::get);
+  }
+
+  public int parallelism() {
+    return parallelism(Runtime.getRuntime().availableProcessors());
+  }
+
+  private int parallelism(int defaultValue) {
+    return readProperty(PARALLELISM)
+      .map(x -> positiveInteger(PARALLELISM, x))
+      .orElse(defaultValue);
+  }
+
+  private static int positiveInteger(String name, String value) {
+    int number;
+    try {
+      number = Integer.parseInt(value);
+    } catch(NumberFormatException e) {
+      throw InvalidOption.forProperty(name, value);
+    }
+
+    if(number < 1)
+      throw InvalidOption.forProperty(name, value);
+
+    return number;
+  }
+
+  private Optional<String> readProperty(String name) {
+    return Optional.ofNullable(properties.getProperty(name))
+      .map(String::trim)
+      .filter(x -> !x.isEmpty());
+  }
+
+  public static final class InvalidOption extends RuntimeException {
+    public static InvalidOption forProperty(String name, String value) {
+      return new InvalidOption(String.format("Invalid value for %s: %s", name, value));
+    }
+
+    private InvalidOption(String message) { super(message); }
+  }
+}
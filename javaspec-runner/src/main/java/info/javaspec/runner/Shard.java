@@ -0,0 +1,132 @@
+package info.javaspec.runner;
+
+import info.javaspec.history.SpecHistory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One of several equal parts of a suite, so that each part can run on a different machine.  Written as
+ * <code>i/n</code> for the i-th of n shards, starting at 1.
+ * <p>
+ * Root contexts are assigned to shards by a hash of their id, so every machine agrees on the assignment without
+ * having to talk to each other, and a context stays on the same shard from one run to the next.
+ * <p>
+ * A shard that is balanced by a SpecHistory assigns the root contexts in the history by how long they take instead.
+ * The longest one goes first, each to the shard with the least time so far, so each shard takes about as long as the
+ * others.  Root contexts that aren't in the history are still hashed.  Every machine has to use the same history file
+ * to agree on the assignment.
+ */
+public final class Shard {
+  private static final Pattern FORMAT = Pattern.compile("(\\d+)/(\\d+)");
+  private static final Shard ALL = new Shard(1, 1);
+  private static final ConcurrentMap<String, Map<String, Integer>> ASSIGNMENTS = new ConcurrentHashMap<>();
+
+  private final int index;
+  private final int count;
+  private final Map<String, Integer> assignments;
+
+  /** The only shard, when a suite is not split up */
+  public static Shard all() {
+    return ALL;
+  }
+
+  /** The shard written as <code>i/n</code>, or nothing if that isn't a shard */
+  public static Optional<Shard> parse(String value) {
+    Matcher matcher = FORMAT.matcher(value.trim());
+    if(!matcher.matches())
+      return Optional.empty();
+
+    try {
+      int index = Integer.parseInt(matcher.group(1));
+      int count = Integer.parseInt(matcher.group(2));
+      if(count < 1 || index < 1 || index > count)
+        return Optional.empty();
+
+      return Optional.of(new Shard(index, count));
+    } catch(NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  private Shard(int index, int count) {
+    this(index, count, Collections.emptyMap());
+  }
+
+  private Shard(int index, int count, Map<String, Integer> assignments) {
+    this.index = index;
+    this.count = count;
+    this.assignments = assignments;
+  }
+
+  /** This shard, with root contexts assigned by the durations in the given history.  Planned once per history file. */
+  public Shard balancedBy(SpecHistory history) {
+    String key = String.format("%d %s", count, history.getFile());
+    return new Shard(index, count,
+      ASSIGNMENTS.computeIfAbsent(key, x -> assign(history.loadedRootContextNanos(), count)));
+  }
+
+  /** This shard, with root contexts assigned by the given durations */
+  Shard balancedBy(Map<String, Long> rootContextNanos) {
+    return new Shard(index, count, assign(rootContextNanos, count));
+  }
+
+  //Longest processing time first, with ties broken by id so that every machine comes up with the same plan
+  private static Map<String, Integer> assign(Map<String, Long> rootContextNanos, int count) {
+    List<Map.Entry<String, Long>> longestFirst = new ArrayList<>(rootContextNanos.entrySet());
+    longestFirst.sort(Map.Entry.<String, Long>comparingByValue().reversed()
+      .thenComparing(Map.Entry.comparingByKey()));
+
+    long[] shardNanos = new long[count];
+    Map<String, Integer> assignments = new HashMap<>();
+    for(Map.Entry<String, Long> rootContext : longestFirst) {
+      int leastBusy = 0;
+      for(int i = 1; i < count; i++) {
+        if(shardNanos[i] < shardNanos[leastBusy])
+          leastBusy = i;
+      }
+
+      shardNanos[leastBusy] += rootContext.getValue();
+      assignments.put(rootContext.getKey(), leastBusy + 1);
+    }
+
+    return Collections.unmodifiableMap(assignments);
+  }
+
+  public int getIndex() { return index; }
+  public int getCount() { return count; }
+
+  /** True if the root context with the given id belongs to this shard */
+  public boolean includes(String rootContextId) {
+    if(count == 1)
+      return true;
+
+    Integer assigned = assignments.get(rootContextId);
+    if(assigned != null)
+      return assigned == index;
+
+    return Math.floorMod(mix(rootContextId.hashCode()), count) == index - 1;
+  }
+
+  //Ids in the same package share long prefixes, which String#hashCode does little to spread out
+  private static int mix(int hash) {
+    hash ^= hash >>> 16;
+    hash *= 0x85ebca6b;
+    hash ^= hash >>> 13;
+    hash *= 0xc2b2ae35;
+    return hash ^ (hash >>> 16);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d/%d", index, count);
+  }
+}
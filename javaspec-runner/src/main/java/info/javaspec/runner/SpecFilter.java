@@ -0,0 +1,38 @@
+package info.javaspec.runner;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+
+/**
+ * Filter that only runs the spec with the given id, such as <code>com.example.WidgetTest.foo#returns_bar</code>.
+ * JavaSpecRunner goes straight to that spec through the contexts that enclose it, instead of asking the filter about
+ * every spec in the tree.
+ */
+public final class SpecFilter extends Filter {
+  private final String specId;
+  private final Description specDescription;
+
+  public static SpecFilter forSpec(String specId) {
+    return new SpecFilter(specId);
+  }
+
+  private SpecFilter(String specId) {
+    this.specId = specId;
+    this.specDescription = Description.createTestDescription(SpecFilter.class.getName(), specId, specId);
+  }
+
+  public String getSpecId() { return specId; }
+
+  @Override
+  public boolean shouldRun(Description description) {
+    if(description.isTest())
+      return specDescription.equals(description);
+
+    return description.getChildren().stream().anyMatch(this::shouldRun);
+  }
+
+  @Override
+  public String describe() {
+    return String.format("Spec %s", specId);
+  }
+}
@@ -0,0 +1,25 @@
+package info.javaspec.runner;
+
+import info.javaspec.context.Context;
+import org.junit.runner.notification.RunNotifier;
+
+/** Decides which thread(s) run the specs in a tree of contexts. */
+@FunctionalInterface
+public interface SpecScheduler {
+  /** Runs each spec on the calling thread, in declaration order */
+  static SpecScheduler sequential() {
+    return Context::run;
+  }
+
+  /** Runs each sub-context and each spec as its own task on a work-stealing pool of the given size */
+  static SpecScheduler forkJoin(int parallelism) {
+    return new ForkJoinScheduler(parallelism);
+  }
+
+  /** Runs each spec on its own (virtual, when available) thread, with up to the given number in flight at once */
+  static SpecScheduler threadPerSpec(int maxConcurrentSpecs) {
+    return new ThreadPerSpecScheduler(maxConcurrentSpecs);
+  }
+
+  void run(Context rootContext, RunNotifier notifier);
+}
@@ -0,0 +1,159 @@
+package info.javaspec.runner;
+
+import info.javaspec.context.Context;
+import info.javaspec.lifecycle.SpecListeners;
+import info.javaspec.spec.Spec;
+import org.junit.runner.notification.RunNotifier;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs each spec on its own thread, with a limit on how many may be in flight at once.  Meant for specs that spend most
+ * of their time blocked on I/O, where it's cheaper to have lots of parked threads than to size a pool for the CPU.
+ * <p>
+ * Uses virtual threads on JVMs that have them (Java 21 and later), and falls back to platform threads otherwise.
+ * Specs are handed out from a dispatching thread, so the calling thread is free to deliver notifications to JUnit.
+ * Each context starts on that thread before its specs are handed out, and finishes once they and its sub-contexts are
+ * done.
+ */
+final class ThreadPerSpecScheduler implements SpecScheduler {
+  private final int maxConcurrentSpecs;
+
+  public ThreadPerSpecScheduler(int maxConcurrentSpecs) {
+    if(maxConcurrentSpecs < 1)
+      throw new IllegalArgumentException(String.format("Concurrency limit must be at least 1: %d", maxConcurrentSpecs));
+
+    this.maxConcurrentSpecs = maxConcurrentSpecs;
+  }
+
+  public int getMaxConcurrentSpecs() { return maxConcurrentSpecs; }
+
+  @Override
+  public void run(Context rootContext, RunNotifier notifier) {
+    NotifierBridge bridge = new NotifierBridge(notifier);
+    ExecutorService executor = newThreadPerTaskExecutor();
+    try {
+      Runnable dispatcher = () -> runAll(rootContext, bridge, executor);
+      CompletableFuture<Void> allDone = CompletableFuture.runAsync(dispatcher, executor);
+      bridge.deliverUntil(allDone::isDone);
+      allDone.join();
+    } catch(CompletionException e) {
+      throw asRuntimeException(e.getCause());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private void runAll(Context rootContext, NotifierBridge bridge, ExecutorService executor) {
+    Semaphore permits = new Semaphore(maxConcurrentSpecs);
+    List<Future<?>> running = new LinkedList<>();
+    CompletableFuture<Void> rootDone = dispatch(rootContext, bridge, executor, permits, running);
+    try {
+      awaitAll(running);
+    } finally {
+      rootDone.handle((x, e) -> null).join();
+    }
+  }
+
+  /**
+   * Starts the context, hands out the specs in it and its sub-contexts, and finishes it once they're done - on the
+   * thread that finishes the last of them.
+   */
+  private static CompletableFuture<Void> dispatch(Context context, NotifierBridge bridge, ExecutorService executor,
+                                                  Semaphore permits, List<Future<?>> running) {
+    long start = System.nanoTime();
+    SpecListeners.fireContextStarting(context.getId());
+    List<CompletableFuture<Void>> children = new ArrayList<>();
+    if(ArrangedContext.runsSubContextsFirst(context)) {
+      context.getSubContexts().forEachOrdered(x -> children.add(dispatch(x, bridge, executor, permits, running)));
+      context.getSpecs().forEachOrdered(x -> children.add(dispatch(x, bridge, executor, permits, running)));
+    } else {
+      context.getSpecs().forEachOrdered(x -> children.add(dispatch(x, bridge, executor, permits, running)));
+      context.getSubContexts().forEachOrdered(x -> children.add(dispatch(x, bridge, executor, permits, running)));
+    }
+
+    return CompletableFuture.allOf(children.toArray(new CompletableFuture<?>[0]))
+      .whenComplete((x, e) -> finish(context, bridge, start));
+  }
+
+  private static void finish(Context context, NotifierBridge bridge, long start) {
+    RunNotifier contextNotifier = bridge.newSpecNotifier();
+    try {
+      context.finishSpecs(contextNotifier);
+    } finally {
+      bridge.publish(contextNotifier);
+      SpecListeners.fireContextFinished(context.getId(), System.nanoTime() - start);
+    }
+  }
+
+  private static CompletableFuture<Void> dispatch(Spec spec, NotifierBridge bridge, ExecutorService executor,
+                                                  Semaphore permits, List<Future<?>> running) {
+    permits.acquireUninterruptibly();
+    CompletableFuture<Void> done = CompletableFuture.runAsync(() -> {
+      RunNotifier specNotifier = bridge.newSpecNotifier();
+      try {
+        spec.run(specNotifier);
+      } finally {
+        bridge.publish(specNotifier);
+        permits.release();
+      }
+    }, executor);
+    running.add(done);
+    return done;
+  }
+
+  private static void awaitAll(List<Future<?>> futures) {
+    RuntimeException firstError = null;
+    for(Future<?> future : futures) {
+      try {
+        future.get();
+      } catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for specs to finish", e);
+      } catch(ExecutionException e) {
+        if(firstError == null)
+          firstError = asRuntimeException(e.getCause());
+      }
+    }
+
+    if(firstError != null)
+      throw firstError;
+  }
+
+  private static RuntimeException asRuntimeException(Throwable cause) {
+    if(cause instanceof RuntimeException)
+      return (RuntimeException)cause;
+    else if(cause instanceof Error)
+      throw (Error)cause;
+    else
+      return new IllegalStateException(cause);
+  }
+
+  static ExecutorService newThreadPerTaskExecutor() {
+    try {
+      Object executor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      return (ExecutorService)executor;
+    } catch(NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+      return Executors.newCachedThreadPool(daemonThreads());
+    }
+  }
+
+  private static ThreadFactory daemonThreads() {
+    return runnable -> {
+      Thread thread = new Thread(runnable, "javaspec-spec");
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,49 @@
+package info.javaspec.runner;
+
+import info.javaspec.lifecycle.PhaseTimings;
+import info.javaspec.lifecycle.SpecListeners;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Writes how long each phase of each context took to a file, after each run.  Timings are collected for every spec
+ * that runs in the JVM, so the report covers every context class that has run so far.
+ */
+final class TimingsReport {
+  private static volatile PhaseTimings timings;
+  private final Path file;
+
+  public static TimingsReport to(Path file) {
+    sharedTimings();
+    return new TimingsReport(file);
+  }
+
+  private static PhaseTimings sharedTimings() {
+    if(timings == null) {
+      synchronized(TimingsReport.class) {
+        if(timings == null) {
+          PhaseTimings newTimings = new PhaseTimings();
+          SpecListeners.add(newTimings);
+          timings = newTimings;
+        }
+      }
+    }
+
+    return timings;
+  }
+
+  private TimingsReport(Path file) {
+    this.file = file;
+  }
+
+  public Path getFile() { return file; }
+
+  public void write() {
+    try {
+      timings.writeReport(file);
+    } catch(IOException e) {
+      System.err.printf("Unable to write phase timings to %s: %s%n", file, e);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package info.javaspec.runner;
+
+import info.javaspec.lifecycle.ResourceUsage;
+import info.javaspec.lifecycle.SpecListeners;
+
+import java.io.PrintStream;
+
+/**
+ * Prints the specs and contexts that allocated the most memory and used the most CPU time, once the whole run has
+ * finished.  Usage is measured for every spec that runs in the JVM, and each report covers the specs that ran since the
+ * last one.
+ */
+final class UsageReport {
+  private static volatile ResourceUsage usage;
+  private final int limit;
+
+  public static UsageReport top(int limit) {
+    sharedUsage();
+    return new UsageReport(limit);
+  }
+
+  private static ResourceUsage sharedUsage() {
+    if(usage == null) {
+      synchronized(UsageReport.class) {
+        if(usage == null) {
+          ResourceUsage newUsage = new ResourceUsage();
+          SpecListeners.add(newUsage);
+          usage = newUsage;
+        }
+      }
+    }
+
+    return usage;
+  }
+
+  private UsageReport(int limit) {
+    this.limit = limit;
+  }
+
+  public int getLimit() { return limit; }
+
+  public void print(PrintStream out) {
+    synchronized(UsageReport.class) {
+      if(usage.isEmpty())
+        return;
+
+      out.println("Resource usage:");
+      usage.printTopOffenders(out, limit);
+      usage.clear();
+    }
+  }
+}
@@ -1,23 +1,30 @@
 package info.javaspec.spec;
 
-import java.lang.reflect.Constructor;
+import info.javaspec.util.ClassMetadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
 
 abstract class ClassFactory {
   public Object makeInstance(Class<?> aClass) {
-    Constructor<?> constructor;
+    MethodHandle constructor;
+    try {
+      constructor = ClassMetadata.of(aClass).getDefaultConstructorHandle();
+    } catch(Exception e) {
+      throw UnsupportedConstructor.forClass(aClass, e);
+    }
+
     try {
-      constructor = getConstructor(aClass);
-      constructor.setAccessible(true);
       return makeInstance(constructor);
     } catch(ExceptionInInitializerError e) {
       throw FaultyClassInitializer.forClass(aClass, e);
-    } catch(Exception e) {
-      throw UnsupportedConstructor.forClass(aClass, e);
+    } catch(Throwable t) {
+      //Method handles don't wrap what the constructor throws, like Constructor#newInstance does
+      throw UnsupportedConstructor.forClass(aClass, new InvocationTargetException(t));
     }
   }
 
-  protected abstract Constructor<?> getConstructor(Class<?> aClass) throws NoSuchMethodException;
-  protected abstract Object makeInstance(Constructor<?> constructor) throws ReflectiveOperationException;
+  protected abstract Object makeInstance(MethodHandle constructor) throws Throwable;
 
   static final class FaultyClassInitializer extends RuntimeException {
     private static final long serialVersionUID = 1L;
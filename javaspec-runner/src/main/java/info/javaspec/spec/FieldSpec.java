@@ -3,21 +3,26 @@
 import info.javaspec.dsl.Before;
 import info.javaspec.dsl.Cleanup;
 import info.javaspec.dsl.It;
+import info.javaspec.index.IndexedField;
+import info.javaspec.lifecycle.Phase;
+import info.javaspec.lifecycle.SpecListeners;
 import org.junit.runner.Description;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunNotifier;
 
-import java.lang.reflect.Field;
 import java.util.List;
 
 import static java.util.stream.Collectors.toList;
 
 final class FieldSpec extends Spec {
+  private final String contextId;
   private final Description testDescription;
   private SpecState state;
 
-  FieldSpec(String id, Description testDescription, Field it, List<Field> beforeSpecFields, List<Field> afterSpecFields) {
+  FieldSpec(String contextId, String id, Description testDescription, IndexedField it,
+            List<IndexedField> beforeSpecFields, List<IndexedField> afterSpecFields) {
     super(id);
+    this.contextId = contextId;
     this.testDescription = testDescription;
     this.state = new DeclaredState(it, beforeSpecFields, afterSpecFields);
   }
@@ -32,22 +37,49 @@ public void addDescriptionTo(Description suite) {
 
   @Override
   public void run(RunNotifier notifier) {
+    long start = System.nanoTime();
+    SpecListeners.fireSpecStarting(contextId, getId());
+    try {
+      instantiateAndRun(notifier);
+    } finally {
+      SpecListeners.fireSpecFinished(contextId, getId(), System.nanoTime() - start);
+    }
+  }
+
+  private void instantiateAndRun(RunNotifier notifier) {
+    long start = phaseStarting(Phase.INSTANTIATE);
     try {
       state = state.instantiate();
     } catch(TestSetupFailed ex) {
-      notifier.fireTestFailure(new Failure(getDescription(), ex));
+      fail(notifier, ex);
       return;
+    } finally {
+      phaseFinished(Phase.INSTANTIATE, start);
     }
 
     state.run(notifier);
   }
 
+  private long phaseStarting(Phase phase) {
+    SpecListeners.firePhaseStarting(contextId, getId(), phase);
+    return System.nanoTime();
+  }
+
+  private void phaseFinished(Phase phase, long startNanos) {
+    SpecListeners.firePhaseFinished(contextId, getId(), phase, System.nanoTime() - startNanos);
+  }
+
+  private void fail(RunNotifier notifier, Throwable failure) {
+    SpecListeners.fireSpecFailed(contextId, getId(), failure);
+    notifier.fireTestFailure(new Failure(getDescription(), failure));
+  }
+
   private final class DeclaredState implements SpecState {
-    private final Field assertionField;
-    private final List<Field> beforeSpecFields;
-    private final List<Field> afterSpecFields;
+    private final IndexedField assertionField;
+    private final List<IndexedField> beforeSpecFields;
+    private final List<IndexedField> afterSpecFields;
 
-    public DeclaredState(Field it, List<Field> beforeSpecFields, List<Field> afterSpecFields) {
+    public DeclaredState(IndexedField it, List<IndexedField> beforeSpecFields, List<IndexedField> afterSpecFields) {
       this.assertionField = it;
       this.beforeSpecFields = beforeSpecFields;
       this.afterSpecFields = afterSpecFields;
@@ -89,6 +121,7 @@ private final class PendingState implements SpecState {
 
     @Override
     public void run(RunNotifier notifier) {
+      SpecListeners.fireSpecIgnored(contextId, getId());
       notifier.fireTestIgnored(getDescription());
     }
   }
@@ -113,15 +146,15 @@ public void run(RunNotifier notifier) {
 
       try {
         beforeSpec();
-        assertionThunk.run();
+        assertSpec();
       } catch(Exception | AssertionError ex) {
-        notifier.fireTestFailure(new Failure(getDescription(), ex));
+        fail(notifier, ex);
         return;
       } finally {
         try {
           afterSpec();
         } catch(Exception | AssertionError ex) {
-          notifier.fireTestFailure(new Failure(getDescription(), ex));
+          fail(notifier, ex);
         }
       }
 
@@ -129,13 +162,34 @@ public void run(RunNotifier notifier) {
     }
 
     private void beforeSpec() throws Exception {
-      for(Before before : beforeThunks)
-        before.run();
+      for(Before before : beforeThunks) {
+        long start = phaseStarting(Phase.of(before));
+        try {
+          before.run();
+        } finally {
+          phaseFinished(Phase.of(before), start);
+        }
+      }
+    }
+
+    private void assertSpec() throws Exception {
+      long start = phaseStarting(Phase.IT);
+      try {
+        assertionThunk.run();
+      } finally {
+        phaseFinished(Phase.IT, start);
+      }
     }
 
     private void afterSpec() throws Exception {
-      for(Cleanup after : afterThunks)
-        after.run();
+      for(Cleanup after : afterThunks) {
+        long start = phaseStarting(Phase.CLEANUP);
+        try {
+          after.run();
+        } finally {
+          phaseFinished(Phase.CLEANUP, start);
+        }
+      }
     }
   }
 
@@ -1,23 +1,16 @@
 package info.javaspec.spec;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
 
 final class InnerClassFactory extends ClassFactory {
-  private final Class<?> enclosingClass;
   private final Object enclosingObject;
 
-  public InnerClassFactory(Class<?> enclosingClass, Object enclosingObject) {
-    this.enclosingClass = enclosingClass;
+  public InnerClassFactory(Object enclosingObject) {
     this.enclosingObject = enclosingObject;
   }
 
   @Override
-  protected Constructor<?> getConstructor(Class<?> innerClass) throws NoSuchMethodException {
-    return innerClass.getDeclaredConstructor(enclosingClass);
-  }
-
-  @Override
-  protected Object makeInstance(Constructor<?> constructor) throws ReflectiveOperationException {
-    return constructor.newInstance(enclosingObject);
+  protected Object makeInstance(MethodHandle constructor) throws Throwable {
+    return (Object)constructor.invokeExact(enclosingObject);
   }
 }
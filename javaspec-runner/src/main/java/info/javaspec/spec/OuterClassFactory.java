@@ -1,15 +1,10 @@
 package info.javaspec.spec;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
 
 final class OuterClassFactory extends ClassFactory {
   @Override
-  protected Constructor<?> getConstructor(Class<?> outerClass) throws NoSuchMethodException {
-    return outerClass.getDeclaredConstructor();
-  }
-
-  @Override
-  protected Object makeInstance(Constructor<?> constructor) throws ReflectiveOperationException {
-    return constructor.newInstance();
+  protected Object makeInstance(MethodHandle constructor) throws Throwable {
+    return (Object)constructor.invokeExact();
   }
 }
@@ -0,0 +1,117 @@
+package info.javaspec.spec;
+
+import info.javaspec.dsl.It;
+import info.javaspec.index.IndexedField;
+import info.javaspec.lifecycle.Phase;
+import info.javaspec.lifecycle.SpecListeners;
+import info.javaspec.spec.SharedSpecFixture.Setup;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+
+/** A spec that runs its assertion against a fixture that is shared with other specs in the same context class. */
+final class SharedFixtureSpec extends Spec {
+  private final String contextId;
+  private final Description testDescription;
+  private final IndexedField assertionField;
+  private final SharedSpecFixture fixture;
+
+  SharedFixtureSpec(String contextId, String id, Description testDescription, IndexedField it,
+                    SharedSpecFixture fixture) {
+    super(id);
+    this.contextId = contextId;
+    this.testDescription = testDescription;
+    this.assertionField = it;
+    this.fixture = fixture;
+    fixture.join();
+  }
+
+  @Override
+  public Description getDescription() { return testDescription; }
+
+  @Override
+  public void addDescriptionTo(Description suite) {
+    suite.addChild(testDescription);
+  }
+
+  @Override
+  public void discard() {
+    fixture.leave();
+  }
+
+  @Override
+  public Throwable contextFinished() {
+    return fixture.finish(getId());
+  }
+
+  @Override
+  public void run(RunNotifier notifier) {
+    long start = System.nanoTime();
+    SpecListeners.fireSpecStarting(contextId, getId());
+    try {
+      runWithFixture(notifier);
+    } finally {
+      SpecListeners.fireSpecFinished(contextId, getId(), System.nanoTime() - start);
+    }
+  }
+
+  private void runWithFixture(RunNotifier notifier) {
+    boolean passed = false;
+    try {
+      passed = runWithFixture(fixture.acquire(getId()), notifier);
+    } finally {
+      Throwable cleanupFailure = fixture.release(getId());
+      if(cleanupFailure != null)
+        fail(notifier, cleanupFailure);
+    }
+
+    if(passed)
+      notifier.fireTestFinished(getDescription());
+  }
+
+  /** @return true if the spec ran and passed, or false if its outcome has already been reported */
+  private boolean runWithFixture(Setup setup, RunNotifier notifier) {
+    if(setup.creationFailure != null) {
+      fail(notifier, setup.creationFailure);
+      return false;
+    }
+
+    It assertionThunk;
+    try {
+      assertionThunk = (It)setup.context.getAssignedValue(assertionField);
+    } catch(Throwable t) {
+      fail(notifier, TestSetupFailed.forClass(assertionField.getDeclaringClass(), t));
+      return false;
+    }
+
+    if(setup.isPending || assertionThunk == null) {
+      SpecListeners.fireSpecIgnored(contextId, getId());
+      notifier.fireTestIgnored(getDescription());
+      return false;
+    }
+
+    notifier.fireTestStarted(getDescription());
+    if(setup.setupFailure != null) {
+      fail(notifier, setup.setupFailure);
+      return false;
+    }
+
+    SpecListeners.firePhaseStarting(contextId, getId(), Phase.IT);
+    long start = System.nanoTime();
+    try {
+      assertionThunk.run();
+    } catch(Exception | AssertionError ex) {
+      fail(notifier, ex);
+      return false;
+    } finally {
+      SpecListeners.firePhaseFinished(contextId, getId(), Phase.IT, System.nanoTime() - start);
+    }
+
+    return true;
+  }
+
+  private void fail(RunNotifier notifier, Throwable failure) {
+    SpecListeners.fireSpecFailed(contextId, getId(), failure);
+    notifier.fireTestFailure(new Failure(getDescription(), failure));
+  }
+}
@@ -0,0 +1,176 @@
+package info.javaspec.spec;
+
+import info.javaspec.dsl.Before;
+import info.javaspec.dsl.Cleanup;
+import info.javaspec.index.IndexedField;
+import info.javaspec.lifecycle.Phase;
+import info.javaspec.lifecycle.SpecListeners;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * One execution context that is shared by several specs declared in the same context class.  The first spec to
+ * acquire the fixture creates it and runs its setup, and the last one to release it runs its cleanup.  The time each
+ * of those takes is reported for the spec that did it.
+ * <p>
+ * Specs may stop running part of the way through - when a run fails fast or is stopped - so the context that owns the
+ * fixture also finishes it once it is done.  That runs cleanup if it hasn't happened yet, and leaves the fixture ready
+ * to be set up again the next time its context runs.
+ */
+final class SharedSpecFixture {
+  private final String contextId;
+  private final Class<?> contextClass;
+  private final List<IndexedField> beforeSpecFields;
+  private final List<IndexedField> afterSpecFields;
+  private int numSpecs;
+  private int numReleased;
+  private Setup setup;
+
+  public SharedSpecFixture(String contextId, Class<?> contextClass, List<IndexedField> beforeSpecFields,
+                           List<IndexedField> afterSpecFields) {
+    this.contextId = contextId;
+    this.contextClass = contextClass;
+    this.beforeSpecFields = beforeSpecFields;
+    this.afterSpecFields = afterSpecFields;
+  }
+
+  /** Registers one more spec that will acquire and release this fixture */
+  public synchronized void join() {
+    numSpecs++;
+  }
+
+  /** Un-registers a spec that was filtered out, before any spec has acquired this fixture */
+  public synchronized void leave() {
+    numSpecs--;
+  }
+
+  /** Sets up the fixture, if that has not already happened */
+  public synchronized Setup acquire(String specId) {
+    if(setup == null)
+      setup = setUp(specId);
+
+    return setup;
+  }
+
+  /**
+   * Releases the fixture for one spec, running cleanup if it was the last one.
+   *
+   * @return whatever cleanup threw, or null when there was nothing to report
+   */
+  public synchronized Throwable release(String specId) {
+    numReleased++;
+    return numReleased < numSpecs ? null : finish(specId);
+  }
+
+  /**
+   * Cleans up the fixture for the given spec if it was set up and hasn't been cleaned up yet, then resets it for the
+   * next run.  Called by the last spec to release it, and by its context once the context has finished.
+   *
+   * @return whatever cleanup threw, or null when there was nothing to report
+   */
+  public synchronized Throwable finish(String specId) {
+    Setup finishing = setup;
+    setup = null;
+    numReleased = 0;
+    return finishing == null || finishing.afterThunks == null ? null : cleanUp(finishing, specId);
+  }
+
+  private Throwable cleanUp(Setup finishing, String specId) {
+    for(Cleanup after : finishing.afterThunks) {
+      long start = phaseStarting(specId, Phase.CLEANUP);
+      try {
+        after.run();
+      } catch(Exception | AssertionError ex) {
+        return ex;
+      } finally {
+        phaseFinished(specId, Phase.CLEANUP, start);
+      }
+    }
+
+    return null;
+  }
+
+  private Setup setUp(String specId) {
+    long start = phaseStarting(specId, Phase.INSTANTIATE);
+    SpecExecutionContext context;
+    List<Before> beforeThunks;
+    List<Cleanup> afterThunks;
+    try {
+      context = SpecExecutionContext.forDeclaringClass(contextClass);
+      try {
+        beforeThunks = beforeSpecFields.stream()
+          .map(context::getAssignedValue)
+          .map(Before.class::cast)
+          .collect(toList());
+        afterThunks = afterSpecFields.stream()
+          .map(context::getAssignedValue)
+          .map(Cleanup.class::cast)
+          .collect(toList());
+      } catch(Throwable t) {
+        return Setup.failedToCreate(context, TestSetupFailed.forClass(contextClass, t));
+      }
+    } finally {
+      phaseFinished(specId, Phase.INSTANTIATE, start);
+    }
+
+    if(beforeThunks.contains(null) || afterThunks.contains(null))
+      return Setup.pending(context);
+
+    for(Before before : beforeThunks) {
+      long beforeStart = phaseStarting(specId, Phase.of(before));
+      try {
+        before.run();
+      } catch(Exception | AssertionError ex) {
+        return Setup.failedToRun(context, afterThunks, ex);
+      } finally {
+        phaseFinished(specId, Phase.of(before), beforeStart);
+      }
+    }
+
+    return Setup.ready(context, afterThunks);
+  }
+
+  private long phaseStarting(String specId, Phase phase) {
+    SpecListeners.firePhaseStarting(contextId, specId, phase);
+    return System.nanoTime();
+  }
+
+  private void phaseFinished(String specId, Phase phase, long startNanos) {
+    SpecListeners.firePhaseFinished(contextId, specId, phase, System.nanoTime() - startNanos);
+  }
+
+  static final class Setup {
+    public final SpecExecutionContext context;
+    public final boolean isPending;
+    public final TestSetupFailed creationFailure;
+    public final Throwable setupFailure;
+    private final List<Cleanup> afterThunks;
+
+    public static Setup ready(SpecExecutionContext context, List<Cleanup> afterThunks) {
+      return new Setup(context, false, null, null, afterThunks);
+    }
+
+    public static Setup pending(SpecExecutionContext context) {
+      return new Setup(context, true, null, null, null);
+    }
+
+    public static Setup failedToCreate(SpecExecutionContext context, TestSetupFailed failure) {
+      return new Setup(context, false, failure, null, null);
+    }
+
+    public static Setup failedToRun(SpecExecutionContext context, List<Cleanup> afterThunks, Throwable failure) {
+      return new Setup(context, false, null, failure, afterThunks);
+    }
+
+    private Setup(SpecExecutionContext context, boolean isPending, TestSetupFailed creationFailure,
+                  Throwable setupFailure, List<Cleanup> afterThunks) {
+      this.context = context;
+      this.isPending = isPending;
+      this.creationFailure = creationFailure;
+      this.setupFailure = setupFailure;
+      this.afterThunks = afterThunks;
+    }
+  }
+}
@@ -10,8 +10,19 @@ protected Spec(String id) {
     this.id = id;
   }
 
-  protected String getId() { return id; }
+  public String getId() { return id; }
   public abstract Description getDescription();
   public abstract void addDescriptionTo(Description suite);
   public abstract void run(RunNotifier notifier);
+
+  /** Called instead of #run, before the run starts, when this spec has been filtered out of it */
+  public void discard() { }
+
+  /**
+   * Called once the context that runs this spec is done with it - whether or not it ran - so it can release anything it
+   * shares with other specs.
+   *
+   * @return whatever releasing threw, or null when there was nothing to report
+   */
+  public Throwable contextFinished() { return null; }
 }
@@ -1,7 +1,8 @@
 package info.javaspec.spec;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
+import info.javaspec.index.IndexedField;
+import info.javaspec.util.ClassMetadata;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,12 +22,11 @@ public static SpecExecutionContext forDeclaringClass(Class<?> declaringClass) {
 
   private SpecExecutionContext() { }
 
-  public Object getAssignedValue(Field field) {
+  public Object getAssignedValue(IndexedField field) {
     Class<?> declaringClass = field.getDeclaringClass();
     try {
       Object declaredContext = instances.get(declaringClass);
-      field.setAccessible(true);
-      return field.get(declaredContext);
+      return field.readFrom(declaredContext);
     } catch(Throwable t) {
       throw TestSetupFailed.forClass(declaringClass, t);
     }
@@ -39,12 +39,12 @@ private Object makeAndRememberInstance(Class<?> contextClass) {
   }
 
   private Object makeInstance(Class<?> contextClass) {
-    Class<?> enclosingClass = contextClass.getEnclosingClass();
-    if(enclosingClass == null || Modifier.isStatic(contextClass.getModifiers())) {
+    ClassMetadata metadata = ClassMetadata.of(contextClass);
+    if(!metadata.isInner()) {
       return new OuterClassFactory().makeInstance(contextClass);
     } else {
-      Object enclosingObject = makeAndRememberInstance(enclosingClass);
-      return new InnerClassFactory(enclosingClass, enclosingObject).makeInstance(contextClass);
+      Object enclosingObject = makeAndRememberInstance(metadata.getEnclosingClass());
+      return new InnerClassFactory(enclosingObject).makeInstance(contextClass);
     }
   }
 }
@@ -2,70 +2,118 @@
 
 import info.javaspec.context.AmbiguousFixture;
 import info.javaspec.context.Context;
+import info.javaspec.context.TagFilter;
 import info.javaspec.dsl.Because;
 import info.javaspec.dsl.Cleanup;
 import info.javaspec.dsl.Establish;
 import info.javaspec.dsl.It;
+import info.javaspec.dsl.SharedFixture;
+import info.javaspec.index.IndexedContext;
+import info.javaspec.index.IndexedField;
+import info.javaspec.util.ClassMetadata;
 import info.javaspec.util.ReflectionBasedFactory;
-import info.javaspec.util.ReflectionUtil;
 import org.junit.runner.Description;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 
 public class SpecFactory extends ReflectionBasedFactory {
+  private static final ClassValue<FixtureFields> FIXTURE_FIELDS = new ClassValue<FixtureFields>() {
+    @Override
+    protected FixtureFields computeValue(Class<?> contextClass) {
+      return FixtureFields.forClass(contextClass);
+    }
+  };
+
   private final Context context;
 
   public SpecFactory(Context context) {
     this.context = context;
   }
 
-  public void addSpecsFromClass(Class<?> source) {
-    readDeclaredItFields(source)
-      .map(this::create)
-      .forEach(context::addSpec);
+  /** It fields declared in the given context class, for which the filter says to create specs */
+  public static List<IndexedField> selectItFields(Class<?> source, TagFilter tags) {
+    return readDeclaredItFields(source)
+      .filter(tags::selects)
+      .map(IndexedField::forField)
+      .collect(toList());
   }
 
-  public Spec create(Field it) {
-    String id = String.format("%s#%s", context.getId(), it.getName());
-    Description description = context.describeSpec(id, identifierToDisplayName(it.getName()));
-    List<Field> beforeFields = readBeforeSpecFields(it.getDeclaringClass());
-    List<Field> afterFields = readAfterSpecFields(it.getDeclaringClass());
-    return new FieldSpec(id, description, it, beforeFields, afterFields);
+  /** Adds specs for the given It fields, which were selected from those declared in the given class */
+  public void addSpecsFromClass(Class<?> source, List<IndexedField> specFields) {
+    if(specFields.isEmpty())
+      return;
+
+    FixtureFields fixtureFields = FIXTURE_FIELDS.get(source);
+    addSpecs(source, source.isAnnotationPresent(SharedFixture.class), specFields,
+      fixtureFields.before, fixtureFields.after);
+  }
+
+  /** Adds a spec for just the given It field, without looking for any others in the class that declares it */
+  public void addSpecFromField(Field it) {
+    Class<?> source = it.getDeclaringClass();
+    FixtureFields fixtureFields = FIXTURE_FIELDS.get(source);
+    addSpecs(source, source.isAnnotationPresent(SharedFixture.class),
+      Collections.singletonList(IndexedField.forField(it)), fixtureFields.before, fixtureFields.after);
   }
 
-  private List<Field> readBeforeSpecFields(Class<?> assertionClass) {
-    LinkedList<Field> fields = new LinkedList<>();
-    Consumer<Field> prependToFields = x -> fields.add(0, x);
-    for(Class<?> c = assertionClass; c != null; c = c.getEnclosingClass()) {
-      onlyDeclaredField(c, Because.class).ifPresent(prependToFields);
-      onlyDeclaredField(c, Establish.class).ifPresent(prependToFields);
+  /**
+   * Adds specs for the given It fields of a context class that is listed in a generated index, without inspecting the
+   * class itself
+   */
+  public void addSpecsFromIndex(IndexedContext indexed, List<IndexedField> specFields) {
+    addSpecs(indexed.getType(), indexed.hasSharedFixture(), specFields,
+      indexed.getBeforeSpecFields(), indexed.getAfterSpecFields());
+  }
+
+  private void addSpecs(Class<?> source, boolean hasSharedFixture, List<IndexedField> specFields,
+                        List<IndexedField> before, List<IndexedField> after) {
+    if(hasSharedFixture) {
+      SharedSpecFixture fixture = new SharedSpecFixture(context.getId(), source, before, after);
+      specFields.stream()
+        .map(x -> createShared(x, fixture))
+        .forEach(context::addSpec);
+    } else {
+      specFields.stream()
+        .map(x -> create(x, before, after))
+        .forEach(context::addSpec);
     }
+  }
+
+  public Spec create(Field it) {
+    FixtureFields fixtureFields = FIXTURE_FIELDS.get(it.getDeclaringClass());
+    return create(IndexedField.forField(it), fixtureFields.before, fixtureFields.after);
+  }
 
-    return fields;
+  private Spec create(IndexedField it, List<IndexedField> before, List<IndexedField> after) {
+    String id = specId(it);
+    Description description = context.describeSpec(id, identifierToDisplayName(it.getName()));
+    return new FieldSpec(context.getId(), id, description, it, before, after);
   }
 
-  private List<Field> readAfterSpecFields(Class<?> assertionClass) {
-    List<Field> fields = new LinkedList<>();
-    for(Class<?> c = assertionClass; c != null; c = c.getEnclosingClass())
-      onlyDeclaredField(c, Cleanup.class).ifPresent(fields::add);
+  private Spec createShared(IndexedField it, SharedSpecFixture fixture) {
+    String id = specId(it);
+    Description description = context.describeSpec(id, identifierToDisplayName(it.getName()));
+    return new SharedFixtureSpec(context.getId(), id, description, it, fixture);
+  }
 
-    return fields;
+  private String specId(IndexedField it) {
+    return String.format("%s#%s", context.getId(), it.getName());
   }
 
-  private static Optional<Field> onlyDeclaredField(Class<?> context, Class<?> fieldType) {
+  private static Optional<IndexedField> onlyDeclaredField(Class<?> context, Class<?> fieldType) {
     List<Field> fields = readDeclaredFields(context, fieldType).limit(2).collect(toList());
     switch(fields.size()) {
       case 0: return Optional.empty();
-      case 1: return Optional.of(fields.get(0));
+      case 1: return Optional.of(IndexedField.forField(fields.get(0)));
       default: throw AmbiguousFixture.forFieldOfType(fieldType, context);
     }
   }
@@ -76,6 +124,37 @@ private static Stream<Field> readDeclaredItFields(Class<?> contextClass) {
 
   private static Stream<Field> readDeclaredFields(Class<?> contextClass, Class<?> fieldType) {
     Predicate<Field> isInstanceField = x -> !Modifier.isStatic(x.getModifiers());
-    return ReflectionUtil.fieldsOfType(fieldType, contextClass).filter(isInstanceField);
+    return ClassMetadata.of(contextClass).declaredFieldsOfType(fieldType).filter(isInstanceField);
+  }
+
+  /**
+   * Fixture fields that apply to specs in a context class: setup runs outside-in, and cleanup runs inside-out.
+   * Built from those of the enclosing class, so that each class in a tree of contexts is only inspected once.
+   */
+  private static final class FixtureFields {
+    private static final FixtureFields NONE = new FixtureFields(Collections.emptyList(), Collections.emptyList());
+
+    public final List<IndexedField> before;
+    public final List<IndexedField> after;
+
+    public static FixtureFields forClass(Class<?> contextClass) {
+      Class<?> enclosingClass = ClassMetadata.of(contextClass).getEnclosingClass();
+      FixtureFields enclosing = enclosingClass == null ? NONE : FIXTURE_FIELDS.get(enclosingClass);
+
+      List<IndexedField> before = new ArrayList<>(enclosing.before);
+      onlyDeclaredField(contextClass, Establish.class).ifPresent(before::add);
+      onlyDeclaredField(contextClass, Because.class).ifPresent(before::add);
+
+      List<IndexedField> after = new ArrayList<>();
+      onlyDeclaredField(contextClass, Cleanup.class).ifPresent(after::add);
+      after.addAll(enclosing.after);
+
+      return new FixtureFields(Collections.unmodifiableList(before), Collections.unmodifiableList(after));
+    }
+
+    private FixtureFields(List<IndexedField> before, List<IndexedField> after) {
+      this.before = before;
+      this.after = after;
+    }
   }
 }
@@ -0,0 +1,146 @@
+package info.javaspec.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Reflective facts about a class that never change once it's loaded, looked up once per class and shared by every
+ * caller (and thread) that asks again.
+ * <p>
+ * Fields and constructors are also available as method handles.  Access checks happen once, when each handle is made,
+ * instead of on every call like they do with Field#get and Constructor#newInstance.
+ */
+public final class ClassMetadata {
+  private static final ClassValue<ClassMetadata> CACHE = new ClassValue<ClassMetadata>() {
+    @Override
+    protected ClassMetadata computeValue(Class<?> type) {
+      return new ClassMetadata(type);
+    }
+  };
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final MethodType OBJECT_FROM_OBJECT = MethodType.methodType(Object.class, Object.class);
+
+  private final Class<?> type;
+  private final Class<?> enclosingClass;
+  private final boolean isInner;
+  private volatile Map<Class<?>, List<Field>> declaredFieldsByType;
+  private volatile List<Class<?>> innerClasses;
+  private volatile Constructor<?> defaultConstructor;
+  private volatile MethodHandle defaultConstructorHandle;
+  private final ConcurrentMap<Field, MethodHandle> getters = new ConcurrentHashMap<>();
+
+  public static ClassMetadata of(Class<?> type) {
+    return CACHE.get(type);
+  }
+
+  private ClassMetadata(Class<?> type) {
+    this.type = type;
+    this.enclosingClass = type.getEnclosingClass();
+    this.isInner = enclosingClass != null && !Modifier.isStatic(type.getModifiers());
+  }
+
+  public Class<?> getType() { return type; }
+
+  /** The class this one is declared in, or null for a top-level class */
+  public Class<?> getEnclosingClass() { return enclosingClass; }
+
+  /** True for non-static classes that are declared inside another class, whose instances belong to an outer instance */
+  public boolean isInner() { return isInner; }
+
+  /** Fields declared in this class (not super classes) whose declared type is exactly the given type */
+  public Stream<Field> declaredFieldsOfType(Class<?> fieldType) {
+    return getDeclaredFieldsByType().getOrDefault(fieldType, Collections.emptyList()).stream();
+  }
+
+  /** Non-static classes declared directly within this one */
+  public Stream<Class<?>> innerClasses() {
+    List<Class<?>> classes = innerClasses;
+    if(classes == null) {
+      classes = Collections.unmodifiableList(Stream.of(type.getDeclaredClasses())
+        .filter(x -> !Modifier.isStatic(x.getModifiers()))
+        .collect(toList()));
+      innerClasses = classes;
+    }
+
+    return classes.stream();
+  }
+
+  /**
+   * The constructor used to make an instance of this class, already made accessible.  That's the no-arg constructor
+   * for top-level and static classes, or the constructor that only takes the enclosing instance for inner classes.
+   */
+  public Constructor<?> getDefaultConstructor() throws NoSuchMethodException {
+    Constructor<?> constructor = defaultConstructor;
+    if(constructor == null) {
+      constructor = isInner ? type.getDeclaredConstructor(enclosingClass) : type.getDeclaredConstructor();
+      constructor.setAccessible(true);
+      defaultConstructor = constructor;
+    }
+
+    return constructor;
+  }
+
+  /**
+   * Handle to the default constructor, typed to return Object.  Takes no arguments or - for inner classes - just the
+   * enclosing instance.
+   */
+  public MethodHandle getDefaultConstructorHandle() throws NoSuchMethodException, IllegalAccessException {
+    MethodHandle handle = defaultConstructorHandle;
+    if(handle == null) {
+      MethodType constructorType = isInner ? OBJECT_FROM_OBJECT : MethodType.methodType(Object.class);
+      handle = LOOKUP.unreflectConstructor(getDefaultConstructor()).asType(constructorType);
+      defaultConstructorHandle = handle;
+    }
+
+    return handle;
+  }
+
+  /**
+   * Handle that reads the given field, which is declared in this class, from an instance of this class.  It is typed
+   * <code>(Object)Object</code>; the instance is ignored for static fields.
+   */
+  public MethodHandle getter(Field field) throws IllegalAccessException {
+    MethodHandle getter = getters.get(field);
+    if(getter == null) {
+      getter = makeGetter(field);
+      getters.putIfAbsent(field, getter);
+    }
+
+    return getter;
+  }
+
+  private static MethodHandle makeGetter(Field field) throws IllegalAccessException {
+    field.setAccessible(true);
+    MethodHandle getter = LOOKUP.unreflectGetter(field);
+    if(Modifier.isStatic(field.getModifiers()))
+      getter = MethodHandles.dropArguments(getter, 0, Object.class);
+
+    return getter.asType(OBJECT_FROM_OBJECT);
+  }
+
+  private Map<Class<?>, List<Field>> getDeclaredFieldsByType() {
+    Map<Class<?>, List<Field>> fields = declaredFieldsByType;
+    if(fields == null) {
+      fields = Collections.unmodifiableMap(Stream.of(type.getDeclaredFields())
+        .collect(groupingBy(Field::getType, LinkedHashMap::new, toList())));
+      declaredFieldsByType = fields;
+    }
+
+    return fields;
+  }
+}
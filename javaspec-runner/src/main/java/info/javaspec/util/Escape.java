@@ -0,0 +1,54 @@
+package info.javaspec.util;
+
+/** Escapes text for the formats that reports and timings are written in */
+public final class Escape {
+  /** Text that may go in a JSON string, not including the surrounding quotes */
+  public static String json(String text) {
+    if(text == null)
+      return "";
+
+    StringBuilder escaped = new StringBuilder(text.length() + 8);
+    for(int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch(c) {
+        case '"': escaped.append("\\\""); break;
+        case '\\': escaped.append("\\\\"); break;
+        case '\n': escaped.append("\\n"); break;
+        case '\r': escaped.append("\\r"); break;
+        case '\t': escaped.append("\\t"); break;
+        default:
+          if(c < 0x20)
+            escaped.append(String.format("\\u%04x", (int)c));
+          else
+            escaped.append(c);
+      }
+    }
+
+    return escaped.toString();
+  }
+
+  /** Text that may go in an XML attribute or element.  Characters XML does not allow are dropped. */
+  public static String xml(String text) {
+    if(text == null)
+      return "";
+
+    StringBuilder escaped = new StringBuilder(text.length() + 8);
+    for(int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch(c) {
+        case '&': escaped.append("&amp;"); break;
+        case '<': escaped.append("&lt;"); break;
+        case '>': escaped.append("&gt;"); break;
+        case '"': escaped.append("&quot;"); break;
+        case '\n': case '\r': case '\t': escaped.append(c); break;
+        default:
+          if(c >= 0x20 && c != 0xFFFE && c != 0xFFFF)
+            escaped.append(c);
+      }
+    }
+
+    return escaped.toString();
+  }
+
+  private Escape() { /* static class */ }
+}
@@ -5,7 +5,6 @@
 
 public final class ReflectionUtil {
   public static Stream<Field> fieldsOfType(Class<?> fieldType, Class<?> typeToInspect) {
-    return Stream.of(typeToInspect.getDeclaredFields())
-      .filter(x -> x.getType() == fieldType);
+    return ClassMetadata.of(typeToInspect).declaredFieldsOfType(fieldType);
   }
-}
\ No newline at end of file
+}
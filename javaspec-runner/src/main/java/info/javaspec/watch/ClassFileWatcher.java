@@ -0,0 +1,141 @@
+package info.javaspec.watch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Watches directories of class files, including the directories within them, for class files that are created,
+ * changed, or deleted.  Compilers write many class files at once, so changes are collected until there's a quiet
+ * period with no more of them.
+ * <p>
+ * When the file system loses track of events, every class file in that directory is treated as changed.
+ */
+public final class ClassFileWatcher implements Closeable {
+  private final WatchService service;
+  private final long quietMillis;
+  private final Map<WatchKey, WatchedDirectory> directories;
+
+  /** Starts watching the given directories */
+  public static ClassFileWatcher watch(List<Path> roots, long quietMillis) throws IOException {
+    ClassFileWatcher watcher = new ClassFileWatcher(FileSystems.getDefault().newWatchService(), quietMillis);
+    try {
+      for(Path root : roots)
+        watcher.registerTree(root, root);
+    } catch(IOException e) {
+      watcher.close();
+      throw e;
+    }
+
+    return watcher;
+  }
+
+  private ClassFileWatcher(WatchService service, long quietMillis) {
+    this.service = service;
+    this.quietMillis = quietMillis;
+    this.directories = new HashMap<>();
+  }
+
+  /**
+   * Registers the directory and those within it, and returns the binary names of the class files already there.  Class
+   * files are listed after the directories are registered, so that none that are created in between go unnoticed.
+   */
+  private List<String> registerTree(Path root, Path directory) throws IOException {
+    for(Path subdirectory : walk(directory, Files::isDirectory)) {
+      WatchKey key = subdirectory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+      directories.put(key, new WatchedDirectory(root, subdirectory));
+    }
+
+    return walk(directory, ClassFileWatcher::isClassFile).stream()
+      .map(x -> className(root, x))
+      .collect(toList());
+  }
+
+  private static List<Path> walk(Path directory, Predicate<Path> filter) throws IOException {
+    try(Stream<Path> walk = Files.walk(directory)) {
+      return walk.filter(filter).collect(toList());
+    }
+  }
+
+  /**
+   * Waits until at least one class file has changed and there's been a quiet period since the last change, and then
+   * returns the binary names of the classes that changed - including those that were deleted.
+   */
+  public Set<String> awaitChanges() throws IOException, InterruptedException {
+    Set<String> classNames = new TreeSet<>();
+    while(classNames.isEmpty()) {
+      WatchKey key = service.take();
+      while(key != null) {
+        collectChanges(key, classNames);
+        key = service.poll(quietMillis, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    return classNames;
+  }
+
+  private void collectChanges(WatchKey key, Set<String> classNames) throws IOException {
+    WatchedDirectory directory = directories.get(key);
+    if(directory == null)
+      return;
+
+    for(WatchEvent<?> event : key.pollEvents()) {
+      if(event.kind() == StandardWatchEventKinds.OVERFLOW) {
+        classNames.addAll(registerTree(directory.root, directory.path));
+        continue;
+      }
+
+      Path path = directory.path.resolve((Path)event.context());
+      if(event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path))
+        classNames.addAll(registerTree(directory.root, path));
+      else if(isClassFile(path))
+        classNames.add(className(directory.root, path));
+    }
+
+    if(!key.reset())
+      directories.remove(key);
+  }
+
+  private static boolean isClassFile(Path path) {
+    return path.getFileName().toString().endsWith(".class") && !Files.isDirectory(path);
+  }
+
+  private static String className(Path root, Path classFile) {
+    String relativePath = root.relativize(classFile).toString();
+    return relativePath.substring(0, relativePath.length() - ".class".length())
+      .replace(classFile.getFileSystem().getSeparator(), ".");
+  }
+
+  @Override
+  public void close() throws IOException {
+    directories.clear();
+    service.close();
+  }
+
+  private static final class WatchedDirectory {
+    final Path root;
+    final Path path;
+
+    WatchedDirectory(Path root, Path path) {
+      this.root = root;
+      this.path = path;
+    }
+  }
+}
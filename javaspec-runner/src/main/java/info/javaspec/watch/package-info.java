@@ -0,0 +1,2 @@
+/** Noticing when classes are recompiled, so that specs that depend on them can run again. */
+package info.javaspec.watch;
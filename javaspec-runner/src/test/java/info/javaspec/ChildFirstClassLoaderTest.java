@@ -0,0 +1,81 @@
+package info.javaspec;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspecproto.ContextClasses;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ChildFirstClassLoaderTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private ChildFirstClassLoader subject;
+
+  @Before
+  public void setup() throws Exception {
+    URL testClasses = ContextClasses.class.getProtectionDomain().getCodeSource().getLocation();
+    subject = new ChildFirstClassLoader(new URL[] { testClasses }, getClass().getClassLoader());
+  }
+
+  @After
+  public void closeLoader() throws Exception {
+    subject.close();
+  }
+
+  public class loadClass {
+    @Test
+    public void givenAClassAlsoOnTheParentsClassPath_loadsItItself() throws Exception {
+      Class<?> loaded = Class.forName(ContextClasses.OneIt.class.getName(), false, subject);
+      assertThat(loaded, not(sameInstance(ContextClasses.OneIt.class)));
+      assertThat(loaded.getClassLoader(), sameInstance(subject));
+    }
+
+    @Test
+    public void givenAJavaSpecClass_delegatesToTheParent() throws Exception {
+      Class<?> loaded = Class.forName(ChildFirstClassLoaderTest.class.getName(), false, subject);
+      assertThat(loaded, sameInstance(ChildFirstClassLoaderTest.class));
+    }
+
+    @Test
+    public void givenAClassOnlyTheParentHas_delegatesToTheParent() throws Exception {
+      Class<?> loaded = Class.forName("de.bechte.junit.runners.context.HierarchicalContextRunner", false, subject);
+      assertThat(loaded, sameInstance(HierarchicalContextRunner.class));
+    }
+  }
+
+  public class getResource {
+    @Test
+    public void givenAResourceAlsoOnTheParentsClassPath_findsItsOwnCopy() throws Exception {
+      File directory = folder.newFolder();
+      Path classFile = directory.toPath().resolve("info/javaspecproto/ContextClasses.class");
+      Files.createDirectories(classFile.getParent());
+      Files.write(classFile, new byte[0]);
+
+      try(ChildFirstClassLoader loader = new ChildFirstClassLoader(new URL[] { directory.toURI().toURL() },
+        getClass().getClassLoader())) {
+        assertThat(loader.getResource("info/javaspecproto/ContextClasses.class"), equalTo(classFile.toUri().toURL()));
+      }
+    }
+
+    @Test
+    public void givenAJavaSpecResource_delegatesToTheParent() throws Exception {
+      String name = "info/javaspec/ChildFirstClassLoaderTest.class";
+      assertThat(subject.getResource(name), equalTo(getClass().getClassLoader().getResource(name)));
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package info.javaspec;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.CommandLine.InvalidArgument;
+import info.javaspec.runner.RunnerConfig;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import static info.javaspec.testutil.Assertions.capture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+@RunWith(HierarchicalContextRunner.class)
+public class CommandLineTest {
+  public class parse {
+    @Test
+    public void givenOnlySources_usesDefaultOptions() throws Exception {
+      CommandLine subject = CommandLine.parse("a.Context", "target/test-classes");
+      assertThat(subject.getSources(), contains("a.Context", "target/test-classes"));
+      assertThat(subject.getThreads(), equalTo(1));
+      assertThat(subject.getOrder().isPresent(), equalTo(false));
+      assertThat(subject.getShard().getCount(), equalTo(1));
+      assertThat(subject.getReport().isPresent(), equalTo(false));
+      assertThat(subject.isFailFast(), equalTo(false));
+    }
+
+    @Test
+    public void givenOptionsWithSeparateOrInlineValues_readsEach() throws Exception {
+      CommandLine subject = CommandLine.parse("--threads", "4", "--order=failed-first", "--shard", "2/3",
+        "--report=target/results.xml", "--fail-fast", "a.Context");
+      assertThat(subject.getThreads(), equalTo(4));
+      assertThat(subject.getOrder().get(), equalTo("failed-first"));
+      assertThat(subject.getShard().toString(), equalTo("2/3"));
+      assertThat(subject.getReport().get(), equalTo(Paths.get("target/results.xml")));
+      assertThat(subject.isFailFast(), equalTo(true));
+      assertThat(subject.getSources(), contains("a.Context"));
+    }
+
+    @Test
+    public void givenAClassPath_splitsItIntoDirectoriesAndJars() throws Exception {
+      String classPath = String.join(File.pathSeparator, "target/classes", "", "lib/widgets.jar");
+      CommandLine subject = CommandLine.parse("--class-path", classPath, "a.Context");
+      assertThat(subject.getClassPath(), contains(Paths.get("target/classes"), Paths.get("lib/widgets.jar")));
+      assertThat(subject.getSources(), contains("a.Context"));
+    }
+
+    @Test
+    public void givenWatchWithAClassDirectory_watches() throws Exception {
+      CommandLine subject = CommandLine.parse("--watch", "a.Context", "--class-path", "target/test-classes");
+      assertThat(subject.isWatch(), equalTo(true));
+    }
+
+    @Test
+    public void givenWatchWithoutAClassDirectory_throwsInvalidArgument() throws Exception {
+      Exception ex = capture(InvalidArgument.class, () -> CommandLine.parse("--watch", "a.Context"));
+      assertThat(ex.getMessage(), equalTo("--watch needs a class directory, either as a source or on the class path"));
+    }
+
+    @Test
+    public void givenChangedAndWatch_throwsInvalidArgument() throws Exception {
+      Exception ex = capture(InvalidArgument.class,
+        () -> CommandLine.parse("--watch", "--changed", "a.Widget", "target/test-classes"));
+      assertThat(ex.getMessage(), equalTo("--changed can't be used with --watch"));
+    }
+
+    @Test
+    public void givenNoSources_throwsInvalidArgument() throws Exception {
+      Exception ex = capture(InvalidArgument.class, () -> CommandLine.parse("--threads", "2"));
+      assertThat(ex.getMessage(), equalTo("No context classes, class directories, or jars to run"));
+    }
+
+    @Test
+    public void givenAnUnrecognizedOption_throwsInvalidArgument() throws Exception {
+      Exception ex = capture(InvalidArgument.class, () -> CommandLine.parse("--bogus", "a.Context"));
+      assertThat(ex.getMessage(), equalTo("Unrecognized option: --bogus"));
+    }
+
+    @Test
+    public void givenAnUnrecognizedOptionLast_throwsInvalidArgument() throws Exception {
+      Exception ex = capture(InvalidArgument.class, () -> CommandLine.parse("a.Context", "--bogus"));
+      assertThat(ex.getMessage(), equalTo("Unrecognized option: --bogus"));
+    }
+
+    @Test
+    public void givenAnOptionWithoutItsValue_throwsInvalidArgument() throws Exception {
+      Exception ex = capture(InvalidArgument.class, () -> CommandLine.parse("a.Context", "--threads"));
+      assertThat(ex.getMessage(), equalTo("Missing value for --threads"));
+    }
+
+    @Test
+    public void givenANonPositiveThreadCount_throwsInvalidArgument() throws Exception {
+      Exception ex = capture(InvalidArgument.class, () -> CommandLine.parse("--threads=0", "a.Context"));
+      assertThat(ex.getMessage(), equalTo("Invalid value for --threads: 0"));
+    }
+
+    @Test
+    public void givenAShardThatIsNotOneOfTheShards_throwsInvalidArgument() throws Exception {
+      Exception ex = capture(InvalidArgument.class, () -> CommandLine.parse("--shard=4/3", "a.Context"));
+      assertThat(ex.getMessage(), equalTo("Invalid value for --shard: 4/3"));
+    }
+  }
+
+  public class toRunnerConfig {
+    @Test
+    public void givenMoreThanOneThread_runsSpecsOnAForkJoinPoolOfThatSize() throws Exception {
+      RunnerConfig config = CommandLine.parse("--threads=3", "a.Context").toRunnerConfig(new Properties());
+      assertThat(config.parallelism(), equalTo(3));
+    }
+
+    @Test
+    public void givenAReportEndingInNdjson_writesEventsToThatFile() throws Exception {
+      RunnerConfig config = CommandLine.parse("--report=events.ndjson", "a.Context").toRunnerConfig(new Properties());
+      assertThat(config.ndjsonReport().get(), equalTo(Paths.get("events.ndjson")));
+      assertThat(config.junitXmlReport().isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void givenAnyOtherReport_writesJUnitXmlToThatFile() throws Exception {
+      RunnerConfig config = CommandLine.parse("--report=results.xml", "a.Context").toRunnerConfig(new Properties());
+      assertThat(config.junitXmlReport().get(), equalTo(Paths.get("results.xml")));
+    }
+
+    @Test
+    public void givenAShard_onlyRunsRootContextsInThatShard() throws Exception {
+      RunnerConfig config = CommandLine.parse("--shard=2/3", "a.Context").toRunnerConfig(new Properties());
+      assertThat(config.shard().toString(), equalTo("2/3"));
+    }
+
+    @Test
+    public void givenWatch_cachesIndexesInTheDefaultFileUnlessAnotherIsSet() throws Exception {
+      CommandLine subject = CommandLine.parse("--watch", "target/test-classes");
+      assertThat(subject.toRunnerConfig(new Properties()).indexCache().get().getFile(),
+        equalTo(Paths.get(".javaspec/index").toAbsolutePath()));
+
+      Properties properties = new Properties();
+      properties.setProperty(RunnerConfig.CACHE, "target/watch-index");
+      assertThat(subject.toRunnerConfig(properties).indexCache().get().getFile(),
+        equalTo(Paths.get("target/watch-index").toAbsolutePath()));
+    }
+
+    @Test
+    public void givenChangedClasses_onlyRunsRootContextsThatDependOnThem() throws Exception {
+      RunnerConfig config = CommandLine.parse("--changed", "a.Widget,a.Gadget", "a.Context")
+        .toRunnerConfig(new Properties());
+      assertThat(config.changedClassNames().get(), contains("a.Widget", "a.Gadget"));
+    }
+
+    @Test
+    public void givenTags_onlyRunsSpecsWithThoseTags() throws Exception {
+      RunnerConfig config = CommandLine.parse("--tags", "fast,!perf", "a.Context").toRunnerConfig(new Properties());
+      assertThat(config.tagFilter().toString(), equalTo("fast,!perf"));
+    }
+
+    @Test
+    public void givenAnOptionThatIsNotOnTheCommandLine_readsTheGivenProperties() throws Exception {
+      Properties defaults = new Properties();
+      defaults.setProperty(RunnerConfig.LATENCY, "5");
+      RunnerConfig config = CommandLine.parse("a.Context").toRunnerConfig(defaults);
+      assertThat(config.latencyReportSize().get(), equalTo(5));
+    }
+  }
+}
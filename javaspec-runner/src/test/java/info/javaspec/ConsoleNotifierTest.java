@@ -0,0 +1,37 @@
+package info.javaspec;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.Failure;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ConsoleNotifierTest {
+  private final ConsoleNotifier subject = new ConsoleNotifier(new PrintStream(new ByteArrayOutputStream()), false);
+
+  public class getNumSpecs {
+    @Test
+    public void countsSpecsThatFailAnAssumptionOnce() throws Exception {
+      Description passes = Description.createTestDescription("a.Context", "passes");
+      Description assumes = Description.createTestDescription("a.Context", "assumes");
+      Description pending = Description.createTestDescription("a.Context", "pending");
+
+      subject.fireTestStarted(passes);
+      subject.fireTestFinished(passes);
+      subject.fireTestStarted(assumes);
+      subject.fireTestAssumptionFailed(new Failure(assumes, new RuntimeException("assumption")));
+      subject.fireTestFinished(assumes);
+      subject.fireTestIgnored(pending);
+
+      assertThat(subject.getNumSpecs(), equalTo(3L));
+      assertThat(subject.getNumIgnored(), equalTo(2L));
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package info.javaspec;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.context.Context;
+import info.javaspec.runner.RunnerConfig;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+@RunWith(HierarchicalContextRunner.class)
+public class RootContextsTest {
+  public class close {
+    @Test
+    public void givenOnlyClassNames_leavesJavaSpecsClassLoaderOpen() throws Exception {
+      List<Context> contexts;
+      try(RootContexts subject = forSources("info.javaspecproto.ContextClasses$OneIt")) {
+        contexts = subject.find();
+      }
+
+      assertThat(contexts, hasSize(1));
+      Class<?> loaded = Class.forName("org.junit.runners.model.MultipleFailureException", false,
+        JavaSpec.class.getClassLoader());
+      assertThat(loaded.getName(), equalTo("org.junit.runners.model.MultipleFailureException"));
+    }
+  }
+
+  private static RootContexts forSources(String... sources) {
+    RunnerConfig config = RunnerConfig.fromProperties(new Properties());
+    return RootContexts.forSources(Arrays.asList(sources), Collections.emptyList(), config);
+  }
+}
@@ -0,0 +1,94 @@
+package info.javaspec;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspecproto.OuterContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+@RunWith(HierarchicalContextRunner.class)
+public class WatchModeTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private Path classes;
+
+  @Before
+  public void setup() throws Exception {
+    classes = folder.newFolder("classes").toPath();
+    for(Class<?> type : Arrays.asList(OuterContext.class, OuterContext.InnerContext.class,
+      Class.forName("info.javaspecproto.HiddenContext"),
+      Class.forName("info.javaspecproto.HiddenContext$hiddenInner"))) {
+      Path file = classes.resolve(type.getName().replace('.', '/') + ".class");
+      Files.createDirectories(file.getParent());
+      Files.write(file, classFileBytes(type));
+    }
+  }
+
+  public class getDirectories {
+    @Test
+    public void returnsDirectoriesThatAreSourcesOrOnTheClassPath() throws Exception {
+      Path jar = folder.newFile("lib.jar").toPath();
+      Path other = folder.newFolder("other").toPath();
+      WatchMode subject = new WatchMode(Arrays.asList("a.Context", classes.toString()), Arrays.asList(jar, other));
+      assertThat(subject.getDirectories(), contains(classes, other));
+    }
+  }
+
+  public class affectedSources {
+    @Test
+    public void givenAChangeToANestedClass_runsItsRootContext() throws Exception {
+      WatchMode subject = new WatchMode(Collections.singletonList(classes.toString()), Collections.emptyList());
+      assertThat(subject.affectedSources(Collections.singletonList("info.javaspecproto.OuterContext$InnerContext")),
+        contains("info.javaspecproto.OuterContext"));
+    }
+
+    @Test
+    public void givenAChangeToAClassThatContextsReferTo_runsEachOfThem() throws Exception {
+      WatchMode subject = new WatchMode(Collections.singletonList(classes.toString()), Collections.emptyList());
+      assertThat(subject.affectedSources(Collections.singletonList("org.hamcrest.Matchers")),
+        contains("info.javaspecproto.HiddenContext", "info.javaspecproto.OuterContext"));
+    }
+
+    @Test
+    public void givenNamedContextsAndSpecs_runsThoseThatDependOnTheChange() throws Exception {
+      WatchMode subject = new WatchMode(
+        Arrays.asList("info.javaspecproto.HiddenContext", "info.javaspecproto.OuterContext.InnerContext#asserts"),
+        Collections.singletonList(classes));
+      assertThat(subject.affectedSources(Collections.singletonList("info.javaspecproto.OuterContext")),
+        contains("info.javaspecproto.OuterContext.InnerContext#asserts"));
+    }
+
+    @Test
+    public void givenAChangeNothingDependsOn_runsNothing() throws Exception {
+      WatchMode subject = new WatchMode(Collections.singletonList(classes.toString()), Collections.emptyList());
+      assertThat(subject.affectedSources(Collections.singletonList("com.example.Unused")), empty());
+    }
+  }
+
+  private static byte[] classFileBytes(Class<?> type) throws IOException {
+    String resource = "/" + type.getName().replace('.', '/') + ".class";
+    try(InputStream stream = type.getResourceAsStream(resource)) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      for(int n = stream.read(buffer); n >= 0; n = stream.read(buffer))
+        bytes.write(buffer, 0, n);
+
+      return bytes.toByteArray();
+    }
+  }
+}
@@ -2,12 +2,28 @@
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import info.javaspecproto.ContextClasses;
+import info.javaspec.index.IndexCache;
+import info.javaspecproto.IndexedOuterContext;
+import info.javaspecproto.OuterContext;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
 import org.junit.runner.RunWith;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
 
+import java.util.LinkedList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
 import static info.javaspec.testutil.Assertions.capture;
 import static info.javaspec.testutil.Matchers.matchesRegex;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
 
 @RunWith(HierarchicalContextRunner.class)
 public class ContextFactoryTest {
@@ -28,5 +44,118 @@ public void givenAContextClassWithMultipleBecauseFields_throwsAmbiguousSpecFixtu
     public void givenAContextClassWithMultipleCleanupFields_throwsAmbiguousSpecFixture() throws Exception {
       capture(AmbiguousFixture.class, () -> ContextFactory.createRootContext(ContextClasses.TwoCleanup.class));
     }
+
+    public class givenAClassWithAGeneratedIndex {
+      @Test
+      public void describesContextsAndSpecsFromTheIndex() throws Exception {
+        Description returned = ContextFactory.createRootContext(IndexedOuterContext.class).getDescription();
+        assertThat(returned.getDisplayName(), equalTo("IndexedOuterContext (indexed)"));
+        assertThat(returned.getChildren().get(1).getDisplayName(), equalTo("inner context"));
+      }
+
+      @Test
+      public void runsSpecsWithFieldsReadThroughTheIndex() throws Exception {
+        List<Failure> failures = new LinkedList<>();
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new RunListener() {
+          @Override
+          public void testFailure(Failure failure) { failures.add(failure); }
+        });
+
+        Context subject = ContextFactory.createRootContext(IndexedOuterContext.class);
+        subject.run(notifier);
+        assertThat(subject.numSpecs(), equalTo(2L));
+        assertThat(failures, empty());
+      }
+    }
+
+    public class givenAnIndexCache {
+      @Rule
+      public final TemporaryFolder folder = new TemporaryFolder();
+
+      @Test
+      public void describesAndRunsContextsAndSpecsTheSameAsReflection() throws Exception {
+        IndexCache cache = IndexCache.open(folder.getRoot().toPath().resolve("discovery"));
+        Context subject = ContextFactory.createRootContext(OuterContext.class, cache);
+        assertThat(subject.getDescription(),
+          equalTo(ContextFactory.createRootContext(OuterContext.class).getDescription()));
+        assertThat(subject.getDescription().getChildren().get(1).getDisplayName(), equalTo("InnerContext"));
+
+        List<Failure> failures = new LinkedList<>();
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new RunListener() {
+          @Override
+          public void testFailure(Failure failure) { failures.add(failure); }
+        });
+
+        subject.run(notifier);
+        assertThat(subject.numSpecs(), equalTo(2L));
+        assertThat(failures, empty());
+      }
+
+      @Test
+      public void givenAClassWithAGeneratedIndex_usesTheGeneratedIndex() throws Exception {
+        IndexCache cache = IndexCache.open(folder.getRoot().toPath().resolve("discovery"));
+        Description returned = ContextFactory.createRootContext(IndexedOuterContext.class, cache).getDescription();
+        assertThat(returned.getDisplayName(), equalTo("IndexedOuterContext (indexed)"));
+        assertThat(cache.size(), equalTo(0));
+      }
+    }
+
+    public class givenATagFilter {
+      @Test
+      public void givenIncludedTags_onlyCreatesSpecsAndContextsWithThoseTags() throws Exception {
+        Context subject = ContextFactory.createRootContext(ContextClasses.Tagged.class, TagFilter.parse("fast"));
+        assertThat(subject.numSpecs(), equalTo(2L));
+        assertThat(subject.getDescription().getChildren().size(), equalTo(2));
+        assertThat(subject.getDescription().getChildren().get(1).getDisplayName(), equalTo("measured"));
+      }
+
+      @Test
+      public void givenExcludedTags_skipsClassesWithThoseTags() throws Exception {
+        Context subject = ContextFactory.createRootContext(ContextClasses.Tagged.class, TagFilter.parse("!perf"));
+        assertThat(subject.numSpecs(), equalTo(3L));
+        assertThat(subject.getSubContexts().map(Context::getId).collect(toList()),
+          contains("info.javaspecproto.ContextClasses.Tagged.unmeasured"));
+      }
+
+      @Test
+      public void givenTagsThatExcludeEverything_returnsAnEmptyRootContext() throws Exception {
+        Context subject = ContextFactory.createRootContext(ContextClasses.Tagged.class, TagFilter.parse("!unit"));
+        assertThat(subject.getId(), equalTo("info.javaspecproto.ContextClasses.Tagged"));
+        assertThat(subject.hasSpecs(), equalTo(false));
+        assertThat(subject.getDescription().getChildren(), empty());
+      }
+    }
+
+    public class givenAClassWithoutAGeneratedIndex {
+      @Test
+      public void describesContextsAndSpecsWithReflection() throws Exception {
+        Description returned = ContextFactory.createRootContext(ContextClasses.TwoIt.class).getDescription();
+        assertThat(returned.getDisplayName(), equalTo("TwoIt"));
+      }
+    }
+  }
+
+  public class createPathToSpec {
+    @Test
+    public void describesOnlyTheContextsEnclosingTheSpec() throws Exception {
+      Context subject = ContextFactory.createPathToSpec(
+        ContextClasses.TwoContexts.subcontext2.class.getDeclaredField("asserts"));
+      Description root = subject.getDescription();
+      assertThat(root.getDisplayName(), equalTo("TwoContexts"));
+      assertThat(root.getChildren().size(), equalTo(1));
+      assertThat(root.getChildren().get(0).getDisplayName(), equalTo("subcontext2"));
+      assertThat(subject.numSpecs(), equalTo(1L));
+    }
+
+    @Test
+    public void givesTheSpecTheSameIdAsACompleteTree() throws Exception {
+      Context subject = ContextFactory.createPathToSpec(ContextClasses.NestedIt.nestedContext.class
+        .getDeclaredField("tests_something_more_specific"));
+      String specId = subject.getSubContexts().findFirst().get().getSpecs().findFirst().get().getId();
+      assertThat(specId,
+        equalTo("info.javaspecproto.ContextClasses.NestedIt.nestedContext#tests_something_more_specific"));
+    }
   }
 }
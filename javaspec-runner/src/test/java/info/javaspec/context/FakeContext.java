@@ -4,6 +4,8 @@
 import org.junit.runner.Description;
 import org.junit.runner.notification.RunNotifier;
 
+import java.util.stream.Stream;
+
 public final class FakeContext extends Context {
   private final long numSpecs;
   private final Description description;
@@ -46,6 +48,12 @@ private FakeContext(String id, long numSpecs, Description description) {
   @Override
   public long numSpecs() { return numSpecs; }
 
+  @Override
+  public Stream<Spec> getSpecs() { return Stream.empty(); }
+
+  @Override
+  public Stream<Context> getSubContexts() { return Stream.empty(); }
+
   @Override
   public void run(RunNotifier notifier) { throw new UnsupportedOperationException(); }
 }
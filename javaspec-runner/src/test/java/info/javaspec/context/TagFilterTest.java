@@ -0,0 +1,88 @@
+package info.javaspec.context;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.context.TagFilter.InvalidTags;
+import info.javaspecproto.ContextClasses;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Field;
+
+import static info.javaspec.testutil.Assertions.capture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@RunWith(HierarchicalContextRunner.class)
+public class TagFilterTest {
+  public class parse {
+    @Test
+    public void givenPlainAndNegatedTags_includesTheFormerAndExcludesTheLatter() throws Exception {
+      assertThat(TagFilter.parse(" fast , !perf,integration").toString(), equalTo("fast,integration,!perf"));
+    }
+
+    @Test
+    public void givenAnEmptyTag_throwsInvalidTags() throws Exception {
+      InvalidTags ex = capture(InvalidTags.class, () -> TagFilter.parse("fast,!"));
+      assertThat(ex.getMessage(), equalTo("Invalid tag expression: fast,!"));
+    }
+
+    @Test
+    public void givenATagWithWhitespace_throwsInvalidTags() throws Exception {
+      capture(InvalidTags.class, () -> TagFilter.parse("very fast"));
+    }
+  }
+
+  public class everything {
+    @Test
+    public void selectsSpecsWithOrWithoutTags() throws Exception {
+      TagFilter subject = TagFilter.everything();
+      assertThat(subject.selectsEverything(), equalTo(true));
+      assertThat(subject.selects(itField(ContextClasses.Tagged.measured.class, "is_measured")), equalTo(true));
+      assertThat(subject.excludes(ContextClasses.Tagged.measured.class), equalTo(false));
+    }
+  }
+
+  public class excludes {
+    @Test
+    public void givenAClassWithAnExcludedTag_returnsTrue() throws Exception {
+      assertThat(TagFilter.parse("!perf").excludes(ContextClasses.Tagged.measured.class), equalTo(true));
+    }
+
+    @Test
+    public void givenAClassWithinOneWithAnExcludedTag_returnsTrue() throws Exception {
+      assertThat(TagFilter.parse("!unit").excludes(ContextClasses.Tagged.unmeasured.class), equalTo(true));
+    }
+
+    @Test
+    public void givenAClassWithoutAnExcludedTag_returnsFalse() throws Exception {
+      assertThat(TagFilter.parse("!perf").excludes(ContextClasses.Tagged.unmeasured.class), equalTo(false));
+    }
+  }
+
+  public class selects {
+    @Test
+    public void givenIncludedTags_selectsSpecsWithAnyOfThem() throws Exception {
+      TagFilter subject = TagFilter.parse("fast,integration");
+      assertThat(subject.selects(itField(ContextClasses.Tagged.class, "is_fast")), equalTo(true));
+      assertThat(subject.selects(itField(ContextClasses.Tagged.class, "is_untagged")), equalTo(false));
+    }
+
+    @Test
+    public void givenIncludedTags_countsTagsOnEnclosingClasses() throws Exception {
+      TagFilter subject = TagFilter.parse("perf");
+      assertThat(subject.selects(itField(ContextClasses.Tagged.measured.class, "is_measured")), equalTo(true));
+      assertThat(subject.selects(itField(ContextClasses.Tagged.unmeasured.class, "is_also_untagged")), equalTo(false));
+    }
+
+    @Test
+    public void givenASpecWithBothIncludedAndExcludedTags_leavesItOut() throws Exception {
+      TagFilter subject = TagFilter.parse("fast,!perf");
+      assertThat(subject.selects(itField(ContextClasses.Tagged.measured.class, "is_fast_but_measured")),
+        equalTo(false));
+    }
+  }
+
+  private static Field itField(Class<?> declaringClass, String name) throws NoSuchFieldException {
+    return declaringClass.getDeclaredField(name);
+  }
+}
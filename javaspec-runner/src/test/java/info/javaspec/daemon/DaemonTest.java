@@ -0,0 +1,119 @@
+package info.javaspec.daemon;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.daemon.Daemon.AlreadyRunning;
+import info.javaspec.daemon.DaemonProtocol.InvalidRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static info.javaspec.testutil.Assertions.capture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HierarchicalContextRunner.class)
+public class DaemonTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final List<List<String>> requests = new ArrayList<>();
+  private Path socket;
+  private Daemon subject;
+
+  @Before
+  public void setup() throws Exception {
+    assumeTrue(UnixSockets.isSupported());
+    socket = folder.getRoot().toPath().resolve("javaspec.sock");
+  }
+
+  @After
+  public void stop() throws Exception {
+    if(subject != null)
+      subject.close();
+  }
+
+  public class listen {
+    @Test
+    public void givenAFileLeftBehind_replacesItWithASocket() throws Exception {
+      Files.write(socket, "stale".getBytes("UTF-8"));
+      start((console, args) -> 0);
+      assertThat(run("a.Context"), equalTo(0));
+    }
+
+    @Test
+    public void givenADaemonIsAlreadyListening_throwsAlreadyRunning() throws Exception {
+      start((console, args) -> 0);
+      AlreadyRunning ex = capture(AlreadyRunning.class, () -> Daemon.listen(socket, (console, args) -> 0));
+      assertThat(ex.getMessage(), equalTo(String.format("A daemon is already listening on %s", socket)));
+    }
+  }
+
+  public class serve {
+    @Test
+    public void runsEachRequestWithItsArguments() throws Exception {
+      start((console, args) -> {
+        requests.add(Arrays.asList(args));
+        return 0;
+      });
+
+      run("--fail-fast", "a.Context");
+      run("b.Context");
+      assertThat(requests, equalTo(Arrays.asList(
+        Arrays.asList("--fail-fast", "a.Context"),
+        Collections.singletonList("b.Context"))));
+    }
+
+    @Test
+    public void streamsConsoleOutputAndTheExitCodeToTheClient() throws Exception {
+      start((console, args) -> {
+        console.println("FAILED: spec");
+        console.print("1 specs, 1 failed");
+        return 1;
+      });
+
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      int exitCode = DaemonClient.run(socket, new PrintStream(output, true, "UTF-8"), Collections.emptyList());
+      assertThat(exitCode, equalTo(1));
+      assertThat(output.toString("UTF-8"), equalTo(String.format("FAILED: spec%n1 specs, 1 failed%n")));
+    }
+
+    @Test
+    public void givenACommandThatThrows_printsTheExceptionAndExitsWith1() throws Exception {
+      start((console, args) -> { throw new IllegalStateException("broken"); });
+      assertThat(run("a.Context"), equalTo(1));
+      assertThat(run("a.Context"), equalTo(1));
+    }
+  }
+
+  public class run {
+    @Test
+    public void givenAnArgumentThatSpansLines_throwsInvalidRequest() throws Exception {
+      start((console, args) -> 0);
+      capture(InvalidRequest.class, () -> run("a.Context\nb.Context"));
+    }
+  }
+
+  private void start(Daemon.Command command) throws Exception {
+    subject = Daemon.listen(socket, command);
+    Thread thread = new Thread(subject::serve, "javaspec-daemon-test");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private int run(String... args) throws Exception {
+    return DaemonClient.run(socket, new PrintStream(new ByteArrayOutputStream()), Arrays.asList(args));
+  }
+}
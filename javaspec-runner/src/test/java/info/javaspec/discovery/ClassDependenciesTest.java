@@ -0,0 +1,101 @@
+package info.javaspec.discovery;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ClassDependenciesTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  public class dependentsOf {
+    @Test
+    public void givenAClassNothingRefersTo_returnsJustThatClass() throws Exception {
+      assertThat(subject().dependentsOf(Collections.singletonList("a.Spec")), containsInAnyOrder("a.Spec"));
+    }
+
+    @Test
+    public void givenAClassThatOthersReferTo_returnsThoseThatDependOnItDirectlyOrIndirectly() throws Exception {
+      assertThat(subject().dependentsOf(Collections.singletonList("a.Repository")),
+        containsInAnyOrder("a.Repository", "a.Service", "a.ServiceSpec", "a.ServiceSpec$inner", "a.RepositorySpec"));
+    }
+
+    @Test
+    public void givenClassesThatReferToEachOther_visitsEachOnce() throws Exception {
+      assertThat(subject().dependentsOf(Collections.singletonList("a.ServiceSpec$inner")),
+        containsInAnyOrder("a.ServiceSpec", "a.ServiceSpec$inner"));
+    }
+
+    @Test
+    public void givenAClassThatWasNotRead_returnsThoseThatReferToIt() throws Exception {
+      assertThat(subject().dependentsOf(Arrays.asList("java.util.List")),
+        containsInAnyOrder("java.util.List", "a.Service", "a.ServiceSpec", "a.ServiceSpec$inner"));
+    }
+  }
+
+  public class save {
+    @Test
+    public void writesDependenciesThatCanBeLoadedAgain() throws Exception {
+      Path file = folder.getRoot().toPath().resolve("deps/dependencies");
+      subject().save(file);
+      ClassDependencies loaded = ClassDependencies.load(file);
+      assertThat(loaded.getClassNames(), equalTo(subject().getClassNames()));
+      assertThat(loaded.getReferencedClassNames("a.Service"), containsInAnyOrder("a.Repository", "java.util.List"));
+    }
+
+    @Test
+    public void sharesThemWithAnyoneWhoOpensTheFile() throws Exception {
+      Path file = folder.getRoot().toPath().resolve("dependencies");
+      ClassDependencies saved = subject();
+      saved.save(file);
+      assertThat(ClassDependencies.open(file), sameInstance(saved));
+    }
+  }
+
+  public class load {
+    @Test
+    public void givenAMissingFile_returnsNoDependencies() throws Exception {
+      assertThat(ClassDependencies.load(folder.getRoot().toPath().resolve("missing")).getClassNames(), empty());
+    }
+
+    @Test
+    public void givenAFileThatIsNotDependencies_returnsNoDependencies() throws Exception {
+      Path file = folder.newFile("dependencies").toPath();
+      Files.write(file, "not dependencies".getBytes("UTF-8"));
+      assertThat(ClassDependencies.load(file).getClassNames(), empty());
+    }
+  }
+
+  private static ClassDependencies subject() {
+    Map<String, Set<String>> references = new HashMap<>();
+    references.put("a.Repository", names());
+    references.put("a.Service", names("a.Repository", "java.util.List"));
+    references.put("a.ServiceSpec", names("a.Service", "a.ServiceSpec$inner"));
+    references.put("a.ServiceSpec$inner", names("a.ServiceSpec"));
+    references.put("a.RepositorySpec", names("a.Repository"));
+    references.put("a.Spec", names("java.lang.Object"));
+    return ClassDependencies.of(references);
+  }
+
+  private static Set<String> names(String... names) {
+    return new HashSet<>(Arrays.asList(names));
+  }
+}
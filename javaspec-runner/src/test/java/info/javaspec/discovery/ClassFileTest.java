@@ -0,0 +1,119 @@
+package info.javaspec.discovery;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.discovery.ClassFile.InvalidClassFile;
+import info.javaspec.dsl.It;
+import info.javaspecproto.ContextClasses;
+import info.javaspecproto.OuterContext;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static info.javaspec.testutil.Assertions.capture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ClassFileTest {
+  public class read {
+    @Test
+    public void readsTheBinaryNameOfTheClass() throws Exception {
+      assertThat(read(ContextClasses.NestedIt.nestedContext.class).getName(),
+        equalTo("info.javaspecproto.ContextClasses$NestedIt$nestedContext"));
+    }
+
+    @Test
+    public void givenATopLevelClass_isNotNested() throws Exception {
+      assertThat(read(OuterContext.class).isNested(), equalTo(false));
+      assertThat(read(OuterContext.InnerContext.class).isNested(), equalTo(true));
+    }
+
+    @Test
+    public void givenAClassThatDeclaresItFields_saysSo() throws Exception {
+      assertThat(read(ContextClasses.OneIt.class).hasItFields(), equalTo(true));
+      assertThat(read(ContextClasses.NestedIt.class).hasItFields(), equalTo(false));
+    }
+
+    @Test
+    public void listsNonStaticClassesDeclaredDirectlyInTheClass() throws Exception {
+      assertThat(read(ContextClasses.NestedIt.class).getInnerClassNames(),
+        contains("info.javaspecproto.ContextClasses$NestedIt$nestedContext"));
+      assertThat(read(Class.forName("info.javaspecproto.HiddenContext")).getInnerClassNames(),
+        contains("info.javaspecproto.HiddenContext$hiddenInner"));
+      assertThat(read(ContextClasses.NestedStaticClassIt.class).getInnerClassNames(), empty());
+    }
+
+    @Test
+    public void givenNoReferencesAskedFor_listsNoReferencedClasses() throws Exception {
+      assertThat(read(OuterContext.class).getReferencedClassNames(), empty());
+    }
+
+    @Test
+    public void givenReferencesAskedFor_listsOtherClassesInTheConstantPool() throws Exception {
+      ClassFile subject = ClassFile.readWithReferences(ByteBuffer.wrap(classFileBytes(OuterContext.class)));
+      assertThat(subject.getReferencedClassNames(), hasItems("info.javaspec.dsl.It", "java.util.LinkedList",
+        "info.javaspecproto.OuterContext$InnerContext"));
+      assertThat(subject.getReferencedClassNames(), not(hasItem("info.javaspecproto.OuterContext")));
+    }
+
+    @Test
+    public void givenReferencesToArrays_listsTheirElementClasses() throws Exception {
+      ClassFile subject = ClassFile.readWithReferences(ByteBuffer.wrap(classFileBytes(ArrayReferences.class)));
+      assertThat(subject.getReferencedClassNames(), hasItem("java.net.URI"));
+      assertThat(subject.getReferencedClassNames().stream().anyMatch(x -> x.startsWith("[")), equalTo(false));
+    }
+
+    @Test
+    public void givenAnInterface_isNotAConcreteClass() throws Exception {
+      assertThat(read(It.class).isConcreteClass(), equalTo(false));
+      assertThat(read(OuterContext.class).isConcreteClass(), equalTo(true));
+    }
+
+    @Test
+    public void givenSomethingOtherThanAClassFile_throwsInvalidClassFile() throws Exception {
+      ByteBuffer notAClassFile = ByteBuffer.wrap("not a class file".getBytes("UTF-8"));
+      capture(InvalidClassFile.class, () -> ClassFile.read(notAClassFile));
+    }
+
+    @Test
+    public void givenATruncatedClassFile_throwsInvalidClassFile() throws Exception {
+      byte[] classFile = classFileBytes(OuterContext.class);
+      ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(classFile, classFile.length / 2));
+      capture(InvalidClassFile.class, () -> ClassFile.read(truncated));
+    }
+  }
+
+  private static final class ArrayReferences {
+    @SuppressWarnings("unused")
+    static int countUris(Object uris) {
+      return ((URI[][])uris).length + ((int[])uris).length;
+    }
+  }
+
+  private static ClassFile read(Class<?> type) throws IOException {
+    return ClassFile.read(ByteBuffer.wrap(classFileBytes(type)));
+  }
+
+  static byte[] classFileBytes(Class<?> type) throws IOException {
+    String resource = "/" + type.getName().replace('.', '/') + ".class";
+    try(InputStream stream = type.getResourceAsStream(resource)) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      for(int n = stream.read(buffer); n >= 0; n = stream.read(buffer))
+        bytes.write(buffer, 0, n);
+
+      return bytes.toByteArray();
+    }
+  }
+}
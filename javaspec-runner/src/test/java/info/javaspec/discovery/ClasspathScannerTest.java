@@ -0,0 +1,119 @@
+package info.javaspec.discovery;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspecproto.ContextClasses;
+import info.javaspecproto.EmptyClass;
+import info.javaspecproto.OuterContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static info.javaspec.discovery.ClassFileTest.classFileBytes;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ClasspathScannerTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private List<Class<?>> classes;
+
+  @Before
+  public void setup() throws Exception {
+    classes = Arrays.asList(
+      ContextClasses.class,
+      ContextClasses.NestedIt.class,
+      ContextClasses.NestedIt.nestedContext.class,
+      EmptyClass.class,
+      Class.forName("info.javaspecproto.ExecutionSpy"),
+      Class.forName("info.javaspecproto.HiddenContext"),
+      Class.forName("info.javaspecproto.HiddenContext$hiddenInner"),
+      OuterContext.class,
+      OuterContext.InnerContext.class);
+  }
+
+  public class givenADirectory {
+    @Test
+    public void findsTopLevelClassesWithItFieldsInThemOrTheirInnerClasses() throws Exception {
+      Path directory = folder.newFolder("classes").toPath();
+      for(Class<?> type : classes) {
+        Path file = directory.resolve(entryName(type));
+        Files.createDirectories(file.getParent());
+        Files.write(file, classFileBytes(type));
+      }
+
+      Files.write(directory.resolve("info/javaspecproto/Broken.class"), "not a class".getBytes("UTF-8"));
+      assertThat(ClasspathScanner.of(Arrays.asList(directory)).findRootContextClassNames(),
+        contains("info.javaspecproto.HiddenContext", "info.javaspecproto.OuterContext"));
+    }
+  }
+
+  public class givenAJar {
+    @Test
+    public void findsTheSameClassesInStoredAndCompressedEntries() throws Exception {
+      Path jar = folder.getRoot().toPath().resolve("specs.jar");
+      try(ZipOutputStream stream = new ZipOutputStream(Files.newOutputStream(jar))) {
+        stream.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+        stream.write("Manifest-Version: 1.0\n".getBytes("UTF-8"));
+        for(int i = 0; i < classes.size(); i++)
+          writeEntry(stream, classes.get(i), i % 2 == 0);
+      }
+
+      assertThat(ClasspathScanner.of(Arrays.asList(jar)).findRootContextClassNames(),
+        contains("info.javaspecproto.HiddenContext", "info.javaspecproto.OuterContext"));
+    }
+
+    private void writeEntry(ZipOutputStream stream, Class<?> type, boolean isStored) throws IOException {
+      byte[] classFile = classFileBytes(type);
+      ZipEntry entry = new ZipEntry(entryName(type));
+      if(isStored) {
+        CRC32 crc = new CRC32();
+        crc.update(classFile);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(classFile.length);
+        entry.setCrc(crc.getValue());
+      }
+
+      stream.putNextEntry(entry);
+      stream.write(classFile);
+      stream.closeEntry();
+    }
+  }
+
+  public class isScannable {
+    @Test
+    public void givenADirectoryOrAJar_returnsTrue() throws Exception {
+      Path jar = folder.newFile("specs.jar").toPath();
+      try(OutputStream stream = Files.newOutputStream(jar)) {
+        stream.write(0);
+      }
+
+      assertThat(ClasspathScanner.isScannable(folder.getRoot().toPath()), equalTo(true));
+      assertThat(ClasspathScanner.isScannable(jar), equalTo(true));
+    }
+
+    @Test
+    public void givenAClassNameOrAMissingFile_returnsFalse() throws Exception {
+      assertThat(ClasspathScanner.isScannable(folder.getRoot().toPath().resolve("info.javaspecproto.OuterContext")),
+        equalTo(false));
+    }
+  }
+
+  private static String entryName(Class<?> type) {
+    return type.getName().replace('.', '/') + ".class";
+  }
+}
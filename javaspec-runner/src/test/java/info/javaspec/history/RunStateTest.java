@@ -0,0 +1,106 @@
+package info.javaspec.history;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+@RunWith(HierarchicalContextRunner.class)
+public class RunStateTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  public class open {
+    @Test
+    public void givenTheSameFileTwice_returnsTheSameRunState() throws Exception {
+      Path file = stateFile();
+      assertThat(RunState.open(file), sameInstance(RunState.open(file.getParent().resolve("./state"))));
+    }
+
+    @Test
+    public void givenAFileThatIsNotARunState_returnsAnEmptyRunState() throws Exception {
+      Path file = stateFile();
+      Files.write(file, "not a run state".getBytes("UTF-8"));
+      assertThat(RunState.open(file).hasChanged(RunStateTest.class), equalTo(true));
+    }
+  }
+
+  public class failedLastTime {
+    @Test
+    public void givenASpecThatFailed_returnsTrue() throws Exception {
+      RunState subject = RunState.load(stateFile());
+      subject.recordResult("spec", false);
+      assertThat(subject.failedLastTime("spec"), equalTo(true));
+    }
+
+    @Test
+    public void givenASpecThatFailedAndThenPassed_returnsFalse() throws Exception {
+      RunState subject = RunState.load(stateFile());
+      subject.recordResult("spec", false);
+      subject.recordResult("spec", true);
+      assertThat(subject.failedLastTime("spec"), equalTo(false));
+    }
+  }
+
+  public class hasChanged {
+    @Test
+    public void givenAClassThatWasNeverRecorded_returnsTrue() throws Exception {
+      assertThat(RunState.load(stateFile()).hasChanged(RunStateTest.class), equalTo(true));
+    }
+
+    @Test
+    public void givenAClassWhoseClassFileIsTheSameAsWhenItWasRecorded_returnsFalse() throws Exception {
+      RunState subject = RunState.load(stateFile());
+      subject.recordClass(RunStateTest.class);
+      assertThat(subject.hasChanged(RunStateTest.class), equalTo(false));
+    }
+
+    @Test
+    public void givenAClassWithNoClassFile_returnsFalse() throws Exception {
+      Runnable generated = () -> { };
+      assertThat(RunState.load(stateFile()).hasChanged(generated.getClass()), equalTo(false));
+    }
+
+    @Test
+    public void givenAClassRecordedFromADifferentClassFile_returnsTrue() throws Exception {
+      Path file = stateFile();
+      RunState before = RunState.load(file);
+      before.recordClass(RunStateTest.class);
+      before.save();
+
+      byte[] saved = Files.readAllBytes(file);
+      saved[saved.length - 1] ^= 1;
+      Files.write(file, saved);
+      assertThat(RunState.load(file).hasChanged(RunStateTest.class), equalTo(true));
+    }
+  }
+
+  public class save {
+    @Test
+    public void writesTheStateForTheNextRunToRead() throws Exception {
+      Path file = stateFile();
+      RunState subject = RunState.load(file);
+      subject.recordResult("failed", false);
+      subject.recordResult("passed", true);
+      subject.recordClass(RunStateTest.class);
+      subject.save();
+
+      RunState reloaded = RunState.load(file);
+      assertThat(reloaded.failedLastTime("failed"), equalTo(true));
+      assertThat(reloaded.failedLastTime("passed"), equalTo(false));
+      assertThat(reloaded.hasChanged(RunStateTest.class), equalTo(false));
+    }
+  }
+
+  private Path stateFile() {
+    return folder.getRoot().toPath().resolve("state");
+  }
+}
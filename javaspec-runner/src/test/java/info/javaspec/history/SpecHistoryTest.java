@@ -0,0 +1,202 @@
+package info.javaspec.history;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+
+@RunWith(HierarchicalContextRunner.class)
+public class SpecHistoryTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  public class open {
+    @Test
+    public void givenTheSameFileTwice_returnsTheSameHistory() throws Exception {
+      Path file = historyFile();
+      assertThat(SpecHistory.open(file), sameInstance(SpecHistory.open(file.getParent().resolve("./history"))));
+    }
+
+    @Test
+    public void givenAFileThatDoesNotExist_returnsAnEmptyHistory() throws Exception {
+      assertThat(SpecHistory.open(historyFile()).size(), equalTo(0));
+    }
+
+    @Test
+    public void givenAFileThatIsNotAHistory_returnsAnEmptyHistory() throws Exception {
+      Path file = historyFile();
+      Files.write(file, "not a history".getBytes("UTF-8"));
+      assertThat(SpecHistory.open(file).size(), equalTo(0));
+    }
+  }
+
+  public class expectedNanos {
+    @Test
+    public void givenASpecThatHasNotRun_returnsEmpty() throws Exception {
+      assertThat(SpecHistory.load(historyFile()).expectedNanos("unknown"), equalTo(OptionalLong.empty()));
+    }
+
+    @Test
+    public void givenOneRecordedDuration_returnsThatDuration() throws Exception {
+      SpecHistory subject = SpecHistory.load(historyFile());
+      subject.record("spec", 100);
+      assertThat(subject.expectedNanos("spec"), equalTo(OptionalLong.of(100)));
+    }
+
+    @Test
+    public void givenMoreThanOneRecordedDuration_averagesTheLatestWithEarlierOnes() throws Exception {
+      SpecHistory subject = SpecHistory.load(historyFile());
+      subject.record("spec", 100);
+      subject.record("spec", 300);
+      assertThat(subject.expectedNanos("spec"), equalTo(OptionalLong.of(200)));
+    }
+  }
+
+  public class loadedRootContextNanos {
+    @Test
+    public void returnsRootContextsFromTheFileButNotSpecs() throws Exception {
+      Path file = historyFile();
+      SpecHistory run = SpecHistory.load(file);
+      run.record("a.Context#spec", 10);
+      run.recordRootContext("a.Context", 10);
+      run.save();
+
+      SpecHistory subject = SpecHistory.load(file);
+      assertThat(subject.loadedRootContextNanos().keySet(), contains("a.Context"));
+      assertThat(subject.loadedRootContextNanos().get("a.Context"), equalTo(10L));
+    }
+
+    @Test
+    public void ignoresRootContextsRecordedSinceTheFileWasRead() throws Exception {
+      SpecHistory subject = SpecHistory.load(historyFile());
+      subject.recordRootContext("a.Context", 10);
+      assertThat(subject.loadedRootContextNanos().isEmpty(), equalTo(true));
+      assertThat(subject.expectedNanos("a.Context"), equalTo(OptionalLong.of(10)));
+    }
+  }
+
+  public class save {
+    @Test
+    public void writesRecordedDurationsForTheNextRunToRead() throws Exception {
+      Path file = historyFile();
+      SpecHistory subject = SpecHistory.load(file);
+      subject.record("short", 3);
+      subject.record("long", 3_000_000_000L);
+      subject.save();
+
+      SpecHistory reloaded = SpecHistory.load(file);
+      assertThat(reloaded.expectedNanos("short"), equalTo(OptionalLong.of(3)));
+      assertThat(reloaded.expectedNanos("long"), equalTo(OptionalLong.of(3_000_000_000L)));
+    }
+
+    @Test
+    public void onlyAppendsDurationsRecordedSinceTheLastSave() throws Exception {
+      Path file = historyFile();
+      SpecHistory subject = SpecHistory.load(file);
+      subject.record("first", 1);
+      subject.save();
+      long sizeAfterFirstSave = Files.size(file);
+
+      subject.save();
+      assertThat(Files.size(file), equalTo(sizeAfterFirstSave));
+
+      subject.record("second", 2);
+      subject.save();
+      assertThat(SpecHistory.load(file).expectedNanos("first"), equalTo(OptionalLong.of(1)));
+      assertThat(SpecHistory.load(file).expectedNanos("second"), equalTo(OptionalLong.of(2)));
+    }
+
+    @Test
+    public void givenAFileWhoseLastRecordIsIncomplete_keepsTheCompleteRecords() throws Exception {
+      Path file = historyFile();
+      SpecHistory subject = SpecHistory.load(file);
+      subject.record("complete", 1);
+      subject.save();
+      long completeSize = Files.size(file);
+      subject.record("incomplete", 1);
+      subject.save();
+      truncate(file, completeSize + 3);
+
+      SpecHistory reloaded = SpecHistory.load(file);
+      assertThat(reloaded.size(), equalTo(1));
+      assertThat(reloaded.expectedNanos("complete"), equalTo(OptionalLong.of(1)));
+    }
+
+    @Test
+    public void givenAFileWhoseLastRecordIsIncomplete_dropsItBeforeAppending() throws Exception {
+      Path file = historyFile();
+      SpecHistory subject = SpecHistory.load(file);
+      subject.record("complete", 1);
+      subject.save();
+      long completeSize = Files.size(file);
+      subject.record("incomplete", 1);
+      subject.save();
+      truncate(file, completeSize + 3);
+
+      SpecHistory next = SpecHistory.load(file);
+      next.record("appended", 2);
+      next.save();
+      SpecHistory reloaded = SpecHistory.load(file);
+      assertThat(reloaded.size(), equalTo(2));
+      assertThat(reloaded.expectedNanos("appended"), equalTo(OptionalLong.of(2)));
+    }
+
+    @Test
+    public void givenAnotherHistoryAppendingToTheSameFile_keepsTheRecordsFromBoth() throws Exception {
+      Path file = historyFile();
+      SpecHistory subject = SpecHistory.load(file);
+      SpecHistory other = SpecHistory.load(file);
+      subject.record("first", 1);
+      subject.save();
+      other.record("second", 2);
+      other.save();
+      subject.record("third", 3);
+      subject.save();
+
+      SpecHistory reloaded = SpecHistory.load(file);
+      assertThat(reloaded.expectedNanos("first"), equalTo(OptionalLong.of(1)));
+      assertThat(reloaded.expectedNanos("second"), equalTo(OptionalLong.of(2)));
+      assertThat(reloaded.expectedNanos("third"), equalTo(OptionalLong.of(3)));
+    }
+
+    @Test
+    public void givenAFileThatIsMostlyOutdatedRecords_rewritesItWithTheLatestRecordForEachSpec() throws Exception {
+      Path file = historyFile();
+      OptionalLong latest = OptionalLong.empty();
+      for(int i = 0; i < 1024; i++) {
+        SpecHistory run = SpecHistory.load(file);
+        run.record("spec", i);
+        run.save();
+        latest = run.expectedNanos("spec");
+      }
+
+      long sizeBeforeCompaction = Files.size(file);
+      SpecHistory compacted = SpecHistory.load(file);
+      assertThat(Files.size(file), lessThan(sizeBeforeCompaction));
+      assertThat(compacted.expectedNanos("spec"), equalTo(latest));
+      assertThat(SpecHistory.load(file).expectedNanos("spec"), equalTo(latest));
+    }
+  }
+
+  private Path historyFile() {
+    return folder.getRoot().toPath().resolve("history");
+  }
+
+  private static void truncate(Path file, long size) throws IOException {
+    byte[] contents = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(contents, (int)size));
+  }
+}
@@ -0,0 +1,129 @@
+package info.javaspec.index;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspecproto.ContextClasses;
+import info.javaspecproto.OuterContext;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+@RunWith(HierarchicalContextRunner.class)
+public class IndexCacheTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private Path cacheFile() {
+    return folder.getRoot().toPath().resolve("discovery");
+  }
+
+  public class indexFor {
+    @Test
+    public void givenATopLevelContextClass_indexesItsTreeWithFixturesCombined() throws Exception {
+      IndexedContext root = IndexCache.load(cacheFile()).indexFor(OuterContext.class).get();
+      assertThat(root.getId(), equalTo("info.javaspecproto.OuterContext"));
+      assertThat(root.getDisplayName(), equalTo("OuterContext"));
+      assertThat(names(root.getSpecFields()), contains("asserts"));
+
+      IndexedContext inner = root.getSubContexts().get(0);
+      assertThat(inner.getId(), equalTo("info.javaspecproto.OuterContext.InnerContext"));
+      assertThat(inner.getDisplayName(), equalTo("InnerContext"));
+      assertThat(names(inner.getBeforeSpecFields()), contains("arrange", "arrange"));
+      assertThat(names(inner.getAfterSpecFields()), contains("inner_cleanup", "outer_cleanup"));
+    }
+
+    @Test
+    public void givenANestedClass_returnsEmpty() throws Exception {
+      assertThat(IndexCache.load(cacheFile()).indexFor(ContextClasses.OneIt.class).isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void givenClassesThatWereCachedAndHaveNotChanged_doesNotInspectThem() throws Exception {
+      IndexCache first = IndexCache.load(cacheFile());
+      first.indexFor(OuterContext.class);
+      first.save();
+      assertThat(first.numInspected(), equalTo(2));
+
+      IndexCache second = IndexCache.load(cacheFile());
+      IndexedContext root = second.indexFor(OuterContext.class).get();
+      assertThat(second.size(), equalTo(2));
+      assertThat(second.numInspected(), equalTo(0));
+      assertThat(names(root.getSubContexts().get(0).getSpecFields()), contains("asserts"));
+    }
+
+    @Test
+    public void givenAClassWhoseClassFileChanged_inspectsOnlyThatClass() throws Exception {
+      IndexCache first = IndexCache.load(cacheFile());
+      first.indexFor(OuterContext.class);
+      first.save();
+
+      byte[] contents = Files.readAllBytes(cacheFile());
+      int hashAt = indexOf(contents, sha1(OuterContext.InnerContext.class));
+      assertThat(hashAt, greaterThan(0));
+      contents[hashAt] ^= 1;
+      Files.write(cacheFile(), contents);
+
+      IndexCache second = IndexCache.load(cacheFile());
+      second.indexFor(OuterContext.class);
+      assertThat(second.numInspected(), equalTo(1));
+    }
+
+    @Test
+    public void givenAFileThatIsNotACache_startsOver() throws Exception {
+      Files.write(cacheFile(), "not a cache".getBytes("UTF-8"));
+      IndexCache subject = IndexCache.load(cacheFile());
+      assertThat(subject.size(), equalTo(0));
+      assertThat(subject.indexFor(OuterContext.class).isPresent(), equalTo(true));
+    }
+  }
+
+  public class save {
+    @Test
+    public void givenNothingChanged_doesNotWriteTheFile() throws Exception {
+      IndexCache.load(cacheFile()).save();
+      assertThat(Files.exists(cacheFile()), equalTo(false));
+    }
+  }
+
+  private static List<String> names(List<IndexedField> fields) {
+    return fields.stream().map(IndexedField::getName).collect(toList());
+  }
+
+  private static byte[] sha1(Class<?> type) throws Exception {
+    String name = type.getName();
+    try(InputStream stream = type.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      for(int n = stream.read(buffer); n >= 0; n = stream.read(buffer))
+        bytes.write(buffer, 0, n);
+
+      return MessageDigest.getInstance("SHA-1").digest(bytes.toByteArray());
+    }
+  }
+
+  private static int indexOf(byte[] contents, byte[] part) {
+    for(int i = 0; i + part.length <= contents.length; i++) {
+      boolean matches = true;
+      for(int j = 0; j < part.length && matches; j++)
+        matches = contents[i + j] == part[j];
+
+      if(matches)
+        return i;
+    }
+
+    return -1;
+  }
+}
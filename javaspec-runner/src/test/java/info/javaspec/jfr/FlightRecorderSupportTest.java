@@ -0,0 +1,87 @@
+package info.javaspec.jfr;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.context.Context;
+import info.javaspec.context.ContextFactory;
+import info.javaspecproto.ContextClasses;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.RunNotifier;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+@RunWith(HierarchicalContextRunner.class)
+public class FlightRecorderSupportTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Before
+  public void install() throws Exception {
+    FlightRecorderSupport.install();
+  }
+
+  public class givenARunningRecording {
+    @Test
+    public void recordsAnEventForTheContextAndTheSpec() throws Exception {
+      List<RecordedEvent> events = record(ContextClasses.OneIt.class);
+      assertThat(eventsNamed(events, "info.javaspec.Context"), hasSize(1));
+
+      List<RecordedEvent> specs = eventsNamed(events, "info.javaspec.Spec");
+      assertThat(specs, hasSize(1));
+      assertThat(specs.get(0).getString("specId"), equalTo("info.javaspecproto.ContextClasses.OneIt#only_test"));
+    }
+
+    @Test
+    public void recordsAnEventForEachPhaseOfTheSpec() throws Exception {
+      List<RecordedEvent> events = record(ContextClasses.FullFixture.class);
+      List<String> phases = eventsNamed(events, "info.javaspec.SpecPhase").stream()
+        .sorted((x, y) -> x.getStartTime().compareTo(y.getStartTime()))
+        .map(x -> x.getString("phase"))
+        .collect(toList());
+      assertThat(phases, contains("INSTANTIATE", "ESTABLISH", "BECAUSE", "IT", "CLEANUP"));
+    }
+
+    @Test
+    public void recordsAnEventForEachFailure() throws Exception {
+      List<RecordedEvent> failures = eventsNamed(record(ContextClasses.FailingIt.class), "info.javaspec.SpecFailure");
+      assertThat(failures, hasSize(1));
+      assertThat(failures.get(0).getClass("failureClass").getName(), equalTo(AssertionError.class.getName()));
+    }
+  }
+
+  private List<RecordedEvent> record(Class<?> contextClass) throws Exception {
+    Context context = ContextFactory.createRootContext(contextClass);
+    Path file = folder.getRoot().toPath().resolve("specs.jfr");
+    try(Recording recording = new Recording()) {
+      recording.enable("info.javaspec.Context");
+      recording.enable("info.javaspec.Spec");
+      recording.enable("info.javaspec.SpecPhase");
+      recording.enable("info.javaspec.SpecFailure");
+      recording.start();
+      context.run(new RunNotifier());
+      recording.stop();
+      recording.dump(file);
+    }
+
+    return RecordingFile.readAllEvents(file);
+  }
+
+  private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+    return events.stream()
+      .filter(x -> name.equals(x.getEventType().getName()))
+      .collect(toList());
+  }
+}
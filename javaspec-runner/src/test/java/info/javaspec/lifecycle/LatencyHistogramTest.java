@@ -0,0 +1,76 @@
+package info.javaspec.lifecycle;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+@RunWith(HierarchicalContextRunner.class)
+public class LatencyHistogramTest {
+  private final LatencyHistogram subject = new LatencyHistogram();
+
+  public class bucketOf {
+    @Test
+    public void givenSmallValues_givesEachValueItsOwnBucket() throws Exception {
+      for(long value = 0; value < 32; value++)
+        assertThat(LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(value)), equalTo(value));
+    }
+
+    @Test
+    public void givenAnyValue_returnsABucketContainingItThatIsNoWiderThanASixteenthOfIt() throws Exception {
+      for(long value : new long[] { 33, 1_000, 123_456_789, 1L << 40, Long.MAX_VALUE / 3, Long.MAX_VALUE }) {
+        long highest = LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(value));
+        assertThat(highest, greaterThanOrEqualTo(value));
+        assertThat(highest - value, lessThanOrEqualTo(value / 16));
+      }
+    }
+  }
+
+  public class percentile {
+    @Test
+    public void givenNoValues_returns0() throws Exception {
+      assertThat(subject.percentile(0.5), equalTo(0L));
+    }
+
+    @Test
+    public void returnsTheValueAtThatRankWithinOneBucket() throws Exception {
+      for(long millis = 1; millis <= 100; millis++)
+        subject.record(millis * 1_000_000);
+
+      assertThat(subject.percentile(0.5), within(50_000_000));
+      assertThat(subject.percentile(0.9), within(90_000_000));
+      assertThat(subject.percentile(0.99), within(99_000_000));
+      assertThat(subject.percentile(1.0), equalTo(100_000_000L));
+    }
+
+    @Test
+    public void neverReturnsMoreThanTheLargestValue() throws Exception {
+      subject.record(1_000_001);
+      assertThat(subject.percentile(0.99), equalTo(1_000_001L));
+    }
+  }
+
+  public class addAll {
+    @Test
+    public void addsTheCountsAndMaxOfTheOtherHistogram() throws Exception {
+      LatencyHistogram other = new LatencyHistogram();
+      subject.record(10);
+      other.record(20);
+      other.record(30);
+      subject.addAll(other);
+
+      assertThat(subject.count(), equalTo(3L));
+      assertThat(subject.max(), equalTo(30L));
+      assertThat(subject.percentile(0.5), equalTo(20L));
+    }
+  }
+
+  private static org.hamcrest.Matcher<Long> within(long expected) {
+    return allOf(greaterThanOrEqualTo(expected), lessThanOrEqualTo(expected + expected / 16));
+  }
+}
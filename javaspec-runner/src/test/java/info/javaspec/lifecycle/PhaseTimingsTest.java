@@ -0,0 +1,56 @@
+package info.javaspec.lifecycle;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.StringWriter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@RunWith(HierarchicalContextRunner.class)
+public class PhaseTimingsTest {
+  private final PhaseTimings subject = new PhaseTimings();
+
+  public class phaseFinished {
+    @Test
+    public void addsTheDurationToTheTotalForThatContextAndPhase() throws Exception {
+      subject.phaseFinished("context", "context#one", Phase.IT, 10);
+      subject.phaseFinished("context", "context#two", Phase.IT, 5);
+      subject.phaseFinished("other", "other#one", Phase.IT, 100);
+      assertThat(subject.count("context", Phase.IT), equalTo(2L));
+      assertThat(subject.totalNanos("context", Phase.IT), equalTo(15L));
+    }
+
+    @Test
+    public void givenAContextThatHasNotRun_returnsZero() throws Exception {
+      assertThat(subject.count("context", Phase.CLEANUP), equalTo(0L));
+      assertThat(subject.totalNanos("context", Phase.CLEANUP), equalTo(0L));
+    }
+  }
+
+  public class writeReport {
+    @Test
+    public void writesTotalsForEachContextAndPhaseThatRanAsJson() throws Exception {
+      subject.phaseFinished("b.Context", "b.Context#one", Phase.INSTANTIATE, 3);
+      subject.phaseFinished("b.Context", "b.Context#one", Phase.IT, 7);
+      subject.specFinished("b.Context", "b.Context#one", 12);
+      subject.phaseFinished("a.\"Quoted\"", "a#one", Phase.ESTABLISH, 1);
+
+      StringWriter writer = new StringWriter();
+      subject.writeReport(writer);
+      assertThat(writer.toString(), equalTo(String.join("\n",
+        "{\"contexts\": [",
+        "  {\"id\": \"a.\\\"Quoted\\\"\", \"specs\": 0, \"nanos\": 0, \"phases\": {",
+        "    \"establish\": {\"count\": 1, \"totalNanos\": 1, \"maxNanos\": 1}",
+        "  }},",
+        "  {\"id\": \"b.Context\", \"specs\": 1, \"nanos\": 12, \"phases\": {",
+        "    \"instantiate\": {\"count\": 1, \"totalNanos\": 3, \"maxNanos\": 3},",
+        "    \"it\": {\"count\": 1, \"totalNanos\": 7, \"maxNanos\": 7}",
+        "  }}",
+        "]}",
+        "")));
+    }
+  }
+}
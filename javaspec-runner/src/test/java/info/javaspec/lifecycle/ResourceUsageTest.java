@@ -0,0 +1,96 @@
+package info.javaspec.lifecycle;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ResourceUsageTest {
+  private final ResourceUsage subject = new ResourceUsage();
+  private static volatile Object sink;
+
+  public class phaseFinished {
+    @Test
+    public void addsWhatThePhaseAllocatedToItsContext() throws Exception {
+      allocateInPhase("context", "context#one", 1 << 20);
+      allocateInPhase("context", "context#two", 1 << 20);
+      assertThat(subject.allocatedBytes("context"), greaterThanOrEqualTo(2L << 20));
+    }
+
+    @Test
+    public void addsTheCpuTimeThePhaseUsedToItsContext() throws Exception {
+      subject.phaseStarting("context", "context#spins", Phase.IT);
+      long until = System.nanoTime() + 20_000_000;
+      while(System.nanoTime() < until) { }
+      subject.phaseFinished("context", "context#spins", Phase.IT, 0);
+      assertThat(subject.cpuNanos("context"), greaterThan(0L));
+    }
+
+    @Test
+    public void measuresEachPhaseOnTheThreadThatRanIt() throws Exception {
+      ExecutorService workers = Executors.newFixedThreadPool(2);
+      try {
+        workers.submit(() -> allocateInPhase("context", "context#worker", 1 << 20)).get();
+      } finally {
+        workers.shutdown();
+      }
+
+      assertThat(subject.allocatedBytes("context"), greaterThanOrEqualTo(1L << 20));
+    }
+
+    @Test
+    public void givenAContextThatHasNotRun_returnsZero() throws Exception {
+      assertThat(subject.allocatedBytes("context"), equalTo(0L));
+      assertThat(subject.cpuNanos("context"), equalTo(0L));
+    }
+  }
+
+  public class printTopOffenders {
+    @Test
+    public void listsTheSpecsAndContextsThatAllocatedTheMost() throws Exception {
+      allocateInPhase("light", "light#spec", 1 << 10);
+      allocateInPhase("heavy", "heavy#spec", 1 << 22);
+
+      String output = printTopOffenders(1);
+      assertThat(output, containsString(String.format("Contexts allocating the most:%n  heavy: ")));
+      assertThat(output, containsString(String.format("Specs allocating the most:%n  heavy#spec: ")));
+      assertThat(output, not(containsString("light#spec")));
+    }
+  }
+
+  public class clear {
+    @Test
+    public void forgetsWhatWasMeasuredBefore() throws Exception {
+      allocateInPhase("before", "before#spec", 1 << 20);
+      subject.clear();
+      assertThat(subject.isEmpty(), equalTo(true));
+
+      allocateInPhase("after", "after#spec", 1 << 10);
+      assertThat(printTopOffenders(10), not(containsString("before")));
+    }
+  }
+
+  private String printTopOffenders(int limit) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    subject.printTopOffenders(new PrintStream(bytes, true), limit);
+    return bytes.toString();
+  }
+
+  private void allocateInPhase(String contextId, String specId, int numBytes) {
+    subject.phaseStarting(contextId, specId, Phase.IT);
+    sink = new byte[numBytes];
+    subject.phaseFinished(contextId, specId, Phase.IT, 0);
+  }
+}
@@ -0,0 +1,118 @@
+package info.javaspec.lifecycle;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+
+@RunWith(HierarchicalContextRunner.class)
+public class SpecLatenciesTest {
+  private final SpecLatencies subject = new SpecLatencies(2);
+
+  public class specFinished {
+    @Test
+    public void recordsTheDurationOfSpecsInEveryContextInOneHistogram() throws Exception {
+      subject.specFinished("context", "context#one", 5);
+      subject.specFinished("context", "context#two", 7);
+      subject.specFinished("other", "other#one", 100);
+      assertThat(subject.histogram().count(), equalTo(3L));
+      assertThat(subject.histogram().max(), equalTo(100L));
+    }
+
+    @Test
+    public void recordsTheDurationOfSpecsInEachContextSeparately() throws Exception {
+      subject.specFinished("context", "context#one", 5);
+      subject.specFinished("context", "context#two", 7);
+      subject.specFinished("other", "other#one", 100);
+      assertThat(subject.histogram("context").count(), equalTo(2L));
+      assertThat(subject.histogram("context").max(), equalTo(7L));
+      assertThat(subject.histogram("other").count(), equalTo(1L));
+    }
+
+    @Test
+    public void givenMoreContextsThanItTracks_recordsTheRestTogether() throws Exception {
+      for(int i = 0; i < SpecLatencies.MAX_CONTEXTS + 10; i++)
+        subject.specFinished("context" + i, "context" + i + "#spec", i);
+
+      assertThat(subject.histogram("context0").count(), equalTo(1L));
+      String last = "context" + (SpecLatencies.MAX_CONTEXTS + 9);
+      assertThat(subject.histogram(last), sameInstance(subject.histogram(SpecLatencies.OTHER_CONTEXTS)));
+      assertThat(subject.histogram(last).count(), equalTo(11L));
+    }
+  }
+
+  public class clear {
+    @Test
+    public void forgetsWhatWasRecordedBefore() throws Exception {
+      subject.specFinished("context", "context#before", 5_000_000);
+      subject.clear();
+      assertThat(subject.isEmpty(), equalTo(true));
+
+      subject.specFinished("context", "context#after", 1_000_000);
+      assertThat(subject.histogram().count(), equalTo(1L));
+      assertThat(print(), not(containsString("context#before")));
+    }
+  }
+
+  public class printAndClear {
+    @Test
+    public void printsWhatWasRecordedAndForgetsIt() throws Exception {
+      subject.specFinished("context", "context#before", 5_000_000);
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      subject.printAndClear(new PrintStream(bytes, true));
+      assertThat(bytes.toString(), containsString("context#before"));
+      assertThat(subject.isEmpty(), equalTo(true));
+    }
+  }
+
+  public class print {
+    @Test
+    public void listsPercentilesForAllSpecsTogether() throws Exception {
+      subject.specFinished("a", "a#one", 1_000_000);
+      subject.specFinished("b", "b#one", 3_000_000);
+      String row = print().split(String.format("%n"))[1];
+      assertThat(row, startsWith(String.format("%8d ", 2)));
+      assertThat(row, endsWith(String.format(" %10s %10s %10s  (all)", "3.000", "3.000", "3.000")));
+    }
+
+    @Test
+    public void listsPercentilesForEachContextMostSpecsFirst() throws Exception {
+      subject.specFinished("a", "a#one", 1_000_000);
+      subject.specFinished("b", "b#one", 3_000_000);
+      subject.specFinished("b", "b#two", 3_000_000);
+      String[] rows = print().split(String.format("%n"));
+      assertThat(rows[2], equalTo(String.format("%8d %10s %10s %10s %10s  b", 2, "3.000", "3.000", "3.000", "3.000")));
+      assertThat(rows[3], startsWith(String.format("%8d ", 1)));
+      assertThat(rows[3], endsWith(String.format(" %10s %10s %10s  a", "1.000", "1.000", "1.000")));
+    }
+
+    @Test
+    public void listsTheSlowestSpecsInAnyContextSlowestFirst() throws Exception {
+      subject.specFinished("a", "a#fast", 1_000_000);
+      subject.specFinished("a", "a#slow", 5_000_000);
+      subject.specFinished("b", "b#medium", 3_000_000);
+      subject.specFinished("c", "c#slowest", 9_000_000);
+
+      String output = print();
+      assertThat(output, containsString(String.format("Slowest specs:%n  c#slowest: 9.000 ms%n  a#slow: 5.000 ms%n")));
+      assertThat(output, not(containsString("b#medium")));
+      assertThat(output, not(containsString("a#fast")));
+    }
+  }
+
+  private String print() {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    subject.print(new PrintStream(bytes, true));
+    return bytes.toString();
+  }
+}
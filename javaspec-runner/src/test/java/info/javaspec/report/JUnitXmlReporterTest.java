@@ -0,0 +1,140 @@
+package info.javaspec.report;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+@RunWith(HierarchicalContextRunner.class)
+public class JUnitXmlReporterTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private Path file;
+  private JUnitXmlReporter subject;
+
+  private String contents() throws Exception {
+    return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+  }
+
+  private void runSpec(String contextId, String specName, Throwable failure) {
+    String specId = contextId + "#" + specName;
+    subject.specStarting(contextId, specId);
+    if(failure != null)
+      subject.specFailed(contextId, specId, failure);
+
+    subject.specFinished(contextId, specId, 1_500_000);
+  }
+
+  public class specFinished {
+    @Test
+    public void writesATestCaseForTheSpecOnceFlushed() throws Exception {
+      file = folder.getRoot().toPath().resolve("results.xml");
+      subject = JUnitXmlReporter.create(file, "JavaSpec");
+      runSpec("a.Context", "passes", null);
+      subject.flush();
+      assertThat(contents(), containsString(
+        "<testcase classname=\"a.Context\" name=\"passes\" time=\"0.001500\"/>"));
+    }
+
+    @Test
+    public void givenAFailure_writesItsTypeMessageAndStackTraceEscaped() throws Exception {
+      file = folder.getRoot().toPath().resolve("results.xml");
+      subject = JUnitXmlReporter.create(file, "JavaSpec");
+      runSpec("a.Context", "fails", new AssertionError("expected <1> & \"2\"\u0001"));
+      subject.flush();
+      assertThat(contents(), containsString(
+        "<failure type=\"java.lang.AssertionError\" message=\"expected &lt;1&gt; &amp; &quot;2&quot;\">"));
+      assertThat(contents(), containsString("at info.javaspec.report.JUnitXmlReporterTest"));
+    }
+
+    @Test
+    public void givenAnIgnoredSpec_writesItAsSkipped() throws Exception {
+      file = folder.getRoot().toPath().resolve("results.xml");
+      subject = JUnitXmlReporter.create(file, "JavaSpec");
+      subject.specIgnored("a.Context", "a.Context#pending");
+      subject.specFinished("a.Context", "a.Context#pending", 0);
+      subject.flush();
+      assertThat(contents(), containsString("name=\"pending\" time=\"0.000000\">\n    <skipped/>\n  </testcase>"));
+    }
+
+    @Test
+    public void forgetsTheOutcomeOfEachSpecOnceItFinishes() throws Exception {
+      file = folder.getRoot().toPath().resolve("results.xml");
+      subject = JUnitXmlReporter.create(file, "JavaSpec");
+      runSpec("a.Context", "fails", new AssertionError("bang"));
+      subject.specFinished("a.Context", "a.Context#next", 0);
+      subject.flush();
+      assertThat(contents(), containsString("name=\"next\" time=\"0.000000\"/>"));
+    }
+
+    @Test
+    public void givenTheFileCanNoLongerBeWritten_dropsTheTestCaseInsteadOfThrowing() throws Exception {
+      file = folder.getRoot().toPath().resolve("results.xml");
+      subject = JUnitXmlReporter.create(file, "JavaSpec");
+      subject.close();
+
+      String longName = String.join("", Collections.nCopies(1 << 16, "x"));
+      runSpec("a.Context", longName, null);
+      runSpec("a.Context", longName, null);
+      subject.flush();
+      assertThat(contents(), not(containsString(longName)));
+    }
+  }
+
+  public class close {
+    @Test
+    public void finishesTheSuiteWithTotalsForEverySpecThatFinished() throws Exception {
+      file = folder.getRoot().toPath().resolve("reports/results.xml");
+      subject = JUnitXmlReporter.create(file, "JavaSpec");
+      runSpec("a.Context", "passes", null);
+      runSpec("a.Context", "fails", new AssertionError("bang"));
+      subject.specIgnored("a.Context", "a.Context#pending");
+      subject.specFinished("a.Context", "a.Context#pending", 0);
+      subject.close();
+
+      String xml = contents();
+      assertThat(xml, containsString(
+        "<testsuite name=\"JavaSpec\" tests=\"3\" failures=\"1\" errors=\"0\" skipped=\"1\""));
+      assertThat(xml, endsWith("</testsuite>\n"));
+      assertThat(xml, not(containsString("tests=\"0\"")));
+    }
+
+    @Test
+    public void givenNoSpecs_writesAnEmptySuite() throws Exception {
+      file = folder.getRoot().toPath().resolve("results.xml");
+      subject = JUnitXmlReporter.create(file, "JavaSpec");
+      subject.close();
+      subject.close();
+      assertThat(contents().replaceAll(" time=\"[0-9.]+\" +", " "), equalTo(String.join("\n",
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+        "<testsuite name=\"JavaSpec\" tests=\"0\" failures=\"0\" errors=\"0\" skipped=\"0\" >",
+        "</testsuite>",
+        "")));
+    }
+  }
+
+  public class specName {
+    @Test
+    public void givenASpecIdInTheContext_returnsTheRestOfTheId() throws Exception {
+      assertThat(JUnitXmlReporter.specName("a.Context", "a.Context#returns_bar"), equalTo("returns_bar"));
+    }
+
+    @Test
+    public void givenAnyOtherSpecId_returnsTheWholeId() throws Exception {
+      assertThat(JUnitXmlReporter.specName("a.Context", "b.Context#returns_bar"), equalTo("b.Context#returns_bar"));
+    }
+  }
+}
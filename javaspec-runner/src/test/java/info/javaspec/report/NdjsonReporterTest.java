@@ -0,0 +1,69 @@
+package info.javaspec.report;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+@RunWith(HierarchicalContextRunner.class)
+public class NdjsonReporterTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  public class givenAContextWithSpecs {
+    @Test
+    public void writesEachEventAsALineOfJson() throws Exception {
+      Path file = folder.getRoot().toPath().resolve("events.ndjson");
+      try(NdjsonReporter subject = NdjsonReporter.create(file)) {
+        subject.contextStarting("a.Context");
+        subject.specStarting("a.Context", "a.Context#passes");
+        subject.specFinished("a.Context", "a.Context#passes", 10);
+        subject.specStarting("a.Context", "a.Context#fails");
+        subject.specFailed("a.Context", "a.Context#fails", new AssertionError("\"quoted\"\nsecond line"));
+        subject.specFinished("a.Context", "a.Context#fails", 20);
+        subject.specIgnored("a.Context", "a.Context#pending");
+        subject.specFinished("a.Context", "a.Context#pending", 0);
+        subject.contextFinished("a.Context", 40);
+      }
+
+      assertThat(Files.readAllLines(file, StandardCharsets.UTF_8), contains(
+        "{\"event\":\"contextStarted\",\"context\":\"a.Context\"}",
+        "{\"event\":\"specStarted\",\"context\":\"a.Context\",\"spec\":\"a.Context#passes\"}",
+        "{\"event\":\"specFinished\",\"context\":\"a.Context\",\"spec\":\"a.Context#passes\",\"status\":\"passed\","
+          + "\"nanos\":10}",
+        "{\"event\":\"specStarted\",\"context\":\"a.Context\",\"spec\":\"a.Context#fails\"}",
+        "{\"event\":\"specFailed\",\"context\":\"a.Context\",\"spec\":\"a.Context#fails\","
+          + "\"type\":\"java.lang.AssertionError\",\"message\":\"\\\"quoted\\\"\\nsecond line\"}",
+        "{\"event\":\"specFinished\",\"context\":\"a.Context\",\"spec\":\"a.Context#fails\",\"status\":\"failed\","
+          + "\"nanos\":20}",
+        "{\"event\":\"specFinished\",\"context\":\"a.Context\",\"spec\":\"a.Context#pending\",\"status\":\"ignored\","
+          + "\"nanos\":0}",
+        "{\"event\":\"contextFinished\",\"context\":\"a.Context\",\"nanos\":40}"));
+    }
+  }
+
+  public class givenAFileThatCanNoLongerBeWritten {
+    @Test
+    public void dropsEventsInsteadOfThrowing() throws Exception {
+      Path file = folder.getRoot().toPath().resolve("events.ndjson");
+      NdjsonReporter subject = NdjsonReporter.create(file);
+      subject.close();
+
+      String longId = String.join("", Collections.nCopies(1 << 16, "x"));
+      subject.contextStarting(longId);
+      subject.contextFinished(longId, 10);
+      subject.flush();
+      assertThat(Files.readAllLines(file, StandardCharsets.UTF_8), empty());
+    }
+  }
+}
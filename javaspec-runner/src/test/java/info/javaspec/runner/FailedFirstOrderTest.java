@@ -0,0 +1,156 @@
+package info.javaspec.runner;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.context.Context;
+import info.javaspec.context.ContextFactory;
+import info.javaspec.history.RunState;
+import info.javaspec.junit.RunListenerSpy;
+import info.javaspec.junit.RunListenerSpy.Event;
+import info.javaspec.spec.Spec;
+import info.javaspecproto.ContextClasses;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+import java.nio.file.Files;
+import java.util.LinkedList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+@RunWith(HierarchicalContextRunner.class)
+public class FailedFirstOrderTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final List<Event> events = new LinkedList<>();
+  private RunState state;
+
+  public class arrange {
+    @Test
+    public void givenNoRunState_keepsDeclarationOrder() throws Exception {
+      run(ContextFactory.createRootContext(ContextClasses.TwoIt.class));
+      assertThat(startedMethodNames(), contains("first test", "second test"));
+    }
+
+    @Test
+    public void runsSpecsThatFailedLastTimeFirst() throws Exception {
+      Context root = ContextFactory.createRootContext(ContextClasses.TwoIt.class);
+      state().recordResult(specIds(root).get(1), false);
+
+      run(root);
+      assertThat(startedMethodNames(), contains("second test", "first test"));
+    }
+
+    @Test
+    public void runsContextsWhoseClassChangedSinceTheLastRunBeforeUnchangedContexts() throws Exception {
+      state().recordClass(ContextClasses.NestedContexts.class);
+      state().recordClass(ContextClasses.NestedContexts.one.class);
+
+      run(ContextFactory.createRootContext(ContextClasses.NestedContexts.class));
+      assertThat(startedMethodNames(), contains("asserts two", "asserts one"));
+    }
+
+    @Test
+    public void describesTheContextTheSameAsTheOriginal() throws Exception {
+      Context root = ContextFactory.createRootContext(ContextClasses.NestedContexts.class);
+      Context arranged = new FailedFirstOrder(state()).arrange(root);
+      assertThat(arranged.getDescription(), sameInstance(root.getDescription()));
+    }
+
+    @Test
+    public void recordsWhichSpecsFailed() throws Exception {
+      Context root = ContextFactory.createRootContext(ContextClasses.FailingIt.class);
+      run(root);
+      assertThat(state().failedLastTime(specIds(root).get(0)), equalTo(true));
+    }
+
+    @Test
+    public void recordsWhenAFailingSpecPasses() throws Exception {
+      Context root = ContextFactory.createRootContext(ContextClasses.OneIt.class);
+      state().recordResult(specIds(root).get(0), false);
+      run(root);
+      assertThat(state().failedLastTime(specIds(root).get(0)), equalTo(false));
+    }
+  }
+
+  public class runFinished {
+    @Test
+    public void recordsTheContextClassesThatRanAndSavesTheRunState() throws Exception {
+      FailedFirstOrder subject = new FailedFirstOrder(state());
+      subject.arrange(ContextFactory.createRootContext(ContextClasses.NestedContexts.class)).run(new RunNotifier());
+      subject.runFinished();
+
+      assertThat(state().hasChanged(ContextClasses.NestedContexts.class), equalTo(false));
+      assertThat(state().hasChanged(ContextClasses.NestedContexts.one.class), equalTo(false));
+      assertThat(Files.exists(state().getFile()), equalTo(true));
+    }
+
+    @Test
+    public void givenARunThatStoppedEarly_onlyRecordsTheContextClassesWhoseSpecsAllRan() throws Exception {
+      FailedFirstOrder subject = new FailedFirstOrder(state());
+      RunNotifier notifier = new RunNotifier();
+      notifier.addListener(new RunListener() {
+        @Override
+        public void testFinished(Description description) { notifier.pleaseStop(); }
+      });
+
+      try {
+        subject.arrange(ContextFactory.createRootContext(ContextClasses.NestedContexts.class)).run(notifier);
+      } catch(StoppedByUserException e) { }
+      subject.runFinished();
+
+      //Either sub-context may run first; only that one ran
+      assertThat(state().hasChanged(ContextClasses.NestedContexts.one.class),
+        equalTo(!state().hasChanged(ContextClasses.NestedContexts.two.class)));
+      assertThat(state().hasChanged(ContextClasses.NestedContexts.class), equalTo(true));
+    }
+
+    @Test
+    public void givenARunThatStoppedEarly_doesNotRecordSpecsThatNeverStartedAsFailed() throws Exception {
+      FailedFirstOrder subject = new FailedFirstOrder(state());
+      Context root = ContextFactory.createRootContext(ContextClasses.TwoIt.class);
+      RunNotifier notifier = new RunNotifier();
+      notifier.pleaseStop();
+
+      try {
+        subject.arrange(root).run(notifier);
+      } catch(StoppedByUserException e) { }
+
+      assertThat(state().failedLastTime(specIds(root).get(0)), equalTo(false));
+    }
+  }
+
+  private void run(Context root) {
+    RunNotifier notifier = new RunNotifier();
+    notifier.addListener(new RunListenerSpy(events::add));
+    new FailedFirstOrder(state()).arrange(root).run(notifier);
+  }
+
+  private RunState state() {
+    if(state == null)
+      state = RunState.open(folder.getRoot().toPath().resolve("state"));
+
+    return state;
+  }
+
+  private static List<String> specIds(Context context) {
+    return context.getSpecs().map(Spec::getId).collect(toList());
+  }
+
+  private List<String> startedMethodNames() {
+    return events.stream()
+      .filter(x -> "testStarted".equals(x.name))
+      .map(Event::describedMethodName)
+      .collect(toList());
+  }
+}
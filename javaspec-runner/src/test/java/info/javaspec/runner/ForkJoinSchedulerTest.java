@@ -0,0 +1,193 @@
+package info.javaspec.runner;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.context.Context;
+import info.javaspec.context.ContextFactory;
+import info.javaspec.junit.RunListenerSpy;
+import info.javaspec.junit.RunListenerSpy.Event;
+import info.javaspec.lifecycle.Phase;
+import info.javaspec.lifecycle.SpecListener;
+import info.javaspec.lifecycle.SpecListeners;
+import info.javaspec.spec.Spec;
+import info.javaspecproto.ContextClasses;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.RunNotifier;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static info.javaspec.testutil.Assertions.capture;
+import static java.util.Collections.synchronizedList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ForkJoinSchedulerTest {
+  private final List<Event> events = synchronizedList(new LinkedList<>());
+
+  public class constructor {
+    @Test
+    public void givenLessThan1Thread_throwsIllegalArgumentException() throws Exception {
+      capture(IllegalArgumentException.class, () -> new ForkJoinScheduler(0));
+    }
+  }
+
+  public class run {
+    @Test
+    public void runsEverySpecInTheContextTree() throws Exception {
+      Context root = ContextFactory.createRootContext(ContextClasses.NestedContexts.class);
+      new ForkJoinScheduler(2).run(root, notifierWithSpy());
+      assertThat(finishedMethodNames(), containsInAnyOrder("asserts one", "asserts two"));
+    }
+
+    @Test
+    public void runsSpecsConcurrently() throws Exception {
+      CyclicBarrier bothRunning = new CyclicBarrier(2);
+      Context root = contextWithSpecs(new BarrierSpec("left", bothRunning), new BarrierSpec("right", bothRunning));
+      new ForkJoinScheduler(2).run(root, notifierWithSpy());
+      assertThat(finishedMethodNames(), containsInAnyOrder("left", "right"));
+    }
+
+    @Test
+    public void givenASpecThatThrows_propagatesTheException() throws Exception {
+      Context root = contextWithSpecs(new ExplodingSpec());
+      UnsupportedOperationException ex = capture(UnsupportedOperationException.class,
+        () -> new ForkJoinScheduler(1).run(root, mock(RunNotifier.class)));
+      assertThat(ex.getMessage(), equalTo("exploding spec"));
+    }
+
+    @Test
+    public void givenAContextThatRunsSubContextsFirst_startsThemBeforeItsOwnSpecs() throws Exception {
+      Spec ownSpec = new BarrierSpec("own", new CyclicBarrier(1));
+      Context subContext = contextWithSpecs(new BarrierSpec("nested", new CyclicBarrier(1)));
+      Context root = new ArrangedContext(contextWithSpecs(ownSpec), Collections.singletonList(ownSpec),
+        Collections.singletonList(subContext), true);
+
+      new ForkJoinScheduler(1).run(root, notifierWithSpy());
+      assertThat(finishedMethodNames(), contains("nested", "own"));
+    }
+
+    public class givenASpecListener {
+      private final List<String> lifecycle = synchronizedList(new LinkedList<>());
+      private final SpecListener listener = new SpecListener() {
+        @Override
+        public void contextStarting(String contextId) {
+          lifecycle.add("starting " + contextId);
+        }
+
+        @Override
+        public void phaseFinished(String contextId, String specId, Phase phase, long nanos) { }
+
+        @Override
+        public void specFinished(String contextId, String specId, long nanos) {
+          lifecycle.add("spec in " + contextId);
+        }
+
+        @Override
+        public void contextFinished(String contextId, long nanos) {
+          lifecycle.add("finished " + contextId);
+        }
+      };
+
+      @Before
+      public void addListener() {
+        SpecListeners.add(listener);
+      }
+
+      @After
+      public void removeListener() {
+        SpecListeners.remove(listener);
+      }
+
+      @Test
+      public void startsEachContextBeforeItsSpecsAndFinishesItAfterThem() throws Exception {
+        Context root = ContextFactory.createRootContext(ContextClasses.NestedContexts.class);
+        new ForkJoinScheduler(2).run(root, notifierWithSpy());
+
+        assertThat(lifecycle.get(0), equalTo("starting " + root.getId()));
+        assertThat(lifecycle.get(lifecycle.size() - 1), equalTo("finished " + root.getId()));
+        root.getSubContexts().forEach(x -> {
+          int started = lifecycle.indexOf("starting " + x.getId());
+          int ranSpec = lifecycle.indexOf("spec in " + x.getId());
+          int finished = lifecycle.indexOf("finished " + x.getId());
+          assertThat(started >= 0 && started < ranSpec && ranSpec < finished, equalTo(true));
+        });
+      }
+    }
+  }
+
+  private RunNotifier notifierWithSpy() {
+    RunNotifier notifier = new RunNotifier();
+    notifier.addListener(new RunListenerSpy(events::add));
+    return notifier;
+  }
+
+  private List<String> finishedMethodNames() {
+    return events.stream()
+      .filter(x -> "testFinished".equals(x.name))
+      .map(Event::describedMethodName)
+      .collect(toList());
+  }
+
+  private static Context contextWithSpecs(Spec... specs) {
+    Context context = ContextFactory.createRootContext(ContextClasses.Empty.class);
+    for(Spec spec : specs)
+      context.addSpec(spec);
+
+    return context;
+  }
+
+  private static final class BarrierSpec extends Spec {
+    private final Description description;
+    private final CyclicBarrier barrier;
+
+    public BarrierSpec(String id, CyclicBarrier barrier) {
+      super(id);
+      this.description = Description.createTestDescription("BarrierSpec", id, id);
+      this.barrier = barrier;
+    }
+
+    @Override
+    public Description getDescription() { return description; }
+
+    @Override
+    public void addDescriptionTo(Description suite) { suite.addChild(description); }
+
+    @Override
+    public void run(RunNotifier notifier) {
+      notifier.fireTestStarted(description);
+      try {
+        barrier.await(5, TimeUnit.SECONDS);
+      } catch(Exception e) {
+        throw new AssertionError("Specs did not run concurrently", e);
+      }
+      notifier.fireTestFinished(description);
+    }
+  }
+
+  private static final class ExplodingSpec extends Spec {
+    private final Description description = Description.createTestDescription("ExplodingSpec", "explodes");
+
+    public ExplodingSpec() { super("explodes"); }
+
+    @Override
+    public Description getDescription() { return description; }
+
+    @Override
+    public void addDescriptionTo(Description suite) { suite.addChild(description); }
+
+    @Override
+    public void run(RunNotifier notifier) { throw new UnsupportedOperationException("exploding spec"); }
+  }
+}
@@ -0,0 +1,90 @@
+package info.javaspec.runner;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.discovery.ClassDependencies;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ImpactFilterTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  public class everything {
+    @Test
+    public void includesEveryContext() throws Exception {
+      ImpactFilter subject = ImpactFilter.everything();
+      assertThat(subject.selectsEverything(), equalTo(true));
+      assertThat(subject.includes("a.ServiceSpec"), equalTo(true));
+    }
+  }
+
+  public class includes {
+    @Test
+    public void givenAContextThatDependsOnAChangedClass_returnsTrue() throws Exception {
+      ImpactFilter subject = ImpactFilter.of(Collections.singletonList("a.Repository"), dependencies());
+      assertThat(subject.selectsEverything(), equalTo(false));
+      assertThat(subject.includes("a.ServiceSpec"), equalTo(true));
+      assertThat(subject.includes("a.RepositorySpec"), equalTo(true));
+    }
+
+    @Test
+    public void givenAContextThatDoesNotDependOnAnyChangedClass_returnsFalse() throws Exception {
+      ImpactFilter subject = ImpactFilter.of(Arrays.asList("a.Service", "java.util.Map"), dependencies());
+      assertThat(subject.includes("a.RepositorySpec"), equalTo(false));
+      assertThat(subject.includes("a.Spec"), equalTo(false));
+    }
+
+    @Test
+    public void givenAContextThatIsNotInTheDependencies_returnsTrue() throws Exception {
+      ImpactFilter subject = ImpactFilter.of(Collections.singletonList("a.Service"), dependencies());
+      assertThat(subject.includes("a.NewSpec"), equalTo(true));
+    }
+
+    @Test
+    public void givenNoChangedClasses_returnsFalseForKnownContexts() throws Exception {
+      ImpactFilter subject = ImpactFilter.of(Collections.emptyList(), dependencies());
+      assertThat(subject.includes("a.ServiceSpec"), equalTo(false));
+    }
+  }
+
+  public class ofSaved {
+    @Test
+    public void readsDependenciesFromTheFile() throws Exception {
+      Path file = folder.getRoot().toPath().resolve("dependencies");
+      dependencies().save(file);
+      ImpactFilter subject = ImpactFilter.ofSaved(Collections.singletonList("a.Service"), file);
+      assertThat(subject.includes("a.ServiceSpec"), equalTo(true));
+      assertThat(subject.includes("a.RepositorySpec"), equalTo(false));
+    }
+
+    @Test
+    public void givenAMissingFile_includesEveryContext() throws Exception {
+      Path file = folder.getRoot().toPath().resolve("missing");
+      ImpactFilter subject = ImpactFilter.ofSaved(Collections.singletonList("a.Service"), file);
+      assertThat(subject.includes("a.RepositorySpec"), equalTo(true));
+    }
+  }
+
+  private static ClassDependencies dependencies() {
+    Map<String, Set<String>> references = new HashMap<>();
+    references.put("a.Repository", Collections.emptySet());
+    references.put("a.Service", Collections.singleton("a.Repository"));
+    references.put("a.ServiceSpec", Collections.singleton("a.Service"));
+    references.put("a.RepositorySpec", Collections.singleton("a.Repository"));
+    references.put("a.Spec", Collections.singleton("java.lang.Object"));
+    return ClassDependencies.of(references);
+  }
+}
@@ -2,20 +2,44 @@
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import info.javaspec.context.Context;
+import info.javaspec.context.ContextFactory;
 import info.javaspec.context.FakeContext;
 import info.javaspec.context.MockContext;
 import info.javaspec.runner.JavaSpecRunner.NoSpecs;
 import info.javaspec.runner.JavaSpecRunner.TooManySpecs;
+import info.javaspecproto.ContextClasses;
+import org.junit.After;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.Description;
+import org.junit.runner.Result;
 import org.junit.runner.RunWith;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.RunListener;
 import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Properties;
+
 import static info.javaspec.testutil.Assertions.capture;
 import static info.javaspec.testutil.Matchers.matchesRegex;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.Mockito.mock;
@@ -23,6 +47,9 @@
 
 @RunWith(HierarchicalContextRunner.class)
 public class JavaSpecRunnerTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
   private Runner subject;
 
   public class constructor {
@@ -34,6 +61,102 @@ public void givenAClassWithoutAnySpecs_throwsNoSpecs() throws Exception {
     }
   }
 
+  public class filter {
+    private JavaSpecRunner runner;
+
+    @Test
+    public void givenAFilter_describesAndCountsOnlyTheSpecsThatPassIt() throws Exception {
+      runner = new JavaSpecRunner(ContextFactory.createRootContext(ContextClasses.TwoContexts.class));
+      Description second = runner.getDescription().getChildren().get(1).getChildren().get(0);
+      runner.filter(Filter.matchMethodDescription(second));
+      assertThat(runner.testCount(), equalTo(1));
+      assertThat(runner.getDescription().getChildren().size(), equalTo(1));
+      assertThat(runner.getDescription().getChildren().get(0).getChildren(), contains(second));
+    }
+
+    @Test
+    public void givenAFilterThatNoSpecPasses_throwsNoTestsRemain() throws Exception {
+      runner = new JavaSpecRunner(ContextFactory.createRootContext(ContextClasses.TwoContexts.class));
+      capture(NoTestsRemainException.class, () -> runner.filter(Filter.matchMethodDescription(
+        Description.createTestDescription("TwoContexts", "missing", "TwoContexts#missing"))));
+    }
+
+    @Test
+    public void givenASpecFilter_keepsOnlyThatSpecAndTheContextsEnclosingIt() throws Exception {
+      runner = new JavaSpecRunner(ContextFactory.createRootContext(ContextClasses.TwoContexts.class));
+      runner.filter(SpecFilter.forSpec("info.javaspecproto.ContextClasses.TwoContexts.subcontext2#asserts"));
+      assertThat(runner.testCount(), equalTo(1));
+      assertThat(runner.getDescription().getChildren().get(0).getDisplayName(), equalTo("subcontext2"));
+    }
+
+    public class givenASharedFixtureWithSpecsThatAreFilteredOut {
+      private final List<String> events = new LinkedList<>();
+
+      @After
+      public void releaseSpy() {
+        ContextClasses.SharedFullFixture.setEventListener(null);
+      }
+
+      @Test
+      public void stillCleansUpAfterTheRemainingSpec() throws Exception {
+        ContextClasses.SharedFullFixture.setEventListener(events::add);
+        runner = new JavaSpecRunner(ContextFactory.createRootContext(ContextClasses.SharedFullFixture.class));
+        runner.filter(SpecFilter.forSpec("info.javaspecproto.ContextClasses.SharedFullFixture#asserts_two"));
+        runner.run(new RunNotifier());
+        assertThat(events, contains(
+          "ContextClasses.SharedFullFixture::new",
+          "ContextClasses.SharedFullFixture::arrange",
+          "ContextClasses.SharedFullFixture::act",
+          "ContextClasses.SharedFullFixture::assert_two",
+          "ContextClasses.SharedFullFixture::cleans"));
+      }
+    }
+
+    public class givenASharedFixtureAndARunThatStopsPartWayThrough {
+      private final List<String> events = new LinkedList<>();
+
+      @After
+      public void releaseSpy() {
+        ContextClasses.SharedFullFixture.setEventListener(null);
+      }
+
+      @Test
+      public void cleansUpWhenTheContextFinishes() throws Exception {
+        ContextClasses.SharedFullFixture.setEventListener(events::add);
+        runner = new JavaSpecRunner(ContextFactory.createRootContext(ContextClasses.SharedFullFixture.class));
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new RunListener() {
+          @Override
+          public void testFinished(Description description) {
+            notifier.pleaseStop();
+          }
+        });
+
+        try {
+          runner.run(notifier);
+        } catch(StoppedByUserException e) { }
+
+        assertThat(events, contains(
+          "ContextClasses.SharedFullFixture::new",
+          "ContextClasses.SharedFullFixture::arrange",
+          "ContextClasses.SharedFullFixture::act",
+          "ContextClasses.SharedFullFixture::assert_one",
+          "ContextClasses.SharedFullFixture::cleans"));
+      }
+    }
+  }
+
+  public class sort {
+    @Test
+    public void describesTheSpecsAndContextsInTheOrderOfTheSorter() throws Exception {
+      JavaSpecRunner runner = new JavaSpecRunner(ContextFactory.createRootContext(ContextClasses.TwoContexts.class));
+      Comparator<Description> byName = Comparator.comparing(Description::getDisplayName);
+      runner.sort(new Sorter(byName.reversed()));
+      assertThat(runner.getDescription().getChildren().get(0).getDisplayName(), equalTo("subcontext2"));
+      assertThat(runner.testCount(), equalTo(2));
+    }
+  }
+
   public class getDescription {
     @Test
     public void delegatesToTheRootContext() throws Exception {
@@ -51,6 +174,37 @@ public void delegatesToTheRootContext() {
       subject.run(mock(RunNotifier.class));
       verify(rootContext).run(Mockito.any());
     }
+
+    @Test
+    public void givenAConsole_printsReportsOnTheRunThereWhenItFinishes() throws Exception {
+      Properties properties = new Properties();
+      properties.setProperty(RunnerConfig.LATENCY, "1");
+      ByteArrayOutputStream console = new ByteArrayOutputStream();
+      subject = new JavaSpecRunner(ContextFactory.createRootContext(ContextClasses.OneIt.class),
+        RunnerConfig.fromProperties(properties), new PrintStream(console, true));
+
+      RunNotifier notifier = new RunNotifier();
+      subject.run(notifier);
+      assertThat(console.toString(), equalTo(""));
+      notifier.fireTestRunFinished(new Result());
+      assertThat(console.toString(), containsString("ContextClasses.OneIt#only_test"));
+    }
+
+    @Test
+    public void givenAResultReport_finishesItWhenTheRunFinishes() throws Exception {
+      Path file = folder.getRoot().toPath().resolve("results.xml");
+      Properties properties = new Properties();
+      properties.setProperty(RunnerConfig.XML_REPORT, file.toString());
+      subject = new JavaSpecRunner(ContextFactory.createRootContext(ContextClasses.OneIt.class),
+        RunnerConfig.fromProperties(properties));
+
+      RunNotifier notifier = new RunNotifier();
+      subject.run(notifier);
+      notifier.fireTestRunFinished(new Result());
+      String xml = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+      assertThat(xml, containsString("tests=\"1\""));
+      assertThat(xml, endsWith("</testsuite>\n"));
+    }
   }
 
   public class testCount {
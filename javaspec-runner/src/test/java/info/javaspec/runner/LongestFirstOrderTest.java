@@ -0,0 +1,138 @@
+package info.javaspec.runner;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.context.Context;
+import info.javaspec.context.ContextFactory;
+import info.javaspec.history.SpecHistory;
+import info.javaspec.spec.Spec;
+import info.javaspecproto.ContextClasses;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.RunNotifier;
+
+import java.nio.file.Files;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+@RunWith(HierarchicalContextRunner.class)
+public class LongestFirstOrderTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final List<String> ran = new LinkedList<>();
+  private SpecHistory history;
+
+  public class arrange {
+    @Test
+    public void ordersSpecsByTheirRecordedDurationLongestFirst() throws Exception {
+      history().record("short", 1);
+      history().record("long", 100);
+      history().record("medium", 10);
+      Context root = contextWithSpecs(new RecordingSpec("short"), new RecordingSpec("long"),
+        new RecordingSpec("medium"));
+
+      new LongestFirstOrder(history()).arrange(root).run(new RunNotifier());
+      assertThat(ran, contains("long", "medium", "short"));
+    }
+
+    @Test
+    public void ordersSpecsThatHaveNotRunBeforeFirst() throws Exception {
+      history().record("known", 100);
+      Context root = contextWithSpecs(new RecordingSpec("known"), new RecordingSpec("unknown"));
+
+      new LongestFirstOrder(history()).arrange(root).run(new RunNotifier());
+      assertThat(ran, contains("unknown", "known"));
+    }
+
+    @Test
+    public void keepsDeclarationOrderForSpecsWithTheSameDuration() throws Exception {
+      history().record("first", 5);
+      history().record("second", 5);
+      Context root = contextWithSpecs(new RecordingSpec("first"), new RecordingSpec("second"));
+
+      new LongestFirstOrder(history()).arrange(root).run(new RunNotifier());
+      assertThat(ran, contains("first", "second"));
+    }
+
+    @Test
+    public void describesTheContextTheSameAsTheOriginal() throws Exception {
+      Context root = ContextFactory.createRootContext(ContextClasses.NestedContexts.class);
+      Context arranged = new LongestFirstOrder(history()).arrange(root);
+      assertThat(arranged.getDescription(), sameInstance(root.getDescription()));
+      assertThat(arranged.numSpecs(), equalTo(root.numSpecs()));
+    }
+
+    @Test
+    public void recordsHowLongEachSpecTook() throws Exception {
+      Context root = contextWithSpecs(new RecordingSpec("spec"));
+      new LongestFirstOrder(history()).arrange(root).run(new RunNotifier());
+      assertThat(history().expectedNanos("spec").getAsLong(), greaterThanOrEqualTo(0L));
+    }
+  }
+
+  public class runFinished {
+    @Test
+    public void savesTheHistory() throws Exception {
+      Context root = contextWithSpecs(new RecordingSpec("spec"));
+      LongestFirstOrder subject = new LongestFirstOrder(history());
+      subject.arrange(root).run(new RunNotifier());
+      subject.runFinished();
+      assertThat(Files.exists(history().getFile()), equalTo(true));
+    }
+
+    @Test
+    public void recordsTheTotalForTheSpecsInTheRootContext() throws Exception {
+      history().record("first", 5);
+      history().record("second", 7);
+      Context root = contextWithSpecs(new RecordingSpec("first"), new RecordingSpec("second"));
+      LongestFirstOrder subject = new LongestFirstOrder(history());
+      subject.arrange(root);
+      subject.runFinished();
+      assertThat(history().expectedNanos(root.getId()), equalTo(OptionalLong.of(12)));
+    }
+  }
+
+  private SpecHistory history() {
+    if(history == null)
+      history = SpecHistory.open(folder.getRoot().toPath().resolve("history"));
+
+    return history;
+  }
+
+  private static Context contextWithSpecs(Spec... specs) {
+    Context context = ContextFactory.createRootContext(ContextClasses.Empty.class);
+    for(Spec spec : specs)
+      context.addSpec(spec);
+
+    return context;
+  }
+
+  private final class RecordingSpec extends Spec {
+    private final Description description;
+
+    public RecordingSpec(String id) {
+      super(id);
+      this.description = Description.createTestDescription("RecordingSpec", id, id);
+    }
+
+    @Override
+    public Description getDescription() { return description; }
+
+    @Override
+    public void addDescriptionTo(Description suite) { suite.addChild(description); }
+
+    @Override
+    public void run(RunNotifier notifier) { ran.add(getId()); }
+  }
+}
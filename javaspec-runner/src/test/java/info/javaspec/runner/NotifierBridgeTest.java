@@ -0,0 +1,137 @@
+package info.javaspec.runner;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.junit.RunListenerSpy;
+import info.javaspec.junit.RunListenerSpy.Event;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static info.javaspec.testutil.Assertions.capture;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@RunWith(HierarchicalContextRunner.class)
+public class NotifierBridgeTest {
+  private final List<Event> events = new LinkedList<>();
+  private final List<Thread> deliveredOn = new LinkedList<>();
+  private final RunNotifier target = new RunNotifier();
+  private NotifierBridge subject;
+
+  public class deliverUntil {
+    @Test
+    public void deliversEachSpecsNotificationsTogetherInTheOrderTheSpecFiredThem() throws Exception {
+      listenToTarget();
+      subject = new NotifierBridge(target);
+      int numSpecs = 20;
+      CountDownLatch allPublished = new CountDownLatch(numSpecs);
+      IntStream.range(0, numSpecs).forEach(i -> new Thread(() -> {
+        RunNotifier specNotifier = subject.newSpecNotifier();
+        Description description = Description.createTestDescription("Spec", "spec" + i, i);
+        specNotifier.fireTestStarted(description);
+        specNotifier.fireTestFailure(new Failure(description, new AssertionError("fails")));
+        specNotifier.fireTestFinished(description);
+        subject.publish(specNotifier);
+        allPublished.countDown();
+      }).start());
+
+      subject.deliverUntil(() -> allPublished.getCount() == 0);
+      assertThat(events.size(), equalTo(3 * numSpecs));
+      for(int group = 0; group < numSpecs; group++) {
+        List<Event> specEvents = events.subList(3 * group, 3 * group + 3);
+        assertThat(specEvents.stream().map(Event::getName).collect(toList()),
+          contains("testStarted", "testFailure", "testFinished"));
+        assertThat(specEvents.stream().map(Event::describedMethodName).distinct().count(), equalTo(1L));
+      }
+    }
+
+    @Test
+    public void callsListenersOnTheThreadThatCreatedTheBridge() throws Exception {
+      listenToTarget();
+      subject = new NotifierBridge(target);
+      Thread worker = new Thread(() -> {
+        RunNotifier specNotifier = subject.newSpecNotifier();
+        specNotifier.fireTestIgnored(Description.createTestDescription("Spec", "ignored"));
+        subject.publish(specNotifier);
+      });
+
+      worker.start();
+      subject.deliverUntil(() -> !worker.isAlive());
+      assertThat(deliveredOn, contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void holdsBackNotificationsUntilTheSpecIsPublished() throws Exception {
+      listenToTarget();
+      subject = new NotifierBridge(target);
+      RunNotifier specNotifier = subject.newSpecNotifier();
+      specNotifier.fireTestStarted(Description.createTestDescription("Spec", "unpublished"));
+      subject.deliverUntil(() -> true);
+      assertThat(events, empty());
+    }
+
+    @Test
+    public void givenAListenerThatAsksToStop_throwsStoppedByUserAndStopsStartingNewSpecs() throws Exception {
+      target.addListener(new RunListener() {
+        @Override
+        public void testFinished(Description description) { target.pleaseStop(); }
+      });
+
+      subject = new NotifierBridge(target);
+      RunNotifier first = subject.newSpecNotifier();
+      first.fireTestStarted(Description.createTestDescription("Spec", "first"));
+      first.fireTestFinished(Description.createTestDescription("Spec", "first"));
+      subject.publish(first);
+      RunNotifier second = subject.newSpecNotifier();
+      second.fireTestStarted(Description.createTestDescription("Spec", "second"));
+      subject.publish(second);
+
+      capture(StoppedByUserException.class, () -> subject.deliverUntil(() -> true));
+      capture(StoppedByUserException.class,
+        () -> subject.newSpecNotifier().fireTestStarted(Description.createTestDescription("Spec", "third")));
+    }
+
+    @Test
+    public void givenAListenerThatAsksToStop_deliversNothingForASpecThatTheNotifierRefusesToStart() throws Exception {
+      listenToTarget();
+      target.addListener(new RunListener() {
+        @Override
+        public void testFinished(Description description) { target.pleaseStop(); }
+      });
+
+      subject = new NotifierBridge(target);
+      Description first = Description.createTestDescription("Spec", "first");
+      Description second = Description.createTestDescription("Spec", "second");
+      RunNotifier firstNotifier = subject.newSpecNotifier();
+      firstNotifier.fireTestStarted(first);
+      firstNotifier.fireTestFinished(first);
+      subject.publish(firstNotifier);
+      RunNotifier secondNotifier = subject.newSpecNotifier();
+      secondNotifier.fireTestStarted(second);
+      secondNotifier.fireTestFailure(new Failure(second, new AssertionError("fails")));
+      secondNotifier.fireTestFinished(second);
+      subject.publish(secondNotifier);
+
+      capture(StoppedByUserException.class, () -> subject.deliverUntil(() -> true));
+      assertThat(events.stream().map(x -> x.getName() + " " + x.describedMethodName()).collect(toList()),
+        contains("testStarted first", "testFinished first"));
+    }
+  }
+
+  private void listenToTarget() {
+    target.addListener(new RunListenerSpy(event -> {
+      events.add(event);
+      deliveredOn.add(Thread.currentThread());
+    }));
+  }
+}
@@ -0,0 +1,46 @@
+package info.javaspec.runner;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import org.junit.Test;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.RunNotifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+@RunWith(HierarchicalContextRunner.class)
+public class RunFinishedListenerTest {
+  private final RunNotifier notifier = new RunNotifier();
+  private final List<String> events = new ArrayList<>();
+
+  public class listen {
+    @Test
+    public void waitsForTheRunToFinish() throws Exception {
+      RunFinishedListener.listen(notifier, () -> events.add("finished"));
+      assertThat(events, empty());
+      notifier.fireTestRunFinished(new Result());
+      assertThat(events, contains("finished"));
+    }
+
+    @Test
+    public void givenANotifierThatIsAlreadyListenedTo_keepsTheFirstAction() throws Exception {
+      RunFinishedListener.listen(notifier, () -> events.add("first"));
+      RunFinishedListener.listen(notifier, () -> events.add("second"));
+      notifier.fireTestRunFinished(new Result());
+      assertThat(events, contains("first"));
+    }
+
+    @Test
+    public void runsTheActionOnlyOnce() throws Exception {
+      RunFinishedListener.listen(notifier, () -> events.add("finished"));
+      notifier.fireTestRunFinished(new Result());
+      notifier.fireTestRunFinished(new Result());
+      assertThat(events, contains("finished"));
+    }
+  }
+}
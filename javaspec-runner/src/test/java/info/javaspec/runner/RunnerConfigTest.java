@@ -0,0 +1,264 @@
+package info.javaspec.runner;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.runner.RunnerConfig.InvalidOption;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import static info.javaspec.testutil.Assertions.capture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+
+@RunWith(HierarchicalContextRunner.class)
+public class RunnerConfigTest {
+  private final Properties properties = new Properties();
+
+  public class scheduler {
+    @Test
+    public void givenNoExecutionMode_returnsASequentialScheduler() throws Exception {
+      assertThat(subject().scheduler(), not(instanceOf(ForkJoinScheduler.class)));
+    }
+
+    @Test
+    public void givenForkJoin_returnsAForkJoinSchedulerWithTheConfiguredParallelism() throws Exception {
+      properties.setProperty(RunnerConfig.EXECUTION, "forkjoin");
+      properties.setProperty(RunnerConfig.PARALLELISM, "3");
+      ForkJoinScheduler returned = (ForkJoinScheduler)subject().scheduler();
+      assertThat(returned.getParallelism(), equalTo(3));
+    }
+
+    @Test
+    public void givenVirtual_returnsAThreadPerSpecSchedulerLimitedToTheConfiguredParallelism() throws Exception {
+      properties.setProperty(RunnerConfig.EXECUTION, "virtual");
+      properties.setProperty(RunnerConfig.PARALLELISM, "1000");
+      ThreadPerSpecScheduler returned = (ThreadPerSpecScheduler)subject().scheduler();
+      assertThat(returned.getMaxConcurrentSpecs(), equalTo(1000));
+    }
+
+    @Test
+    public void givenVirtualWithoutParallelism_allowsManyMoreSpecsThanProcessorsToRunAtOnce() throws Exception {
+      properties.setProperty(RunnerConfig.EXECUTION, "virtual");
+      ThreadPerSpecScheduler returned = (ThreadPerSpecScheduler)subject().scheduler();
+      assertThat(returned.getMaxConcurrentSpecs(), equalTo(256));
+    }
+
+    @Test
+    public void givenAnUnknownExecutionMode_throwsInvalidOption() throws Exception {
+      properties.setProperty(RunnerConfig.EXECUTION, "bogus");
+      InvalidOption ex = capture(InvalidOption.class, () -> subject().scheduler());
+      assertThat(ex.getMessage(), equalTo("Invalid value for javaspec.execution: bogus"));
+    }
+  }
+
+  public class runOrder {
+    @Test
+    public void givenNoOrder_returnsDeclarationOrder() throws Exception {
+      assertThat(subject().runOrder(), not(instanceOf(LongestFirstOrder.class)));
+    }
+
+    @Test
+    public void givenLongestFirst_returnsLongestFirstOrderUsingTheConfiguredHistory() throws Exception {
+      Path historyFile = Files.createTempDirectory("javaspec").resolve("history");
+      properties.setProperty(RunnerConfig.ORDER, "longest-first");
+      properties.setProperty(RunnerConfig.HISTORY, historyFile.toString());
+      LongestFirstOrder returned = (LongestFirstOrder)subject().runOrder();
+      assertThat(returned.getHistory().getFile(), equalTo(historyFile.toAbsolutePath()));
+    }
+
+    @Test
+    public void givenFailedFirst_returnsFailedFirstOrderUsingTheConfiguredRunState() throws Exception {
+      Path stateFile = Files.createTempDirectory("javaspec").resolve("state");
+      properties.setProperty(RunnerConfig.ORDER, "failed-first");
+      properties.setProperty(RunnerConfig.STATE, stateFile.toString());
+      FailedFirstOrder returned = (FailedFirstOrder)subject().runOrder();
+      assertThat(returned.getState().getFile(), equalTo(stateFile.toAbsolutePath()));
+    }
+
+    @Test
+    public void givenAnUnknownOrder_throwsInvalidOption() throws Exception {
+      properties.setProperty(RunnerConfig.ORDER, "random");
+      InvalidOption ex = capture(InvalidOption.class, () -> subject().runOrder());
+      assertThat(ex.getMessage(), equalTo("Invalid value for javaspec.order: random"));
+    }
+  }
+
+  public class timingsReport {
+    @Test
+    public void givenNoFile_returnsEmpty() throws Exception {
+      assertThat(subject().timingsReport().isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void givenAFile_returnsThatFile() throws Exception {
+      properties.setProperty(RunnerConfig.TIMINGS, "target/timings.json");
+      assertThat(subject().timingsReport().get().toString(), equalTo("target/timings.json"));
+    }
+  }
+
+  public class usageReportSize {
+    @Test
+    public void givenNoValue_returnsEmpty() throws Exception {
+      assertThat(subject().usageReportSize().isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void givenAPositiveNumber_returnsThatNumber() throws Exception {
+      properties.setProperty(RunnerConfig.USAGE, "10");
+      assertThat(subject().usageReportSize().get(), equalTo(10));
+    }
+
+    @Test
+    public void givenSomethingOtherThanAPositiveNumber_throwsInvalidOption() throws Exception {
+      properties.setProperty(RunnerConfig.USAGE, "-1");
+      InvalidOption ex = capture(InvalidOption.class, () -> subject().usageReportSize());
+      assertThat(ex.getMessage(), equalTo("Invalid value for javaspec.usage: -1"));
+    }
+  }
+
+  public class latencyReportSize {
+    @Test
+    public void givenNoValue_returnsEmpty() throws Exception {
+      assertThat(subject().latencyReportSize().isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void givenAPositiveNumber_returnsThatNumber() throws Exception {
+      properties.setProperty(RunnerConfig.LATENCY, "20");
+      assertThat(subject().latencyReportSize().get(), equalTo(20));
+    }
+  }
+
+  public class junitXmlReport {
+    @Test
+    public void givenNoValue_returnsEmpty() throws Exception {
+      assertThat(subject().junitXmlReport().isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void givenAPath_returnsThatPath() throws Exception {
+      properties.setProperty(RunnerConfig.XML_REPORT, "target/javaspec.xml");
+      assertThat(subject().junitXmlReport().get(), equalTo(Paths.get("target/javaspec.xml")));
+    }
+  }
+
+  public class ndjsonReport {
+    @Test
+    public void givenNoValue_returnsEmpty() throws Exception {
+      assertThat(subject().ndjsonReport().isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void givenAPath_returnsThatPath() throws Exception {
+      properties.setProperty(RunnerConfig.NDJSON_REPORT, "target/javaspec.ndjson");
+      assertThat(subject().ndjsonReport().get(), equalTo(Paths.get("target/javaspec.ndjson")));
+    }
+  }
+
+  public class indexCache {
+    @Test
+    public void givenNoValue_returnsEmpty() throws Exception {
+      assertThat(subject().indexCache().isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void givenAPath_opensTheCacheInThatFile() throws Exception {
+      Path file = Files.createTempDirectory("javaspec").resolve("discovery");
+      properties.setProperty(RunnerConfig.CACHE, file.toString());
+      assertThat(subject().indexCache().get().getFile(), equalTo(file));
+    }
+  }
+
+  public class tagFilter {
+    @Test
+    public void givenNoValue_selectsEverything() throws Exception {
+      assertThat(subject().tagFilter().selectsEverything(), equalTo(true));
+    }
+
+    @Test
+    public void givenTags_includesAndExcludesThem() throws Exception {
+      properties.setProperty(RunnerConfig.TAGS, "fast, !perf");
+      assertThat(subject().tagFilter().toString(), equalTo("fast,!perf"));
+    }
+
+    @Test
+    public void givenAnEmptyTag_throwsInvalidOption() throws Exception {
+      properties.setProperty(RunnerConfig.TAGS, "fast,,perf");
+      InvalidOption ex = capture(InvalidOption.class, () -> subject().tagFilter());
+      assertThat(ex.getMessage(), equalTo("Invalid value for javaspec.tags: fast,,perf"));
+    }
+  }
+
+  public class shard {
+    @Test
+    public void givenNoValue_returnsTheOnlyShard() throws Exception {
+      assertThat(subject().shard().getCount(), equalTo(1));
+    }
+
+    @Test
+    public void givenAShard_returnsThatShard() throws Exception {
+      properties.setProperty(RunnerConfig.HISTORY, Files.createTempDirectory("javaspec").resolve("history").toString());
+      properties.setProperty(RunnerConfig.SHARD, "3/16");
+      assertThat(subject().shard().toString(), equalTo("3/16"));
+    }
+
+    @Test
+    public void givenSomethingOtherThanAShard_throwsInvalidOption() throws Exception {
+      properties.setProperty(RunnerConfig.SHARD, "17/16");
+      InvalidOption ex = capture(InvalidOption.class, () -> subject().shard());
+      assertThat(ex.getMessage(), equalTo("Invalid value for javaspec.shard: 17/16"));
+    }
+  }
+
+  public class impactFilter {
+    @Test
+    public void givenNoChangedClasses_selectsEverything() throws Exception {
+      assertThat(subject().changedClassNames().isPresent(), equalTo(false));
+      assertThat(subject().impactFilter().selectsEverything(), equalTo(true));
+    }
+
+    @Test
+    public void givenChangedClasses_selectsRootContextsThatDependOnThem() throws Exception {
+      properties.setProperty(RunnerConfig.DEPENDENCIES,
+        Files.createTempDirectory("javaspec").resolve("dependencies").toString());
+      properties.setProperty(RunnerConfig.CHANGED, " com.example.Widget, ,com.example.Gadget");
+      assertThat(subject().changedClassNames().get(), contains("com.example.Widget", "com.example.Gadget"));
+      assertThat(subject().impactFilter().toString(), equalTo("com.example.Widget,com.example.Gadget"));
+    }
+
+    @Test
+    public void givenNoDependenciesFile_readsTheDefaultFile() throws Exception {
+      assertThat(subject().dependenciesFile(), equalTo(Paths.get(".javaspec/dependencies")));
+    }
+  }
+
+  public class parallelism {
+    @Test
+    public void givenNoValue_returnsTheNumberOfAvailableProcessors() throws Exception {
+      assertThat(subject().parallelism(), equalTo(Runtime.getRuntime().availableProcessors()));
+    }
+
+    @Test
+    public void givenANonPositiveNumber_throwsInvalidOption() throws Exception {
+      properties.setProperty(RunnerConfig.PARALLELISM, "0");
+      capture(InvalidOption.class, () -> subject().parallelism());
+    }
+
+    @Test
+    public void givenSomethingOtherThanANumber_throwsInvalidOption() throws Exception {
+      properties.setProperty(RunnerConfig.PARALLELISM, "many");
+      capture(InvalidOption.class, () -> subject().parallelism());
+    }
+  }
+
+  private RunnerConfig subject() {
+    return RunnerConfig.fromProperties(properties);
+  }
+}
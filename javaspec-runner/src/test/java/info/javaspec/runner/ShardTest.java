@@ -0,0 +1,105 @@
+package info.javaspec.runner;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ShardTest {
+  public class parse {
+    @Test
+    public void givenAnIndexAndACount_returnsThatShard() throws Exception {
+      Shard shard = Shard.parse(" 2/16 ").get();
+      assertThat(shard.getIndex(), equalTo(2));
+      assertThat(shard.getCount(), equalTo(16));
+    }
+
+    @Test
+    public void givenAnIndexOutsideOfTheCount_returnsEmpty() throws Exception {
+      assertThat(Shard.parse("0/2").isPresent(), equalTo(false));
+      assertThat(Shard.parse("3/2").isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void givenSomethingElse_returnsEmpty() throws Exception {
+      assertThat(Shard.parse("half").isPresent(), equalTo(false));
+      assertThat(Shard.parse("99999999999/99999999999").isPresent(), equalTo(false));
+    }
+  }
+
+  public class includes {
+    @Test
+    public void givenTheOnlyShard_includesEveryContext() throws Exception {
+      assertThat(Shard.all().includes("a.Context"), equalTo(true));
+    }
+
+    @Test
+    public void assignsEachContextToExactlyOneShard() throws Exception {
+      Shard[] shards = IntStream.rangeClosed(1, 4).mapToObj(x -> Shard.parse(x + "/4").get()).toArray(Shard[]::new);
+      int[] sizes = new int[shards.length];
+      for(int i = 0; i < 1000; i++) {
+        String contextId = "com.example.widgets.WidgetSpec" + i;
+        int numIncluding = 0;
+        for(int s = 0; s < shards.length; s++) {
+          if(shards[s].includes(contextId)) {
+            numIncluding++;
+            sizes[s]++;
+          }
+        }
+
+        assertThat(numIncluding, equalTo(1));
+      }
+
+      for(int size : sizes)
+        assertThat(size, greaterThan(200));
+    }
+  }
+
+  public class balancedBy {
+    private final Map<String, Long> rootContextNanos = new HashMap<>();
+
+    @Test
+    public void assignsTheLongestContextsFirstToTheLeastBusyShard() throws Exception {
+      rootContextNanos.put("a.Long", 10L);
+      rootContextNanos.put("a.Medium", 6L);
+      rootContextNanos.put("a.Short", 5L);
+      rootContextNanos.put("a.Shorter", 1L);
+      Shard first = Shard.parse("1/2").get().balancedBy(rootContextNanos);
+      Shard second = Shard.parse("2/2").get().balancedBy(rootContextNanos);
+
+      assertThat(first.includes("a.Long"), equalTo(true));
+      assertThat(second.includes("a.Medium"), equalTo(true));
+      assertThat(second.includes("a.Short"), equalTo(true));
+      assertThat(first.includes("a.Shorter"), equalTo(true));
+      assertThat(second.includes("a.Long") || first.includes("a.Medium"), equalTo(false));
+    }
+
+    @Test
+    public void givenContextsThatTakeTheSameTime_assignsThemInOrderOfId() throws Exception {
+      rootContextNanos.put("a.Second", 1L);
+      rootContextNanos.put("a.First", 1L);
+      Shard first = Shard.parse("1/2").get().balancedBy(rootContextNanos);
+      assertThat(first.includes("a.First"), equalTo(true));
+      assertThat(first.includes("a.Second"), equalTo(false));
+    }
+
+    @Test
+    public void givenAContextThatIsNotInTheHistory_assignsItByHash() throws Exception {
+      rootContextNanos.put("a.Known", 1L);
+      Shard hashed = Shard.parse("3/4").get();
+      Shard balanced = hashed.balancedBy(rootContextNanos);
+      for(int i = 0; i < 100; i++) {
+        String contextId = "com.example.widgets.WidgetSpec" + i;
+        assertThat(balanced.includes(contextId), equalTo(hashed.includes(contextId)));
+      }
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package info.javaspec.runner;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.context.Context;
+import info.javaspec.context.ContextFactory;
+import info.javaspec.junit.RunListenerSpy;
+import info.javaspec.junit.RunListenerSpy.Event;
+import info.javaspec.lifecycle.Phase;
+import info.javaspec.lifecycle.SpecListener;
+import info.javaspec.lifecycle.SpecListeners;
+import info.javaspec.spec.Spec;
+import info.javaspecproto.ContextClasses;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.RunNotifier;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static info.javaspec.testutil.Assertions.capture;
+import static java.util.Collections.synchronizedList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ThreadPerSpecSchedulerTest {
+  private final List<Event> events = synchronizedList(new LinkedList<>());
+
+  public class constructor {
+    @Test
+    public void givenALimitLessThan1_throwsIllegalArgumentException() throws Exception {
+      capture(IllegalArgumentException.class, () -> new ThreadPerSpecScheduler(0));
+    }
+  }
+
+  public class run {
+    @Test
+    public void runsEverySpecInTheContextTree() throws Exception {
+      Context root = ContextFactory.createRootContext(ContextClasses.NestedContexts.class);
+      new ThreadPerSpecScheduler(10).run(root, notifierWithSpy());
+      assertThat(finishedMethodNames(), containsInAnyOrder("asserts one", "asserts two"));
+    }
+
+    @Test
+    public void runsBlockedSpecsConcurrently() throws Exception {
+      CyclicBarrier allBlocked = new CyclicBarrier(3);
+      Context root = contextWithSpecs(
+        new BlockingSpec("one", () -> allBlocked.await(5, TimeUnit.SECONDS)),
+        new BlockingSpec("two", () -> allBlocked.await(5, TimeUnit.SECONDS)),
+        new BlockingSpec("three", () -> allBlocked.await(5, TimeUnit.SECONDS)));
+
+      new ThreadPerSpecScheduler(3).run(root, notifierWithSpy());
+      assertThat(finishedMethodNames(), containsInAnyOrder("one", "two", "three"));
+    }
+
+    @Test
+    public void neverRunsMoreSpecsAtOnceThanTheLimit() throws Exception {
+      AtomicInteger inFlight = new AtomicInteger();
+      AtomicInteger mostInFlight = new AtomicInteger();
+      BlockingSpec.Body countConcurrency = () -> {
+        mostInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        Thread.sleep(5);
+        inFlight.decrementAndGet();
+      };
+
+      Context root = contextWithSpecs(
+        new BlockingSpec("one", countConcurrency),
+        new BlockingSpec("two", countConcurrency),
+        new BlockingSpec("three", countConcurrency),
+        new BlockingSpec("four", countConcurrency));
+
+      new ThreadPerSpecScheduler(2).run(root, notifierWithSpy());
+      assertThat(finishedMethodNames().size(), equalTo(4));
+      assertThat(mostInFlight.get() <= 2, equalTo(true));
+    }
+
+    @Test
+    public void givenASpecThatThrows_propagatesTheException() throws Exception {
+      Context root = contextWithSpecs(new BlockingSpec("explodes", () -> {
+        throw new UnsupportedOperationException("exploding spec");
+      }));
+
+      UnsupportedOperationException ex = capture(UnsupportedOperationException.class,
+        () -> new ThreadPerSpecScheduler(1).run(root, mock(RunNotifier.class)));
+      assertThat(ex.getMessage(), equalTo("exploding spec"));
+    }
+
+    @Test
+    public void givenAContextThatRunsSubContextsFirst_startsThemBeforeItsOwnSpecs() throws Exception {
+      Spec ownSpec = new BlockingSpec("own", () -> { });
+      Context subContext = contextWithSpecs(new BlockingSpec("nested", () -> { }));
+      Context root = new ArrangedContext(contextWithSpecs(ownSpec), Collections.singletonList(ownSpec),
+        Collections.singletonList(subContext), true);
+
+      new ThreadPerSpecScheduler(1).run(root, notifierWithSpy());
+      assertThat(finishedMethodNames(), contains("nested", "own"));
+    }
+
+    public class givenASpecListener {
+      private final List<String> lifecycle = synchronizedList(new LinkedList<>());
+      private final SpecListener listener = new SpecListener() {
+        @Override
+        public void contextStarting(String contextId) {
+          lifecycle.add("starting " + contextId);
+        }
+
+        @Override
+        public void phaseFinished(String contextId, String specId, Phase phase, long nanos) { }
+
+        @Override
+        public void specFinished(String contextId, String specId, long nanos) {
+          lifecycle.add("spec in " + contextId);
+        }
+
+        @Override
+        public void contextFinished(String contextId, long nanos) {
+          lifecycle.add("finished " + contextId);
+        }
+      };
+
+      @Before
+      public void addListener() {
+        SpecListeners.add(listener);
+      }
+
+      @After
+      public void removeListener() {
+        SpecListeners.remove(listener);
+      }
+
+      @Test
+      public void startsEachContextBeforeItsSpecsAndFinishesItAfterThem() throws Exception {
+        Context root = ContextFactory.createRootContext(ContextClasses.NestedContexts.class);
+        new ThreadPerSpecScheduler(10).run(root, notifierWithSpy());
+
+        assertThat(lifecycle.get(0), equalTo("starting " + root.getId()));
+        assertThat(lifecycle.get(lifecycle.size() - 1), equalTo("finished " + root.getId()));
+        root.getSubContexts().forEach(x -> {
+          int started = lifecycle.indexOf("starting " + x.getId());
+          int ranSpec = lifecycle.indexOf("spec in " + x.getId());
+          int finished = lifecycle.indexOf("finished " + x.getId());
+          assertThat(started >= 0 && started < ranSpec && ranSpec < finished, equalTo(true));
+        });
+      }
+    }
+  }
+
+  private RunNotifier notifierWithSpy() {
+    RunNotifier notifier = new RunNotifier();
+    notifier.addListener(new RunListenerSpy(events::add));
+    return notifier;
+  }
+
+  private List<String> finishedMethodNames() {
+    return events.stream()
+      .filter(x -> "testFinished".equals(x.name))
+      .map(Event::describedMethodName)
+      .collect(toList());
+  }
+
+  private static Context contextWithSpecs(Spec... specs) {
+    Context context = ContextFactory.createRootContext(ContextClasses.Empty.class);
+    for(Spec spec : specs)
+      context.addSpec(spec);
+
+    return context;
+  }
+
+  private static final class BlockingSpec extends Spec {
+    private final Description description;
+    private final Body body;
+
+    public BlockingSpec(String id, Body body) {
+      super(id);
+      this.description = Description.createTestDescription("BlockingSpec", id, id);
+      this.body = body;
+    }
+
+    @Override
+    public Description getDescription() { return description; }
+
+    @Override
+    public void addDescriptionTo(Description suite) { suite.addChild(description); }
+
+    @Override
+    public void run(RunNotifier notifier) {
+      notifier.fireTestStarted(description);
+      try {
+        body.run();
+      } catch(RuntimeException e) {
+        throw e;
+      } catch(Exception e) {
+        throw new AssertionError("Spec failed to block", e);
+      }
+      notifier.fireTestFinished(description);
+    }
+
+    @FunctionalInterface
+    interface Body {
+      void run() throws Exception;
+    }
+  }
+}
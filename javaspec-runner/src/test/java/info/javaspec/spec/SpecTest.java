@@ -5,6 +5,9 @@
 import info.javaspec.context.ContextFactory;
 import info.javaspec.context.FakeContext;
 import info.javaspec.dsl.It;
+import info.javaspec.lifecycle.Phase;
+import info.javaspec.lifecycle.SpecListener;
+import info.javaspec.lifecycle.SpecListeners;
 import info.javaspec.spec.ClassFactory.FaultyClassInitializer;
 import info.javaspec.spec.ClassFactory.UnsupportedConstructor;
 import info.javaspecproto.ContextClasses;
@@ -23,6 +26,7 @@
 import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static java.util.stream.Collectors.toList;
 import static info.javaspec.testutil.Assertions.capture;
 import static info.javaspec.testutil.Matchers.isThrowableMatching;
 import static info.javaspec.testutil.Matchers.matchesRegex;
@@ -202,6 +206,66 @@ public void firesFailureWithTheOriginalException() {
       }
     }
 
+    public class givenASharedFixture {
+      private Context context;
+
+      @Before
+      public void spy() throws Exception {
+        ContextClasses.SharedFullFixture.setEventListener(events::add);
+        context = ContextFactory.createRootContext(ContextClasses.SharedFullFixture.class);
+        context.run(notifier);
+      }
+
+      @After
+      public void releaseSpy() {
+        ContextClasses.SharedFullFixture.setEventListener(null);
+      }
+
+      @Test
+      public void instantiatesAndSetsUpOnceThenRunsEachAssertionThenCleansUpOnce() throws Exception {
+        assertThat(events, equalTo(newArrayList(
+          "ContextClasses.SharedFullFixture::new",
+          "ContextClasses.SharedFullFixture::arrange",
+          "ContextClasses.SharedFullFixture::act",
+          "ContextClasses.SharedFullFixture::assert_one",
+          "ContextClasses.SharedFullFixture::assert_two",
+          "ContextClasses.SharedFullFixture::cleans")));
+      }
+
+      @Test
+      public void setsUpAgainWhenTheContextRunsAgain() throws Exception {
+        events.clear();
+        context.run(notifier);
+        assertThat(events, contains(
+          "ContextClasses.SharedFullFixture::new",
+          "ContextClasses.SharedFullFixture::arrange",
+          "ContextClasses.SharedFullFixture::act",
+          "ContextClasses.SharedFullFixture::assert_one",
+          "ContextClasses.SharedFullFixture::assert_two",
+          "ContextClasses.SharedFullFixture::cleans"));
+      }
+
+      @Test
+      public void reportsEachSpecAsFinished() throws Exception {
+        verify(notifier, times(2)).fireTestStarted(Mockito.any());
+        verify(notifier, times(2)).fireTestFinished(Mockito.any());
+        verify(notifier, never()).fireTestFailure(Mockito.any());
+      }
+    }
+
+    @Test
+    public void givenASharedFixtureWhoseSetupFails_reportsTheFailureForEachSpec() throws Exception {
+      Context context = ContextFactory.createRootContext(ContextClasses.SharedEstablishFailing.class);
+      context.run(notifier);
+
+      ArgumentCaptor<Failure> captor = ArgumentCaptor.forClass(Failure.class);
+      verify(notifier, times(2)).fireTestFailure(captor.capture());
+      assertThat(captor.getAllValues().stream().map(x -> x.getDescription().getMethodName()).collect(toList()),
+        contains("one", "two"));
+      assertThat(captor.getAllValues().get(0).getException(), instanceOf(AssertionError.class));
+      verify(notifier, never()).fireTestFinished(Mockito.any());
+    }
+
     @Test
     public void givenANonPublicContextClass_obtainsAccessToItsConstructor() throws Exception {
       subject = getSpec(ContextClasses.hiddenClass(), "runs");
@@ -215,6 +279,64 @@ public void runsWithTheSameInstanceThatWasUsedToCheckIfTheTestIsSkipped() throws
       verify(notifier, never()).fireTestFailure(Mockito.any());
     }
 
+    public class givenASpecListener {
+      private final List<String> phases = new LinkedList<>();
+      private final SpecListener listener = new SpecListener() {
+        @Override
+        public void specStarting(String contextId, String specId) {
+          phases.add("starting " + specId);
+        }
+
+        @Override
+        public void phaseFinished(String contextId, String specId, Phase phase, long nanos) {
+          phases.add(phase.name());
+        }
+
+        @Override
+        public void specFinished(String contextId, String specId, long nanos) {
+          phases.add("finished " + specId);
+        }
+      };
+
+      @Before
+      public void addListener() {
+        SpecListeners.add(listener);
+      }
+
+      @After
+      public void removeListener() {
+        SpecListeners.remove(listener);
+      }
+
+      @Test
+      public void reportsEachPhaseOfTheSpecInTheOrderItRan() throws Exception {
+        subject = getSpec(ContextClasses.FullFixture.class, "asserts");
+        subject.run(notifier);
+        assertThat(phases, contains("starting " + subject.getId(),
+          "INSTANTIATE", "ESTABLISH", "BECAUSE", "IT", "CLEANUP",
+          "finished " + subject.getId()));
+      }
+
+      @Test
+      public void givenASharedFixture_reportsSetupAndCleanupOnceForTheSpecThatRanThem() throws Exception {
+        Context context = ContextFactory.createRootContext(ContextClasses.SharedFullFixture.class);
+        List<String> specIds = context.getSpecs().map(Spec::getId).collect(toList());
+        context.run(notifier);
+        assertThat(phases, contains(
+          "starting " + specIds.get(0), "INSTANTIATE", "ESTABLISH", "BECAUSE", "IT", "finished " + specIds.get(0),
+          "starting " + specIds.get(1), "IT", "CLEANUP", "finished " + specIds.get(1)));
+      }
+
+      @Test
+      public void givenAFailingEstablish_reportsThePhasesThatRan() throws Exception {
+        subject = getSpec(ContextClasses.FailingEstablishWithCleanup.class, "it");
+        subject.run(notifier);
+        assertThat(phases, contains("starting " + subject.getId(),
+          "INSTANTIATE", "ESTABLISH", "CLEANUP",
+          "finished " + subject.getId()));
+      }
+    }
+
     public class itNotifiesTestFailure_given {
       @Test
       public void aReflectiveOperationException() {
@@ -0,0 +1,124 @@
+package info.javaspec.util;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import info.javaspec.dsl.It;
+import info.javaspecproto.ContextClasses;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ClassMetadataTest {
+  public class of {
+    @Test
+    public void returnsTheSameMetadataEachTimeTheSameClassIsInspected() throws Exception {
+      ClassMetadata first = ClassMetadata.of(ContextClasses.TwoIt.class);
+      assertThat(ClassMetadata.of(ContextClasses.TwoIt.class), sameInstance(first));
+    }
+  }
+
+  public class isInner {
+    @Test
+    public void givenATopLevelClass_returnsFalse() throws Exception {
+      assertThat(ClassMetadata.of(ContextClasses.class).isInner(), equalTo(false));
+    }
+
+    @Test
+    public void givenAStaticNestedClass_returnsFalse() throws Exception {
+      assertThat(ClassMetadata.of(ContextClasses.NestedContexts.class).isInner(), equalTo(false));
+    }
+
+    @Test
+    public void givenANonStaticNestedClass_returnsTrue() throws Exception {
+      assertThat(ClassMetadata.of(ContextClasses.NestedContexts.one.class).isInner(), equalTo(true));
+    }
+  }
+
+  public class innerClasses {
+    @Test
+    public void returnsOnlyNonStaticNestedClasses() throws Exception {
+      assertThat(ClassMetadata.of(ContextClasses.NestedStaticClassIt.class).innerClasses().collect(toList()), empty());
+      assertThat(ClassMetadata.of(ContextClasses.NestedContexts.class).innerClasses().collect(toList()),
+        containsInAnyOrder(ContextClasses.NestedContexts.one.class, ContextClasses.NestedContexts.two.class));
+    }
+  }
+
+  public class declaredFieldsOfType {
+    @Test
+    public void returnsFieldsOfExactlyThatTypeInDeclarationOrder() throws Exception {
+      assertThat(ClassMetadata.of(ContextClasses.TwoIt.class).declaredFieldsOfType(It.class)
+        .map(Field::getName)
+        .collect(toList()), contains("first_test", "second_test"));
+    }
+  }
+
+  public class getDefaultConstructor {
+    @Test
+    public void givenAnOuterClass_returnsTheAccessibleNoArgConstructor() throws Exception {
+      Class<?> outerClass = ContextClasses.hiddenClass().getEnclosingClass();
+      Constructor<?> returned = ClassMetadata.of(outerClass).getDefaultConstructor();
+      assertThat(returned.getParameterCount(), equalTo(0));
+      assertThat(returned.isAccessible(), equalTo(true));
+    }
+
+    @Test
+    public void givenAnInnerClass_returnsTheConstructorThatTakesTheEnclosingInstance() throws Exception {
+      Constructor<?> returned = ClassMetadata.of(ContextClasses.hiddenClass()).getDefaultConstructor();
+      assertThat(returned.getParameterTypes(), arrayContaining(ContextClasses.hiddenClass().getEnclosingClass()));
+    }
+
+    @Test
+    public void returnsTheSameConstructorEachTime() throws Exception {
+      ClassMetadata subject = ClassMetadata.of(ContextClasses.TwoIt.class);
+      assertThat(subject.getDefaultConstructor(), sameInstance(subject.getDefaultConstructor()));
+    }
+  }
+
+  public class getDefaultConstructorHandle {
+    @Test
+    public void givenAnOuterClass_returnsAHandleThatMakesAnInstanceWithNoArguments() throws Throwable {
+      MethodHandle returned = ClassMetadata.of(ContextClasses.TwoIts.class).getDefaultConstructorHandle();
+      assertThat((Object)returned.invokeExact(), instanceOf(ContextClasses.TwoIts.class));
+    }
+
+    @Test
+    public void givenAnInnerClass_returnsAHandleThatTakesTheEnclosingInstance() throws Throwable {
+      Class<?> innerClass = ContextClasses.hiddenClass();
+      Object enclosing = ClassMetadata.of(innerClass.getEnclosingClass()).getDefaultConstructor().newInstance();
+      MethodHandle returned = ClassMetadata.of(innerClass).getDefaultConstructorHandle();
+      assertThat((Object)returned.invokeExact(enclosing), instanceOf(innerClass));
+    }
+  }
+
+  public class getter {
+    @Test
+    public void returnsAHandleThatReadsTheFieldFromTheGivenInstance() throws Throwable {
+      ContextClasses.TwoIts instance = new ContextClasses.TwoIts();
+      Field field = ContextClasses.TwoIts.class.getDeclaredField("one");
+      field.setAccessible(true);
+      MethodHandle returned = ClassMetadata.of(ContextClasses.TwoIts.class).getter(field);
+      assertThat((Object)returned.invokeExact((Object)instance), sameInstance(field.get(instance)));
+    }
+
+    @Test
+    public void givenAStaticField_ignoresTheInstance() throws Throwable {
+      Field field = ContextClasses.StaticIt.class.getDeclaredField("looks_like_an_isolated_test_but_beware");
+      MethodHandle returned = ClassMetadata.of(ContextClasses.StaticIt.class).getter(field);
+      assertThat((Object)returned.invokeExact((Object)null), notNullValue());
+    }
+
+    @Test
+    public void returnsTheSameHandleEachTime() throws Exception {
+      Field field = ContextClasses.TwoIts.class.getDeclaredField("one");
+      ClassMetadata subject = ClassMetadata.of(ContextClasses.TwoIts.class);
+      assertThat(subject.getter(field), sameInstance(subject.getter(field)));
+    }
+  }
+}
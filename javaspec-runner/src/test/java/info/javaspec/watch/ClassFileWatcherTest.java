@@ -0,0 +1,65 @@
+package info.javaspec.watch;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ClassFileWatcherTest {
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private Path classes;
+  private ClassFileWatcher subject;
+
+  @Before
+  public void setup() throws Exception {
+    classes = folder.newFolder("classes").toPath();
+    Files.createDirectories(classes.resolve("com/example"));
+    Files.write(classes.resolve("com/example/Widget.class"), new byte[] { 1 });
+    subject = ClassFileWatcher.watch(Collections.singletonList(classes), 50);
+  }
+
+  @After
+  public void close() throws Exception {
+    subject.close();
+  }
+
+  public class awaitChanges {
+    @Test(timeout = 10000)
+    public void givenClassFilesThatChangeOrAreDeleted_returnsTheirBinaryNames() throws Exception {
+      Files.write(classes.resolve("com/example/Widget$Part.class"), new byte[] { 1 });
+      Files.delete(classes.resolve("com/example/Widget.class"));
+      assertThat(subject.awaitChanges(), contains("com.example.Widget", "com.example.Widget$Part"));
+    }
+
+    @Test(timeout = 10000)
+    public void givenANewDirectory_returnsItsClassesAndWatchesIt() throws Exception {
+      Path gadgets = Files.createDirectories(classes.resolve("com/example/gadgets"));
+      Files.write(gadgets.resolve("Gadget.class"), new byte[] { 1 });
+      assertThat(subject.awaitChanges(), contains("com.example.gadgets.Gadget"));
+
+      Files.write(gadgets.resolve("Gizmo.class"), new byte[] { 1 });
+      assertThat(subject.awaitChanges(), contains("com.example.gadgets.Gizmo"));
+    }
+
+    @Test(timeout = 10000)
+    public void givenChangesToOtherFiles_waitsForAClassFileToChange() throws Exception {
+      Files.write(classes.resolve("com/example/notes.txt"), new byte[] { 1 });
+      Thread.sleep(200);
+      Files.write(classes.resolve("com/example/Widget.class"), new byte[] { 2 });
+      assertThat(subject.awaitChanges(), contains("com.example.Widget"));
+    }
+  }
+}
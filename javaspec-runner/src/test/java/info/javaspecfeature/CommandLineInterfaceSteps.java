@@ -4,10 +4,15 @@
 import cucumber.api.java.en.When;
 import info.javaspec.JavaSpec;
 import info.javaspec.JavaSpec.ExitHandler;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.io.PrintStream;
+import java.util.List;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.mock;
 
 public class CommandLineInterfaceSteps {
@@ -29,6 +34,16 @@ public void i_ask_the_JavaSpec_runner_for_help() throws Exception {
     JavaSpec.main(console, exit, "--help");
   }
 
+  @When("^I run JavaSpec with the name of a context class that has a failing spec$")
+  public void i_run_JavaSpec_with_the_name_of_a_context_class_that_has_a_failing_spec() throws Exception {
+    JavaSpec.main(console, exit, "info.javaspecproto.ContextClasses$FailingIt");
+  }
+
+  @When("^I run JavaSpec with the id of a failing spec$")
+  public void i_run_JavaSpec_with_the_id_of_a_failing_spec() throws Exception {
+    JavaSpec.main(console, exit, "info.javaspecproto.ContextClasses.FailingIt#fails");
+  }
+
   @When("^I ask the JavaSpec runner for its version$")
   public void i_ask_the_JavaSpec_runner_for_its_version() throws Exception {
     JavaSpec.main(console, exit, "--version");
@@ -36,12 +51,46 @@ public void i_ask_the_JavaSpec_runner_for_its_version() throws Exception {
 
   @Then("^the command line interface should print a usage statement to the console that describes how it may be used$")
   public void the_command_line_interface_should_print_a_usage_statement_to_the_console() throws Exception {
-    Mockito.verify(console).println("Usage: java info.javaspec.JavaSpec --version");
+    Mockito.verify(console).println(
+      "Usage: java info.javaspec.JavaSpec [options] <context class, spec id, class directory, or jar>...");
+    Mockito.verify(console).println(
+      "--changed <classes>: Only run root contexts that depend on these classes, which changed");
+    Mockito.verify(console).println(
+      "--class-path <paths>: Also load classes from these directories and jars, without running them");
+    Mockito.verify(console).println(
+      "--connect <socket>: Send the rest of the arguments to the daemon listening on this socket");
+    Mockito.verify(console).println(
+      "--daemon <socket>: Listen on this Unix-domain socket for arguments to run, until stopped");
+    Mockito.verify(console).println("--fail-fast: Stop after the first spec that fails");
     Mockito.verify(console).println("--help: Show this help");
+    Mockito.verify(console).println("--order <order>: declaration (default), longest-first, or failed-first");
+    Mockito.verify(console).println(
+      "--report <file>: Write results as JUnit XML, or as JSON lines for a file ending in .ndjson");
+    Mockito.verify(console).println("--shard <i>/<n>: Only run the root contexts in the i-th of n shards");
+    Mockito.verify(console).println(
+      "--tags <tags>: Only run specs with these tags, or without those that start with !");
+    Mockito.verify(console).println("--threads <n>: Run specs on up to n threads (default 1)");
     Mockito.verify(console).println("--version: Show the version");
+    Mockito.verify(console).println(
+      "--watch: Keep running, and run contexts again when classes they depend on are recompiled");
     Mockito.verifyNoMoreInteractions(console);
   }
 
+  @Then("^the command line interface should say which argument it did not recognize$")
+  public void the_command_line_interface_should_say_which_argument_it_did_not_recognize() throws Exception {
+    Mockito.verify(console).println("Unrecognized option: --bogus");
+  }
+
+  @Then("^the command line interface should print the failure and a summary of the results$")
+  public void the_command_line_interface_should_print_the_failure_and_a_summary_of_the_results() throws Exception {
+    ArgumentCaptor<String> lines = ArgumentCaptor.forClass(String.class);
+    Mockito.verify(console, Mockito.atLeastOnce()).println(lines.capture());
+    List<String> printed = lines.getAllValues();
+    assertThat(printed, hasSize(3));
+    assertThat(printed.get(0), startsWith("FAILED: fails"));
+    assertThat(printed.get(2), startsWith("1 specs, 1 failed, 0 ignored in "));
+  }
+
   @Then("^the command line interface should print its version number to the console$")
   public void the_command_line_interface_should_print_its_version_number_to_the_console() throws Exception {
     Mockito.verify(console).println("1.0");
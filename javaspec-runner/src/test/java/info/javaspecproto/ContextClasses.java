@@ -4,6 +4,8 @@
 import info.javaspec.dsl.Cleanup;
 import info.javaspec.dsl.Establish;
 import info.javaspec.dsl.It;
+import info.javaspec.dsl.SharedFixture;
+import info.javaspec.dsl.Tag;
 import org.hamcrest.MatcherAssert;
 
 import java.io.ByteArrayOutputStream;
@@ -195,6 +197,39 @@ public static class PendingIt {
     It asserts;
   }
 
+  @SharedFixture
+  public static class SharedEstablishFailing {
+    Establish flawed_setup = () -> assertEquals(42, -1);
+    It one = () -> assertEquals(1, 1);
+    It two = () -> assertEquals(2, 2);
+  }
+
+  @SharedFixture
+  public static class SharedFullFixture extends ExecutionSpy {
+    public SharedFullFixture() { notifyEvent.accept("ContextClasses.SharedFullFixture::new"); }
+    Establish arranges = () -> notifyEvent.accept("ContextClasses.SharedFullFixture::arrange");
+    Because acts = () -> notifyEvent.accept("ContextClasses.SharedFullFixture::act");
+    It asserts_one = () -> notifyEvent.accept("ContextClasses.SharedFullFixture::assert_one");
+    It asserts_two = () -> notifyEvent.accept("ContextClasses.SharedFullFixture::assert_two");
+    Cleanup cleans = () -> notifyEvent.accept("ContextClasses.SharedFullFixture::cleans");
+  }
+
+  @Tag("unit")
+  public static class Tagged {
+    @Tag("fast") It is_fast = () -> assertEquals(1, 1);
+    It is_untagged = () -> assertEquals(2, 2);
+
+    @Tag("perf")
+    public class measured {
+      @Tag("fast") It is_fast_but_measured = () -> assertEquals(3, 3);
+      It is_measured = () -> assertEquals(4, 4);
+    }
+
+    public class unmeasured {
+      It is_also_untagged = () -> assertEquals(5, 5);
+    }
+  }
+
   public static class TwoEstablish {
     private final List<String> orderMatters = new LinkedList<>();
     Establish arrange_part_one = () -> orderMatters.add("do this first");
@@ -0,0 +1,24 @@
+package info.javaspecproto;
+
+import info.javaspec.dsl.Cleanup;
+import info.javaspec.dsl.Establish;
+import info.javaspec.dsl.It;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+/** Has a hand-written index in IndexedOuterContext_JavaSpecIndex, standing in for one from javaspec-processor */
+public class IndexedOuterContext {
+  private final List<String> events = new LinkedList<>();
+  Establish arrange = () -> events.add("IndexedOuterContext::arrange");
+  It asserts = () -> assertThat(events, contains("IndexedOuterContext::arrange"));
+
+  public class inner_context {
+    private Establish arrange = () -> events.add("inner_context::arrange");
+    It asserts = () -> assertThat(events, contains("IndexedOuterContext::arrange", "inner_context::arrange"));
+    Cleanup cleans = () -> events.clear();
+  }
+}
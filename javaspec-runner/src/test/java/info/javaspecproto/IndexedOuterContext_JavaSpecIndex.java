@@ -0,0 +1,23 @@
+package info.javaspecproto;
+
+import info.javaspec.index.IndexedContext;
+import info.javaspec.index.IndexedField;
+import info.javaspec.index.SpecIndex;
+
+public final class IndexedOuterContext_JavaSpecIndex implements SpecIndex {
+  @Override
+  public IndexedContext getRootContext() {
+    Class<?> outer = IndexedOuterContext.class;
+    Class<?> inner = IndexedOuterContext.inner_context.class;
+
+    //Named differently than reflection would, so tests can tell which one was used
+    return IndexedContext.builder(outer, "info.javaspecproto.IndexedOuterContext", "IndexedOuterContext (indexed)")
+      .establish(IndexedField.of(outer, "arrange", x -> ((IndexedOuterContext)x).arrange))
+      .it(IndexedField.of(outer, "asserts", x -> ((IndexedOuterContext)x).asserts))
+      .subContext(IndexedContext.builder(inner, "info.javaspecproto.IndexedOuterContext.inner_context", "inner context")
+        .establish(IndexedField.reflective(inner, "arrange"))
+        .it(IndexedField.of(inner, "asserts", x -> ((IndexedOuterContext.inner_context)x).asserts))
+        .cleanup(IndexedField.of(inner, "cleans", x -> ((IndexedOuterContext.inner_context)x).cleans)))
+      .build();
+  }
+}
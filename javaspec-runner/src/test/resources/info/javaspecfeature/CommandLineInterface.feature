@@ -10,7 +10,8 @@ Feature: Command Line Interface
 
   Scenario: Usage statement on unrecognized arguments
     When I run JavaSpec with unsupported arguments
-    Then the command line interface should print a usage statement to the console that describes how it may be used
+    Then the command line interface should say which argument it did not recognize
+    And the command line interface should print a usage statement to the console that describes how it may be used
     And the command line interface should exit with status 1
 
   Scenario: Ask for help
@@ -18,6 +19,16 @@ Feature: Command Line Interface
     Then the command line interface should print a usage statement to the console that describes how it may be used
     And the command line interface should exit with status 0
 
+  Scenario: Run specs in a context class
+    When I run JavaSpec with the name of a context class that has a failing spec
+    Then the command line interface should print the failure and a summary of the results
+    And the command line interface should exit with status 1
+
+  Scenario: Run one spec by its id
+    When I run JavaSpec with the id of a failing spec
+    Then the command line interface should print the failure and a summary of the results
+    And the command line interface should exit with status 1
+
   Scenario: Current version
     When I ask the JavaSpec runner for its version
     Then the command line interface should print its version number to the console